@@ -19,7 +19,13 @@ package reactor;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Hooks;
 import reactor.guide.FakeRepository;
 import reactor.guide.FakeUtils1;
 import reactor.guide.FakeUtils2;
@@ -52,4 +58,57 @@ public class CheckpointBenchmark {
 				              t -> {}
 		              );
 	}
+
+	/**
+	 * The global operator debug mode under which {@link #assembly(DebugMode)} and
+	 * {@link #assemblyAndError(DebugMode)} run.
+	 */
+	@State(Scope.Benchmark)
+	public static class DebugMode {
+
+		@Param({"NONE", "FULL", "CALL_SITE", "CALL_SITE_SAMPLED"})
+		public String mode;
+
+		@Setup
+		public void setup() {
+			switch (mode) {
+				case "FULL":
+					Hooks.onOperatorDebug();
+					break;
+				case "CALL_SITE":
+					Hooks.onOperatorCallSiteDebug();
+					break;
+				case "CALL_SITE_SAMPLED":
+					Hooks.onOperatorCallSiteDebug(100);
+					break;
+				default:
+					Hooks.resetOnOperatorDebug();
+			}
+		}
+
+		@TearDown
+		public void tearDown() {
+			Hooks.resetOnOperatorDebug();
+		}
+	}
+
+	@Benchmark
+	@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+	public Flux<?> assembly(DebugMode debugMode) {
+		return FakeRepository.findAllUserByName(Flux.just("pedro", "simon", "stephane"))
+		                     .transform(FakeUtils1.applyFilters)
+		                     .transform(FakeUtils2.enrichUser);
+	}
+
+	@Benchmark
+	@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+	public void assemblyAndError(DebugMode debugMode) {
+		FakeRepository.findAllUserByName(Flux.just("pedro", "simon", "stephane"))
+		              .transform(FakeUtils1.applyFilters)
+		              .transform(FakeUtils2.enrichUser)
+		              .concatWith(Flux.error(new IllegalStateException("boom")))
+		              .subscribe(v -> {},
+				              t -> {}
+		              );
+	}
 }
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.publisher;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures {@code buffer} and {@code bufferTimeout} with fresh {@link java.util.ArrayList}
+ * buffers against buffers recycled through a {@link BufferPool}. The allocation rate
+ * is the relevant figure, run with {@code -prof gc} and compare
+ * {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BufferPoolBenchmark {
+
+	@Param({"16", "256"})
+	int maxSize;
+
+	@Param({"100000"})
+	int count;
+
+	Flux<Integer>       source;
+	BufferPool<Integer> pool;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		//the same value avoids measuring boxing
+		source = Flux.range(0, count).map(i -> 1);
+		pool = BufferPool.create(maxSize, 16);
+	}
+
+	@Benchmark
+	public void buffer(Blackhole bh) {
+		source.buffer(maxSize)
+		      .subscribe(bh::consume);
+	}
+
+	@Benchmark
+	public void bufferPooled(Blackhole bh) {
+		source.buffer(maxSize, pool)
+		      .subscribe(b -> {
+			      bh.consume(b);
+			      pool.release(b);
+		      });
+	}
+
+	@Benchmark
+	public void bufferTimeout(Blackhole bh) {
+		source.bufferTimeout(maxSize, Duration.ofSeconds(1))
+		      .subscribe(bh::consume);
+	}
+
+	@Benchmark
+	public void bufferTimeoutPooled(Blackhole bh) {
+		source.bufferTimeout(maxSize, Duration.ofSeconds(1), pool)
+		      .subscribe(b -> {
+			      bh.consume(b);
+			      pool.release(b);
+		      });
+	}
+}
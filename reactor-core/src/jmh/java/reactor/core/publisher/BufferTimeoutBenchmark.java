@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.publisher;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Measures {@code bufferTimeout} with and without fair backpressure, for a producer
+ * running on the parallel {@link reactor.core.scheduler.Scheduler} and a consumer
+ * hopping to another thread with a small prefetch.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BufferTimeoutBenchmark {
+
+	@Param({"10", "100", "1000"})
+	int maxSize;
+
+	@Param({"1000000"})
+	int count;
+
+	@Benchmark
+	public void legacy(Blackhole bh) {
+		bh.consume(Flux.range(0, count)
+		               .subscribeOn(Schedulers.parallel())
+		               .bufferTimeout(maxSize, Duration.ofMillis(1))
+		               .publishOn(Schedulers.single(), 4)
+		               .onErrorReturn(new ArrayList<>())
+		               .blockLast());
+	}
+
+	@Benchmark
+	public void fairBackpressure(Blackhole bh) {
+		bh.consume(Flux.range(0, count)
+		               .subscribeOn(Schedulers.parallel())
+		               .bufferTimeout(maxSize, Duration.ofMillis(1), true)
+		               .publishOn(Schedulers.single(), 4)
+		               .blockLast());
+	}
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.publisher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Measures {@code combineLatest} against {@code combineLatestCoalesced} with sources
+ * emitting concurrently from the parallel {@link reactor.core.scheduler.Scheduler},
+ * either with an unbounded downstream or with a downstream that hops threads one
+ * element at a time.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CombineLatestBenchmark {
+
+	@Param({"2", "8"})
+	int sources;
+
+	@Param({"100000"})
+	int count;
+
+	List<Flux<Integer>> publishers;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		publishers = new ArrayList<>(sources);
+		for (int i = 0; i < sources; i++) {
+			publishers.add(Flux.range(0, count)
+			                   .subscribeOn(Schedulers.parallel()));
+		}
+	}
+
+	@Benchmark
+	public void synchronizedCoordinator(Blackhole bh) {
+		bh.consume(Flux.combineLatest(publishers, a -> a[0])
+		               .blockLast());
+	}
+
+	@Benchmark
+	public void coalescingCoordinator(Blackhole bh) {
+		bh.consume(Flux.combineLatestCoalesced(publishers, a -> a[0])
+		               .blockLast());
+	}
+
+	@Benchmark
+	public void synchronizedCoordinatorSlowDownstream(Blackhole bh) {
+		bh.consume(Flux.combineLatest(publishers, a -> a[0])
+		               .publishOn(Schedulers.single(), 1)
+		               .blockLast());
+	}
+
+	@Benchmark
+	public void coalescingCoordinatorSlowDownstream(Blackhole bh) {
+		bh.consume(Flux.combineLatestCoalesced(publishers, a -> a[0])
+		               .publishOn(Schedulers.single(), 1)
+		               .blockLast());
+	}
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package reactor.core.publisher;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the throughput of the key sets available to {@code distinct}: the default
+ * {@link HashSet}, the LRU and time-windowed bounded sets and the scalable Bloom filter of
+ * {@code distinctApproximate}. Run with {@code -prof gc} to compare their allocation
+ * rates, which for the {@link HashSet} include an entry and a boxed key per distinct key.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DistinctBenchmark {
+
+	@Param({"1000000"})
+	int count;
+
+	@Param({"1000", "100000"})
+	int distinctKeys;
+
+	@Param({"hashSet", "lru", "window", "bloom"})
+	String keySet;
+
+	Flux<Integer> flux;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		Flux<Integer> source = Flux.range(0, count)
+		                           .map(i -> i % distinctKeys);
+		switch (keySet) {
+			case "lru":
+				flux = source.distinct(i -> i, distinctKeys);
+				break;
+			case "window":
+				flux = source.distinct(i -> i, Duration.ofMinutes(1));
+				break;
+			case "bloom":
+				flux = source.distinctApproximate(i -> i, 0.01);
+				break;
+			default:
+				flux = source.distinct(i -> i, HashSet::new);
+				break;
+		}
+	}
+
+	@Benchmark
+	public void distinct(Blackhole bh) {
+		bh.consume(flux.count()
+		               .block());
+	}
+}
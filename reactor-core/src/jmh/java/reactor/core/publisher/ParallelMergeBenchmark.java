@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package reactor.core.publisher;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the k-way merges of {@link ParallelFlux} rails: {@code sorted()} and
+ * {@code collectSortedList()}, which collect and sort each rail before merging them,
+ * and {@code ordered()}, which streams already sorted rails.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ParallelMergeBenchmark {
+
+	@Param({"4", "16", "64"})
+	int rails;
+
+	@Param({"100000"})
+	int count;
+
+	Integer[] values;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		Random random = new Random(0);
+		values = new Integer[count];
+		for (int i = 0; i < count; i++) {
+			values[i] = random.nextInt();
+		}
+	}
+
+	@Benchmark
+	public void sorted(Blackhole bh) {
+		bh.consume(Flux.fromArray(values)
+		               .parallel(rails)
+		               .sorted(Integer::compare)
+		               .blockLast());
+	}
+
+	@Benchmark
+	public void collectSortedList(Blackhole bh) {
+		bh.consume(Flux.fromArray(values)
+		               .parallel(rails)
+		               .collectSortedList(Integer::compare)
+		               .block());
+	}
+
+	@Benchmark
+	public void ordered(Blackhole bh) {
+		//a range is dispatched round-robin, so that each rail is sorted
+		bh.consume(Flux.range(0, count)
+		               .parallel(rails)
+		               .ordered(Integer::compare)
+		               .blockLast());
+	}
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.publisher;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+
+/**
+ * Measures the fan-out of a replayed history to many subscribers, either replaying a
+ * retained history to late subscribers ({@code cache()} / {@code cache(history)}) or
+ * pushing live values of a {@link ReplayProcessor} to subscribers attached beforehand.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReplayFanOutBenchmark {
+
+	@Param({"1", "100", "10000"})
+	int subscribers;
+
+	@Param({"unbounded", "bounded"})
+	String buffer;
+
+	@Param({"1000"})
+	int count;
+
+	Flux<Integer> cached;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		Flux<Integer> source = Flux.range(0, count);
+		cached = "bounded".equals(buffer) ? source.cache(count) : source.cache();
+		//connects and fills the history
+		cached.blockLast();
+	}
+
+	@Benchmark
+	public void replayHistory(Blackhole bh) {
+		for (int i = 0; i < subscribers; i++) {
+			cached.subscribe(new ConsumingSubscriber(bh));
+		}
+	}
+
+	@Benchmark
+	public void liveFanOut(Blackhole bh) {
+		ReplayProcessor<Integer> processor =
+				ReplayProcessor.create(count, !"bounded".equals(buffer));
+		for (int i = 0; i < subscribers; i++) {
+			processor.subscribe(new ConsumingSubscriber(bh));
+		}
+		for (int i = 0; i < count; i++) {
+			processor.onNext(i);
+		}
+		processor.onComplete();
+	}
+
+	static final class ConsumingSubscriber implements CoreSubscriber<Integer> {
+
+		final Blackhole bh;
+
+		ConsumingSubscriber(Blackhole bh) {
+			this.bh = bh;
+		}
+
+		@Override
+		public void onSubscribe(Subscription s) {
+			s.request(Long.MAX_VALUE);
+		}
+
+		@Override
+		public void onNext(Integer t) {
+			bh.consume(t);
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			bh.consume(t);
+		}
+
+		@Override
+		public void onComplete() {
+			bh.consume(true);
+		}
+	}
+}
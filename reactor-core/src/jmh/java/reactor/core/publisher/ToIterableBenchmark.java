@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.publisher;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Measures the throughput of {@code toIterable} consuming a source that produces on
+ * another thread, where the consumer regularly catches up and waits for the producer.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ToIterableBenchmark {
+
+	@Param({"1", "32", "256"})
+	int prefetch;
+
+	@Param({"100000"})
+	int count;
+
+	Scheduler producer;
+
+	Flux<Integer> source;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		producer = Schedulers.newSingle("producer");
+		source = Flux.range(0, count)
+		             .subscribeOn(producer);
+	}
+
+	@TearDown(Level.Trial)
+	public void teardown() {
+		producer.dispose();
+	}
+
+	@Benchmark
+	public void toIterable(Blackhole bh) {
+		for (Integer i : source.toIterable(prefetch)) {
+			bh.consume(i);
+		}
+	}
+
+	@Benchmark
+	public void toStream(Blackhole bh) {
+		bh.consume(source.toStream(prefetch)
+		                 .mapToInt(i -> i)
+		                 .sum());
+	}
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.publisher;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import reactor.util.concurrent.WaitStrategy;
+
+/**
+ * Measures the latency of a single {@link TopicProcessor} hand-off, from the producer
+ * to a consumer that waits for the ring buffer cursor with the given {@link WaitStrategy}.
+ * The {@code burst} variant publishes a few elements at once then waits for all of them,
+ * with idle gaps in between, to exercise the back-off of the spinning strategies.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class WaitStrategyBenchmark {
+
+	@Param({"liteBlocking", "blocking", "yielding", "parking", "phasedOff", "adaptive"})
+	String strategy;
+
+	TopicProcessor<Integer> processor;
+	FluxSink<Integer>       sink;
+	WaitStrategy            waitStrategy;
+
+	final AtomicLong received = new AtomicLong();
+	long sent;
+
+	static final Integer VALUE = 1;
+
+	@Setup(Level.Iteration)
+	public void setup() {
+		switch (strategy) {
+			case "blocking":
+				waitStrategy = WaitStrategy.blocking();
+				break;
+			case "yielding":
+				waitStrategy = WaitStrategy.yielding();
+				break;
+			case "parking":
+				waitStrategy = WaitStrategy.parking();
+				break;
+			case "phasedOff":
+				waitStrategy = WaitStrategy.phasedOffLiteLock(200, 100, TimeUnit.MICROSECONDS);
+				break;
+			case "adaptive":
+				waitStrategy = WaitStrategy.adaptive();
+				break;
+			default:
+				waitStrategy = WaitStrategy.liteBlocking();
+		}
+		received.set(0L);
+		sent = 0L;
+		processor = TopicProcessor.<Integer>builder()
+				.name("bench")
+				.bufferSize(1024)
+				.waitStrategy(waitStrategy)
+				.build();
+		processor.subscribe(v -> received.lazySet(received.get() + 1));
+		sink = processor.sink();
+	}
+
+	@TearDown(Level.Iteration)
+	public void tearDown() {
+		sink.complete();
+		processor.forceShutdown();
+	}
+
+	void awaitReceived(long target) {
+		while (received.get() < target) {
+			Thread.yield();
+		}
+	}
+
+	@Benchmark
+	public void handoff() {
+		sink.next(VALUE);
+		awaitReceived(++sent);
+	}
+
+	@Benchmark
+	public void burst() throws InterruptedException {
+		for (int i = 0; i < 16; i++) {
+			sink.next(VALUE);
+		}
+		awaitReceived(sent += 16);
+		Thread.sleep(1);
+	}
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.publisher;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures exact windows consumed in the emitting thread, which pass values straight
+ * through to their subscriber, and overlapping windows backed by one queue per window
+ * or by a shared buffer. Run with {@code -prof gc} to compare allocation rates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WindowBenchmark {
+
+	@Param({"10", "100"})
+	int size;
+
+	@Param({"100000"})
+	int count;
+
+	@Benchmark
+	public void exactFlatMap(Blackhole bh) {
+		bh.consume(Flux.range(0, count)
+		               .window(size)
+		               .flatMap(Flux::count)
+		               .blockLast());
+	}
+
+	@Benchmark
+	public void overlap(Blackhole bh) {
+		bh.consume(Flux.range(0, count)
+		               .window(size, size / 10)
+		               .flatMap(Flux::count)
+		               .blockLast());
+	}
+
+	@Benchmark
+	public void overlapShared(Blackhole bh) {
+		bh.consume(Flux.range(0, count)
+		               .window(size, size / 10, true)
+		               .flatMap(Flux::count)
+		               .blockLast());
+	}
+}
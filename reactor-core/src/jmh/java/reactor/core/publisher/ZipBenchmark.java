@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package reactor.core.publisher;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares zipping 2 and 3 sources with {@link java.util.function.BiFunction}
+ * combinators or into tuples, which don't need a copy of the zipped values, to zipping
+ * them with a generic {@code Object[]} combinator, which gets a copy per zipped element.
+ * Run with {@code -prof gc} to compare the allocation rates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ZipBenchmark {
+
+	@Param({"1000", "1000000"})
+	int count;
+
+	Flux<Integer> source1;
+	Flux<Integer> source2;
+	Flux<Integer> source3;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		Integer[] values = new Integer[count];
+		for (int i = 0; i < count; i++) {
+			values[i] = i & 127;
+		}
+		//hidden to go through the queues rather than fusion
+		source1 = Flux.fromArray(values).hide();
+		source2 = Flux.fromArray(values).hide();
+		source3 = Flux.fromArray(values).hide();
+	}
+
+	@Benchmark
+	public void zip2Combinator(Blackhole bh) {
+		bh.consume(Flux.zip(source1, source2, (a, b) -> a)
+		               .blockLast());
+	}
+
+	@Benchmark
+	public void zip2Tuple(Blackhole bh) {
+		bh.consume(Flux.zip(source1, source2)
+		               .blockLast());
+	}
+
+	@Benchmark
+	public void zip2Array(Blackhole bh) {
+		bh.consume(Flux.zip(values -> values[0], source1, source2)
+		               .blockLast());
+	}
+
+	@Benchmark
+	public void zip3Combinators(Blackhole bh) {
+		bh.consume(source1.zipWith(source2, (a, b) -> a)
+		                  .zipWith(source3, (a, b) -> b)
+		                  .blockLast());
+	}
+
+	@Benchmark
+	public void zip3Tuple(Blackhole bh) {
+		bh.consume(Flux.zip(source1, source2, source3)
+		               .blockLast());
+	}
+
+	@Benchmark
+	public void zip3Array(Blackhole bh) {
+		bh.consume(Flux.zip(values -> values[0], source1, source2, source3)
+		               .blockLast());
+	}
+}
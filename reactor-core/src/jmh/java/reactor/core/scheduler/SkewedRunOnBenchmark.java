@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.scheduler;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.publisher.Flux;
+
+/**
+ * Compares {@link ParallelScheduler} and {@link WorkStealingScheduler} for a
+ * {@code ParallelFlux.runOn} pipeline where a fraction of the elements are much more
+ * costly to process than the others, leaving some rails backlogged while others idle.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SkewedRunOnBenchmark {
+
+	@Param({"parallel", "workStealing"})
+	String schedulerType;
+
+	@Param({"1000"})
+	int count;
+
+	@Param({"10"})
+	int heavyEvery;
+
+	Scheduler scheduler;
+
+	int parallelism;
+
+	@Setup
+	public void setup() {
+		parallelism = Runtime.getRuntime().availableProcessors();
+		if ("parallel".equals(schedulerType)) {
+			scheduler = Schedulers.newParallel("bench", parallelism, true);
+		}
+		else {
+			scheduler = Schedulers.newWorkStealing("bench", parallelism, true);
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		scheduler.dispose();
+	}
+
+	@Benchmark
+	public void skewedRunOn(Blackhole bh) {
+		bh.consume(Flux.range(0, count)
+		               .parallel(parallelism * 4)
+		               .runOn(scheduler, 1)
+		               .map(i -> {
+			               Blackhole.consumeCPU(i % heavyEvery == 0 ? 10_000 : 100);
+			               return i;
+		               })
+		               .sequential()
+		               .blockLast());
+	}
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.scheduler;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.publisher.Mono;
+
+/**
+ * Compares the {@link java.util.concurrent.ScheduledThreadPoolExecutor}-based {@link ParallelScheduler} with
+ * {@link HashedWheelTimerScheduler} for the typical timeout pattern, where a delayed
+ * task is scheduled then cancelled long before it is due.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TimerScheduleCancelBenchmark {
+
+	@Param({"parallel", "hashedWheel"})
+	String schedulerType;
+
+	Scheduler scheduler;
+
+	static final Runnable NOOP = () -> { };
+
+	@Setup
+	public void setup() {
+		if ("parallel".equals(schedulerType)) {
+			scheduler = Schedulers.newParallel("bench", 4, true);
+		}
+		else {
+			scheduler = Schedulers.newHashedWheelTimer("bench", Duration.ofMillis(10), 512, true);
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		scheduler.dispose();
+	}
+
+	@Benchmark
+	@Threads(4)
+	public void directScheduleCancel() {
+		scheduler.schedule(NOOP, 30, TimeUnit.SECONDS)
+		         .dispose();
+	}
+
+	@Benchmark
+	public void monoTimeout(Blackhole bh) {
+		bh.consume(Mono.just(1)
+		               .timeout(Duration.ofSeconds(30), scheduler)
+		               .block());
+	}
+}
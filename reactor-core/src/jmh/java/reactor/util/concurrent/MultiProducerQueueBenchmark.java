@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.util.concurrent;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the offer/poll throughput of the multi-producer queues of {@link Queues}
+ * with a {@link ConcurrentLinkedQueue} and with the synchronized offers to a
+ * single-producer queue they replace, with 3 producers and 1 consumer.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MultiProducerQueueBenchmark {
+
+	@Param({"mpscArray", "mpscLinked", "mpmcArray", "synchronizedSpsc", "concurrentLinked"})
+	String queueType;
+
+	Queue<Integer> queue;
+	boolean        synchronizedOffer;
+
+	static final Integer VALUE = 1;
+
+	@Setup(Level.Iteration)
+	public void setup() {
+		synchronizedOffer = false;
+		switch (queueType) {
+			case "mpscArray":
+				queue = Queues.<Integer>mpsc(1024).get();
+				break;
+			case "mpscLinked":
+				queue = Queues.<Integer>mpsc().get();
+				break;
+			case "mpmcArray":
+				queue = Queues.<Integer>mpmc(1024).get();
+				break;
+			case "synchronizedSpsc":
+				queue = Queues.<Integer>unbounded(Queues.SMALL_BUFFER_SIZE).get();
+				synchronizedOffer = true;
+				break;
+			default:
+				queue = new ConcurrentLinkedQueue<>();
+		}
+	}
+
+	@Benchmark
+	@Group("offerPoll")
+	@GroupThreads(3)
+	public boolean offer() {
+		Queue<Integer> q = queue;
+		if (synchronizedOffer) {
+			synchronized (this) {
+				return q.offer(VALUE);
+			}
+		}
+		return q.offer(VALUE);
+	}
+
+	@Benchmark
+	@Group("offerPoll")
+	@GroupThreads(1)
+	public Integer poll() {
+		return queue.poll();
+	}
+}
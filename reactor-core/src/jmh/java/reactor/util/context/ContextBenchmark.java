@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.util.context;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the copy-on-write {@link ContextN} with the persistent {@link ContextHamt}
+ * for contexts of 6 to 15 keys, as built by successive {@code subscriberContext(ctx ->
+ * ctx.put(...))} in a chain: a put of a new key, a put replacing an existing key, a get
+ * and a merge of two large contexts.
+ * Run with {@code -prof gc} to compare the allocation rates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ContextBenchmark {
+
+	@Param({"6", "10", "15"})
+	int size;
+
+	@Param({"ContextN", "ContextHamt"})
+	String implementation;
+
+	Context context;
+	Context other;
+	Object  existingKey;
+	Object  newKey;
+
+	@Setup
+	public void setup() {
+		context = build("key", size);
+		other = build("other", size);
+		existingKey = "key" + (size / 2);
+		newKey = "newKey";
+	}
+
+	Context build(String prefix, int n) {
+		Context c;
+		if ("ContextN".equals(implementation)) {
+			c = new ContextN(prefix + 0, 0, prefix + 1, 1, prefix + 2, 2,
+					prefix + 3, 3, prefix + 4, 4, prefix + 5, 5);
+		}
+		else {
+			c = ContextHamt.of(prefix + 0, 0, prefix + 1, 1, prefix + 2, 2,
+					prefix + 3, 3, prefix + 4, 4, prefix + 5, 5);
+		}
+		for (int i = 6; i < n; i++) {
+			c = c.put(prefix + i, i);
+		}
+		return c;
+	}
+
+	@Benchmark
+	public Context putNewKey() {
+		return context.put(newKey, "value");
+	}
+
+	@Benchmark
+	public Context putExistingKey() {
+		return context.put(existingKey, "value");
+	}
+
+	@Benchmark
+	public void getExistingAndMissing(Blackhole bh) {
+		bh.consume(context.getOrDefault(existingKey, null));
+		bh.consume(context.getOrDefault(newKey, null));
+	}
+
+	@Benchmark
+	public Context putAll() {
+		return context.putAll(other);
+	}
+
+	@Benchmark
+	public Context putChain() {
+		Context c = context;
+		for (int i = 0; i < 5; i++) {
+			c = c.put(existingKey, i);
+		}
+		return c;
+	}
+}
@@ -0,0 +1,462 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.publisher;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import reactor.core.publisher.FluxOnAssembly.AssemblyCallSiteSnapshotException;
+import reactor.core.publisher.FluxOnAssembly.AssemblySnapshotException;
+import reactor.util.annotation.Nullable;
+
+/**
+ * Resolves and caches the call site of operators for the
+ * {@link Hooks#onOperatorCallSiteDebug(int) call site debug mode}: instead of a full
+ * stack trace, only the frame of the operator (e.g. {@code Flux.map}) and the frame
+ * of the user code that invoked it are retained.
+ * <p>
+ * The frames are looked up with a {@code java.lang.StackWalker} when running on Java 9+,
+ * which stops walking as soon as the user frame is found, whatever the depth of the
+ * stack. On Java 8, a {@link Throwable} is captured and only its top frames are decoded
+ * (falling back to its full stack trace if {@code JavaLangAccess} isn't available),
+ * which makes the assembly cost comparable to the full debug mode.
+ * <p>
+ * Call sites are identified by class, method and position without materializing
+ * {@link StackTraceElement StackTraceElements}, and identical call sites share a single
+ * {@link CallSite}. The cache only retains class and method names, never the frames
+ * or classes themselves, so that it doesn't prevent class loaders from being
+ * collected. It is bounded by the
+ * {@code reactor.trace.assembly.callSiteCacheSize} system property (4096 by default)
+ * which is cleared once full.
+ */
+final class AssemblyCallSites {
+
+	static final int CACHE_SIZE = Integer.parseInt(System.getProperty(
+			"reactor.trace.assembly.callSiteCacheSize",
+			"4096"));
+
+	static final Map<CallSiteKey, CallSite> CACHE = new ConcurrentHashMap<>();
+
+	/**
+	 * The number of assemblies since the last sampled one on the current thread.
+	 */
+	static final ThreadLocal<int[]> SKIPPED = ThreadLocal.withInitial(() -> new int[1]);
+
+	@Nullable
+	static final Object       STACK_WALKER;
+	@Nullable
+	static final MethodHandle WALK;
+	@Nullable
+	static final MethodHandle FRAME_CLASS_NAME;
+	@Nullable
+	static final MethodHandle FRAME_METHOD_NAME;
+	@Nullable
+	static final MethodHandle FRAME_BCI;
+	@Nullable
+	static final MethodHandle FRAME_TO_ELEMENT;
+
+	@Nullable
+	static final Object       JAVA_LANG_ACCESS;
+	@Nullable
+	static final MethodHandle STACK_DEPTH;
+	@Nullable
+	static final MethodHandle STACK_ELEMENT;
+
+	static {
+		MethodHandles.Lookup lookup = MethodHandles.lookup();
+		Object walker = null;
+		MethodHandle walk = null;
+		MethodHandle className = null;
+		MethodHandle methodName = null;
+		MethodHandle bci = null;
+		MethodHandle toElement = null;
+		try {
+			Class<?> walkerClass = Class.forName("java.lang.StackWalker");
+			Class<?> frameClass = Class.forName("java.lang.StackWalker$StackFrame");
+			//the operator and caller frames are usually found within the first 16 frames
+			walker = walkerClass.getMethod("getInstance", Set.class, int.class)
+			                    .invoke(null, Collections.emptySet(), 16);
+			walk = lookup.findVirtual(walkerClass, "walk",
+					MethodType.methodType(Object.class, Function.class))
+			             .asType(MethodType.methodType(Object.class, Object.class, Function.class));
+			className = lookup.findVirtual(frameClass, "getClassName",
+					MethodType.methodType(String.class))
+			                  .asType(MethodType.methodType(String.class, Object.class));
+			methodName = lookup.findVirtual(frameClass, "getMethodName",
+					MethodType.methodType(String.class))
+			                   .asType(MethodType.methodType(String.class, Object.class));
+			bci = lookup.findVirtual(frameClass, "getByteCodeIndex",
+					MethodType.methodType(int.class))
+			            .asType(MethodType.methodType(int.class, Object.class));
+			toElement = lookup.findVirtual(frameClass, "toStackTraceElement",
+					MethodType.methodType(StackTraceElement.class))
+			                  .asType(MethodType.methodType(StackTraceElement.class, Object.class));
+		}
+		catch (Throwable e) {
+			//not a Java 9+ runtime
+			walker = null;
+		}
+		STACK_WALKER = walker;
+		WALK = walker == null ? null : walk;
+		FRAME_CLASS_NAME = walker == null ? null : className;
+		FRAME_METHOD_NAME = walker == null ? null : methodName;
+		FRAME_BCI = walker == null ? null : bci;
+		FRAME_TO_ELEMENT = walker == null ? null : toElement;
+
+		Object access = null;
+		MethodHandle depth = null;
+		MethodHandle element = null;
+		if (walker == null) {
+			try {
+				Class<?> secretsClass = Class.forName("sun.misc.SharedSecrets");
+				access = secretsClass.getMethod("getJavaLangAccess").invoke(null);
+				Class<?> accessClass = Class.forName("sun.misc.JavaLangAccess");
+				depth = lookup.findVirtual(accessClass, "getStackTraceDepth",
+						MethodType.methodType(int.class, Throwable.class))
+				              .asType(MethodType.methodType(int.class, Object.class, Throwable.class));
+				element = lookup.findVirtual(accessClass, "getStackTraceElement",
+						MethodType.methodType(StackTraceElement.class, Throwable.class, int.class))
+				                .asType(MethodType.methodType(StackTraceElement.class, Object.class, Throwable.class, int.class));
+			}
+			catch (Throwable e) {
+				//no JavaLangAccess, fallback to full Throwable stack traces
+				access = null;
+			}
+		}
+		JAVA_LANG_ACCESS = access;
+		STACK_DEPTH = access == null ? null : depth;
+		STACK_ELEMENT = access == null ? null : element;
+	}
+
+	/**
+	 * Decide whether the operator being assembled by the current thread is sampled,
+	 * and only then resolve its call site and return its snapshot.
+	 *
+	 * @param sampleRate trace one out of {@code sampleRate} assemblies on the current
+	 * thread, starting with the first one
+	 *
+	 * @return the shared snapshot of the call site, or null if not sampled
+	 */
+	@Nullable
+	static AssemblySnapshotException sample(int sampleRate) {
+		if (sampleRate > 1) {
+			int[] skipped = SKIPPED.get();
+			int n = skipped[0];
+			skipped[0] = n + 1 >= sampleRate ? 0 : n + 1;
+			if (n != 0) {
+				return null;
+			}
+		}
+		return lookup().snapshot;
+	}
+
+	static CallSite lookup() {
+		CallSiteKey key;
+		if (STACK_WALKER != null) {
+			key = walk();
+		}
+		else if (JAVA_LANG_ACCESS != null) {
+			key = decode();
+		}
+		else {
+			key = capture();
+		}
+		CallSite callSite = CACHE.get(key);
+		if (callSite == null) {
+			if (CACHE.size() >= CACHE_SIZE) {
+				CACHE.clear();
+			}
+			callSite = new CallSite(key);
+			CallSite previous = CACHE.putIfAbsent(key.withoutFrames(), callSite);
+			if (previous != null) {
+				callSite = previous;
+			}
+		}
+		return callSite;
+	}
+
+	static CallSiteKey capture() {
+		StackTraceElement[] stack = new Throwable().getStackTrace();
+		StackTraceElement operator = null;
+		for (StackTraceElement e : stack) {
+			String className = e.getClassName();
+			if (isSkipped(className)) {
+				continue;
+			}
+			if (isOperator(className)) {
+				operator = e;
+				continue;
+			}
+			return CallSiteKey.of(operator, e);
+		}
+		return CallSiteKey.of(operator, null);
+	}
+
+	/**
+	 * Decode the frames of a {@link Throwable} one at a time, up to the caller frame,
+	 * rather than materializing the whole stack trace.
+	 */
+	@SuppressWarnings("ConstantConditions")
+	static CallSiteKey decode() {
+		try {
+			Throwable t = new Throwable();
+			int depth = (int) STACK_DEPTH.invokeExact(JAVA_LANG_ACCESS, t);
+			StackTraceElement operator = null;
+			for (int i = 0; i < depth; i++) {
+				StackTraceElement e =
+						(StackTraceElement) STACK_ELEMENT.invokeExact(JAVA_LANG_ACCESS, t, i);
+				String className = e.getClassName();
+				if (isSkipped(className)) {
+					continue;
+				}
+				if (isOperator(className)) {
+					operator = e;
+					continue;
+				}
+				return CallSiteKey.of(operator, e);
+			}
+			return CallSiteKey.of(operator, null);
+		}
+		catch (Throwable e) {
+			return capture();
+		}
+	}
+
+	@SuppressWarnings("ConstantConditions")
+	static CallSiteKey walk() {
+		try {
+			return (CallSiteKey) (Object) WALK.invokeExact(STACK_WALKER, WALKER_FUNCTION);
+		}
+		catch (Throwable e) {
+			return capture();
+		}
+	}
+
+	static final Function<Stream<?>, CallSiteKey> WALKER_FUNCTION =
+			AssemblyCallSites::walkFrames;
+
+	@SuppressWarnings("ConstantConditions")
+	static CallSiteKey walkFrames(Stream<?> frames) {
+		Object operator = null;
+		String operatorClass = null;
+		Iterator<?> it = frames.iterator();
+		try {
+			while (it.hasNext()) {
+				Object frame = it.next();
+				String className = (String) FRAME_CLASS_NAME.invokeExact(frame);
+				if (isSkipped(className)) {
+					continue;
+				}
+				if (isOperator(className)) {
+					operator = frame;
+					operatorClass = className;
+					continue;
+				}
+				if (operator == null) {
+					return new CallSiteKey(null, null, -1,
+							className,
+							(String) FRAME_METHOD_NAME.invokeExact(frame),
+							(int) FRAME_BCI.invokeExact(frame),
+							null,
+							frame);
+				}
+				return new CallSiteKey(operatorClass,
+						(String) FRAME_METHOD_NAME.invokeExact(operator),
+						(int) FRAME_BCI.invokeExact(operator),
+						className,
+						(String) FRAME_METHOD_NAME.invokeExact(frame),
+						(int) FRAME_BCI.invokeExact(frame),
+						operator,
+						frame);
+			}
+			if (operator == null) {
+				return CallSiteKey.of(null, null);
+			}
+			return new CallSiteKey(operatorClass,
+					(String) FRAME_METHOD_NAME.invokeExact(operator),
+					(int) FRAME_BCI.invokeExact(operator),
+					null, null, -1,
+					operator,
+					null);
+		}
+		catch (RuntimeException | Error e) {
+			throw e;
+		}
+		catch (Throwable e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	@Nullable
+	@SuppressWarnings("ConstantConditions")
+	static StackTraceElement toElement(@Nullable Object frame) {
+		if (frame == null || frame instanceof StackTraceElement) {
+			return (StackTraceElement) frame;
+		}
+		try {
+			return (StackTraceElement) FRAME_TO_ELEMENT.invokeExact(frame);
+		}
+		catch (RuntimeException | Error e) {
+			throw e;
+		}
+		catch (Throwable e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	static boolean isOperator(String className) {
+		return className.startsWith("reactor.core.publisher.");
+	}
+
+	static boolean isSkipped(String className) {
+		return className.startsWith("java.util.function.") ||
+				className.startsWith("java.lang.reflect.") ||
+				className.startsWith("sun.reflect.") ||
+				className.startsWith("jdk.internal.reflect.");
+	}
+
+	AssemblyCallSites() {
+	}
+
+	/**
+	 * Identifies a call site by the class, method and position (line number, or
+	 * bytecode index for {@code StackWalker} frames) of the operator and caller frames.
+	 * The frames themselves are only turned into {@link StackTraceElement} once, when
+	 * the call site is first seen, and are not part of the identity: keys stored in the
+	 * cache are {@link #withoutFrames() stripped} of them.
+	 */
+	static final class CallSiteKey {
+
+		@Nullable
+		final String operatorClass;
+		@Nullable
+		final String operatorMethod;
+		final int    operatorPosition;
+		@Nullable
+		final String callerClass;
+		@Nullable
+		final String callerMethod;
+		final int    callerPosition;
+
+		@Nullable
+		final Object operatorFrame;
+		@Nullable
+		final Object callerFrame;
+
+		static CallSiteKey of(@Nullable StackTraceElement operator,
+				@Nullable StackTraceElement caller) {
+			return new CallSiteKey(operator == null ? null : operator.getClassName(),
+					operator == null ? null : operator.getMethodName(),
+					operator == null ? -1 : operator.getLineNumber(),
+					caller == null ? null : caller.getClassName(),
+					caller == null ? null : caller.getMethodName(),
+					caller == null ? -1 : caller.getLineNumber(),
+					operator,
+					caller);
+		}
+
+		CallSiteKey(@Nullable String operatorClass,
+				@Nullable String operatorMethod,
+				int operatorPosition,
+				@Nullable String callerClass,
+				@Nullable String callerMethod,
+				int callerPosition,
+				@Nullable Object operatorFrame,
+				@Nullable Object callerFrame) {
+			this.operatorClass = operatorClass;
+			this.operatorMethod = operatorMethod;
+			this.operatorPosition = operatorPosition;
+			this.callerClass = callerClass;
+			this.callerMethod = callerMethod;
+			this.callerPosition = callerPosition;
+			this.operatorFrame = operatorFrame;
+			this.callerFrame = callerFrame;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof CallSiteKey)) {
+				return false;
+			}
+			CallSiteKey that = (CallSiteKey) o;
+			return operatorPosition == that.operatorPosition &&
+					callerPosition == that.callerPosition &&
+					Objects.equals(operatorClass, that.operatorClass) &&
+					Objects.equals(operatorMethod, that.operatorMethod) &&
+					Objects.equals(callerClass, that.callerClass) &&
+					Objects.equals(callerMethod, that.callerMethod);
+		}
+
+		/**
+		 * Return a key equal to this one that doesn't reference the frames, which
+		 * would otherwise retain the classes of the call site.
+		 *
+		 * @return a key suitable for the cache
+		 */
+		CallSiteKey withoutFrames() {
+			if (operatorFrame == null && callerFrame == null) {
+				return this;
+			}
+			return new CallSiteKey(operatorClass, operatorMethod, operatorPosition,
+					callerClass, callerMethod, callerPosition, null, null);
+		}
+
+		@Override
+		public int hashCode() {
+			int h = Objects.hashCode(operatorClass);
+			h = 31 * h + Objects.hashCode(operatorMethod);
+			h = 31 * h + operatorPosition;
+			h = 31 * h + Objects.hashCode(callerClass);
+			h = 31 * h + Objects.hashCode(callerMethod);
+			return 31 * h + callerPosition;
+		}
+	}
+
+	static final class CallSite {
+
+		final AssemblyCallSiteSnapshotException snapshot;
+
+		CallSite(CallSiteKey key) {
+			StackTraceElement operator = toElement(key.operatorFrame);
+			StackTraceElement caller = toElement(key.callerFrame);
+			StackTraceElement[] frames;
+			if (operator == null) {
+				frames = caller == null ? new StackTraceElement[0] :
+						new StackTraceElement[]{caller};
+			}
+			else if (caller == null) {
+				frames = new StackTraceElement[]{operator};
+			}
+			else {
+				frames = new StackTraceElement[]{operator, caller};
+			}
+			this.snapshot = new AssemblyCallSiteSnapshotException(frames);
+		}
+	}
+}
@@ -23,9 +23,7 @@ import java.util.Queue;
 import java.util.Spliterator;
 import java.util.Spliterators;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
-import java.util.concurrent.locks.Condition;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.LockSupport;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -118,18 +116,24 @@ final class BlockingIterable<T> implements Iterable<T>, Scannable {
 	static final class SubscriberIterator<T>
 			implements InnerConsumer<T>, Iterator<T>, Runnable {
 
+		/**
+		 * Bounds of the adaptive number of times {@link #hasNext()} checks for a value
+		 * before parking, no spinning on a single CPU where it only delays the producer.
+		 */
+		static final int MIN_SPINS =
+				Runtime.getRuntime().availableProcessors() > 1 ? 16 : 0;
+		static final int MAX_SPINS = MIN_SPINS << 6;
+
 		final Queue<T> queue;
 
 		final int batchSize;
 
 		final int limit;
 
-		final Lock lock;
-
-		final Condition condition;
-
 		long produced;
 
+		int spins;
+
 		volatile Subscription s;
 		@SuppressWarnings("rawtypes")
 		static final AtomicReferenceFieldUpdater<SubscriberIterator, Subscription> S =
@@ -137,6 +141,25 @@ final class BlockingIterable<T> implements Iterable<T>, Scannable {
 						Subscription.class,
 						"s");
 
+		/**
+		 * The consumer thread while it is about to park or parked, null otherwise. The
+		 * producer clears it when unparking so that it signals once per park.
+		 */
+		volatile Thread waiter;
+		@SuppressWarnings("rawtypes")
+		static final AtomicReferenceFieldUpdater<SubscriberIterator, Thread> WAITER =
+				AtomicReferenceFieldUpdater.newUpdater(SubscriberIterator.class,
+						Thread.class,
+						"waiter");
+
+		/**
+		 * Written by the producer after each offer so that it is ordered with the
+		 * following read of {@link #waiter}, and read by the consumer after it set
+		 * {@link #waiter}: either the consumer sees the value or the producer sees the
+		 * consumer and unparks it.
+		 */
+		volatile long offered;
+
 		volatile boolean done;
 		Throwable error;
 
@@ -144,8 +167,7 @@ final class BlockingIterable<T> implements Iterable<T>, Scannable {
 			this.queue = queue;
 			this.batchSize = batchSize;
 			this.limit = Operators.unboundedOrLimit(batchSize);
-			this.lock = new ReentrantLock();
-			this.condition = lock.newCondition();
+			this.spins = MIN_SPINS;
 		}
 
 		@Override
@@ -163,19 +185,7 @@ final class BlockingIterable<T> implements Iterable<T>, Scannable {
 					}
 				}
 				if (empty) {
-					lock.lock();
-					try {
-						while (!done && queue.isEmpty()) {
-							condition.await();
-						}
-					}
-					catch (InterruptedException ex) {
-						run();
-						throw Exceptions.propagate(ex);
-					}
-					finally {
-						lock.unlock();
-					}
+					awaitValue();
 				}
 				else {
 					return true;
@@ -183,6 +193,33 @@ final class BlockingIterable<T> implements Iterable<T>, Scannable {
 			}
 		}
 
+		void awaitValue() {
+			long seen = offered;
+			int n = spins;
+			for (int i = 0; i < n; i++) {
+				if (done || !queue.isEmpty()) {
+					spins = Math.min(n << 1, MAX_SPINS);
+					return;
+				}
+			}
+			spins = Math.max(n >> 1, MIN_SPINS);
+
+			Thread current = Thread.currentThread();
+			for (; ; ) {
+				waiter = current;
+				if (offered != seen || done || !queue.isEmpty()) {
+					waiter = null;
+					return;
+				}
+				LockSupport.park(this);
+				if (Thread.interrupted()) {
+					waiter = null;
+					run();
+					throw Exceptions.propagate(new InterruptedException());
+				}
+			}
+		}
+
 		@Override
 		public T next() {
 			if (hasNext()) {
@@ -243,12 +280,10 @@ final class BlockingIterable<T> implements Iterable<T>, Scannable {
 		}
 
 		void signalConsumer() {
-			lock.lock();
-			try {
-				condition.signalAll();
-			}
-			finally {
-				lock.unlock();
+			offered = offered + 1;
+			Thread w = waiter;
+			if (w != null && WAITER.compareAndSet(this, w, null)) {
+				LockSupport.unpark(w);
 			}
 		}
 
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.publisher;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+import reactor.util.annotation.Nullable;
+
+/**
+ * A bounded pool of {@link List} buffers, usable as the {@code bufferSupplier} of
+ * {@link Flux#buffer(int, Supplier)} or {@link Flux#bufferTimeout(int, java.time.Duration, Supplier)}
+ * to recycle the emitted batches instead of allocating a new one for each:
+ * <pre>
+ * {@code
+ * BufferPool<Event> pool = BufferPool.create(256, 16);
+ *
+ * events.buffer(256, pool)
+ *       .doOnNext(batch -> {
+ *           writer.write(batch);
+ *           pool.release(batch);
+ *       })
+ *       .subscribe();
+ * }
+ * </pre>
+ * A released buffer is cleared and handed out again by a later {@link #get()}, so it
+ * must not be used after its release. The buffering operators release on their own
+ * the buffers they drop without emitting them, when terminating with an error or
+ * completing with an empty buffer. Buffers that are never released, like the one
+ * being filled when the subscription is cancelled, or released while the pool is
+ * full, are simply left to the garbage collector. Releasing is thread-safe and
+ * idempotent: a buffer released twice is only pooled once.
+ *
+ * @param <T> the type of the buffered values
+ */
+public final class BufferPool<T> implements Supplier<List<T>> {
+
+	/**
+	 * Create a {@link BufferPool} retaining up to {@code maxPooled} released buffers,
+	 * each new buffer being sized for {@code initialCapacity} values.
+	 *
+	 * @param initialCapacity the initial capacity of newly allocated buffers, usually
+	 * the maximum buffer size
+	 * @param maxPooled the maximum number of released buffers retained for reuse
+	 * @param <T> the type of the buffered values
+	 *
+	 * @return a new {@link BufferPool}
+	 */
+	public static <T> BufferPool<T> create(int initialCapacity, int maxPooled) {
+		if (initialCapacity < 0) {
+			throw new IllegalArgumentException("initialCapacity >= 0 required but it was " + initialCapacity);
+		}
+		if (maxPooled <= 0) {
+			throw new IllegalArgumentException("maxPooled > 0 required but it was " + maxPooled);
+		}
+		return new BufferPool<>(initialCapacity, maxPooled);
+	}
+
+	final int                                   initialCapacity;
+	final AtomicReferenceArray<PooledBuffer<T>> slots;
+
+	BufferPool(int initialCapacity, int maxPooled) {
+		this.initialCapacity = initialCapacity;
+		this.slots = new AtomicReferenceArray<>(maxPooled);
+	}
+
+	/**
+	 * Take a pooled buffer, or allocate a new one if none was released.
+	 *
+	 * @return an empty buffer
+	 */
+	@Override
+	public List<T> get() {
+		AtomicReferenceArray<PooledBuffer<T>> a = slots;
+		int n = a.length();
+		for (int i = 0; i < n; i++) {
+			PooledBuffer<T> b = a.get(i);
+			if (b != null && a.compareAndSet(i, b, null)) {
+				b.released = 0;
+				return b;
+			}
+		}
+		return new PooledBuffer<>(this, initialCapacity);
+	}
+
+	/**
+	 * Return a buffer obtained from this pool once its values have been processed.
+	 * Buffers that don't come from this pool are ignored.
+	 *
+	 * @param buffer the buffer to recycle
+	 *
+	 * @return true if the buffer was retained for reuse
+	 */
+	public boolean release(Collection<?> buffer) {
+		if (!(buffer instanceof PooledBuffer)) {
+			return false;
+		}
+		@SuppressWarnings("unchecked")
+		PooledBuffer<T> b = (PooledBuffer<T>) buffer;
+		if (b.pool != this || !PooledBuffer.RELEASED.compareAndSet(b, 0, 1)) {
+			return false;
+		}
+		b.clear();
+
+		AtomicReferenceArray<PooledBuffer<T>> a = slots;
+		int n = a.length();
+		for (int i = 0; i < n; i++) {
+			if (a.get(i) == null && a.compareAndSet(i, null, b)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Release a buffer that a buffering operator drops without emitting it, if that
+	 * operator draws its buffers from a {@link BufferPool}.
+	 *
+	 * @param bufferSupplier the buffer supplier of the operator
+	 * @param buffer the dropped buffer, or null
+	 */
+	static void discard(Supplier<?> bufferSupplier, @Nullable Collection<?> buffer) {
+		if (buffer != null && bufferSupplier instanceof BufferPool) {
+			((BufferPool<?>) bufferSupplier).release(buffer);
+		}
+	}
+
+	/**
+	 * @return the number of buffers currently retained for reuse
+	 */
+	public int pooled() {
+		AtomicReferenceArray<PooledBuffer<T>> a = slots;
+		int n = a.length();
+		int c = 0;
+		for (int i = 0; i < n; i++) {
+			if (a.get(i) != null) {
+				c++;
+			}
+		}
+		return c;
+	}
+
+	@SuppressWarnings("serial")
+	static final class PooledBuffer<T> extends ArrayList<T> {
+
+		final transient BufferPool<T> pool;
+
+		volatile int released;
+		@SuppressWarnings("rawtypes")
+		static final AtomicIntegerFieldUpdater<PooledBuffer> RELEASED =
+				AtomicIntegerFieldUpdater.newUpdater(PooledBuffer.class, "released");
+
+		PooledBuffer(BufferPool<T> pool, int initialCapacity) {
+			super(initialCapacity);
+			this.pool = pool;
+		}
+	}
+}
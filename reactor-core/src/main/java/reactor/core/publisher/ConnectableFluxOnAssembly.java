@@ -51,8 +51,15 @@ final class ConnectableFluxOnAssembly<T> extends ConnectableFlux<T> implements
 	final AssemblySnapshotException stacktrace;
 
 	ConnectableFluxOnAssembly(ConnectableFlux<T> source) {
+		this(source, new AssemblySnapshotException());
+	}
+
+	/**
+	 * Create an assembly trace from an existing, possibly shared, snapshot.
+	 */
+	ConnectableFluxOnAssembly(ConnectableFlux<T> source, AssemblySnapshotException stacktrace) {
 		this.source = source;
-		this.stacktrace = new AssemblySnapshotException();
+		this.stacktrace = stacktrace;
 	}
 	
 	@Override
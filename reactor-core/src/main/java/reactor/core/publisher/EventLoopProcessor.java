@@ -24,6 +24,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.concurrent.locks.LockSupport;
 import java.util.function.Consumer;
 import java.util.function.LongSupplier;
@@ -32,6 +33,7 @@ import java.util.stream.Stream;
 
 import org.reactivestreams.Subscription;
 import reactor.core.Exceptions;
+import reactor.core.Fuseable;
 import reactor.core.Scannable;
 import reactor.util.annotation.Nullable;
 import reactor.util.concurrent.Queues;
@@ -184,6 +186,16 @@ abstract class EventLoopProcessor<IN> extends FluxProcessor<IN, IN>
 
 	final ExecutorService  executor;
 	final ExecutorService requestTaskExecutor;
+	/**
+	 * Whether the {@link #executor} is shared with other processors, in which case it
+	 * is never shut down by this processor.
+	 */
+	final boolean          sharedExecutor;
+	/**
+	 * Whether the {@link #requestTaskExecutor} is shared with other processors, in which
+	 * case it is never shut down by this processor.
+	 */
+	final boolean          sharedRequestTaskExecutor;
 	final EventLoopContext contextClassLoader;
 	final String           name;
 	final boolean          autoCancel;
@@ -198,6 +210,22 @@ abstract class EventLoopProcessor<IN> extends FluxProcessor<IN, IN>
 
 	volatile       int                                                  subscriberCount;
 
+	/**
+	 * The fused upstream, if any, drained in batches into the ring buffer: one claim
+	 * and one publish for up to {@link #MAX_BATCH_SIZE} elements.
+	 */
+	@Nullable
+	Fuseable.QueueSubscription<IN> qs;
+	int                            sourceMode;
+	@Nullable
+	Object[]                       batch;
+	volatile boolean               fusedDone;
+	@Nullable
+	Throwable                      fusedError;
+
+	volatile long fusedRequested;
+	volatile int  fusedWip;
+
 	EventLoopProcessor(
 			int bufferSize,
 			@Nullable ThreadFactory threadFactory,
@@ -207,6 +235,21 @@ abstract class EventLoopProcessor<IN> extends FluxProcessor<IN, IN>
 			boolean multiproducers,
 			Supplier<Slot<IN>> factory,
 			WaitStrategy strategy) {
+		this(bufferSize, threadFactory, executor, requestExecutor, autoCancel,
+				multiproducers, factory, strategy, false, false);
+	}
+
+	EventLoopProcessor(
+			int bufferSize,
+			@Nullable ThreadFactory threadFactory,
+			@Nullable ExecutorService executor,
+			ExecutorService requestExecutor,
+			boolean autoCancel,
+			boolean multiproducers,
+			Supplier<Slot<IN>> factory,
+			WaitStrategy strategy,
+			boolean sharedExecutor,
+			boolean sharedRequestTaskExecutor) {
 
 		if (!Queues.isPowerOfTwo(bufferSize)) {
 			throw new IllegalArgumentException("bufferSize must be a power of 2 : " + bufferSize);
@@ -224,12 +267,15 @@ abstract class EventLoopProcessor<IN> extends FluxProcessor<IN, IN>
 		this.name = defaultName(threadFactory, getClass());
 
 		this.requestTaskExecutor = Objects.requireNonNull(requestExecutor, "requestTaskExecutor");
+		this.sharedRequestTaskExecutor = sharedRequestTaskExecutor;
 
 		if (executor == null) {
 			this.executor = Executors.newCachedThreadPool(threadFactory);
+			this.sharedExecutor = false;
 		}
 		else {
 			this.executor = executor;
+			this.sharedExecutor = sharedExecutor;
 		}
 
 		if (multiproducers) {
@@ -289,6 +335,17 @@ abstract class EventLoopProcessor<IN> extends FluxProcessor<IN, IN>
 		return Executors.newCachedThreadPool(r -> new Thread(r,name+"[request-task]"));
 	}
 
+	/**
+	 * Return the {@link ExecutorService} running the request tasks of all the processors
+	 * configured to share it, instead of each processor creating its own pool. It is a
+	 * lazily created cached thread pool of daemon threads that is never shut down.
+	 *
+	 * @return the shared {@link ExecutorService} for requestTask.
+	 */
+	static ExecutorService sharedRequestTaskExecutor() {
+		return SharedRequestTaskExecutor.INSTANCE;
+	}
+
 	/**
 	 * Determine whether this {@code Processor} can be used.
 	 *
@@ -315,6 +372,9 @@ abstract class EventLoopProcessor<IN> extends FluxProcessor<IN, IN>
 	public final boolean awaitAndShutdown(long timeout, TimeUnit timeUnit) {
 		try {
 			shutdown();
+			if (sharedExecutor) {
+				return awaitSubscribers(timeout, timeUnit);
+			}
 			return executor.awaitTermination(timeout, timeUnit);
 		} catch (InterruptedException ie) {
 			Thread.currentThread().interrupt();
@@ -322,6 +382,25 @@ abstract class EventLoopProcessor<IN> extends FluxProcessor<IN, IN>
 		}
 	}
 
+	/**
+	 * Wait for the subscribers of this processor to terminate, which is what terminating
+	 * a shared executor would otherwise mean for this processor.
+	 */
+	final boolean awaitSubscribers(long timeout, TimeUnit timeUnit)
+			throws InterruptedException {
+		long deadline = System.nanoTime() + timeUnit.toNanos(timeout);
+		while (subscriberCount != 0) {
+			if (deadline - System.nanoTime() <= 0L) {
+				return false;
+			}
+			LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(1));
+			if (Thread.interrupted()) {
+				throw new InterruptedException();
+			}
+		}
+		return true;
+	}
+
 	//FIXME store current subscribers
 	@Override
 	public Stream<? extends Scannable> inners() {
@@ -346,7 +425,15 @@ abstract class EventLoopProcessor<IN> extends FluxProcessor<IN, IN>
 	final public Flux<IN> forceShutdown() {
 		int t = terminated;
 		if (t != FORCED_SHUTDOWN && TERMINATED.compareAndSet(this, t, FORCED_SHUTDOWN)) {
-			executor.shutdownNow();
+			if (sharedExecutor) {
+				//interrupting shared threads would halt other processors too, let the
+				//consumers of this one observe the forced shutdown instead
+				readWait.signalAllWhenBlocking();
+				doComplete();
+			}
+			else {
+				executor.shutdownNow();
+			}
 		}
 		return drain();
 	}
@@ -386,9 +473,18 @@ abstract class EventLoopProcessor<IN> extends FluxProcessor<IN, IN>
 
 	@Override
 	final public void onComplete() {
+		if (sourceMode == Fuseable.ASYNC) {
+			fusedDone = true;
+			drainFused();
+			return;
+		}
+		terminateComplete();
+	}
+
+	final void terminateComplete() {
 		if (TERMINATED.compareAndSet(this, 0, SHUTDOWN)) {
 			upstreamSubscription = null;
-			executor.shutdown();
+			shutdownExecutor();
 			readWait.signalAllWhenBlocking();
 			doComplete();
 		}
@@ -397,10 +493,20 @@ abstract class EventLoopProcessor<IN> extends FluxProcessor<IN, IN>
 	@Override
 	final public void onError(Throwable t) {
 		Objects.requireNonNull(t, "onError");
+		if (sourceMode == Fuseable.ASYNC) {
+			fusedError = t;
+			fusedDone = true;
+			drainFused();
+			return;
+		}
+		terminateError(t);
+	}
+
+	final void terminateError(Throwable t) {
 		if (TERMINATED.compareAndSet(this, 0, SHUTDOWN)) {
 			error = t;
 			upstreamSubscription = null;
-			executor.shutdown();
+			shutdownExecutor();
 			readWait.signalAllWhenBlocking();
 			doError(t);
 		}
@@ -408,6 +514,10 @@ abstract class EventLoopProcessor<IN> extends FluxProcessor<IN, IN>
 
 	@Override
 	final public void onNext(IN o) {
+		if (sourceMode == Fuseable.ASYNC) {
+			drainFused();
+			return;
+		}
 		Objects.requireNonNull(o, "onNext");
 		final long seqId = ringBuffer.next();
 		final Slot<IN> signal = ringBuffer.get(seqId);
@@ -420,6 +530,16 @@ abstract class EventLoopProcessor<IN> extends FluxProcessor<IN, IN>
 		if (Operators.validate(upstreamSubscription, s)) {
 			this.upstreamSubscription = s;
 			try {
+				if (s instanceof Fuseable.QueueSubscription) {
+					@SuppressWarnings("unchecked")
+					Fuseable.QueueSubscription<IN> f = (Fuseable.QueueSubscription<IN>) s;
+					int m = f.requestFusion(Fuseable.ANY | Fuseable.THREAD_BARRIER);
+					if (m != Fuseable.NONE) {
+						this.batch = new Object[Math.min(ringBuffer.bufferSize(), MAX_BATCH_SIZE)];
+						this.qs = f;
+						this.sourceMode = m;
+					}
+				}
 				if (s != Operators.emptySubscription()) {
 					requestTask(s);
 				}
@@ -442,8 +562,10 @@ abstract class EventLoopProcessor<IN> extends FluxProcessor<IN, IN>
 	public final void shutdown() {
 		try {
 			onComplete();
-			executor.shutdown();
-			requestTaskExecutor.shutdown();
+			shutdownExecutor();
+			if (!sharedRequestTaskExecutor) {
+				requestTaskExecutor.shutdown();
+			}
 		}
 		catch (Throwable t) {
 			onError(Operators.onOperatorError(t, currentContext()));
@@ -458,15 +580,135 @@ abstract class EventLoopProcessor<IN> extends FluxProcessor<IN, IN>
 	final void cancel() {
 		cancelled = true;
 		if (TERMINATED.compareAndSet(this, 0, SHUTDOWN)) {
-			executor.shutdown();
+			shutdownExecutor();
 		}
 		readWait.signalAllWhenBlocking();
 	}
 
+	final void shutdownExecutor() {
+		if (!sharedExecutor) {
+			executor.shutdown();
+		}
+	}
+
 	protected void doComplete() {
 
 	}
 
+	/**
+	 * Request from the upstream on behalf of the {@link RequestTask}: a fused upstream
+	 * is drained by the requesting thread instead.
+	 *
+	 * @param upstream the upstream {@link Subscription}
+	 * @param n the amount to request
+	 */
+	final void requestUpstream(Subscription upstream, long n) {
+		if (sourceMode == Fuseable.NONE) {
+			upstream.request(n);
+		}
+		else {
+			Operators.addCap(FUSED_REQUESTED, this, n);
+			drainFused();
+		}
+	}
+
+	/**
+	 * Drain the fused upstream queue into the ring buffer, claiming and publishing a
+	 * whole batch of slots at once so that concurrent producers contend once per batch
+	 * and blocked readers are signalled once per batch.
+	 */
+	final void drainFused() {
+		final Fuseable.QueueSubscription<IN> q = qs;
+		final Object[] b = batch;
+		if (q == null || b == null) {
+			return;
+		}
+		if (FUSED_WIP.getAndIncrement(this) != 0) {
+			return;
+		}
+		final boolean sync = sourceMode == Fuseable.SYNC;
+		int missed = 1;
+
+		for (; ; ) {
+			long r = fusedRequested;
+			long e = 0L;
+
+			for (; ; ) {
+				if (cancelled || terminated != 0) {
+					q.clear();
+					return;
+				}
+				boolean d = sync || fusedDone;
+				if (d && q.isEmpty()) {
+					terminateFused();
+					return;
+				}
+				int max = (int) Math.min(r - e, b.length);
+				int n = 0;
+				boolean empty = false;
+				try {
+					while (n < max) {
+						IN v = q.poll();
+						if (v == null) {
+							empty = true;
+							break;
+						}
+						b[n++] = v;
+					}
+				}
+				catch (Throwable ex) {
+					publishBatch(b, n);
+					q.cancel();
+					terminateError(Operators.onOperatorError(ex, currentContext()));
+					return;
+				}
+				publishBatch(b, n);
+				e += n;
+
+				if (empty && d) {
+					terminateFused();
+					return;
+				}
+				if (empty || n == 0) {
+					break;
+				}
+			}
+
+			if (e != 0L && r != Long.MAX_VALUE) {
+				FUSED_REQUESTED.addAndGet(this, -e);
+			}
+
+			missed = FUSED_WIP.addAndGet(this, -missed);
+			if (missed == 0) {
+				break;
+			}
+		}
+	}
+
+	final void terminateFused() {
+		Throwable ex = fusedError;
+		if (ex != null) {
+			terminateError(ex);
+		}
+		else {
+			terminateComplete();
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	final void publishBatch(Object[] b, int n) {
+		if (n == 0) {
+			return;
+		}
+		final long hi = ringBuffer.next(n);
+		final long lo = hi - (n - 1);
+		for (int i = 0; i < n; i++) {
+			ringBuffer.get(lo + i).value = (IN) b[i];
+			b[i] = null;
+		}
+		ringBuffer.publish(lo, hi);
+	}
+
 
 	/**
 	 * An async request client for ring buffer impls
@@ -500,7 +742,7 @@ abstract class EventLoopProcessor<IN> extends FluxProcessor<IN, IN>
 			long cursor = -1;
 			try {
 				parent.run();
-				upstream.request(bufferSize);
+				parent.requestUpstream(upstream, bufferSize);
 
 				long c;
 				//noinspection InfiniteLoopStatement
@@ -511,7 +753,7 @@ abstract class EventLoopProcessor<IN> extends FluxProcessor<IN, IN>
 						postWaitCallback.accept(cursor);
 					}
 					//spinObserver.accept(null);
-					upstream.request(limit + (cursor - c));
+					parent.requestUpstream(upstream, limit + (cursor - c));
 				}
 			}
 			catch (InterruptedException e) {
@@ -567,6 +809,12 @@ abstract class EventLoopProcessor<IN> extends FluxProcessor<IN, IN>
 		}
 	}
 
+	/**
+	 * The maximum number of slots claimed and published at once when draining a fused
+	 * upstream.
+	 */
+	static final int MAX_BATCH_SIZE = 256;
+
 	static final int SHUTDOWN = 1;
 	static final int                                           FORCED_SHUTDOWN  = 2;
 	@SuppressWarnings("rawtypes")
@@ -575,6 +823,12 @@ abstract class EventLoopProcessor<IN> extends FluxProcessor<IN, IN>
 	@SuppressWarnings("rawtypes")
 	final static AtomicIntegerFieldUpdater<EventLoopProcessor> TERMINATED =
 			AtomicIntegerFieldUpdater.newUpdater(EventLoopProcessor.class, "terminated");
+	@SuppressWarnings("rawtypes")
+	final static AtomicIntegerFieldUpdater<EventLoopProcessor> FUSED_WIP =
+			AtomicIntegerFieldUpdater.newUpdater(EventLoopProcessor.class, "fusedWip");
+	@SuppressWarnings("rawtypes")
+	final static AtomicLongFieldUpdater<EventLoopProcessor> FUSED_REQUESTED =
+			AtomicLongFieldUpdater.newUpdater(EventLoopProcessor.class, "fusedRequested");
 
 	/**
 	 * A simple reusable data container.
@@ -597,15 +851,32 @@ abstract class EventLoopProcessor<IN> extends FluxProcessor<IN, IN>
 
 		final String  name;
 		final boolean daemon;
+		@Nullable
+		final Consumer<? super Thread> affinity;
 
 		EventLoopFactory(String name, boolean daemon) {
+			this(name, daemon, null);
+		}
+
+		EventLoopFactory(String name, boolean daemon,
+				@Nullable Consumer<? super Thread> affinity) {
 			this.name = name;
 			this.daemon = daemon;
+			this.affinity = affinity;
 		}
 
 		@Override
 		public Thread newThread(Runnable r) {
-			Thread t = new Thread(r, name + "-" + COUNT.incrementAndGet());
+			Consumer<? super Thread> affinity = this.affinity;
+			Runnable task = r;
+			if (affinity != null) {
+				//affinity libraries pin the calling thread, so run it from the new thread
+				task = () -> {
+					affinity.accept(Thread.currentThread());
+					r.run();
+				};
+			}
+			Thread t = new Thread(task, name + "-" + COUNT.incrementAndGet());
 			t.setDaemon(daemon);
 			return t;
 		}
@@ -615,4 +886,10 @@ abstract class EventLoopProcessor<IN> extends FluxProcessor<IN, IN>
 			return name;
 		}
 	}
+
+	static final class SharedRequestTaskExecutor {
+
+		static final ExecutorService INSTANCE = Executors.newCachedThreadPool(
+				new EventLoopFactory(EventLoopProcessor.class.getSimpleName() + "[request-task]", true));
+	}
 }
@@ -42,6 +42,8 @@ import java.util.function.Function;
 import java.util.function.LongConsumer;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 import java.util.logging.Level;
 import java.util.stream.Collector;
 import java.util.stream.Stream;
@@ -355,6 +357,82 @@ public abstract class Flux<T> implements Publisher<T> {
 				Queues.get(prefetch), prefetch));
 	}
 
+	/**
+	 * Build a {@link Flux} whose data are generated by the combination of the most recently published value from each
+	 * of the {@link Publisher} sources, coalescing the combinations the downstream has no demand for.
+	 * <p>
+	 * Sources are consumed as fast as they produce, regardless of downstream demand:
+	 * each value replaces the previous value of its source and only the latest values
+	 * at the time of a request are combined. Intermediate combinations are thus dropped
+	 * when the downstream is slower than the sources, unlike {@link #combineLatest(Function, Publisher[])}
+	 * which emits one combination per source signal. Sources don't contend on a lock
+	 * and the latest values are only copied when a combination is emitted.
+	 *
+	 * @param combinator The aggregate function that will receive the latest value from each upstream and return the value
+	 * to signal downstream
+	 * @param sources The {@link Publisher} sources to combine values from
+	 * @param <T> type of the value from sources
+	 * @param <V> The produced output after transformation by the given combinator
+	 *
+	 * @return a {@link Flux} based on the produced combinations
+	 */
+	@SafeVarargs
+	public static <T, V> Flux<V> combineLatestCoalesced(Function<Object[], V> combinator,
+			Publisher<? extends T>... sources) {
+		return combineLatestCoalesced(combinator, Queues.XS_BUFFER_SIZE, sources);
+	}
+
+	/**
+	 * Build a {@link Flux} whose data are generated by the combination of the most recently published value from each
+	 * of the {@link Publisher} sources, coalescing the combinations the downstream has no demand for.
+	 * <p>
+	 * Sources are consumed as fast as they produce, regardless of downstream demand:
+	 * each value replaces the previous value of its source and only the latest values
+	 * at the time of a request are combined.
+	 *
+	 * @param combinator The aggregate function that will receive the latest value from each upstream and return the value
+	 * to signal downstream
+	 * @param prefetch The demand sent to each combined source {@link Publisher}, replenished as values are received
+	 * @param sources The {@link Publisher} sources to combine values from
+	 * @param <T> type of the value from sources
+	 * @param <V> The produced output after transformation by the given combinator
+	 *
+	 * @return a {@link Flux} based on the produced combinations
+	 */
+	@SafeVarargs
+	public static <T, V> Flux<V> combineLatestCoalesced(Function<Object[], V> combinator,
+			int prefetch,
+			Publisher<? extends T>... sources) {
+		if (sources.length == 0) {
+			return empty();
+		}
+		return onAssembly(new FluxCombineLatestCoalesced<>(sources, combinator, prefetch));
+	}
+
+	/**
+	 * Build a {@link Flux} whose data are generated by the combination of the most recently published value from each
+	 * of the {@link Publisher} sources provided in an {@link Iterable}, coalescing the combinations the downstream
+	 * has no demand for.
+	 * <p>
+	 * Sources are consumed as fast as they produce, regardless of downstream demand:
+	 * each value replaces the previous value of its source and only the latest values
+	 * at the time of a request are combined.
+	 *
+	 * @param sources The list of {@link Publisher} sources to combine values from
+	 * @param combinator The aggregate function that will receive the latest value from each upstream and return the value
+	 * to signal downstream
+	 * @param <T> The common base type of the values from sources
+	 * @param <V> The produced output after transformation by the given combinator
+	 *
+	 * @return a {@link Flux} based on the produced combinations
+	 */
+	public static <T, V> Flux<V> combineLatestCoalesced(Iterable<? extends Publisher<? extends T>> sources,
+			Function<Object[], V> combinator) {
+		return onAssembly(new FluxCombineLatestCoalesced<T, V>(sources,
+				combinator,
+				Queues.XS_BUFFER_SIZE));
+	}
+
 	/**
 	 * Concatenate all sources provided in an {@link Iterable}, forwarding elements
 	 * emitted by the sources downstream.
@@ -2283,6 +2361,59 @@ public abstract class Flux<T> implements Publisher<T> {
 		return onAssembly(new FluxBufferTimeOrSize<>(this, maxSize, timespan.toMillis(), timer, bufferSupplier));
 	}
 
+	/**
+	 * Collect incoming values into multiple {@link List} buffers that will be emitted
+	 * by the returned {@link Flux} each time the buffer reaches a maximum size OR the
+	 * timespan {@link Duration} elapses, optionally respecting downstream backpressure.
+	 * <p>
+	 * With {@code fairBackpressure}, upstream is only requested the values needed to
+	 * fill the buffers requested downstream, and a buffer is only emitted when there
+	 * is demand for it: a buffer that times out while downstream has no demand is held
+	 * (and keeps filling up to {@code maxSize}) until the next request. Without it,
+	 * buffers are emitted as they close regardless of demand, like
+	 * {@link #bufferTimeout(int, Duration)}.
+	 * <p>
+	 * <img class="marble" src="https://raw.githubusercontent.com/reactor/reactor-core/v3.1.0.RC1/src/docs/marble/buffertimespansize.png"
+	 * alt="">
+	 *
+	 * @param maxSize the max collected size
+	 * @param timespan the timeout enforcing the release of a partial buffer
+	 * @param fairBackpressure whether to only emit buffers when downstream requested them
+	 *
+	 * @return a microbatched {@link Flux} of {@link List} delimited by given size or a given period timeout
+	 */
+	public final Flux<List<T>> bufferTimeout(int maxSize, Duration timespan, boolean fairBackpressure) {
+		return bufferTimeout(maxSize, timespan, Schedulers.parallel(), listSupplier(), fairBackpressure);
+	}
+
+	/**
+	 * Collect incoming values into multiple user-defined {@link Collection} buffers that
+	 * will be emitted by the returned {@link Flux} each time the buffer reaches a maximum
+	 * size OR the timespan {@link Duration} elapses, as measured on the provided {@link Scheduler},
+	 * optionally respecting downstream backpressure.
+	 * <p>
+	 * With {@code fairBackpressure}, upstream is only requested the values needed to
+	 * fill the buffers requested downstream, and a buffer is only emitted when there
+	 * is demand for it: a buffer that times out while downstream has no demand is held
+	 * (and keeps filling up to {@code maxSize}) until the next request.
+	 * <p>
+	 * <img class="marble" src="https://raw.githubusercontent.com/reactor/reactor-core/v3.1.0.RC1/src/docs/marble/buffertimespansize.png"
+	 * alt="">
+	 *
+	 * @param maxSize the max collected size
+	 * @param timespan the timeout enforcing the release of a partial buffer
+	 * @param timer a time-capable {@link Scheduler} instance to run on
+	 * @param bufferSupplier a {@link Supplier} of the concrete {@link Collection} to use for each buffer
+	 * @param fairBackpressure whether to only emit buffers when downstream requested them
+	 * @param <C> the {@link Collection} buffer type
+	 * @return a microbatched {@link Flux} of {@link Collection} delimited by given size or a given period timeout
+	 */
+	public final  <C extends Collection<? super T>> Flux<C> bufferTimeout(int maxSize, Duration timespan,
+			Scheduler timer, Supplier<C> bufferSupplier, boolean fairBackpressure) {
+		return onAssembly(new FluxBufferTimeOrSize<>(this, maxSize, timespan.toMillis(), timer,
+				bufferSupplier, fairBackpressure));
+	}
+
 	/**
 	 * Collect incoming values into multiple {@link List} buffers that will be emitted by
 	 * the resulting {@link Flux} each time the given predicate returns true. Note that
@@ -2493,6 +2624,46 @@ public abstract class Flux<T> implements Publisher<T> {
 		return replay(history, ttl).autoConnect();
 	}
 
+	/**
+	 * Turn this {@link Flux} into a hot source and cache last emitted signals for further
+	 * {@link Subscriber}. Will retain an unbounded history but apply a per-item expiry timeout
+	 * <p>
+	 *   Completion and Error will also be replayed until {@code ttl} triggers in which case
+	 *   the next {@link Subscriber} will start over a new subscription.
+	 * <p>
+	 * <img width="500" src="https://raw.githubusercontent.com/reactor/reactor-core/v3.1.0.RC1/src/docs/marble/cache.png"
+	 * alt="">
+	 *
+	 * @param ttl Time-to-live for each cached item and post termination.
+	 * @param timer the time-capable {@link Scheduler} instance to read current time from
+	 *
+	 * @return a replaying {@link Flux}
+	 */
+	public final Flux<T> cache(Duration ttl, Scheduler timer) {
+		return cache(Integer.MAX_VALUE, ttl, timer);
+	}
+
+	/**
+	 * Turn this {@link Flux} into a hot source and cache last emitted signals for further
+	 * {@link Subscriber}. Will retain up to the given history size and apply a per-item expiry
+	 * timeout.
+	 * <p>
+	 *   Completion and Error will also be replayed until {@code ttl} triggers in which case
+	 *   the next {@link Subscriber} will start over a new subscription.
+	 * <p>
+	 * <img width="500" src="https://raw.githubusercontent.com/reactor/reactor-core/v3.1.0.RC1/src/docs/marble/cache.png"
+	 * alt="">
+	 *
+	 * @param history number of elements retained in cache
+	 * @param ttl Time-to-live for each cached item and post termination.
+	 * @param timer the time-capable {@link Scheduler} instance to read current time from
+	 *
+	 * @return a replaying {@link Flux}
+	 */
+	public final Flux<T> cache(int history, Duration ttl, Scheduler timer) {
+		return replay(history, ttl, timer).autoConnect();
+	}
+
 	/**
 	 * Cast the current {@link Flux} produced type into a target produced type.
 	 *
@@ -3343,6 +3514,143 @@ public abstract class Flux<T> implements Publisher<T> {
 		return onAssembly(new FluxDistinct<>(this, keySelector, distinctCollectionSupplier));
 	}
 
+	/**
+	 * For each {@link Subscriber}, track elements from this {@link Flux} that have been
+	 * seen and filter out duplicates, as compared by a key extracted through the user
+	 * provided {@link Function}. At most {@code maxKeys} keys are remembered: once that
+	 * many are tracked, the least recently seen key is forgotten, so that a value with
+	 * that key would be emitted again. This bounds the memory used to deduplicate
+	 * infinite sequences where duplicates are expected to be close to one another.
+	 *
+	 * <p>
+	 * <img class="marble" src="https://raw.githubusercontent.com/reactor/reactor-core/v3.1.0.RC1/src/docs/marble/distinctk.png" alt="">
+	 *
+	 * @param keySelector function to compute comparison key for each element
+	 * @param maxKeys the maximum number of keys remembered
+	 * @param <V> the type of the key extracted from each value in this sequence
+	 *
+	 * @return a filtering {@link Flux} only emitting values with distinct keys among the
+	 * {@code maxKeys} most recently seen keys
+	 */
+	public final <V> Flux<T> distinct(Function<? super T, ? extends V> keySelector, int maxKeys) {
+		if (maxKeys <= 0) {
+			throw new IllegalArgumentException("maxKeys > 0 required but it was " + maxKeys);
+		}
+		return distinct(keySelector, () -> new FluxDistinct.LruKeySet<V>(maxKeys));
+	}
+
+	/**
+	 * For each {@link Subscriber}, track elements from this {@link Flux} that have been
+	 * seen and filter out duplicates, as compared by a key extracted through the user
+	 * provided {@link Function}. Each key is forgotten once the given {@link Duration}
+	 * elapsed since it was first seen, so that a value with that key would be emitted
+	 * again. This bounds the memory used to deduplicate infinite sequences to the keys
+	 * seen within a window, as measured by the clock of the {@link Schedulers#parallel()
+	 * parallel} {@link Scheduler}.
+	 *
+	 * <p>
+	 * <img class="marble" src="https://raw.githubusercontent.com/reactor/reactor-core/v3.1.0.RC1/src/docs/marble/distinctk.png" alt="">
+	 *
+	 * @param keySelector function to compute comparison key for each element
+	 * @param window the {@link Duration} each key is remembered for
+	 * @param <V> the type of the key extracted from each value in this sequence
+	 *
+	 * @return a filtering {@link Flux} only emitting values with distinct keys within
+	 * the window
+	 */
+	public final <V> Flux<T> distinct(Function<? super T, ? extends V> keySelector, Duration window) {
+		return distinct(keySelector, window, Schedulers.parallel());
+	}
+
+	/**
+	 * For each {@link Subscriber}, track elements from this {@link Flux} that have been
+	 * seen and filter out duplicates, as compared by a key extracted through the user
+	 * provided {@link Function}. Each key is forgotten once the given {@link Duration}
+	 * elapsed since it was first seen, so that a value with that key would be emitted
+	 * again. This bounds the memory used to deduplicate infinite sequences to the keys
+	 * seen within a window, as measured by the clock of the provided {@link Scheduler}.
+	 *
+	 * <p>
+	 * <img class="marble" src="https://raw.githubusercontent.com/reactor/reactor-core/v3.1.0.RC1/src/docs/marble/distinctk.png" alt="">
+	 *
+	 * @param keySelector function to compute comparison key for each element
+	 * @param window the {@link Duration} each key is remembered for
+	 * @param timer the time-capable {@link Scheduler} instance to read current time from
+	 * @param <V> the type of the key extracted from each value in this sequence
+	 *
+	 * @return a filtering {@link Flux} only emitting values with distinct keys within
+	 * the window
+	 */
+	public final <V> Flux<T> distinct(Function<? super T, ? extends V> keySelector,
+			Duration window, Scheduler timer) {
+		long windowMillis = window.toMillis();
+		if (windowMillis <= 0) {
+			throw new IllegalArgumentException("window > 0 required but it was " + window);
+		}
+		Objects.requireNonNull(timer, "timer");
+		return distinct(keySelector, () -> new FluxDistinct.TimedKeySet<V>(windowMillis, timer));
+	}
+
+	/**
+	 * For each {@link Subscriber}, filter out elements from this {@link Flux} whose key,
+	 * extracted through the user provided {@link Function}, has probably been seen
+	 * before. Keys are tracked by a scalable Bloom filter that only retains their
+	 * {@link Object#hashCode() hash codes} as a few bits each, growing with the number of
+	 * distinct keys: duplicates are always filtered out, but an element with a new key
+	 * may also be filtered out, with a probability of at most {@code falsePositiveRate}.
+	 * <p>
+	 * That bound doesn't account for distinct keys with equal hash codes, which are
+	 * always filtered out as duplicates. As hash codes only have 32 bits, this is
+	 * common for some key types (e.g. {@link Long} keys, whose hash code xors their
+	 * two halves): use {@link #distinctApproximate(Function, ToLongFunction, double)}
+	 * with a wider hash for those.
+	 *
+	 * <p>
+	 * <img class="marble" src="https://raw.githubusercontent.com/reactor/reactor-core/v3.1.0.RC1/src/docs/marble/distinctk.png" alt="">
+	 *
+	 * @param keySelector function to compute comparison key for each element
+	 * @param falsePositiveRate the probability of wrongly filtering out an element with a
+	 * new key, between 0 and 1 (exclusive)
+	 * @param <V> the type of the key extracted from each value in this sequence
+	 *
+	 * @return a filtering {@link Flux} only emitting values with probably distinct keys
+	 */
+	public final <V> Flux<T> distinctApproximate(Function<? super T, ? extends V> keySelector,
+			double falsePositiveRate) {
+		return distinctApproximate(keySelector, Object::hashCode, falsePositiveRate);
+	}
+
+	/**
+	 * For each {@link Subscriber}, filter out elements from this {@link Flux} whose key,
+	 * extracted through the user provided {@link Function}, has probably been seen
+	 * before. Keys are tracked by a scalable Bloom filter that only retains the 64 bits
+	 * hash computed by the user provided {@link ToLongFunction} as a few bits each,
+	 * growing with the number of distinct keys: duplicates are always filtered out, but
+	 * an element with a new key may also be filtered out, with a probability of at most
+	 * {@code falsePositiveRate} plus the probability that its hash collides with the
+	 * one of a key seen before.
+	 *
+	 * <p>
+	 * <img class="marble" src="https://raw.githubusercontent.com/reactor/reactor-core/v3.1.0.RC1/src/docs/marble/distinctk.png" alt="">
+	 *
+	 * @param keySelector function to compute comparison key for each element
+	 * @param keyHasher function to compute a 64 bits hash of each key, which should be
+	 * distinct for distinct keys (e.g. the key itself for {@link Long} keys)
+	 * @param falsePositiveRate the probability of wrongly filtering out an element with a
+	 * new key, between 0 and 1 (exclusive)
+	 * @param <V> the type of the key extracted from each value in this sequence
+	 *
+	 * @return a filtering {@link Flux} only emitting values with probably distinct keys
+	 */
+	public final <V> Flux<T> distinctApproximate(Function<? super T, ? extends V> keySelector,
+			ToLongFunction<? super V> keyHasher, double falsePositiveRate) {
+		if (!(falsePositiveRate > 0d && falsePositiveRate < 1d)) {
+			throw new IllegalArgumentException("falsePositiveRate must be between 0 and 1 (exclusive) but it was " + falsePositiveRate);
+		}
+		Objects.requireNonNull(keyHasher, "keyHasher");
+		return distinct(keySelector, () -> new ScalableBloomFilter<V>(falsePositiveRate, keyHasher));
+	}
+
 	/**
 	 * Filter out subsequent repetitions of an element (that is, if they arrive right after
 	 * one another).
@@ -4391,6 +4699,146 @@ public abstract class Flux<T> implements Publisher<T> {
 				Queues.unbounded(prefetch), prefetch));
 	}
 
+	/**
+	 * Divide this sequence into dynamically created {@link Flux} (or groups) for each
+	 * unique {@code long} key, as produced by the provided keyMapper {@link ToLongFunction}.
+	 * Unlike {@link #groupBy(Function)}, keys are not boxed to look up the group of each
+	 * value, which suits a high cardinality of numerical keys such as identifiers.
+	 * {@code int} keys can be used as well, as they are widened to {@code long}.
+	 *
+	 * <p>
+	 * <img class="marble" src="https://raw.githubusercontent.com/reactor/reactor-core/v3.1.0.RC1/src/docs/marble/groupby.png" alt="">
+	 *
+	 * <p>
+	 * The groups need to be drained and consumed downstream for groupByLong to work
+	 * correctly, as with {@link #groupBy(Function)}.
+	 *
+	 * @param keyMapper the key mapping function that evaluates an incoming data and returns a key.
+	 *
+	 * @return a {@link Flux} of {@link GroupedFlux} grouped sequences
+	 * @see #groupByLong(ToLongFunction, Duration, int)
+	 */
+	public final Flux<GroupedFlux<Long, T>> groupByLong(ToLongFunction<? super T> keyMapper) {
+		return groupByLong(keyMapper, FluxGroupByLong.NO_MAX_IDLE, Integer.MAX_VALUE,
+				Schedulers.parallel());
+	}
+
+	/**
+	 * Divide this sequence into dynamically created {@link Flux} (or groups) for each
+	 * unique {@code long} key, as produced by the provided keyMapper {@link ToLongFunction},
+	 * keeping at most {@code maxGroups} groups open. When a value with a new key arrives
+	 * while {@code maxGroups} groups are open, the least recently used group (the one
+	 * that received a value the longest time ago) is completed first. If a value with the
+	 * key of a completed group arrives later on, a new group is emitted for that key.
+	 * <p>
+	 * Keys are not boxed to look up the group of each value, and {@code int} keys can be
+	 * used as well, as they are widened to {@code long}.
+	 *
+	 * <p>
+	 * <img class="marble" src="https://raw.githubusercontent.com/reactor/reactor-core/v3.1.0.RC1/src/docs/marble/groupby.png" alt="">
+	 *
+	 * @param keyMapper the key mapping function that evaluates an incoming data and returns a key.
+	 * @param maxGroups the maximum number of groups open at the same time
+	 *
+	 * @return a {@link Flux} of {@link GroupedFlux} grouped sequences
+	 */
+	public final Flux<GroupedFlux<Long, T>> groupByLong(ToLongFunction<? super T> keyMapper,
+			int maxGroups) {
+		return groupByLong(keyMapper, FluxGroupByLong.NO_MAX_IDLE, maxGroups,
+				Schedulers.parallel());
+	}
+
+	/**
+	 * Divide this sequence into dynamically created {@link Flux} (or groups) for each
+	 * unique {@code long} key, as produced by the provided keyMapper {@link ToLongFunction},
+	 * completing the groups that didn't receive any value for longer than {@code maxIdle}.
+	 * Idle groups are detected as new values arrive from this {@link Flux}, so groups are
+	 * not completed while the whole sequence is idle. If a value with the key of a
+	 * completed group arrives later on, a new group is emitted for that key.
+	 * <p>
+	 * Keys are not boxed to look up the group of each value, and {@code int} keys can be
+	 * used as well, as they are widened to {@code long}.
+	 *
+	 * <p>
+	 * <img class="marble" src="https://raw.githubusercontent.com/reactor/reactor-core/v3.1.0.RC1/src/docs/marble/groupby.png" alt="">
+	 *
+	 * @param keyMapper the key mapping function that evaluates an incoming data and returns a key.
+	 * @param maxIdle the maximum {@link Duration} a group can stay open without receiving a value
+	 *
+	 * @return a {@link Flux} of {@link GroupedFlux} grouped sequences
+	 */
+	public final Flux<GroupedFlux<Long, T>> groupByLong(ToLongFunction<? super T> keyMapper,
+			Duration maxIdle) {
+		return groupByLong(keyMapper, maxIdle, Integer.MAX_VALUE, Schedulers.parallel());
+	}
+
+	/**
+	 * Divide this sequence into dynamically created {@link Flux} (or groups) for each
+	 * unique {@code long} key, as produced by the provided keyMapper {@link ToLongFunction},
+	 * completing the groups that didn't receive any value for longer than {@code maxIdle}
+	 * and keeping at most {@code maxGroups} groups open, by completing the least recently
+	 * used group when a value with a new key arrives. Idle groups are detected as new
+	 * values arrive from this {@link Flux}, so groups are not completed while the whole
+	 * sequence is idle. If a value with the key of a completed group arrives later on, a
+	 * new group is emitted for that key.
+	 * <p>
+	 * Keys are not boxed to look up the group of each value, and {@code int} keys can be
+	 * used as well, as they are widened to {@code long}.
+	 *
+	 * <p>
+	 * <img class="marble" src="https://raw.githubusercontent.com/reactor/reactor-core/v3.1.0.RC1/src/docs/marble/groupby.png" alt="">
+	 *
+	 * @param keyMapper the key mapping function that evaluates an incoming data and returns a key.
+	 * @param maxIdle the maximum {@link Duration} a group can stay open without receiving a value
+	 * @param maxGroups the maximum number of groups open at the same time
+	 *
+	 * @return a {@link Flux} of {@link GroupedFlux} grouped sequences
+	 */
+	public final Flux<GroupedFlux<Long, T>> groupByLong(ToLongFunction<? super T> keyMapper,
+			Duration maxIdle, int maxGroups) {
+		return groupByLong(keyMapper, maxIdle, maxGroups, Schedulers.parallel());
+	}
+
+	/**
+	 * Divide this sequence into dynamically created {@link Flux} (or groups) for each
+	 * unique {@code long} key, as produced by the provided keyMapper {@link ToLongFunction},
+	 * completing the groups that didn't receive any value for longer than {@code maxIdle},
+	 * as measured by the clock of the given {@link Scheduler}, and keeping at most
+	 * {@code maxGroups} groups open, by completing the least recently used group when a
+	 * value with a new key arrives. Idle groups are detected as new values arrive from
+	 * this {@link Flux}, so groups are not completed while the whole sequence is idle. If
+	 * a value with the key of a completed group arrives later on, a new group is emitted
+	 * for that key.
+	 * <p>
+	 * Keys are not boxed to look up the group of each value, and {@code int} keys can be
+	 * used as well, as they are widened to {@code long}.
+	 *
+	 * <p>
+	 * <img class="marble" src="https://raw.githubusercontent.com/reactor/reactor-core/v3.1.0.RC1/src/docs/marble/groupby.png" alt="">
+	 *
+	 * @param keyMapper the key mapping function that evaluates an incoming data and returns a key.
+	 * @param maxIdle the maximum {@link Duration} a group can stay open without receiving a value
+	 * @param maxGroups the maximum number of groups open at the same time
+	 * @param timer the time-capable {@link Scheduler} instance to read current time from
+	 *
+	 * @return a {@link Flux} of {@link GroupedFlux} grouped sequences
+	 */
+	public final Flux<GroupedFlux<Long, T>> groupByLong(ToLongFunction<? super T> keyMapper,
+			Duration maxIdle, int maxGroups, Scheduler timer) {
+		return groupByLong(keyMapper, maxIdle.toMillis(), maxGroups, timer);
+	}
+
+	final Flux<GroupedFlux<Long, T>> groupByLong(ToLongFunction<? super T> keyMapper,
+			long maxIdleMillis, int maxGroups, Scheduler timer) {
+		return onAssembly(new FluxGroupByLong<>(this, keyMapper, identityFunction(),
+				Queues.unbounded(Queues.SMALL_BUFFER_SIZE),
+				Queues.unbounded(Queues.SMALL_BUFFER_SIZE),
+				Queues.SMALL_BUFFER_SIZE,
+				maxIdleMillis,
+				maxGroups,
+				timer));
+	}
+
 	/**
 	 * Map values from two Publishers into time windows and emit combination of values
 	 * in case their windows overlap. The emitted elements are obtained by passing the
@@ -5332,6 +5780,104 @@ public abstract class Flux<T> implements Publisher<T> {
 				Queues.get(prefetch));
 	}
 
+	/**
+	 * Prepare this {@link Flux} by dividing data on a number of 'rails' matching the
+	 * provided {@code parallelism} parameter, routing each value to a rail selected by the
+	 * hash of its key, as computed by the provided {@link ToIntFunction}. All values with
+	 * the same key hash are thus processed in order on the same rail, which makes
+	 * stateful per-key processing safe once the rails run in parallel with
+	 * {@link ParallelFlux#runOn(Scheduler)}.
+	 * <p>
+	 * Note that a value waits for its rail to be ready before being dispatched, holding
+	 * back the values behind it even if their rails are ready: a slow rail or a skewed
+	 * key distribution slows down all rails.
+	 *
+	 * <p>
+	 * <img class="marble" src="https://raw.githubusercontent.com/reactor/reactor-core/v3.1.0.RC1/src/docs/marble/parallel.png" alt="">
+	 *
+	 * @param parallelism the number of parallel rails
+	 * @param keyHashFunction the function computing the hash of the key of each value
+	 *
+	 * @return a new {@link ParallelFlux} instance
+	 */
+	public final ParallelFlux<T> parallel(int parallelism,
+			ToIntFunction<? super T> keyHashFunction) {
+		return parallel(parallelism, Queues.SMALL_BUFFER_SIZE, keyHashFunction);
+	}
+
+	/**
+	 * Prepare this {@link Flux} by dividing data on a number of 'rails' matching the
+	 * provided {@code parallelism} parameter, routing each value to a rail selected by the
+	 * hash of its key, as computed by the provided {@link ToIntFunction}, and using a
+	 * custom prefetch amount and queue for dealing with the source {@link Flux}'s values.
+	 * All values with the same key hash are thus processed in order on the same rail.
+	 * <p>
+	 * Note that a value waits for its rail to be ready before being dispatched, holding
+	 * back the values behind it even if their rails are ready: a slow rail or a skewed
+	 * key distribution slows down all rails.
+	 *
+	 * <p>
+	 * <img class="marble" src="https://raw.githubusercontent.com/reactor/reactor-core/v3.1.0.RC1/src/docs/marble/parallel.png" alt="">
+	 *
+	 * @param parallelism the number of parallel rails
+	 * @param prefetch the number of values to prefetch from the source
+	 * @param keyHashFunction the function computing the hash of the key of each value
+	 *
+	 * @return a new {@link ParallelFlux} instance
+	 */
+	public final ParallelFlux<T> parallel(int parallelism,
+			int prefetch,
+			ToIntFunction<? super T> keyHashFunction) {
+		Objects.requireNonNull(keyHashFunction, "keyHashFunction");
+		return ParallelFlux.onAssembly(new ParallelSource<>(this,
+				parallelism,
+				prefetch,
+				Queues.get(prefetch),
+				keyHashFunction,
+				false));
+	}
+
+	/**
+	 * Prepare this {@link Flux} by dividing data on a number of 'rails' matching the
+	 * provided {@code parallelism} parameter, sending each value to the rail with the
+	 * most outstanding demand rather than in a round-robin fashion. When the processing
+	 * cost of values is uneven, rails that are done with cheap values are thus fed
+	 * more values instead of staying idle while another rail is busy.
+	 *
+	 * <p>
+	 * <img class="marble" src="https://raw.githubusercontent.com/reactor/reactor-core/v3.1.0.RC1/src/docs/marble/parallel.png" alt="">
+	 *
+	 * @param parallelism the number of parallel rails
+	 *
+	 * @return a new {@link ParallelFlux} instance
+	 */
+	public final ParallelFlux<T> parallelAdaptive(int parallelism) {
+		return parallelAdaptive(parallelism, Queues.SMALL_BUFFER_SIZE);
+	}
+
+	/**
+	 * Prepare this {@link Flux} by dividing data on a number of 'rails' matching the
+	 * provided {@code parallelism} parameter, sending each value to the rail with the
+	 * most outstanding demand rather than in a round-robin fashion, and using a custom
+	 * prefetch amount and queue for dealing with the source {@link Flux}'s values.
+	 *
+	 * <p>
+	 * <img class="marble" src="https://raw.githubusercontent.com/reactor/reactor-core/v3.1.0.RC1/src/docs/marble/parallel.png" alt="">
+	 *
+	 * @param parallelism the number of parallel rails
+	 * @param prefetch the number of values to prefetch from the source
+	 *
+	 * @return a new {@link ParallelFlux} instance
+	 */
+	public final ParallelFlux<T> parallelAdaptive(int parallelism, int prefetch) {
+		return ParallelFlux.onAssembly(new ParallelSource<>(this,
+				parallelism,
+				prefetch,
+				Queues.get(prefetch),
+				null,
+				true));
+	}
+
 	/**
 	 * Prepare a {@link ConnectableFlux} which shares this {@link Flux} sequence and
 	 * dispatches values to subscribers in a backpressure-aware manner. Prefetch will
@@ -7288,6 +7834,36 @@ public abstract class Flux<T> implements Publisher<T> {
 				Queues.unbounded(Queues.XS_BUFFER_SIZE)));
 	}
 
+	/**
+	 * Split this {@link Flux} sequence into multiple {@link Flux} windows of size
+	 * {@code maxSize}, that each open every {@code skip} elements in the source,
+	 * optionally backing overlapping windows with a single shared buffer.
+	 *
+	 * <p>
+	 * When {@code sharedBuffer} is true and maxSize > skip, each source element is
+	 * stored once in a buffer that all the overlapping windows read from at their own
+	 * pace, rather than queued separately in each of the (up to {@code maxSize / skip})
+	 * windows it belongs to. A window that is retained without being consumed then
+	 * keeps the elements emitted after it in memory, not just its own. The flag has no
+	 * effect on exact or dropping windows.
+	 * <p>
+	 * <img class="marble" src="https://raw.githubusercontent.com/reactor/reactor-core/v3.1.0.RC1/src/docs/marble/windowsizeskipover.png" alt="">
+	 *
+	 * @param maxSize the maximum number of items to emit in the window before closing it
+	 * @param skip the number of items to count before opening and emitting a new window
+	 * @param sharedBuffer whether overlapping windows read from a single shared buffer
+	 *
+	 * @return a {@link Flux} of {@link Flux} windows based on element count and opened every skipCount
+	 */
+	public final Flux<Flux<T>> window(int maxSize, int skip, boolean sharedBuffer) {
+		return onAssembly(new FluxWindow<>(this,
+				maxSize,
+				skip,
+				Queues.unbounded(Queues.XS_BUFFER_SIZE),
+				Queues.unbounded(Queues.XS_BUFFER_SIZE),
+				sharedBuffer));
+	}
+
 	/**
 	 * Split this {@link Flux} sequence into continuous, non-overlapping windows
 	 * where the window boundary is signalled by another {@link Publisher}
@@ -7303,7 +7879,7 @@ public abstract class Flux<T> implements Publisher<T> {
 		return onAssembly(new FluxWindowBoundary<>(this,
 				boundary,
 				Queues.unbounded(Queues.XS_BUFFER_SIZE),
-				Queues.unbounded(Queues.XS_BUFFER_SIZE)));
+				Queues.mpsc()));
 	}
 
 	/**
@@ -7591,7 +8167,7 @@ public abstract class Flux<T> implements Publisher<T> {
 		return onAssembly(new FluxWindowWhen<>(this,
 				bucketOpening,
 				closeSelector,
-				Queues.unbounded(Queues.XS_BUFFER_SIZE),
+				Queues.mpsc(),
 				Queues.unbounded(Queues.XS_BUFFER_SIZE)));
 	}
 
@@ -7690,14 +8266,14 @@ public abstract class Flux<T> implements Publisher<T> {
 	 *
 	 * @return a zipped {@link Flux}
 	 */
-	@SuppressWarnings("unchecked")
 	public final <T2, V> Flux<V> zipWith(Publisher<? extends T2> source2,
 			int prefetch,
 			BiFunction<? super T, ? super T2, ? extends V> combinator) {
-		return zip(objects -> combinator.apply((T) objects[0], (T2) objects[1]),
-				prefetch,
-				this,
-				source2);
+		return onAssembly(new FluxZip<T, V>(this,
+				source2,
+				combinator,
+				Queues.get(prefetch),
+				prefetch));
 	}
 
 	/**
@@ -161,6 +161,9 @@ final class FluxBuffer<T, C extends Collection<? super T>> extends FluxOperator<
 				return;
 			}
 			done = true;
+			C b = buffer;
+			buffer = null;
+			BufferPool.discard(bufferSupplier, b);
 			actual.onError(t);
 		}
 
@@ -311,7 +314,9 @@ final class FluxBuffer<T, C extends Collection<? super T>> extends FluxOperator<
 			}
 
 			done = true;
+			C b = buffer;
 			buffer = null;
+			BufferPool.discard(bufferSupplier, b);
 
 			actual.onError(t);
 		}
@@ -500,7 +505,10 @@ final class FluxBuffer<T, C extends Collection<? super T>> extends FluxOperator<
 			}
 
 			done = true;
-			clear();
+			C b;
+			while ((b = poll()) != null) {
+				BufferPool.discard(bufferSupplier, b);
+			}
 
 			actual.onError(t);
 		}
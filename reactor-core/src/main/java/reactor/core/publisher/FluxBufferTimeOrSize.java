@@ -18,18 +18,22 @@ package reactor.core.publisher;
 
 import java.util.Collection;
 import java.util.Objects;
+import java.util.Queue;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.function.Supplier;
 
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 import reactor.core.CoreSubscriber;
 import reactor.core.Disposable;
+import reactor.core.Exceptions;
 import reactor.core.scheduler.Scheduler;
 import reactor.util.annotation.Nullable;
+import reactor.util.concurrent.Queues;
 
 /**
  * @author Stephane Maldini
@@ -41,12 +45,22 @@ final class FluxBufferTimeOrSize<T, C extends Collection<? super T>> extends Flu
 	final Supplier<C>    bufferSupplier;
 	final Scheduler      timer;
 	final long           timespan;
+	final boolean        fairBackpressure;
 
 	FluxBufferTimeOrSize(Flux<T> source,
 			int maxSize,
 			long timespan,
 			Scheduler timer,
 			Supplier<C> bufferSupplier) {
+		this(source, maxSize, timespan, timer, bufferSupplier, false);
+	}
+
+	FluxBufferTimeOrSize(Flux<T> source,
+			int maxSize,
+			long timespan,
+			Scheduler timer,
+			Supplier<C> bufferSupplier,
+			boolean fairBackpressure) {
 		super(source);
 		if (timespan <= 0) {
 			throw new IllegalArgumentException("Timeout period must be strictly positive");
@@ -58,10 +72,19 @@ final class FluxBufferTimeOrSize<T, C extends Collection<? super T>> extends Flu
 		this.timespan = timespan;
 		this.batchSize = maxSize;
 		this.bufferSupplier = Objects.requireNonNull(bufferSupplier, "bufferSupplier");
+		this.fairBackpressure = fairBackpressure;
 	}
 
 	@Override
 	public void subscribe(CoreSubscriber<? super C> actual) {
+		if (fairBackpressure) {
+			source.subscribe(new BufferTimeoutWithBackpressureSubscriber<>(actual,
+					batchSize,
+					timespan,
+					timer,
+					bufferSupplier));
+			return;
+		}
 		source.subscribe(new BufferTimeoutSubscriber<>(Operators.serialize(actual),
 				batchSize,
 				timespan,
@@ -222,6 +245,13 @@ final class FluxBufferTimeOrSize<T, C extends Collection<? super T>> extends Flu
 				flushCallback(null);
 			}
 			finally {
+				C v;
+				synchronized (this) {
+					v = values;
+					values = null;
+				}
+				//the next buffer is allocated eagerly, so the last one is usually empty
+				BufferPool.discard(bufferSupplier, v);
 				actual.onComplete();
 			}
 		}
@@ -279,13 +309,15 @@ final class FluxBufferTimeOrSize<T, C extends Collection<? super T>> extends Flu
 		public void onError(Throwable throwable) {
 			if (TERMINATED.compareAndSet(this, NOT_TERMINATED, TERMINATED_WITH_ERROR)) {
 				timer.dispose();
+				C v;
 				synchronized (this) {
-					C v = values;
+					v = values;
 					if(v != null) {
 						v.clear();
 						values = null;
 					}
 				}
+				BufferPool.discard(bufferSupplier, v);
 				actual.onError(throwable);
 			}
 		}
@@ -311,5 +343,338 @@ final class FluxBufferTimeOrSize<T, C extends Collection<? super T>> extends Flu
 			}
 		}
 	}
+
+	/**
+	 * A {@link BufferTimeoutSubscriber} alternative that only emits buffers when the
+	 * downstream requested them. Values are handed from the producer to the drain
+	 * through a single-producer queue rather than under a lock, and upstream is only
+	 * requested enough values to fill the buffers downstream asked for, so buffers
+	 * that timed out while there was no demand are held and emitted as soon as demand
+	 * arrives. The timeout is tracked as a deadline re-armed on a single timer task,
+	 * which only reschedules itself when the deadline moved.
+	 */
+	static final class BufferTimeoutWithBackpressureSubscriber<T, C extends Collection<? super T>>
+			implements InnerOperator<T, C>, Runnable {
+
+		static final int TIMER_IDLE  = 0;
+		static final int TIMER_ARMED = 1;
+
+		final CoreSubscriber<? super C> actual;
+		final int                       batchSize;
+		final long                      timespan;
+		final Scheduler                 clock;
+		final Scheduler.Worker          timer;
+		final Supplier<C>               bufferSupplier;
+		final Queue<T>                  queue;
+
+		Subscription s;
+
+		/**
+		 * Time at which the values currently pending must be flushed, as measured by
+		 * {@link #clock}. Written whenever the pending values go from none to some.
+		 */
+		volatile long deadline;
+
+		volatile int timerState;
+		@SuppressWarnings("rawtypes")
+		static final AtomicIntegerFieldUpdater<BufferTimeoutWithBackpressureSubscriber> TIMER_STATE =
+				AtomicIntegerFieldUpdater.newUpdater(BufferTimeoutWithBackpressureSubscriber.class, "timerState");
+
+		volatile int pending;
+		@SuppressWarnings("rawtypes")
+		static final AtomicIntegerFieldUpdater<BufferTimeoutWithBackpressureSubscriber> PENDING =
+				AtomicIntegerFieldUpdater.newUpdater(BufferTimeoutWithBackpressureSubscriber.class, "pending");
+
+		volatile long requested;
+		@SuppressWarnings("rawtypes")
+		static final AtomicLongFieldUpdater<BufferTimeoutWithBackpressureSubscriber> REQUESTED =
+				AtomicLongFieldUpdater.newUpdater(BufferTimeoutWithBackpressureSubscriber.class, "requested");
+
+		/**
+		 * Values requested from upstream and not received yet.
+		 */
+		volatile long outstanding;
+		@SuppressWarnings("rawtypes")
+		static final AtomicLongFieldUpdater<BufferTimeoutWithBackpressureSubscriber> OUTSTANDING =
+				AtomicLongFieldUpdater.newUpdater(BufferTimeoutWithBackpressureSubscriber.class, "outstanding");
+
+		volatile int wip;
+		@SuppressWarnings("rawtypes")
+		static final AtomicIntegerFieldUpdater<BufferTimeoutWithBackpressureSubscriber> WIP =
+				AtomicIntegerFieldUpdater.newUpdater(BufferTimeoutWithBackpressureSubscriber.class, "wip");
+
+		volatile Throwable error;
+		@SuppressWarnings("rawtypes")
+		static final AtomicReferenceFieldUpdater<BufferTimeoutWithBackpressureSubscriber, Throwable> ERROR =
+				AtomicReferenceFieldUpdater.newUpdater(BufferTimeoutWithBackpressureSubscriber.class, Throwable.class, "error");
+
+		volatile boolean done;
+
+		volatile boolean cancelled;
+
+		/**
+		 * Set by the drain loop once upstream is requested unbounded, and read by the
+		 * producer to stop tracking the outstanding count.
+		 */
+		volatile boolean unbounded;
+
+		BufferTimeoutWithBackpressureSubscriber(CoreSubscriber<? super C> actual,
+				int maxSize,
+				long timespan,
+				Scheduler clock,
+				Supplier<C> bufferSupplier) {
+			this.actual = actual;
+			this.batchSize = maxSize;
+			this.timespan = timespan;
+			this.clock = clock;
+			this.timer = clock.createWorker();
+			this.bufferSupplier = bufferSupplier;
+			this.queue = Queues.<T>unbounded().get();
+		}
+
+		@Override
+		public CoreSubscriber<? super C> actual() {
+			return actual;
+		}
+
+		@Override
+		public void onSubscribe(Subscription s) {
+			if (Operators.validate(this.s, s)) {
+				this.s = s;
+				actual.onSubscribe(this);
+			}
+		}
+
+		@Override
+		public void onNext(T t) {
+			if (done) {
+				Operators.onNextDropped(t, actual.currentContext());
+				return;
+			}
+			queue.offer(t);
+			//decremented first so that a concurrent drain may over-request by one
+			//value, which the next replenishment accounts for, rather than
+			//under-request and leave the next buffer to the timer
+			if (!unbounded) {
+				OUTSTANDING.decrementAndGet(this);
+			}
+			int p = PENDING.getAndIncrement(this);
+			if (p == 0) {
+				startTimeout();
+			}
+			//partial buffers are flushed by the timer or by the next request
+			if (p + 1 >= batchSize) {
+				drain();
+			}
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			if (done) {
+				Operators.onErrorDropped(t, actual.currentContext());
+				return;
+			}
+			innerError(t);
+		}
+
+		@Override
+		public void onComplete() {
+			if (done) {
+				return;
+			}
+			done = true;
+			drain();
+		}
+
+		@Override
+		public void request(long n) {
+			if (Operators.validate(n)) {
+				Operators.addCap(REQUESTED, this, n);
+				drain();
+			}
+		}
+
+		@Override
+		public void cancel() {
+			if (cancelled) {
+				return;
+			}
+			cancelled = true;
+			timer.dispose();
+			s.cancel();
+			if (WIP.getAndIncrement(this) == 0) {
+				queue.clear();
+			}
+		}
+
+		/**
+		 * The timer task, which flushes the pending values once their deadline is
+		 * reached or re-arms itself for the current deadline if values were flushed
+		 * by size in the meantime.
+		 */
+		@Override
+		public void run() {
+			for (;;) {
+				if (cancelled || done) {
+					return;
+				}
+				long now = clock.now(TimeUnit.MILLISECONDS);
+				long d = deadline;
+				if (pending != 0 && d > now) {
+					schedule(d - now);
+					return;
+				}
+				if (pending != 0) {
+					drain();
+				}
+				timerState = TIMER_IDLE;
+				//values pending past the deadline are flushed when demand arrives,
+				//a fresh deadline needs the timer to be armed again
+				if (pending == 0 || deadline <= clock.now(TimeUnit.MILLISECONDS)
+						|| !TIMER_STATE.compareAndSet(this, TIMER_IDLE, TIMER_ARMED)) {
+					return;
+				}
+			}
+		}
+
+		void startTimeout() {
+			deadline = clock.now(TimeUnit.MILLISECONDS) + timespan;
+			if (TIMER_STATE.compareAndSet(this, TIMER_IDLE, TIMER_ARMED)) {
+				schedule(timespan);
+			}
+		}
+
+		void schedule(long delay) {
+			try {
+				timer.schedule(this, delay, TimeUnit.MILLISECONDS);
+			}
+			catch (RejectedExecutionException ree) {
+				innerError(Operators.onRejectedExecution(ree, this, null, null,
+						actual.currentContext()));
+			}
+		}
+
+		void innerError(Throwable e) {
+			if (Exceptions.addThrowable(ERROR, this, e)) {
+				done = true;
+				drain();
+			}
+			else {
+				Operators.onErrorDropped(e, actual.currentContext());
+			}
+		}
+
+		void drain() {
+			if (WIP.getAndIncrement(this) != 0) {
+				return;
+			}
+
+			final CoreSubscriber<? super C> a = actual;
+			final Queue<T> q = queue;
+			final int max = batchSize;
+
+			int missed = 1;
+
+			for (;;) {
+				long r = requested;
+				long e = 0L;
+
+				for (;;) {
+					if (cancelled) {
+						q.clear();
+						return;
+					}
+
+					boolean d = done;
+
+					if (d && error != null) {
+						Throwable ex = Exceptions.terminate(ERROR, this);
+						q.clear();
+						timer.dispose();
+						s.cancel();
+						a.onError(ex);
+						return;
+					}
+
+					int p = pending;
+
+					if (d && p == 0) {
+						timer.dispose();
+						a.onComplete();
+						return;
+					}
+
+					if (e == r || p == 0 || (p < max && !d
+							&& deadline > clock.now(TimeUnit.MILLISECONDS))) {
+						break;
+					}
+
+					C buffer;
+					try {
+						buffer = Objects.requireNonNull(bufferSupplier.get(),
+								"The bufferSupplier returned a null buffer");
+					}
+					catch (Throwable ex) {
+						Exceptions.addThrowable(ERROR, this,
+								Operators.onOperatorError(s, ex, a.currentContext()));
+						done = true;
+						continue;
+					}
+
+					int n = Math.min(p, max);
+					for (int i = 0; i < n; i++) {
+						buffer.add(q.poll());
+					}
+					if (PENDING.addAndGet(this, -n) != 0) {
+						startTimeout();
+					}
+
+					a.onNext(buffer);
+					e++;
+				}
+
+				if (e != 0L && r != Long.MAX_VALUE) {
+					r = REQUESTED.addAndGet(this, -e);
+				}
+
+				requestUpstream(r);
+
+				missed = WIP.addAndGet(this, -missed);
+				if (missed == 0) {
+					break;
+				}
+			}
+		}
+
+		void requestUpstream(long r) {
+			if (unbounded || done) {
+				return;
+			}
+			if (r == Long.MAX_VALUE) {
+				unbounded = true;
+				s.request(Long.MAX_VALUE);
+				return;
+			}
+			long wanted = Operators.multiplyCap(r, batchSize) - pending - outstanding;
+			if (wanted > 0L) {
+				OUTSTANDING.addAndGet(this, wanted);
+				s.request(wanted);
+			}
+		}
+
+		@Override
+		@Nullable
+		public Object scanUnsafe(Attr key) {
+			if (key == Attr.PARENT) return s;
+			if (key == Attr.CANCELLED) return cancelled;
+			if (key == Attr.TERMINATED) return done && pending == 0;
+			if (key == Attr.ERROR) return error;
+			if (key == Attr.REQUESTED_FROM_DOWNSTREAM) return requested;
+			if (key == Attr.CAPACITY) return batchSize;
+			if (key == Attr.BUFFERED) return pending;
+
+			return InnerOperator.super.scanUnsafe(key);
+		}
+	}
 }
 
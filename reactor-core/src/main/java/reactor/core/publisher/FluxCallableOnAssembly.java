@@ -41,8 +41,15 @@ final class FluxCallableOnAssembly<T> extends FluxOperator<T, T>
 	final AssemblySnapshotException stacktrace;
 
 	FluxCallableOnAssembly(Flux<? extends T> source) {
+		this(source, new AssemblySnapshotException());
+	}
+
+	/**
+	 * Create an assembly trace from an existing, possibly shared, snapshot.
+	 */
+	FluxCallableOnAssembly(Flux<? extends T> source, AssemblySnapshotException stacktrace) {
 		super(source);
-		this.stacktrace = new AssemblySnapshotException();
+		this.stacktrace = stacktrace;
 	}
 
 	@Override
@@ -0,0 +1,453 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.publisher;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.core.Exceptions;
+import reactor.core.Scannable;
+import reactor.util.annotation.Nullable;
+import reactor.util.context.Context;
+
+/**
+ * Combines the latest values from multiple sources through a function, coalescing
+ * the intermediate combinations that a slow downstream has no demand for.
+ * <p>
+ * Unlike {@link FluxCombineLatest}, sources don't take a lock nor enqueue a copy of
+ * the latest values on each signal: every source publishes into its own slot and
+ * bumps a version counter, and the drain snapshots the slots only when it has
+ * demand and the version moved since the last emission.
+ *
+ * @param <T> the value type of the sources
+ * @param <R> the result type
+ */
+final class FluxCombineLatestCoalesced<T, R> extends Flux<R> {
+
+	final Publisher<? extends T>[] array;
+
+	final Iterable<? extends Publisher<? extends T>> iterable;
+
+	final Function<Object[], R> combiner;
+
+	final int prefetch;
+
+	FluxCombineLatestCoalesced(Publisher<? extends T>[] array,
+			Function<Object[], R> combiner, int prefetch) {
+		if (prefetch <= 0) {
+			throw new IllegalArgumentException("prefetch > 0 required but it was " + prefetch);
+		}
+		this.array = Objects.requireNonNull(array, "array");
+		this.iterable = null;
+		this.combiner = Objects.requireNonNull(combiner, "combiner");
+		this.prefetch = prefetch;
+	}
+
+	FluxCombineLatestCoalesced(Iterable<? extends Publisher<? extends T>> iterable,
+			Function<Object[], R> combiner, int prefetch) {
+		if (prefetch <= 0) {
+			throw new IllegalArgumentException("prefetch > 0 required but it was " + prefetch);
+		}
+		this.array = null;
+		this.iterable = Objects.requireNonNull(iterable, "iterable");
+		this.combiner = Objects.requireNonNull(combiner, "combiner");
+		this.prefetch = prefetch;
+	}
+
+	@Override
+	public int getPrefetch() {
+		return prefetch;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public void subscribe(CoreSubscriber<? super R> actual) {
+		Publisher<? extends T>[] a = array;
+		int n;
+		if (a == null) {
+			n = 0;
+			a = new Publisher[8];
+
+			try {
+				for (Publisher<? extends T> p : iterable) {
+					if (n == a.length) {
+						Publisher<? extends T>[] c = new Publisher[n + (n >> 2)];
+						System.arraycopy(a, 0, c, 0, n);
+						a = c;
+					}
+					a[n++] = Objects.requireNonNull(p,
+							"The Publisher returned by the iterator is null");
+				}
+			}
+			catch (Throwable e) {
+				Operators.error(actual, Operators.onOperatorError(e,
+						actual.currentContext()));
+				return;
+			}
+		}
+		else {
+			n = a.length;
+		}
+
+		if (n == 0) {
+			Operators.complete(actual);
+			return;
+		}
+
+		CoalescingCoordinator<T, R> coordinator =
+				new CoalescingCoordinator<>(actual, combiner, n, prefetch);
+
+		actual.onSubscribe(coordinator);
+
+		coordinator.subscribe(a, n);
+	}
+
+	static final class CoalescingCoordinator<T, R> implements InnerProducer<R> {
+
+		final Function<Object[], R>     combiner;
+		final CoalescingInner<T>[]      subscribers;
+		final CoreSubscriber<? super R> actual;
+
+		/**
+		 * The {@link #version} of the last snapshot emitted, only accessed from the
+		 * drain loop.
+		 */
+		long emitted;
+
+		volatile long version;
+		@SuppressWarnings("rawtypes")
+		static final AtomicLongFieldUpdater<CoalescingCoordinator> VERSION =
+				AtomicLongFieldUpdater.newUpdater(CoalescingCoordinator.class,
+						"version");
+
+		volatile int nonEmptySources;
+		@SuppressWarnings("rawtypes")
+		static final AtomicIntegerFieldUpdater<CoalescingCoordinator> NON_EMPTY_SOURCES =
+				AtomicIntegerFieldUpdater.newUpdater(CoalescingCoordinator.class,
+						"nonEmptySources");
+
+		volatile int completedSources;
+		@SuppressWarnings("rawtypes")
+		static final AtomicIntegerFieldUpdater<CoalescingCoordinator> COMPLETED_SOURCES =
+				AtomicIntegerFieldUpdater.newUpdater(CoalescingCoordinator.class,
+						"completedSources");
+
+		volatile boolean cancelled;
+
+		volatile long requested;
+		@SuppressWarnings("rawtypes")
+		static final AtomicLongFieldUpdater<CoalescingCoordinator> REQUESTED =
+				AtomicLongFieldUpdater.newUpdater(CoalescingCoordinator.class,
+						"requested");
+
+		volatile int wip;
+		@SuppressWarnings("rawtypes")
+		static final AtomicIntegerFieldUpdater<CoalescingCoordinator> WIP =
+				AtomicIntegerFieldUpdater.newUpdater(CoalescingCoordinator.class,
+						"wip");
+
+		volatile boolean done;
+
+		volatile Throwable error;
+		@SuppressWarnings("rawtypes")
+		static final AtomicReferenceFieldUpdater<CoalescingCoordinator, Throwable>
+				ERROR =
+				AtomicReferenceFieldUpdater.newUpdater(CoalescingCoordinator.class,
+						Throwable.class,
+						"error");
+
+		CoalescingCoordinator(CoreSubscriber<? super R> actual,
+				Function<Object[], R> combiner,
+				int n,
+				int prefetch) {
+			this.actual = actual;
+			this.combiner = combiner;
+			@SuppressWarnings("unchecked") CoalescingInner<T>[] a =
+					new CoalescingInner[n];
+			for (int i = 0; i < n; i++) {
+				a[i] = new CoalescingInner<>(this, prefetch);
+			}
+			this.subscribers = a;
+		}
+
+		@Override
+		public final CoreSubscriber<? super R> actual() {
+			return actual;
+		}
+
+		@Override
+		public void request(long n) {
+			if (Operators.validate(n)) {
+				Operators.addCap(REQUESTED, this, n);
+				drain();
+			}
+		}
+
+		@Override
+		public void cancel() {
+			if (cancelled) {
+				return;
+			}
+			cancelled = true;
+			cancelAll();
+
+			if (WIP.getAndIncrement(this) == 0) {
+				clearLatest();
+			}
+		}
+
+		@Override
+		public Stream<? extends Scannable> inners() {
+			return Stream.of(subscribers);
+		}
+
+		@Override
+		@Nullable
+		public Object scanUnsafe(Attr key) {
+			if (key == Attr.TERMINATED) return done;
+			if (key == Attr.CANCELLED) return cancelled;
+			if (key == Attr.ERROR) return error;
+			if (key == Attr.REQUESTED_FROM_DOWNSTREAM) return requested;
+
+			return InnerProducer.super.scanUnsafe(key);
+		}
+
+		void subscribe(Publisher<? extends T>[] sources, int n) {
+			CoalescingInner<T>[] a = subscribers;
+
+			for (int i = 0; i < n; i++) {
+				if (done || cancelled) {
+					return;
+				}
+				sources[i].subscribe(a[i]);
+			}
+		}
+
+		void innerValue(CoalescingInner<T> inner, T value) {
+			if (inner.latest == null) {
+				inner.latest = value;
+				NON_EMPTY_SOURCES.incrementAndGet(this);
+			}
+			else {
+				inner.latest = value;
+			}
+			VERSION.incrementAndGet(this);
+
+			//values that can't be emitted are coalesced, never buffered
+			inner.requestOne();
+			drain();
+		}
+
+		void innerComplete(CoalescingInner<T> inner) {
+			if (inner.latest == null ||
+					COMPLETED_SOURCES.incrementAndGet(this) == subscribers.length) {
+				done = true;
+				drain();
+			}
+		}
+
+		void innerError(Throwable e) {
+			if (Exceptions.addThrowable(ERROR, this, e)) {
+				done = true;
+				drain();
+			}
+			else {
+				Operators.onErrorDropped(e, actual.currentContext());
+			}
+		}
+
+		void drain() {
+			if (WIP.getAndIncrement(this) != 0) {
+				return;
+			}
+
+			final CoreSubscriber<? super R> a = actual;
+			final CoalescingInner<T>[] inners = subscribers;
+			final int n = inners.length;
+
+			int missed = 1;
+
+			for (; ; ) {
+
+				for (; ; ) {
+					if (cancelled) {
+						clearLatest();
+						return;
+					}
+
+					boolean d = done;
+
+					if (d && error != null) {
+						Throwable ex = Exceptions.terminate(ERROR, this);
+						cancelAll();
+						clearLatest();
+						a.onError(ex);
+						return;
+					}
+
+					long v = version;
+					boolean pending = v != emitted && nonEmptySources == n;
+
+					if (pending && requested != 0L) {
+						Object[] snapshot = new Object[n];
+						for (int i = 0; i < n; i++) {
+							snapshot[i] = inners[i].latest;
+						}
+						emitted = v;
+
+						R w;
+
+						try {
+							w = Objects.requireNonNull(combiner.apply(snapshot),
+									"Combiner returned null");
+						}
+						catch (Throwable ex) {
+							ex = Operators.onOperatorError(this, ex, snapshot,
+									a.currentContext());
+							cancelAll();
+							clearLatest();
+							a.onError(ex);
+							return;
+						}
+
+						a.onNext(w);
+
+						if (requested != Long.MAX_VALUE) {
+							REQUESTED.decrementAndGet(this);
+						}
+						continue;
+					}
+
+					if (d && !pending) {
+						cancelAll();
+						clearLatest();
+						a.onComplete();
+						return;
+					}
+					break;
+				}
+
+				missed = WIP.addAndGet(this, -missed);
+				if (missed == 0) {
+					break;
+				}
+			}
+		}
+
+		void cancelAll() {
+			for (CoalescingInner<T> inner : subscribers) {
+				inner.cancel();
+			}
+		}
+
+		void clearLatest() {
+			for (CoalescingInner<T> inner : subscribers) {
+				inner.latest = null;
+			}
+		}
+	}
+
+	static final class CoalescingInner<T> implements InnerConsumer<T> {
+
+		final CoalescingCoordinator<T, ?> parent;
+
+		final int prefetch;
+
+		final int limit;
+
+		/**
+		 * The latest value of this source, written by its own signals and read by
+		 * the coordinator drain.
+		 */
+		volatile Object latest;
+
+		volatile Subscription s;
+		@SuppressWarnings("rawtypes")
+		static final AtomicReferenceFieldUpdater<CoalescingInner, Subscription> S =
+				AtomicReferenceFieldUpdater.newUpdater(CoalescingInner.class,
+						Subscription.class,
+						"s");
+
+		int produced;
+
+		CoalescingInner(CoalescingCoordinator<T, ?> parent, int prefetch) {
+			this.parent = parent;
+			this.prefetch = prefetch;
+			this.limit = Operators.unboundedOrLimit(prefetch);
+		}
+
+		@Override
+		public Context currentContext() {
+			return parent.actual.currentContext();
+		}
+
+		@Override
+		public void onSubscribe(Subscription s) {
+			if (Operators.setOnce(S, this, s)) {
+				s.request(Operators.unboundedOrPrefetch(prefetch));
+			}
+		}
+
+		@Override
+		public void onNext(T t) {
+			parent.innerValue(this, t);
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			parent.innerError(t);
+		}
+
+		@Override
+		public void onComplete() {
+			parent.innerComplete(this);
+		}
+
+		void cancel() {
+			Operators.terminate(S, this);
+		}
+
+		void requestOne() {
+			int p = produced + 1;
+			if (p == limit) {
+				produced = 0;
+				s.request(p);
+			}
+			else {
+				produced = p;
+			}
+		}
+
+		@Override
+		@Nullable
+		public Object scanUnsafe(Attr key) {
+			if (key == Attr.PARENT) return s;
+			if (key == Attr.ACTUAL) return parent;
+			if (key == Attr.CANCELLED) return s == Operators.cancelledSubscription();
+			if (key == Attr.PREFETCH) return prefetch;
+
+			return null;
+		}
+	}
+}
@@ -126,7 +126,7 @@ final class FluxCreate<T> extends Flux<T> {
 
 		SerializedSink(BaseSink<T> sink) {
 			this.sink = sink;
-			this.queue = Queues.<T>unbounded(16).get();
+			this.queue = Queues.<T>mpsc().get();
 		}
 
 		@Override
@@ -153,10 +153,7 @@ final class FluxCreate<T> extends Flux<T> {
 				}
 			}
 			else {
-				Queue<T> q = queue;
-				synchronized (this) {
-					q.offer(t);
-				}
+				queue.offer(t);
 				if (WIP.getAndIncrement(this) != 0) {
 					return this;
 				}
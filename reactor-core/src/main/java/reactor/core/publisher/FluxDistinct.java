@@ -16,8 +16,13 @@
 
 package reactor.core.publisher;
 
+import java.util.AbstractCollection;
 import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -26,6 +31,7 @@ import reactor.core.CoreSubscriber;
 import reactor.core.Fuseable;
 import reactor.core.Fuseable.ConditionalSubscriber;
 import reactor.core.Fuseable.QueueSubscription;
+import reactor.core.scheduler.Scheduler;
 import reactor.util.annotation.Nullable;
 
 /**
@@ -531,4 +537,106 @@ final class FluxDistinct<T, K, C extends Collection<? super K>> extends
 		}
 	}
 
+	/**
+	 * A key {@link Collection} remembering at most {@code maxKeys} keys, forgetting the
+	 * least recently seen one first. A key seen again is a duplicate and becomes the most
+	 * recently seen one.
+	 *
+	 * @param <K> the key type
+	 */
+	static final class LruKeySet<K> extends AbstractCollection<K> {
+
+		final LinkedHashMap<K, Boolean> keys;
+
+		LruKeySet(int maxKeys) {
+			if (maxKeys <= 0) {
+				throw new IllegalArgumentException("maxKeys > 0 required but it was " + maxKeys);
+			}
+			this.keys = new LinkedHashMap<K, Boolean>(16, 0.75f, true) {
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<K, Boolean> eldest) {
+					return size() > maxKeys;
+				}
+			};
+		}
+
+		@Override
+		public boolean add(K k) {
+			return keys.put(k, Boolean.TRUE) == null;
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			return keys.containsKey(o);
+		}
+
+		@Override
+		public Iterator<K> iterator() {
+			return keys.keySet().iterator();
+		}
+
+		@Override
+		public int size() {
+			return keys.size();
+		}
+
+		@Override
+		public void clear() {
+			keys.clear();
+		}
+	}
+
+	/**
+	 * A key {@link Collection} forgetting each key once {@code window} milliseconds
+	 * elapsed since it was first seen, as told by the clock of a {@link Scheduler}. A key
+	 * seen again within the window is a duplicate, but doesn't extend the window.
+	 *
+	 * @param <K> the key type
+	 */
+	static final class TimedKeySet<K> extends AbstractCollection<K> {
+
+		final LinkedHashMap<K, Long> keys;
+		final long                   windowMillis;
+		final Scheduler              clock;
+
+		TimedKeySet(long windowMillis, Scheduler clock) {
+			if (windowMillis <= 0) {
+				throw new IllegalArgumentException("window > 0 required but it was " + windowMillis);
+			}
+			this.keys = new LinkedHashMap<>();
+			this.windowMillis = windowMillis;
+			this.clock = clock;
+		}
+
+		@Override
+		public boolean add(K k) {
+			long now = clock.now(TimeUnit.MILLISECONDS);
+			//keys are in the order they were first seen, the oldest expire first
+			Iterator<Long> it = keys.values().iterator();
+			while (it.hasNext() && now - it.next() >= windowMillis) {
+				it.remove();
+			}
+			return keys.putIfAbsent(k, now) == null;
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			return keys.containsKey(o);
+		}
+
+		@Override
+		public Iterator<K> iterator() {
+			return keys.keySet().iterator();
+		}
+
+		@Override
+		public int size() {
+			return keys.size();
+		}
+
+		@Override
+		public void clear() {
+			keys.clear();
+		}
+	}
 }
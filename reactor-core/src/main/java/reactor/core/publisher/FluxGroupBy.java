@@ -91,7 +91,7 @@ final class FluxGroupBy<T, K, V> extends FluxOperator<T, GroupedFlux<K, V>>
 		return prefetch;
 	}
 
-	static final class GroupByMain<T, K, V>
+	static class GroupByMain<T, K, V>
 			implements QueueSubscription<GroupedFlux<K, V>>,
 			           InnerOperator<T, GroupedFlux<K, V>> {
 
@@ -222,10 +222,7 @@ final class FluxGroupBy<T, K, V> extends FluxOperator<T, GroupedFlux<K, V>>
 			if(done){
 				return;
 			}
-			for (UnicastGroupedFlux<K, V> g : groupMap.values()) {
-				g.onComplete();
-			}
-			groupMap.clear();
+			terminateGroups(null);
 			GROUP_COUNT.decrementAndGet(this);
 			done = true;
 			drain();
@@ -256,10 +253,24 @@ final class FluxGroupBy<T, K, V> extends FluxOperator<T, GroupedFlux<K, V>>
 				e = new IllegalStateException("FluxGroupBy.signalAsyncError called without error push");
 			}
 			groupCount = 0;
+			terminateGroups(e);
+			actual.onError(e);
+		}
+
+		/**
+		 * Complete or error all the groups and forget them, on termination of the source.
+		 *
+		 * @param e the error to signal, or null to complete the groups
+		 */
+		void terminateGroups(@Nullable Throwable e) {
 			for (UnicastGroupedFlux<K, V> g : groupMap.values()) {
-				g.onError(e);
+				if (e != null) {
+					g.onError(e);
+				}
+				else {
+					g.onComplete();
+				}
 			}
-			actual.onError(e);
 			groupMap.clear();
 		}
 
@@ -456,7 +467,7 @@ final class FluxGroupBy<T, K, V> extends FluxOperator<T, GroupedFlux<K, V>>
 		}
 	}
 
-	static final class UnicastGroupedFlux<K, V> extends GroupedFlux<K, V>
+	static class UnicastGroupedFlux<K, V> extends GroupedFlux<K, V>
 			implements Fuseable, QueueSubscription<V>, InnerProducer<V> {
 
 		final K key;
@@ -528,6 +539,19 @@ final class FluxGroupBy<T, K, V> extends FluxOperator<T, GroupedFlux<K, V>>
 			}
 		}
 
+		/**
+		 * Request from the source the values consumed from this group, unless the group
+		 * is detached from its main.
+		 *
+		 * @param n the number of consumed values
+		 */
+		void replenish(long n) {
+			GroupByMain<?, K, V> main = parent;
+			if (main != null) {
+				main.s.request(n);
+			}
+		}
+
 		void drainRegular(Subscriber<? super V> a) {
 			int missed = 1;
 
@@ -564,10 +588,7 @@ final class FluxGroupBy<T, K, V> extends FluxOperator<T, GroupedFlux<K, V>>
 				}
 
 				if (e != 0) {
-					GroupByMain<?, K, V> main = parent;
-					if (main != null) {
-						main.s.request(e);
-					}
+					replenish(e);
 					if (r != Long.MAX_VALUE) {
 						REQUESTED.addAndGet(this, -e);
 					}
@@ -737,10 +758,7 @@ final class FluxGroupBy<T, K, V> extends FluxOperator<T, GroupedFlux<K, V>>
 				int p = produced;
 				if (p != 0) {
 					produced = 0;
-					GroupByMain<?, K, V> main = parent;
-					if (main != null) {
-						main.s.request(p);
-					}
+					replenish(p);
 				}
 			}
 			return v;
@@ -0,0 +1,529 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.publisher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+
+import reactor.core.CoreSubscriber;
+import reactor.core.Fuseable;
+import reactor.core.Scannable;
+import reactor.core.scheduler.Scheduler;
+import reactor.util.annotation.Nullable;
+
+/**
+ * Groups upstream items into their own Publisher sequence based on a primitive
+ * {@code long} key selector. Groups are tracked in an open-addressing map that doesn't
+ * box the keys, and can be completed once idle for too long or once too many groups are
+ * open, the least recently used one first.
+ * <p>
+ * The map is only updated from the source thread: groups cancelled by their subscriber
+ * are forgotten lazily, when their key shows up again, when they are evicted or when
+ * the map is rehashed. Idle groups are likewise evicted as new source values arrive,
+ * without relying on a timer.
+ *
+ * @param <T> the source value type
+ * @param <V> the group item value type
+ */
+final class FluxGroupByLong<T, V> extends FluxOperator<T, GroupedFlux<Long, V>>
+		implements Fuseable {
+
+	/**
+	 * The maximum idle time that disables idle eviction.
+	 */
+	static final long NO_MAX_IDLE = Long.MAX_VALUE;
+
+	final ToLongFunction<? super T> keySelector;
+
+	final Function<? super T, ? extends V> valueSelector;
+
+	final Supplier<? extends Queue<V>> groupQueueSupplier;
+
+	final Supplier<? extends Queue<GroupedFlux<Long, V>>> mainQueueSupplier;
+
+	final int prefetch;
+
+	final long maxIdleMillis;
+
+	final int maxGroups;
+
+	final Scheduler clock;
+
+	FluxGroupByLong(Flux<? extends T> source,
+			ToLongFunction<? super T> keySelector,
+			Function<? super T, ? extends V> valueSelector,
+			Supplier<? extends Queue<GroupedFlux<Long, V>>> mainQueueSupplier,
+			Supplier<? extends Queue<V>> groupQueueSupplier,
+			int prefetch,
+			long maxIdleMillis,
+			int maxGroups,
+			Scheduler clock) {
+		super(source);
+		if (prefetch <= 0) {
+			throw new IllegalArgumentException("prefetch > 0 required but it was " + prefetch);
+		}
+		if (maxIdleMillis < 0) {
+			throw new IllegalArgumentException("maxIdle >= 0 required but it was " + maxIdleMillis);
+		}
+		if (maxGroups <= 0) {
+			throw new IllegalArgumentException("maxGroups > 0 required but it was " + maxGroups);
+		}
+		this.keySelector = Objects.requireNonNull(keySelector, "keySelector");
+		this.valueSelector = Objects.requireNonNull(valueSelector, "valueSelector");
+		this.mainQueueSupplier =
+				Objects.requireNonNull(mainQueueSupplier, "mainQueueSupplier");
+		this.groupQueueSupplier =
+				Objects.requireNonNull(groupQueueSupplier, "groupQueueSupplier");
+		this.prefetch = prefetch;
+		this.maxIdleMillis = maxIdleMillis;
+		this.maxGroups = maxGroups;
+		this.clock = Objects.requireNonNull(clock, "clock");
+	}
+
+	@Override
+	public void subscribe(CoreSubscriber<? super GroupedFlux<Long, V>> actual) {
+		source.subscribe(new LongGroupByMain<>(actual,
+				mainQueueSupplier.get(),
+				groupQueueSupplier,
+				prefetch,
+				keySelector,
+				valueSelector,
+				maxIdleMillis,
+				maxGroups,
+				clock));
+	}
+
+	@Override
+	public int getPrefetch() {
+		return prefetch;
+	}
+
+	static final class LongGroupByMain<T, V> extends FluxGroupBy.GroupByMain<T, Long, V> {
+
+		final ToLongFunction<? super T> longKeySelector;
+		final long                      maxIdleMillis;
+		final int                       maxGroups;
+		final Scheduler                 clock;
+		final LongGroupMap<V>           groups;
+
+		/**
+		 * Whether groups are linked from the least to the most recently used one, only
+		 * needed to evict them.
+		 */
+		final boolean lru;
+
+		@Nullable
+		LongGroup<V> eldest;
+		@Nullable
+		LongGroup<V> youngest;
+
+		LongGroupByMain(CoreSubscriber<? super GroupedFlux<Long, V>> actual,
+				Queue<GroupedFlux<Long, V>> queue,
+				Supplier<? extends Queue<V>> groupQueueSupplier,
+				int prefetch,
+				ToLongFunction<? super T> keySelector,
+				Function<? super T, ? extends V> valueSelector,
+				long maxIdleMillis,
+				int maxGroups,
+				Scheduler clock) {
+			//the boxing key selector of the parent is never applied
+			super(actual,
+					queue,
+					groupQueueSupplier,
+					prefetch,
+					keySelector::applyAsLong,
+					valueSelector);
+			this.longKeySelector = keySelector;
+			this.maxIdleMillis = maxIdleMillis;
+			this.maxGroups = maxGroups;
+			this.clock = clock;
+			this.lru = maxIdleMillis != NO_MAX_IDLE || maxGroups != Integer.MAX_VALUE;
+			this.groups = new LongGroupMap<>(this::unlink);
+		}
+
+		@Override
+		public void onNext(T t) {
+			if (done) {
+				Operators.onNextDropped(t, actual.currentContext());
+				return;
+			}
+
+			long key;
+			V value;
+
+			try {
+				key = longKeySelector.applyAsLong(t);
+				value = Objects.requireNonNull(valueSelector.apply(t), "The valueSelector returned a null value");
+			}
+			catch (Throwable ex) {
+				onError(Operators.onOperatorError(s, ex, t, actual.currentContext()));
+				return;
+			}
+
+			long now = 0L;
+			if (maxIdleMillis != NO_MAX_IDLE) {
+				now = clock.now(TimeUnit.MILLISECONDS);
+				// evict first so that a value for an idle group opens a new group
+				LongGroup<V> e;
+				while ((e = eldest) != null && now - e.lastAccess > maxIdleMillis) {
+					remove(e);
+					evict(e);
+				}
+			}
+
+			LongGroup<V> g = groups.get(key);
+
+			if (g != null && g.parent == null) {
+				// cancelled by its subscriber, which leaves the mapping to this thread
+				remove(g);
+				g = null;
+			}
+
+			if (g == null) {
+				// if the main is cancelled, don't create new groups
+				if (cancelled == 0) {
+					while (groups.size() >= maxGroups) {
+						LongGroup<V> e = eldest;
+						if (e == null) {
+							break;
+						}
+						remove(e);
+						evict(e);
+					}
+
+					Queue<V> q = groupQueueSupplier.get();
+
+					GROUP_COUNT.getAndIncrement(this);
+					g = new LongGroup<>(key, q, this, prefetch);
+					g.lastAccess = now;
+					g.onNext(value);
+					groups.put(key, g);
+					link(g);
+
+					queue.offer(g);
+					drain();
+				}
+			}
+			else {
+				touch(g, now);
+				g.onNext(value);
+			}
+		}
+
+		/**
+		 * Complete a group that was removed from the mapping, so that its subscriber
+		 * releases it. The group keeps replenishing this main with whatever its
+		 * subscriber consumes afterwards, including values consumed but not requested
+		 * yet, as no other group will request them once it is detached.
+		 */
+		void evict(LongGroup<V> g) {
+			if (g.parent != null) {
+				g.evicted = true;
+				g.onComplete();
+			}
+		}
+
+		void remove(LongGroup<V> g) {
+			groups.remove(g.longKey);
+			unlink(g);
+		}
+
+		void link(LongGroup<V> g) {
+			if (lru) {
+				LongGroup<V> y = youngest;
+				g.older = y;
+				g.newer = null;
+				if (y != null) {
+					y.newer = g;
+				}
+				else {
+					eldest = g;
+				}
+				youngest = g;
+			}
+		}
+
+		void unlink(LongGroup<V> g) {
+			if (lru) {
+				LongGroup<V> o = g.older;
+				LongGroup<V> n = g.newer;
+				if (o != null) {
+					o.newer = n;
+				}
+				else if (eldest == g) {
+					eldest = n;
+				}
+				if (n != null) {
+					n.older = o;
+				}
+				else if (youngest == g) {
+					youngest = o;
+				}
+				g.older = null;
+				g.newer = null;
+			}
+		}
+
+		void touch(LongGroup<V> g, long now) {
+			g.lastAccess = now;
+			if (lru && youngest != g) {
+				unlink(g);
+				link(g);
+			}
+		}
+
+		@Override
+		void groupTerminated(Long key) {
+			if (groupCount == 0) {
+				return;
+			}
+			if (GROUP_COUNT.decrementAndGet(this) == 0) {
+				s.cancel();
+			}
+		}
+
+		@Override
+		void terminateGroups(@Nullable Throwable e) {
+			for (LongGroup<V> g : groups.values()) {
+				if (e != null) {
+					g.onError(e);
+				}
+				else {
+					g.onComplete();
+				}
+			}
+			groups.clear();
+			eldest = null;
+			youngest = null;
+		}
+
+		@Override
+		public Stream<? extends Scannable> inners() {
+			//the table is written by the source thread only: reading it from another
+			//thread gives a possibly stale snapshot, where a group being shifted back
+			//by a removal can show up twice
+			return groups.values()
+			             .stream()
+			             .filter(g -> g.parent != null)
+			             .distinct();
+		}
+	}
+
+	static final class LongGroup<V> extends FluxGroupBy.UnicastGroupedFlux<Long, V> {
+
+		final long longKey;
+
+		long lastAccess;
+
+		@Nullable
+		LongGroup<V> older;
+		@Nullable
+		LongGroup<V> newer;
+
+		/**
+		 * The main this group was created by, retained after the group is evicted and
+		 * detached from it.
+		 */
+		final LongGroupByMain<?, V> main;
+
+		/**
+		 * Set by the source thread before completing an evicted group.
+		 */
+		volatile boolean evicted;
+
+		LongGroup(long key, Queue<V> queue, LongGroupByMain<?, V> parent, int prefetch) {
+			super(key, queue, parent, prefetch);
+			this.longKey = key;
+			this.main = parent;
+		}
+
+		@Override
+		void replenish(long n) {
+			FluxGroupBy.GroupByMain<?, Long, V> p = parent;
+			if (p != null) {
+				p.s.request(n);
+			}
+			else if (evicted) {
+				main.s.request(n);
+			}
+		}
+	}
+
+	/**
+	 * An open-addressing map of {@link LongGroup} by {@code long} key with linear
+	 * probing, only updated by the source thread. Groups terminated by their subscriber
+	 * are dropped when the table is rehashed, before growing it.
+	 *
+	 * @param <V> the group item value type
+	 */
+	static final class LongGroupMap<V> {
+
+		static final int INITIAL_CAPACITY = 16;
+
+		final Consumer<LongGroup<V>> onPurged;
+
+		long[]   keys;
+		Object[] values;
+		int      mask;
+		int      size;
+
+		LongGroupMap(Consumer<LongGroup<V>> onPurged) {
+			this.onPurged = onPurged;
+			this.keys = new long[INITIAL_CAPACITY];
+			this.values = new Object[INITIAL_CAPACITY];
+			this.mask = INITIAL_CAPACITY - 1;
+		}
+
+		static int slot(long key, int mask) {
+			long h = key * 0x9E3779B97F4A7C15L;
+			return (int) (h ^ (h >>> 32)) & mask;
+		}
+
+		int size() {
+			return size;
+		}
+
+		@Nullable
+		@SuppressWarnings("unchecked")
+		LongGroup<V> get(long key) {
+			final long[] k = keys;
+			final Object[] v = values;
+			final int m = mask;
+			for (int i = slot(key, m); ; i = (i + 1) & m) {
+				Object g = v[i];
+				if (g == null) {
+					return null;
+				}
+				if (k[i] == key) {
+					return (LongGroup<V>) g;
+				}
+			}
+		}
+
+		/**
+		 * Map a key that is not mapped yet.
+		 */
+		void put(long key, LongGroup<V> group) {
+			if ((size + 1) * 4 > values.length * 3) {
+				rehash();
+			}
+			insert(keys, values, mask, key, group);
+			size++;
+		}
+
+		static void insert(long[] k, Object[] v, int m, long key, Object group) {
+			int i = slot(key, m);
+			while (v[i] != null) {
+				i = (i + 1) & m;
+			}
+			k[i] = key;
+			v[i] = group;
+		}
+
+		void remove(long key) {
+			final long[] k = keys;
+			final Object[] v = values;
+			final int m = mask;
+			int i = slot(key, m);
+			for (; ; ) {
+				if (v[i] == null) {
+					return;
+				}
+				if (k[i] == key) {
+					break;
+				}
+				i = (i + 1) & m;
+			}
+			// shift back the following entries of the cluster that can fill the hole
+			int j = i;
+			for (; ; ) {
+				j = (j + 1) & m;
+				if (v[j] == null) {
+					break;
+				}
+				int home = slot(k[j], m);
+				if (i <= j ? (home <= i || home > j) : (home <= i && home > j)) {
+					k[i] = k[j];
+					v[i] = v[j];
+					i = j;
+				}
+			}
+			v[i] = null;
+			size--;
+		}
+
+		@SuppressWarnings("unchecked")
+		void rehash() {
+			final long[] k = keys;
+			final Object[] v = values;
+			int live = 0;
+			for (Object g : v) {
+				if (g != null && ((LongGroup<V>) g).parent != null) {
+					live++;
+				}
+			}
+			int capacity = v.length;
+			while ((live + 1) * 2 > capacity) {
+				capacity <<= 1;
+			}
+			long[] nk = new long[capacity];
+			Object[] nv = new Object[capacity];
+			int nm = capacity - 1;
+			for (int i = 0; i < v.length; i++) {
+				LongGroup<V> g = (LongGroup<V>) v[i];
+				if (g != null) {
+					if (g.parent != null) {
+						insert(nk, nv, nm, k[i], g);
+					}
+					else {
+						onPurged.accept(g);
+					}
+				}
+			}
+			keys = nk;
+			values = nv;
+			mask = nm;
+			size = live;
+		}
+
+		@SuppressWarnings("unchecked")
+		List<LongGroup<V>> values() {
+			Object[] v = values;
+			List<LongGroup<V>> list = new ArrayList<>();
+			for (Object g : v) {
+				if (g != null) {
+					list.add((LongGroup<V>) g);
+				}
+			}
+			return list;
+		}
+
+		void clear() {
+			Arrays.fill(values, null);
+			size = 0;
+		}
+	}
+}
@@ -63,8 +63,15 @@ final class FluxOnAssembly<T> extends FluxOperator<T, T> implements Fuseable,
 	 * Create an assembly trace decorated as a {@link Flux}.
 	 */
 	FluxOnAssembly(Flux<? extends T> source) {
+		this(source, new AssemblySnapshotException());
+	}
+
+	/**
+	 * Create an assembly trace from an existing, possibly shared, snapshot.
+	 */
+	FluxOnAssembly(Flux<? extends T> source, AssemblySnapshotException snapshotStack) {
 		super(source);
-		this.snapshotStack = new AssemblySnapshotException();
+		this.snapshotStack = snapshotStack;
 	}
 
 	/**
@@ -319,6 +326,33 @@ final class FluxOnAssembly<T> extends FluxOperator<T, T> implements Fuseable,
 		}
 	}
 
+	/**
+	 * An assembly snapshot that only holds the frames of the operator and of its caller,
+	 * either resolved by {@link AssemblyCallSites} or provided as an already formatted
+	 * traceback by an instrumentation agent. It doesn't capture a stack trace of its own.
+	 */
+	static final class AssemblyCallSiteSnapshotException extends AssemblySnapshotException {
+
+		AssemblyCallSiteSnapshotException(StackTraceElement[] callSite) {
+			super();
+			setStackTrace(callSite);
+		}
+
+		/**
+		 * @param traceback the traceback, one tab-prefixed frame per line, as it would
+		 * be produced by {@link FluxOnAssembly#getStacktrace(AssemblySnapshotException)}
+		 */
+		AssemblyCallSiteSnapshotException(String traceback) {
+			super();
+			cached = traceback;
+		}
+
+		@Override
+		public synchronized Throwable fillInStackTrace() {
+			return this; //intentionally NO-OP
+		}
+	}
+
 	/**
 	 * The holder for the assembly stacktrace (as its message).
 	 */
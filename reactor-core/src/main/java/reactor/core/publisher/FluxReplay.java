@@ -444,8 +444,412 @@ final class FluxReplay<T> extends ConnectableFlux<T> implements Scannable, Fusea
 		}
 	}
 
+	/**
+	 * A time-bound only {@link ReplayBuffer}, storing values and their timestamps in
+	 * fixed-size array segments. A segment is closed once full or once it spans more
+	 * than a fraction of {@code maxAge}, so that eviction can drop whole segments at once
+	 * and new subscribers can skip expired ones by looking at their last timestamp only,
+	 * instead of walking one node per expired value. Expiry is still exact per value.
+	 *
+	 * @param <T> the value type
+	 */
+	static final class TimeBucketedReplayBuffer<T> implements ReplayBuffer<T> {
+
+		static final class Segment {
+
+			final Object[] values;
+			final long[]   times;
+
+			/**
+			 * Values timestamped at or after this go to a new segment, written by the
+			 * producer before publishing the first value.
+			 */
+			long bucketEnd;
+
+			/**
+			 * The number of published values.
+			 */
+			volatile int size;
+			static final AtomicIntegerFieldUpdater<Segment> SIZE =
+					AtomicIntegerFieldUpdater.newUpdater(Segment.class, "size");
+
+			/**
+			 * The index of the first value that was not expired as of the last eviction.
+			 */
+			volatile int start;
+
+			/**
+			 * Set once the segment is closed, its size being final from then on.
+			 */
+			volatile Segment next;
+
+			Segment(int capacity) {
+				this.values = new Object[capacity];
+				this.times = new long[capacity];
+			}
+		}
+
+		final int       segmentSize;
+		final long      maxAge;
+		final long      bucketSpan;
+		final Scheduler scheduler;
+
+		volatile Segment head;
+
+		Segment tail;
+
+		volatile int size;
+
+		Throwable error;
+		static final long NOT_DONE = Long.MIN_VALUE;
+
+		volatile long done = NOT_DONE;
+
+		TimeBucketedReplayBuffer(int segmentSize, long maxAge, Scheduler scheduler) {
+			this.segmentSize = segmentSize;
+			this.maxAge = maxAge;
+			this.bucketSpan = Math.max(1L, maxAge / 16);
+			this.scheduler = scheduler;
+			Segment s = new Segment(segmentSize);
+			this.tail = s;
+			this.head = s;
+		}
+
+		@Override
+		public boolean isExpired() {
+			long done = this.done;
+			return done != NOT_DONE && scheduler.now(TimeUnit.MILLISECONDS) - maxAge > done;
+		}
+
+		@Override
+		public void add(T value) {
+			long now = scheduler.now(TimeUnit.MILLISECONDS);
+			Segment t = tail;
+			int i = t.size;
+			if (i == t.values.length || (i != 0 && now >= t.bucketEnd)) {
+				Segment s = new Segment(segmentSize);
+				s.values[0] = value;
+				s.times[0] = now;
+				s.bucketEnd = now + bucketSpan;
+				s.size = 1;
+				t.next = s;
+				tail = s;
+			}
+			else {
+				if (i == 0) {
+					t.bucketEnd = now + bucketSpan;
+				}
+				t.values[i] = value;
+				t.times[i] = now;
+				Segment.SIZE.lazySet(t, i + 1);
+			}
+
+			long limit = now - maxAge;
+			Segment h = head;
+			int removed = 0;
+			//whole segments, the tail always holding at least the value just added
+			while (h != tail) {
+				int n = h.size;
+				if (h.times[n - 1] > limit) {
+					break;
+				}
+				removed += n - h.start;
+				h = h.next;
+			}
+			int s = h.start;
+			int n = h.size;
+			if (s < n && h.times[s] <= limit) {
+				int live = firstLive(h.times, s, n, limit);
+				removed += live - s;
+				h.start = live;
+			}
+			if (h != head) {
+				head = h;
+			}
+			size = size + 1 - removed;
+		}
+
+		/**
+		 * Find the index of the first value timestamped after the limit between from
+		 * (inclusive) and to (exclusive), or to if all of them are expired.
+		 */
+		static int firstLive(long[] times, int from, int to, long limit) {
+			int lo = from;
+			int hi = to;
+			while (lo < hi) {
+				int mid = (lo + hi) >>> 1;
+				if (times[mid] <= limit) {
+					lo = mid + 1;
+				}
+				else {
+					hi = mid;
+				}
+			}
+			return lo;
+		}
+
+		/**
+		 * Move the subscription to the first value that is not expired, from its current
+		 * position or from the head if it has none.
+		 */
+		void skipExpired(ReplaySubscription<T> rs) {
+			long limit = scheduler.now(TimeUnit.MILLISECONDS) - maxAge;
+			Segment s = (Segment) rs.node();
+			int i;
+			if (s == null) {
+				s = head;
+				i = s.start;
+			}
+			else {
+				i = rs.tailIndex();
+			}
+			for (; ; ) {
+				int n = s.size;
+				if (i < n) {
+					if (s.times[n - 1] > limit) {
+						i = firstLive(s.times, i, n, limit);
+						break;
+					}
+					i = n;
+				}
+				Segment next = s.next;
+				if (next == null) {
+					break;
+				}
+				if (i < s.size) {
+					continue;
+				}
+				s = next;
+				i = 0;
+			}
+			rs.node(s);
+			rs.tailIndex(i);
+		}
+
+		void replayNormal(ReplaySubscription<T> rs) {
+			int missed = 1;
+			final Subscriber<? super T> a = rs.actual();
+
+			for (; ; ) {
+				if (rs.node() == null) {
+					if (done == NOT_DONE) {
+						skipExpired(rs);
+					}
+					else {
+						Segment h = head;
+						rs.node(h);
+						rs.tailIndex(h.start);
+					}
+				}
+				Segment s = (Segment) rs.node();
+				int i = rs.tailIndex();
+
+				long r = rs.requested();
+				long e = 0L;
+
+				while (e != r) {
+					if (rs.isCancelled()) {
+						rs.node(null);
+						return;
+					}
+
+					boolean d = done != NOT_DONE;
+					if (i == s.size) {
+						Segment next = s.next;
+						if (next != null && i == s.size) {
+							s = next;
+							i = 0;
+						}
+					}
+					boolean empty = i == s.size;
+
+					if (d && empty) {
+						rs.node(null);
+						Throwable ex = error;
+						if (ex != null) {
+							a.onError(ex);
+						}
+						else {
+							a.onComplete();
+						}
+						return;
+					}
+
+					if (empty) {
+						break;
+					}
+
+					@SuppressWarnings("unchecked") T v = (T) s.values[i];
+					a.onNext(v);
+
+					e++;
+					i++;
+				}
+
+				if (e == r) {
+					if (rs.isCancelled()) {
+						rs.node(null);
+						return;
+					}
+
+					boolean d = done != NOT_DONE;
+					//a closed segment is always followed by a non-empty one
+					boolean empty = i == s.size && s.next == null;
+
+					if (d && empty) {
+						rs.node(null);
+						Throwable ex = error;
+						if (ex != null) {
+							a.onError(ex);
+						}
+						else {
+							a.onComplete();
+						}
+						return;
+					}
+				}
+
+				if (e != 0L) {
+					if (r != Long.MAX_VALUE) {
+						rs.produced(e);
+					}
+				}
+
+				rs.node(s);
+				rs.tailIndex(i);
+
+				missed = rs.leave(missed);
+				if (missed == 0) {
+					break;
+				}
+			}
+		}
+
+		void replayFused(ReplaySubscription<T> rs) {
+			int missed = 1;
+
+			final Subscriber<? super T> a = rs.actual();
+
+			for (; ; ) {
+
+				if (rs.isCancelled()) {
+					rs.node(null);
+					return;
+				}
+
+				boolean d = done != NOT_DONE;
+
+				a.onNext(null);
+
+				if (d) {
+					Throwable ex = error;
+					if (ex != null) {
+						a.onError(ex);
+					}
+					else {
+						a.onComplete();
+					}
+					return;
+				}
+
+				missed = rs.leave(missed);
+				if (missed == 0) {
+					break;
+				}
+			}
+		}
+
+		@Override
+		public void onError(Throwable ex) {
+			done = scheduler.now(TimeUnit.MILLISECONDS);
+			error = ex;
+		}
+
+		@Override
+		@Nullable
+		public Throwable getError() {
+			return error;
+		}
+
+		@Override
+		public void onComplete() {
+			done = scheduler.now(TimeUnit.MILLISECONDS);
+		}
+
+		@Override
+		public boolean isDone() {
+			return done != NOT_DONE;
+		}
+
+		@Override
+		@Nullable
+		public T poll(ReplaySubscription<T> rs) {
+			skipExpired(rs);
+			Segment s = (Segment) rs.node();
+			int i = rs.tailIndex();
+			if (i == s.size) {
+				return null;
+			}
+			@SuppressWarnings("unchecked") T v = (T) s.values[i];
+			rs.tailIndex(i + 1);
+			return v;
+		}
+
+		@Override
+		public void clear(ReplaySubscription<T> rs) {
+			rs.node(null);
+		}
+
+		@Override
+		public boolean isEmpty(ReplaySubscription<T> rs) {
+			skipExpired(rs);
+			return rs.tailIndex() == ((Segment) rs.node()).size;
+		}
+
+		@Override
+		public int size(ReplaySubscription<T> rs) {
+			skipExpired(rs);
+			Segment s = (Segment) rs.node();
+			long count = s.size - rs.tailIndex();
+			while ((s = s.next) != null) {
+				count += s.size;
+			}
+			return (int) Math.min(count, Integer.MAX_VALUE);
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public int capacity() {
+			return Integer.MAX_VALUE;
+		}
+
+		@Override
+		public void replay(ReplaySubscription<T> rs) {
+			if (!rs.enter()) {
+				return;
+			}
+
+			if (rs.fusionMode() == NONE) {
+				replayNormal(rs);
+			}
+			else {
+				replayFused(rs);
+			}
+		}
+	}
+
 	static final class UnboundedReplayBuffer<T> implements ReplayBuffer<T> {
 
+		/**
+		 * The upper bound of the adaptive growth of the array segments, which start at
+		 * {@code batchSize} and double with each new segment.
+		 */
+		static final int MAX_BATCH_SIZE = 4096;
+
 		final int batchSize;
 
 		volatile int size;
@@ -487,7 +891,8 @@ final class FluxReplay<T> extends ConnectableFlux<T> implements Scannable, Fusea
 			int i = tailIndex;
 			Object[] a = tail;
 			if (i == a.length - 1) {
-				Object[] b = new Object[a.length];
+				int n = i < MAX_BATCH_SIZE ? Math.min(i << 1, MAX_BATCH_SIZE) : i;
+				Object[] b = new Object[n + 1];
 				b[0] = value;
 				tailIndex = 1;
 				a[i] = b;
@@ -515,7 +920,6 @@ final class FluxReplay<T> extends ConnectableFlux<T> implements Scannable, Fusea
 			int missed = 1;
 
 			final Subscriber<? super T> a = rs.actual();
-			final int n = batchSize;
 
 			for (; ; ) {
 
@@ -554,7 +958,7 @@ final class FluxReplay<T> extends ConnectableFlux<T> implements Scannable, Fusea
 						break;
 					}
 
-					if (tailIndex == n) {
+					if (tailIndex == node.length - 1) {
 						node = (Object[]) node[tailIndex];
 						tailIndex = 0;
 					}
@@ -673,7 +1077,7 @@ final class FluxReplay<T> extends ConnectableFlux<T> implements Scannable, Fusea
 				rs.node(node);
 			}
 			int tailIndex = rs.tailIndex();
-			if (tailIndex == batchSize) {
+			if (tailIndex == node.length - 1) {
 				node = (Object[]) node[tailIndex];
 				tailIndex = 0;
 				rs.node(node);
@@ -984,6 +1388,338 @@ final class FluxReplay<T> extends ConnectableFlux<T> implements Scannable, Fusea
 		}
 	}
 
+	/**
+	 * A size-bound {@link ReplayBuffer} storing values in linked array segments of up to
+	 * {@link Queues#SMALL_BUFFER_SIZE} values, instead of one node per value. Each
+	 * subscriber only keeps a segment and an offset as its cursor, so that many
+	 * subscribers replaying the same history read the same arrays sequentially.
+	 * <p>
+	 * The head only moves forward by index: segments are dropped once the head leaves
+	 * them, so that subscribers lagging behind the head still observe all values without
+	 * gaps, and up to one segment of evicted values can remain reachable.
+	 *
+	 * @param <T> the value type
+	 */
+	static final class SizeBoundArrayReplayBuffer<T> implements ReplayBuffer<T> {
+
+		static final class Segment {
+
+			final Object[] values;
+
+			/**
+			 * The absolute index of the first value of this segment.
+			 */
+			final long base;
+
+			/**
+			 * Published through the produced count of the buffer.
+			 */
+			Segment next;
+
+			Segment(int segmentSize, long base) {
+				this.values = new Object[segmentSize];
+				this.base = base;
+			}
+		}
+
+		final int limit;
+		final int segmentSize;
+
+		/**
+		 * The segment holding the value at {@link #headIndex}, written after it.
+		 */
+		volatile Segment head;
+
+		volatile long headIndex;
+		@SuppressWarnings("rawtypes")
+		static final AtomicLongFieldUpdater<SizeBoundArrayReplayBuffer> HEAD_INDEX =
+				AtomicLongFieldUpdater.newUpdater(SizeBoundArrayReplayBuffer.class, "headIndex");
+
+		Segment tail;
+
+		int tailOffset;
+
+		volatile long produced;
+		@SuppressWarnings("rawtypes")
+		static final AtomicLongFieldUpdater<SizeBoundArrayReplayBuffer> PRODUCED =
+				AtomicLongFieldUpdater.newUpdater(SizeBoundArrayReplayBuffer.class, "produced");
+
+		volatile boolean done;
+		Throwable error;
+
+		SizeBoundArrayReplayBuffer(int limit) {
+			if (limit <= 0) {
+				throw new IllegalArgumentException("Limit must be strictly positive");
+			}
+			this.limit = limit;
+			this.segmentSize = Math.min(limit, Queues.SMALL_BUFFER_SIZE);
+			Segment s = new Segment(segmentSize, 0L);
+			this.tail = s;
+			this.head = s;
+		}
+
+		@Override
+		public boolean isExpired() {
+			return false;
+		}
+
+		@Override
+		public int capacity() {
+			return limit;
+		}
+
+		@Override
+		public void add(T value) {
+			Segment t = tail;
+			int i = tailOffset;
+			if (i == segmentSize) {
+				Segment s = new Segment(segmentSize, t.base + segmentSize);
+				t.next = s;
+				tail = s;
+				t = s;
+				i = 0;
+			}
+			t.values[i] = value;
+			tailOffset = i + 1;
+			long p = produced + 1;
+			PRODUCED.lazySet(this, p);
+
+			long h = p - limit;
+			if (h > 0L) {
+				Segment hs = head;
+				Segment s = hs;
+				while (h >= s.base + segmentSize) {
+					s = s.next;
+				}
+				HEAD_INDEX.lazySet(this, h);
+				if (s != hs) {
+					head = s;
+				}
+			}
+		}
+
+		@Override
+		public void onError(Throwable ex) {
+			error = ex;
+			done = true;
+		}
+
+		@Override
+		public void onComplete() {
+			done = true;
+		}
+
+		/**
+		 * Position a subscription without cursor on the current head.
+		 */
+		Segment position(ReplaySubscription<T> rs) {
+			Segment s = (Segment) rs.node();
+			if (s == null) {
+				//the head segment is written after the index, so it never is past it
+				s = head;
+				long offset = headIndex - s.base;
+				while (offset >= segmentSize) {
+					s = s.next;
+					offset -= segmentSize;
+				}
+				rs.node(s);
+				rs.tailIndex((int) offset);
+			}
+			return s;
+		}
+
+		void replayNormal(ReplaySubscription<T> rs) {
+			final Subscriber<? super T> a = rs.actual();
+			final int n = segmentSize;
+
+			int missed = 1;
+
+			for (; ; ) {
+
+				long r = rs.requested();
+				long e = 0L;
+
+				Segment node = position(rs);
+				int offset = rs.tailIndex();
+				long index = node.base + offset;
+
+				while (e != r) {
+					if (rs.isCancelled()) {
+						rs.node(null);
+						return;
+					}
+
+					boolean d = done;
+					boolean empty = index == produced;
+
+					if (d && empty) {
+						rs.node(null);
+						Throwable ex = error;
+						if (ex != null) {
+							a.onError(ex);
+						}
+						else {
+							a.onComplete();
+						}
+						return;
+					}
+
+					if (empty) {
+						break;
+					}
+
+					if (offset == n) {
+						node = node.next;
+						offset = 0;
+					}
+
+					@SuppressWarnings("unchecked") T v = (T) node.values[offset];
+
+					a.onNext(v);
+
+					e++;
+					offset++;
+					index++;
+				}
+
+				if (e == r) {
+					if (rs.isCancelled()) {
+						rs.node(null);
+						return;
+					}
+
+					boolean d = done;
+					boolean empty = index == produced;
+
+					if (d && empty) {
+						rs.node(null);
+						Throwable ex = error;
+						if (ex != null) {
+							a.onError(ex);
+						}
+						else {
+							a.onComplete();
+						}
+						return;
+					}
+				}
+
+				if (e != 0L) {
+					if (r != Long.MAX_VALUE) {
+						rs.produced(e);
+					}
+				}
+
+				rs.tailIndex(offset);
+				rs.node(node);
+
+				missed = rs.leave(missed);
+				if (missed == 0) {
+					break;
+				}
+			}
+		}
+
+		void replayFused(ReplaySubscription<T> rs) {
+			int missed = 1;
+
+			final Subscriber<? super T> a = rs.actual();
+
+			for (; ; ) {
+
+				if (rs.isCancelled()) {
+					rs.node(null);
+					return;
+				}
+
+				boolean d = done;
+
+				a.onNext(null);
+
+				if (d) {
+					Throwable ex = error;
+					if (ex != null) {
+						a.onError(ex);
+					}
+					else {
+						a.onComplete();
+					}
+					return;
+				}
+
+				missed = rs.leave(missed);
+				if (missed == 0) {
+					break;
+				}
+			}
+		}
+
+		@Override
+		public void replay(ReplaySubscription<T> rs) {
+			if (!rs.enter()) {
+				return;
+			}
+
+			if (rs.fusionMode() == NONE) {
+				replayNormal(rs);
+			}
+			else {
+				replayFused(rs);
+			}
+		}
+
+		@Override
+		@Nullable
+		public Throwable getError() {
+			return error;
+		}
+
+		@Override
+		public boolean isDone() {
+			return done;
+		}
+
+		@Override
+		@Nullable
+		public T poll(ReplaySubscription<T> rs) {
+			Segment node = position(rs);
+			int offset = rs.tailIndex();
+			if (node.base + offset == produced) {
+				return null;
+			}
+			if (offset == segmentSize) {
+				node = node.next;
+				offset = 0;
+				rs.node(node);
+			}
+			@SuppressWarnings("unchecked") T v = (T) node.values[offset];
+			rs.tailIndex(offset + 1);
+			return v;
+		}
+
+		@Override
+		public void clear(ReplaySubscription<T> rs) {
+			rs.node(null);
+		}
+
+		@Override
+		public boolean isEmpty(ReplaySubscription<T> rs) {
+			Segment node = position(rs);
+			return node.base + rs.tailIndex() == produced;
+		}
+
+		@Override
+		public int size(ReplaySubscription<T> rs) {
+			Segment node = position(rs);
+			return (int) Math.min(produced - node.base - rs.tailIndex(), Integer.MAX_VALUE);
+		}
+
+		@Override
+		public int size() {
+			return (int) Math.min(produced, limit);
+		}
+	}
+
 	@SuppressWarnings("rawtypes")
 	static final AtomicReferenceFieldUpdater<FluxReplay, ReplaySubscriber> CONNECTION =
 			AtomicReferenceFieldUpdater.newUpdater(FluxReplay.class,
@@ -1011,16 +1747,39 @@ final class FluxReplay<T> extends ConnectableFlux<T> implements Scannable, Fusea
 		return history;
 	}
 
+	/**
+	 * Create a size-bound {@link ReplayBuffer}. Histories smaller than
+	 * {@link Queues#XS_BUFFER_SIZE}, like {@code cacheLast()}, keep one node per value as
+	 * array segments would not save allocations there but would retain evicted values
+	 * for longer.
+	 *
+	 * @param limit the number of values to replay
+	 * @param <T> the value type
+	 *
+	 * @return a new size-bound {@link ReplayBuffer}
+	 */
+	static <T> ReplayBuffer<T> sizeBoundBuffer(int limit) {
+		if (limit < Queues.XS_BUFFER_SIZE) {
+			return new SizeBoundReplayBuffer<>(limit);
+		}
+		return new SizeBoundArrayReplayBuffer<>(limit);
+	}
+
 	ReplaySubscriber<T> newState() {
 		if (scheduler != null) {
+			if (history == Integer.MAX_VALUE) {
+				return new ReplaySubscriber<>(new TimeBucketedReplayBuffer<>(Queues.SMALL_BUFFER_SIZE,
+						ttl,
+						scheduler),
+						this);
+			}
 			return new ReplaySubscriber<>(new SizeAndTimeBoundReplayBuffer<>(history,
 					ttl,
 					scheduler),
 					this);
 		}
 		if (history != Integer.MAX_VALUE) {
-			return new ReplaySubscriber<>(new SizeBoundReplayBuffer<>(history),
-					this);
+			return new ReplaySubscriber<>(sizeBoundBuffer(history), this);
 		}
 		return new ReplaySubscriber<>(new UnboundedReplayBuffer<>(Queues.SMALL_BUFFER_SIZE),
 					this);
@@ -21,6 +21,7 @@ import java.util.Objects;
 import java.util.Queue;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
@@ -29,8 +30,11 @@ import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 import reactor.core.CoreSubscriber;
 import reactor.core.Disposable;
+import reactor.core.Exceptions;
 import reactor.core.Scannable;
 import reactor.util.annotation.Nullable;
+import reactor.util.concurrent.Queues;
+import reactor.util.context.Context;
 
 /**
  * Splits the source sequence into possibly overlapping publishers.
@@ -49,6 +53,8 @@ final class FluxWindow<T> extends FluxOperator<T, Flux<T>> {
 
 	final Supplier<? extends Queue<UnicastProcessor<T>>> overflowQueueSupplier;
 
+	final boolean sharedBuffer;
+
 	FluxWindow(Flux<? extends T> source,
 			int size,
 			Supplier<? extends Queue<T>> processorQueueSupplier) {
@@ -61,6 +67,7 @@ final class FluxWindow<T> extends FluxOperator<T, Flux<T>> {
 		this.processorQueueSupplier =
 				Objects.requireNonNull(processorQueueSupplier, "processorQueueSupplier");
 		this.overflowQueueSupplier = null; // won't be needed here
+		this.sharedBuffer = false;
 	}
 
 	FluxWindow(Flux<? extends T> source,
@@ -68,6 +75,15 @@ final class FluxWindow<T> extends FluxOperator<T, Flux<T>> {
 			int skip,
 			Supplier<? extends Queue<T>> processorQueueSupplier,
 			Supplier<? extends Queue<UnicastProcessor<T>>> overflowQueueSupplier) {
+		this(source, size, skip, processorQueueSupplier, overflowQueueSupplier, false);
+	}
+
+	FluxWindow(Flux<? extends T> source,
+			int size,
+			int skip,
+			Supplier<? extends Queue<T>> processorQueueSupplier,
+			Supplier<? extends Queue<UnicastProcessor<T>>> overflowQueueSupplier,
+			boolean sharedBuffer) {
 		super(source);
 		if (size <= 0) {
 			throw new IllegalArgumentException("size > 0 required but it was " + size);
@@ -81,6 +97,7 @@ final class FluxWindow<T> extends FluxOperator<T, Flux<T>> {
 				Objects.requireNonNull(processorQueueSupplier, "processorQueueSupplier");
 		this.overflowQueueSupplier =
 				Objects.requireNonNull(overflowQueueSupplier, "overflowQueueSupplier");
+		this.sharedBuffer = sharedBuffer;
 	}
 
 	@Override
@@ -94,6 +111,9 @@ final class FluxWindow<T> extends FluxOperator<T, Flux<T>> {
 			source.subscribe(new WindowSkipSubscriber<>(actual,
 					size, skip, processorQueueSupplier));
 		}
+		else if (sharedBuffer) {
+			source.subscribe(new WindowOverlapSharedSubscriber<>(actual, size, skip));
+		}
 		else {
 			source.subscribe(new WindowOverlapSubscriber<>(actual,
 					size,
@@ -124,7 +144,7 @@ final class FluxWindow<T> extends FluxOperator<T, Flux<T>> {
 
 		Subscription s;
 
-		UnicastProcessor<T> window;
+		InnerWindow<T> window;
 
 		boolean done;
 
@@ -154,11 +174,11 @@ final class FluxWindow<T> extends FluxOperator<T, Flux<T>> {
 
 			int i = index;
 
-			UnicastProcessor<T> w = window;
+			InnerWindow<T> w = window;
 			if (cancelled == 0 && i == 0) {
 				WINDOW_COUNT.getAndIncrement(this);
 
-				w = new UnicastProcessor<>(processorQueueSupplier.get(), this);
+				w = new InnerWindow<>(processorQueueSupplier, this);
 				window = w;
 
 				actual.onNext(w);
@@ -185,7 +205,7 @@ final class FluxWindow<T> extends FluxOperator<T, Flux<T>> {
 				return;
 			}
 			done = true;
-			Processor<T, T> w = window;
+			InnerWindow<T> w = window;
 			if (w != null) {
 				window = null;
 				w.onError(t);
@@ -200,7 +220,7 @@ final class FluxWindow<T> extends FluxOperator<T, Flux<T>> {
 				return;
 			}
 			done = true;
-			Processor<T, T> w = window;
+			InnerWindow<T> w = window;
 			if (w != null) {
 				window = null;
 				w.onComplete();
@@ -289,7 +309,7 @@ final class FluxWindow<T> extends FluxOperator<T, Flux<T>> {
 
 		Subscription s;
 
-		UnicastProcessor<T> window;
+		InnerWindow<T> window;
 
 		boolean done;
 
@@ -321,11 +341,11 @@ final class FluxWindow<T> extends FluxOperator<T, Flux<T>> {
 
 			int i = index;
 
-			UnicastProcessor<T> w = window;
+			InnerWindow<T> w = window;
 			if (i == 0) {
 				WINDOW_COUNT.getAndIncrement(this);
 
-				w = new UnicastProcessor<>(processorQueueSupplier.get(), this);
+				w = new InnerWindow<>(processorQueueSupplier, this);
 				window = w;
 
 				actual.onNext(w);
@@ -360,7 +380,7 @@ final class FluxWindow<T> extends FluxOperator<T, Flux<T>> {
 			}
 			done = true;
 
-			Processor<T, T> w = window;
+			InnerWindow<T> w = window;
 			if (w != null) {
 				window = null;
 				w.onError(t);
@@ -376,7 +396,7 @@ final class FluxWindow<T> extends FluxOperator<T, Flux<T>> {
 			}
 			done = true;
 
-			Processor<T, T> w = window;
+			InnerWindow<T> w = window;
 			if (w != null) {
 				window = null;
 				w.onComplete();
@@ -739,4 +759,832 @@ final class FluxWindow<T> extends FluxOperator<T, Flux<T>> {
 		}
 	}
 
+
+	/**
+	 * A single-subscriber window that passes values straight through to its
+	 * subscriber when it has demand and nothing is queued, only allocating a queue
+	 * for values that arrive before the subscriber or beyond its demand.
+	 *
+	 * @param <T> the value type
+	 */
+	static final class InnerWindow<T> extends Flux<T> implements InnerProducer<T> {
+
+		final Supplier<? extends Queue<T>> queueSupplier;
+
+		volatile Queue<T> queue;
+
+		volatile Disposable onTerminate;
+		@SuppressWarnings("rawtypes")
+		static final AtomicReferenceFieldUpdater<InnerWindow, Disposable> ON_TERMINATE =
+				AtomicReferenceFieldUpdater.newUpdater(InnerWindow.class, Disposable.class, "onTerminate");
+
+		volatile CoreSubscriber<? super T> actual;
+
+		volatile int once;
+		@SuppressWarnings("rawtypes")
+		static final AtomicIntegerFieldUpdater<InnerWindow> ONCE =
+				AtomicIntegerFieldUpdater.newUpdater(InnerWindow.class, "once");
+
+		volatile long requested;
+		@SuppressWarnings("rawtypes")
+		static final AtomicLongFieldUpdater<InnerWindow> REQUESTED =
+				AtomicLongFieldUpdater.newUpdater(InnerWindow.class, "requested");
+
+		volatile int wip;
+		@SuppressWarnings("rawtypes")
+		static final AtomicIntegerFieldUpdater<InnerWindow> WIP =
+				AtomicIntegerFieldUpdater.newUpdater(InnerWindow.class, "wip");
+
+		volatile boolean done;
+		Throwable error;
+
+		volatile boolean cancelled;
+
+		InnerWindow(Supplier<? extends Queue<T>> queueSupplier, Disposable onTerminate) {
+			this.queueSupplier = queueSupplier;
+			this.onTerminate = onTerminate;
+		}
+
+		@Override
+		public void subscribe(CoreSubscriber<? super T> actual) {
+			Objects.requireNonNull(actual, "subscribe");
+			if (once == 0 && ONCE.compareAndSet(this, 0, 1)) {
+				actual.onSubscribe(this);
+				this.actual = actual;
+				if (cancelled) {
+					this.actual = null;
+				}
+				else {
+					drain();
+				}
+			}
+			else {
+				Operators.error(actual, new IllegalStateException("A window allows " +
+						"only a single Subscriber"));
+			}
+		}
+
+		@Override
+		public CoreSubscriber<? super T> actual() {
+			return actual;
+		}
+
+		void onNext(T t) {
+			if (done || cancelled) {
+				Operators.onNextDropped(t, currentContext());
+				return;
+			}
+
+			if (wip == 0 && WIP.compareAndSet(this, 0, 1)) {
+				CoreSubscriber<? super T> a = actual;
+				Queue<T> q = queue;
+				long r = requested;
+				if (a != null && r != 0L && (q == null || q.isEmpty())) {
+					a.onNext(t);
+					if (r != Long.MAX_VALUE) {
+						REQUESTED.decrementAndGet(this);
+					}
+					if (WIP.decrementAndGet(this) == 0) {
+						return;
+					}
+				}
+				else {
+					offer(t);
+				}
+				drainLoop();
+			}
+			else {
+				offer(t);
+				drain();
+			}
+		}
+
+		void offer(T t) {
+			Queue<T> q = queue;
+			if (q == null) {
+				q = queueSupplier.get();
+				queue = q;
+			}
+			if (!q.offer(t)) {
+				error = Operators.onOperatorError(null,
+						Exceptions.failWithOverflow(), t, currentContext());
+				done = true;
+				doTerminate();
+			}
+		}
+
+		Context currentContext() {
+			CoreSubscriber<? super T> a = actual;
+			return a != null ? a.currentContext() : Context.empty();
+		}
+
+		void onError(Throwable t) {
+			if (done || cancelled) {
+				Operators.onErrorDropped(t, currentContext());
+				return;
+			}
+			error = t;
+			done = true;
+			doTerminate();
+			drain();
+		}
+
+		void onComplete() {
+			if (done || cancelled) {
+				return;
+			}
+			done = true;
+			doTerminate();
+			drain();
+		}
+
+		@Override
+		public void request(long n) {
+			if (Operators.validate(n)) {
+				Operators.addCap(REQUESTED, this, n);
+				drain();
+			}
+		}
+
+		@Override
+		public void cancel() {
+			if (cancelled) {
+				return;
+			}
+			cancelled = true;
+			doTerminate();
+			if (WIP.getAndIncrement(this) == 0) {
+				clearQueue();
+			}
+		}
+
+		void doTerminate() {
+			Disposable r = onTerminate;
+			if (r != null && ON_TERMINATE.compareAndSet(this, r, null)) {
+				r.dispose();
+			}
+		}
+
+		void clearQueue() {
+			Queue<T> q = queue;
+			if (q != null) {
+				q.clear();
+			}
+		}
+
+		void drain() {
+			if (WIP.getAndIncrement(this) != 0) {
+				return;
+			}
+			drainLoop();
+		}
+
+		void drainLoop() {
+			int missed = 1;
+
+			for (;;) {
+				CoreSubscriber<? super T> a = actual;
+
+				if (a != null) {
+					Queue<T> q = queue;
+					long r = requested;
+					long e = 0L;
+
+					while (e != r) {
+						boolean d = done;
+
+						T t = q != null ? q.poll() : null;
+						boolean empty = t == null;
+
+						if (checkTerminated(d, empty, a)) {
+							return;
+						}
+
+						if (empty) {
+							break;
+						}
+
+						a.onNext(t);
+
+						e++;
+					}
+
+					if (e == r) {
+						if (checkTerminated(done, q == null || q.isEmpty(), a)) {
+							return;
+						}
+					}
+
+					if (e != 0 && r != Long.MAX_VALUE) {
+						REQUESTED.addAndGet(this, -e);
+					}
+				}
+				else if (cancelled) {
+					clearQueue();
+					return;
+				}
+
+				missed = WIP.addAndGet(this, -missed);
+				if (missed == 0) {
+					break;
+				}
+			}
+		}
+
+		boolean checkTerminated(boolean d, boolean empty, Subscriber<? super T> a) {
+			if (cancelled) {
+				clearQueue();
+				actual = null;
+				return true;
+			}
+			if (d && empty) {
+				Throwable e = error;
+				actual = null;
+				if (e != null) {
+					a.onError(e);
+				}
+				else {
+					a.onComplete();
+				}
+				return true;
+			}
+			return false;
+		}
+
+		@Override
+		@Nullable
+		public Object scanUnsafe(Attr key) {
+			if (key == Attr.PARENT) return onTerminate;
+			if (key == Attr.CANCELLED) return cancelled;
+			if (key == Attr.TERMINATED) return done;
+			if (key == Attr.ERROR) return error;
+			if (key == Attr.REQUESTED_FROM_DOWNSTREAM) return requested;
+			if (key == Attr.BUFFERED) {
+				Queue<T> q = queue;
+				return q == null ? 0 : q.size();
+			}
+
+			return InnerProducer.super.scanUnsafe(key);
+		}
+	}
+
+	/**
+	 * Overlapping windows reading from a single buffer of the source values, linked
+	 * chunks that each window walks with its own cursor, instead of each value being
+	 * offered to the queue of every window it belongs to. Chunks are reclaimed once
+	 * no window refers to them anymore, so a window kept around without being consumed
+	 * retains the values produced since it opened.
+	 *
+	 * @param <T> the value type
+	 */
+	static final class WindowOverlapSharedSubscriber<T>
+			implements Disposable, InnerOperator<T, Flux<T>> {
+
+		final CoreSubscriber<? super Flux<T>> actual;
+
+		final int size;
+
+		final int skip;
+
+		final int chunkSize;
+
+		/**
+		 * Windows still receiving values, only accessed by the source.
+		 */
+		final ArrayDeque<SharedWindow<T>> open;
+
+		/**
+		 * Windows not yet emitted downstream.
+		 */
+		final Queue<SharedWindow<T>> queue;
+
+		volatile int cancelled;
+		@SuppressWarnings("rawtypes")
+		static final AtomicIntegerFieldUpdater<WindowOverlapSharedSubscriber> CANCELLED =
+				AtomicIntegerFieldUpdater.newUpdater(WindowOverlapSharedSubscriber.class,
+						"cancelled");
+
+		volatile int windowCount;
+		@SuppressWarnings("rawtypes")
+		static final AtomicIntegerFieldUpdater<WindowOverlapSharedSubscriber> WINDOW_COUNT =
+				AtomicIntegerFieldUpdater.newUpdater(WindowOverlapSharedSubscriber.class,
+						"windowCount");
+
+		volatile int firstRequest;
+		@SuppressWarnings("rawtypes")
+		static final AtomicIntegerFieldUpdater<WindowOverlapSharedSubscriber> FIRST_REQUEST =
+				AtomicIntegerFieldUpdater.newUpdater(WindowOverlapSharedSubscriber.class,
+						"firstRequest");
+
+		volatile long requested;
+		@SuppressWarnings("rawtypes")
+		static final AtomicLongFieldUpdater<WindowOverlapSharedSubscriber> REQUESTED =
+				AtomicLongFieldUpdater.newUpdater(WindowOverlapSharedSubscriber.class,
+						"requested");
+
+		volatile int wip;
+		@SuppressWarnings("rawtypes")
+		static final AtomicIntegerFieldUpdater<WindowOverlapSharedSubscriber> WIP =
+				AtomicIntegerFieldUpdater.newUpdater(WindowOverlapSharedSubscriber.class,
+						"wip");
+
+		/**
+		 * The number of values written to the buffer, published after each write.
+		 */
+		volatile long produced;
+		@SuppressWarnings("rawtypes")
+		static final AtomicLongFieldUpdater<WindowOverlapSharedSubscriber> PRODUCED =
+				AtomicLongFieldUpdater.newUpdater(WindowOverlapSharedSubscriber.class,
+						"produced");
+
+		Node tail;
+
+		int tailOffset;
+
+		int index;
+
+		Subscription s;
+
+		volatile boolean done;
+		Throwable error;
+
+		WindowOverlapSharedSubscriber(CoreSubscriber<? super Flux<T>> actual,
+				int size,
+				int skip) {
+			this.actual = actual;
+			this.size = size;
+			this.skip = skip;
+			this.chunkSize = Math.min(size, Queues.SMALL_BUFFER_SIZE);
+			this.open = new ArrayDeque<>();
+			this.queue = Queues.<SharedWindow<T>>unbounded(Queues.XS_BUFFER_SIZE).get();
+			this.tail = new Node(chunkSize);
+			WINDOW_COUNT.lazySet(this, 1);
+		}
+
+		@Override
+		public void onSubscribe(Subscription s) {
+			if (Operators.validate(this.s, s)) {
+				this.s = s;
+				actual.onSubscribe(this);
+			}
+		}
+
+		@Override
+		public void onNext(T t) {
+			if (done) {
+				Operators.onNextDropped(t, actual.currentContext());
+				return;
+			}
+
+			Node n = tail;
+			int offset = tailOffset;
+			if (offset == chunkSize) {
+				Node next = new Node(chunkSize);
+				n.next = next;
+				n = next;
+				tail = n;
+				offset = 0;
+			}
+
+			n.values[offset] = t;
+			tailOffset = offset + 1;
+
+			long p = produced;
+			int i = index;
+
+			boolean opened = i == 0 && cancelled == 0;
+			if (opened) {
+				WINDOW_COUNT.getAndIncrement(this);
+
+				SharedWindow<T> w = new SharedWindow<>(this, n, offset, p, p + size);
+
+				open.offer(w);
+				queue.offer(w);
+			}
+
+			PRODUCED.lazySet(this, p + 1);
+
+			if (opened) {
+				drain();
+			}
+
+			for (SharedWindow<T> w : open) {
+				w.drain();
+			}
+
+			SharedWindow<T> w = open.peek();
+			if (w != null && w.end == p + 1) {
+				open.poll();
+				w.doTerminate();
+			}
+
+			i++;
+			if (i == skip) {
+				index = 0;
+			}
+			else {
+				index = i;
+			}
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			if (done) {
+				Operators.onErrorDropped(t, actual.currentContext());
+				return;
+			}
+			error = t;
+			done = true;
+
+			closeOpenWindows();
+			drain();
+		}
+
+		@Override
+		public void onComplete() {
+			if (done) {
+				return;
+			}
+			done = true;
+
+			closeOpenWindows();
+			drain();
+		}
+
+		void closeOpenWindows() {
+			SharedWindow<T> w;
+			while ((w = open.poll()) != null) {
+				w.doTerminate();
+				w.drain();
+			}
+		}
+
+		void drain() {
+			if (WIP.getAndIncrement(this) != 0) {
+				return;
+			}
+
+			final Subscriber<? super Flux<T>> a = actual;
+			final Queue<SharedWindow<T>> q = queue;
+			int missed = 1;
+
+			for (; ; ) {
+
+				long r = requested;
+				long e = 0;
+
+				while (e != r) {
+					boolean d = done;
+
+					SharedWindow<T> t = q.poll();
+
+					boolean empty = t == null;
+
+					if (checkTerminated(d, empty, a, q)) {
+						return;
+					}
+
+					if (empty) {
+						break;
+					}
+
+					a.onNext(t);
+
+					e++;
+				}
+
+				if (e == r) {
+					if (checkTerminated(done, q.isEmpty(), a, q)) {
+						return;
+					}
+				}
+
+				if (e != 0L && r != Long.MAX_VALUE) {
+					REQUESTED.addAndGet(this, -e);
+				}
+
+				missed = WIP.addAndGet(this, -missed);
+				if (missed == 0) {
+					break;
+				}
+			}
+		}
+
+		boolean checkTerminated(boolean d, boolean empty, Subscriber<?> a, Queue<?> q) {
+			if (cancelled == 1) {
+				q.clear();
+				return true;
+			}
+
+			if (d) {
+				Throwable e = error;
+
+				if (e != null) {
+					q.clear();
+					a.onError(e);
+					return true;
+				}
+				else if (empty) {
+					a.onComplete();
+					return true;
+				}
+			}
+
+			return false;
+		}
+
+		@Override
+		public void request(long n) {
+			if (Operators.validate(n)) {
+
+				Operators.addCap(REQUESTED, this, n);
+
+				if (firstRequest == 0 && FIRST_REQUEST.compareAndSet(this, 0, 1)) {
+					long u = Operators.multiplyCap(skip, n - 1);
+					long v = Operators.addCap(size, u);
+					s.request(v);
+				}
+				else {
+					long u = Operators.multiplyCap(skip, n);
+					s.request(u);
+				}
+
+				drain();
+			}
+		}
+
+		@Override
+		public void cancel() {
+			if (CANCELLED.compareAndSet(this, 0, 1)) {
+				dispose();
+			}
+		}
+
+		@Override
+		public void dispose() {
+			if (WINDOW_COUNT.decrementAndGet(this) == 0) {
+				s.cancel();
+			}
+		}
+
+		@Override
+		public CoreSubscriber<? super Flux<T>> actual() {
+			return actual;
+		}
+
+		@Override
+		public boolean isDisposed() {
+			return cancelled == 1 || done;
+		}
+
+		@Override
+		@Nullable
+		public Object scanUnsafe(Attr key) {
+			if (key == Attr.PARENT) return s;
+			if (key == Attr.CANCELLED) return cancelled == 1;
+			if (key == Attr.CAPACITY) return size;
+			if (key == Attr.TERMINATED) return done;
+			if (key == Attr.LARGE_BUFFERED) return (long) queue.size() + open.size();
+			if (key == Attr.BUFFERED) {
+				long realBuffered = (long) queue.size() + open.size();
+				if (realBuffered < Integer.MAX_VALUE) return (int) realBuffered;
+				return Integer.MIN_VALUE;
+			}
+			if (key == Attr.ERROR) return error;
+			if (key == Attr.REQUESTED_FROM_DOWNSTREAM) return requested;
+
+			return InnerOperator.super.scanUnsafe(key);
+		}
+
+		@Override
+		public Stream<? extends Scannable> inners() {
+			return Stream.of(open.toArray())
+			             .map(Scannable::from);
+		}
+
+		static final class Node {
+
+			final Object[] values;
+
+			volatile Node next;
+
+			Node(int capacity) {
+				this.values = new Object[capacity];
+			}
+		}
+	}
+
+	/**
+	 * A window over the values {@code [start, end)} of the buffer of its
+	 * {@link WindowOverlapSharedSubscriber}, walked from the chunk it opened in.
+	 *
+	 * @param <T> the value type
+	 */
+	static final class SharedWindow<T> extends Flux<T> implements InnerProducer<T> {
+
+		final WindowOverlapSharedSubscriber<T> parent;
+
+		final long end;
+
+		WindowOverlapSharedSubscriber.Node node;
+
+		int offset;
+
+		long index;
+
+		volatile CoreSubscriber<? super T> actual;
+
+		volatile int once;
+		@SuppressWarnings("rawtypes")
+		static final AtomicIntegerFieldUpdater<SharedWindow> ONCE =
+				AtomicIntegerFieldUpdater.newUpdater(SharedWindow.class, "once");
+
+		volatile int terminated;
+		@SuppressWarnings("rawtypes")
+		static final AtomicIntegerFieldUpdater<SharedWindow> TERMINATED =
+				AtomicIntegerFieldUpdater.newUpdater(SharedWindow.class, "terminated");
+
+		volatile long requested;
+		@SuppressWarnings("rawtypes")
+		static final AtomicLongFieldUpdater<SharedWindow> REQUESTED =
+				AtomicLongFieldUpdater.newUpdater(SharedWindow.class, "requested");
+
+		volatile int wip;
+		@SuppressWarnings("rawtypes")
+		static final AtomicIntegerFieldUpdater<SharedWindow> WIP =
+				AtomicIntegerFieldUpdater.newUpdater(SharedWindow.class, "wip");
+
+		volatile boolean cancelled;
+
+		SharedWindow(WindowOverlapSharedSubscriber<T> parent,
+				WindowOverlapSharedSubscriber.Node node,
+				int offset,
+				long start,
+				long end) {
+			this.parent = parent;
+			this.node = node;
+			this.offset = offset;
+			this.index = start;
+			this.end = end;
+		}
+
+		@Override
+		public void subscribe(CoreSubscriber<? super T> actual) {
+			Objects.requireNonNull(actual, "subscribe");
+			if (once == 0 && ONCE.compareAndSet(this, 0, 1)) {
+				actual.onSubscribe(this);
+				this.actual = actual;
+				if (cancelled) {
+					this.actual = null;
+				}
+				else {
+					drain();
+				}
+			}
+			else {
+				Operators.error(actual, new IllegalStateException("A window allows " +
+						"only a single Subscriber"));
+			}
+		}
+
+		@Override
+		public CoreSubscriber<? super T> actual() {
+			return actual;
+		}
+
+		@Override
+		public void request(long n) {
+			if (Operators.validate(n)) {
+				Operators.addCap(REQUESTED, this, n);
+				drain();
+			}
+		}
+
+		@Override
+		public void cancel() {
+			if (cancelled) {
+				return;
+			}
+			cancelled = true;
+			doTerminate();
+			if (WIP.getAndIncrement(this) == 0) {
+				node = null;
+			}
+		}
+
+		/**
+		 * Release the window from its parent, either when no more values can be
+		 * added to it or when it is cancelled.
+		 */
+		void doTerminate() {
+			if (terminated == 0 && TERMINATED.compareAndSet(this, 0, 1)) {
+				parent.dispose();
+			}
+		}
+
+		void drain() {
+			if (WIP.getAndIncrement(this) != 0) {
+				return;
+			}
+
+			final WindowOverlapSharedSubscriber<T> p = parent;
+			final int chunkSize = p.chunkSize;
+			int missed = 1;
+
+			for (;;) {
+				CoreSubscriber<? super T> a = actual;
+
+				if (cancelled) {
+					node = null;
+					actual = null;
+					return;
+				}
+
+				if (a != null) {
+					long r = requested;
+					long e = 0L;
+					long i = index;
+					WindowOverlapSharedSubscriber.Node n = node;
+					int o = offset;
+
+					for (;;) {
+						if (cancelled) {
+							node = null;
+							actual = null;
+							return;
+						}
+
+						if (i == end) {
+							node = null;
+							actual = null;
+							a.onComplete();
+							return;
+						}
+
+						boolean d = p.done;
+						long limit = Math.min(end, p.produced);
+
+						if (i == limit && d) {
+							Throwable ex = p.error;
+							node = null;
+							actual = null;
+							if (ex != null) {
+								a.onError(ex);
+							}
+							else {
+								a.onComplete();
+							}
+							return;
+						}
+
+						if (e == r || i == limit) {
+							break;
+						}
+
+						if (o == chunkSize) {
+							n = n.next;
+							o = 0;
+						}
+
+						@SuppressWarnings("unchecked")
+						T v = (T) n.values[o];
+						o++;
+						i++;
+
+						a.onNext(v);
+
+						e++;
+					}
+
+					index = i;
+					node = n;
+					offset = o;
+
+					if (e != 0L && r != Long.MAX_VALUE) {
+						REQUESTED.addAndGet(this, -e);
+					}
+				}
+
+				missed = WIP.addAndGet(this, -missed);
+				if (missed == 0) {
+					break;
+				}
+			}
+		}
+
+		@Override
+		@Nullable
+		public Object scanUnsafe(Attr key) {
+			if (key == Attr.PARENT) return parent;
+			if (key == Attr.CANCELLED) return cancelled;
+			if (key == Attr.TERMINATED) return terminated == 1;
+			if (key == Attr.REQUESTED_FROM_DOWNSTREAM) return requested;
+			if (key == Attr.BUFFERED) {
+				long available = Math.min(end, parent.produced) - index;
+				return (int) Math.max(0L, available);
+			}
+
+			return InnerProducer.super.scanUnsafe(key);
+		}
+	}
 }
@@ -47,6 +47,10 @@ final class FluxWindowBoundary<T, U> extends FluxOperator<T, Flux<T>> {
 
 	final Supplier<? extends Queue<T>> processorQueueSupplier;
 
+	/**
+	 * Supplies multi-producer queues, as the source and the boundary subscribers offer to
+	 * them concurrently.
+	 */
 	final Supplier<? extends Queue<Object>> drainQueueSupplier;
 
 	FluxWindowBoundary(Flux<? extends T> source, Publisher<U> other,
@@ -175,9 +179,7 @@ final class FluxWindowBoundary<T, U> extends FluxOperator<T, Flux<T>> {
 				Operators.onNextDropped(t, actual.currentContext());
 				return;
 			}
-			synchronized (this) {
-				queue.offer(t);
-			}
+			queue.offer(t);
 			drain();
 		}
 
@@ -201,9 +203,7 @@ final class FluxWindowBoundary<T, U> extends FluxOperator<T, Flux<T>> {
 			}
 			done = true;
 			boundary.cancel();
-			synchronized (this) {
-				queue.offer(DONE);
-			}
+			queue.offer(DONE);
 			drain();
 		}
 
@@ -239,9 +239,7 @@ final class FluxWindowBoundary<T, U> extends FluxOperator<T, Flux<T>> {
 		}
 
 		void boundaryNext() {
-			synchronized (this) {
-				queue.offer(BOUNDARY_MARKER);
-			}
+			queue.offer(BOUNDARY_MARKER);
 
 			if (cancelled != 0) {
 				boundary.cancel();
@@ -261,9 +259,7 @@ final class FluxWindowBoundary<T, U> extends FluxOperator<T, Flux<T>> {
 
 		void boundaryComplete() {
 			cancelMain();
-			synchronized (this) {
-				queue.offer(DONE);
-			}
+			queue.offer(DONE);
 			drain();
 		}
 
@@ -50,6 +50,10 @@ final class FluxWindowWhen<T, U, V> extends FluxOperator<T, Flux<T>> {
 
 	final Function<? super U, ? extends Publisher<V>> end;
 
+	/**
+	 * Supplies multi-producer queues, as the source and the boundary subscribers offer to
+	 * them concurrently.
+	 */
 	final Supplier<? extends Queue<Object>> drainQueueSupplier;
 
 	final Supplier<? extends Queue<T>> processorQueueSupplier;
@@ -183,9 +187,7 @@ final class FluxWindowWhen<T, U, V> extends FluxOperator<T, Flux<T>> {
 
 		@Override
 		public void onNext(T t) {
-			synchronized (this) {
-				queue.offer(t);
-			}
+			queue.offer(t);
 			drain();
 		}
 
@@ -226,9 +228,7 @@ final class FluxWindowWhen<T, U, V> extends FluxOperator<T, Flux<T>> {
 
 		void starterNext(U u) {
 			NewWindow<U> nw = new NewWindow<>(u);
-			synchronized (this) {
-				queue.offer(nw);
-			}
+			queue.offer(nw);
 			drain();
 		}
 
@@ -251,9 +251,7 @@ final class FluxWindowWhen<T, U, V> extends FluxOperator<T, Flux<T>> {
 
 		void endSignal(WindowStartEndEnder<T, V> end) {
 			remove(end);
-			synchronized (this) {
-				queue.offer(end);
-			}
+			queue.offer(end);
 			drain();
 		}
 
@@ -37,6 +37,7 @@ import reactor.core.Fuseable;
 import reactor.core.Scannable;
 import reactor.util.annotation.Nullable;
 import reactor.util.context.Context;
+import reactor.util.function.Tuples;
 
 import static reactor.core.Fuseable.ASYNC;
 import static reactor.core.Fuseable.SYNC;
@@ -549,6 +550,14 @@ final class FluxZip<T, R> extends Flux<R> {
 
 		final Object[] current;
 
+		/**
+		 * Whether the zipper gets a copy of the current values rather than the reused
+		 * array itself, as it might retain it. Pairwise {@link BiFunction} zippers and
+		 * the {@link Tuples} conversion function only read the values, sparing a copy
+		 * per zipped element.
+		 */
+		final boolean copyValues;
+
 		ZipCoordinator(CoreSubscriber<? super R> actual,
 				Function<? super Object[], ? extends R> zipper,
 				int n,
@@ -562,6 +571,7 @@ final class FluxZip<T, R> extends Flux<R> {
 			}
 			this.current = new Object[n];
 			this.subscribers = a;
+			this.copyValues = !(zipper instanceof PairwiseZipper || zipper instanceof Tuples);
 		}
 
 		void subscribe(Publisher<? extends T>[] sources, int n) {
@@ -708,7 +718,7 @@ final class FluxZip<T, R> extends Flux<R> {
 
 					R v;
 					try {
-						v = Objects.requireNonNull(zipper.apply(values.clone()),
+						v = Objects.requireNonNull(zipper.apply(copyValues ? values.clone() : values),
 								"The zipper returned a null value");
 					}
 					catch (Throwable ex) {
@@ -951,11 +961,20 @@ final class FluxZip<T, R> extends Flux<R> {
 
 		@Override
 		public R apply(Object[] args) {
-			Object o = zippers[0].apply(args[0], args[1]);
-			for (int i = 1; i < zippers.length; i++) {
-				o = zippers[i].apply(o, args[i + 1]);
+			BiFunction[] zippers = this.zippers;
+			//zips of 2 or 3 sources call their combinators directly
+			switch (zippers.length) {
+				case 1:
+					return (R) zippers[0].apply(args[0], args[1]);
+				case 2:
+					return (R) zippers[1].apply(zippers[0].apply(args[0], args[1]), args[2]);
+				default:
+					Object o = zippers[0].apply(args[0], args[1]);
+					for (int i = 1; i < zippers.length; i++) {
+						o = zippers[i].apply(o, args[i + 1]);
+					}
+					return (R) o;
 			}
-			return (R) o;
 		}
 
 		public PairwiseZipper then(BiFunction zipper) {
@@ -29,6 +29,7 @@ import java.util.function.Function;
 
 import org.reactivestreams.Publisher;
 import reactor.core.Exceptions;
+import reactor.core.publisher.FluxOnAssembly.AssemblySnapshotException;
 import reactor.util.Logger;
 import reactor.util.Loggers;
 import reactor.util.annotation.Nullable;
@@ -291,6 +292,80 @@ public abstract class Hooks {
 		onEachOperator(ON_OPERATOR_DEBUG_KEY, OnOperatorDebug.instance());
 	}
 
+	/**
+	 * Enable a lighter operator debug mode that only captures the call site of each
+	 * operator, that is the frame of the operator (e.g. {@code Flux.map}) and the frame
+	 * of the user code that invoked it, rather than the full declaration stack. Call
+	 * sites are deduplicated, so that operators assembled at the same line share a
+	 * single traceback. When errors are observed later on, they will be enriched with a
+	 * Suppressed Exception detailing these call sites.
+	 * <p>
+	 * Unlike with {@link #onOperatorDebug()}, the cost of finding the call site doesn't
+	 * grow with the depth of the stack, which makes it cheaper in applications with deep
+	 * stacks, and much less memory is retained. The stack is still walked on each
+	 * assembly though, which costs more than capturing a full stack trace when the stack
+	 * is shallow, so this mode is not meant to be left on in production: sampling with
+	 * {@link #onOperatorCallSiteDebug(int)} skips the walk for the assemblies that are
+	 * not traced. For a near-zero assembly cost, prefer
+	 * instrumenting the call sites ahead of time with the {@code reactor-tools} debug
+	 * agent.
+	 * <p>
+	 * This mode shares the sub-hook key of {@link #onOperatorDebug()}: enabling one
+	 * replaces the other, and both are reset by {@link #resetOnOperatorDebug()}.
+	 *
+	 * @see #onOperatorCallSiteDebug(int)
+	 */
+	public static void onOperatorCallSiteDebug() {
+		onOperatorCallSiteDebug(1);
+	}
+
+	/**
+	 * Enable a lighter operator debug mode that only captures the call site of each
+	 * operator, like {@link #onOperatorCallSiteDebug()}, but only for one out of
+	 * {@code sampleRate} assemblies on each thread (starting with the first one).
+	 * Operators that are not sampled are left undecorated.
+	 * <p>
+	 * The sampling decision is taken before looking the call site up, so that skipped
+	 * assemblies don't walk the stack. As a consequence, it doesn't depend on the call
+	 * site: rarely assembled sequences may not be traced when hot ones are assembled
+	 * on the same thread.
+	 *
+	 * @param sampleRate trace one out of {@code sampleRate} assemblies on each thread
+	 */
+	public static void onOperatorCallSiteDebug(int sampleRate) {
+		if (sampleRate < 1) {
+			throw new IllegalArgumentException("sampleRate must be strictly positive, was " + sampleRate);
+		}
+		log.debug("Enabling call site debugging via onOperatorCallSiteDebug, sampling 1/{}", sampleRate);
+		onEachOperator(ON_OPERATOR_DEBUG_KEY, new OnOperatorCallSiteDebug<>(sampleRate));
+	}
+
+	/**
+	 * Decorate a {@link Flux}, {@link Mono} or {@link ParallelFlux} with an assembly
+	 * traceback that has been computed ahead of time, typically by an instrumentation
+	 * agent which inserts calls to this method after each operator invocation in user
+	 * code (see the {@code reactor-tools} debug agent). Errors are then enriched the same
+	 * way as with {@link #onOperatorDebug()}, without capturing any stack at runtime.
+	 * <p>
+	 * This is not part of the public API and is not meant to be called directly: the
+	 * agent reaches it through its own bridge, and it may change without notice.
+	 *
+	 * @param publisher the {@link Publisher} returned by the operator
+	 * @param callSite the traceback of the operator, one tab-prefixed frame per line,
+	 * starting with the operator frame followed by the user code frame
+	 * @param <T> the type of data emitted by the publisher
+	 *
+	 * @return the decorated {@link Publisher}, of the same kind as the original
+	 */
+	static <T> Publisher<T> addCallSiteInfo(Publisher<T> publisher, String callSite) {
+		if (publisher instanceof Flux || publisher instanceof Mono ||
+				publisher instanceof ParallelFlux) {
+			return OnOperatorDebug.onAssembly(publisher,
+					new FluxOnAssembly.AssemblyCallSiteSnapshotException(callSite));
+		}
+		return publisher;
+	}
+
 	/**
 	 * Reset global operator debug.
 	 */
@@ -475,6 +550,14 @@ public abstract class Hooks {
 		if (globalTrace) {
 			onEachOperator(OnOperatorDebug.instance());
 		}
+		else {
+			//a strictly positive value enables call site debugging with that sample rate
+			int callSiteSampleRate = Integer.getInteger("reactor.trace.operatorCallSite", 0);
+			if (callSiteSampleRate > 0) {
+				onEachOperator(Hooks.ON_OPERATOR_DEBUG_KEY,
+						new OnOperatorCallSiteDebug<>(callSiteSampleRate));
+			}
+		}
 	}
 
 	Hooks() {
@@ -492,24 +575,48 @@ public abstract class Hooks {
 		}
 
 		@Override
-		@SuppressWarnings("unchecked")
 		public Publisher<T> apply(Publisher<T> publisher) {
+			return onAssembly(publisher, new AssemblySnapshotException());
+		}
+
+		@SuppressWarnings("unchecked")
+		static <T> Publisher<T> onAssembly(Publisher<T> publisher,
+				AssemblySnapshotException snapshot) {
 			if (publisher instanceof Callable) {
 				if (publisher instanceof Mono) {
-					return new MonoCallableOnAssembly<>((Mono<T>) publisher);
+					return new MonoCallableOnAssembly<>((Mono<T>) publisher, snapshot);
 				}
-				return new FluxCallableOnAssembly<>((Flux<T>) publisher);
+				return new FluxCallableOnAssembly<>((Flux<T>) publisher, snapshot);
 			}
 			if (publisher instanceof Mono) {
-				return new MonoOnAssembly<>((Mono<T>) publisher);
+				return new MonoOnAssembly<>((Mono<T>) publisher, snapshot);
 			}
 			if (publisher instanceof ParallelFlux) {
-				return new ParallelFluxOnAssembly<>((ParallelFlux<T>) publisher);
+				return new ParallelFluxOnAssembly<>((ParallelFlux<T>) publisher, snapshot);
 			}
 			if (publisher instanceof ConnectableFlux) {
-				return new ConnectableFluxOnAssembly<>((ConnectableFlux<T>) publisher);
+				return new ConnectableFluxOnAssembly<>((ConnectableFlux<T>) publisher, snapshot);
+			}
+			return new FluxOnAssembly<>((Flux<T>) publisher, snapshot);
+		}
+	}
+
+	final static class OnOperatorCallSiteDebug<T>
+			implements Function<Publisher<T>, Publisher<T>> {
+
+		final int sampleRate;
+
+		OnOperatorCallSiteDebug(int sampleRate) {
+			this.sampleRate = sampleRate;
+		}
+
+		@Override
+		public Publisher<T> apply(Publisher<T> publisher) {
+			AssemblySnapshotException snapshot = AssemblyCallSites.sample(sampleRate);
+			if (snapshot == null) {
+				return publisher;
 			}
-			return new FluxOnAssembly<>((Flux<T>) publisher);
+			return OnOperatorDebug.onAssembly(publisher, snapshot);
 		}
 	}
 
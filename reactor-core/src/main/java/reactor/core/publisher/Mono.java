@@ -1218,6 +1218,26 @@ public abstract class Mono<T> implements Publisher<T> {
 		return onAssembly(new MonoCacheTime<>(this, ttl, Schedulers.parallel()));
 	}
 
+	/**
+	 * Turn this {@link Mono} into a hot source and cache last emitted signals for further
+	 * {@link Subscriber}, with an expiry timeout.
+	 * <p>
+	 *   Completion and Error will also be replayed until {@code ttl} triggers in which case
+	 *   the next {@link Subscriber} will start over a new subscription.
+	 * <p>
+	 * <img width="500" src="https://raw.githubusercontent.com/reactor/reactor-core/v3.1.0.RC1/src/docs/marble/cache1.png"
+	 * alt="">
+	 *
+	 * @param ttl Time-to-live for each cached item and post termination.
+	 * @param timer the time-capable {@link Scheduler} to run the expiry on
+	 *
+	 * @return a replaying {@link Mono}
+	 */
+	public final Mono<T> cache(Duration ttl, Scheduler timer) {
+		Objects.requireNonNull(timer, "timer");
+		return onAssembly(new MonoCacheTime<>(this, ttl, timer));
+	}
+
 	/**
 	 * Prepare this {@link Mono} so that subscribers will cancel from it on a
 	 * specified
@@ -45,8 +45,15 @@ final class MonoCallableOnAssembly<T> extends MonoOperator<T, T>
 	final AssemblySnapshotException stacktrace;
 
 	MonoCallableOnAssembly(Mono<? extends T> source) {
+		this(source, new AssemblySnapshotException());
+	}
+
+	/**
+	 * Create an assembly trace from an existing, possibly shared, snapshot.
+	 */
+	MonoCallableOnAssembly(Mono<? extends T> source, AssemblySnapshotException stacktrace) {
 		super(source);
-		this.stacktrace = new AssemblySnapshotException();
+		this.stacktrace = stacktrace;
 	}
 
 	@Override
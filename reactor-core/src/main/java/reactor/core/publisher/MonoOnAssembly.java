@@ -44,8 +44,15 @@ final class MonoOnAssembly<T> extends MonoOperator<T, T> implements Fuseable,
 	 * Create an assembly trace exposed as a {@link Mono}.
 	 */
 	MonoOnAssembly(Mono<? extends T> source) {
+		this(source, new AssemblySnapshotException());
+	}
+
+	/**
+	 * Create an assembly trace from an existing, possibly shared, snapshot.
+	 */
+	MonoOnAssembly(Mono<? extends T> source, AssemblySnapshotException stacktrace) {
 		super(source);
-		this.stacktrace = new AssemblySnapshotException();
+		this.stacktrace = stacktrace;
 	}
 
 	/**
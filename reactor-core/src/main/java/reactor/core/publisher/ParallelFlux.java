@@ -18,7 +18,6 @@ package reactor.core.publisher;
 
 import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Queue;
@@ -162,7 +161,7 @@ public abstract class ParallelFlux<T> implements Publisher<T> {
 	 * @return the assembly tracing {@link ParallelFlux}
 	 */
 	public final ParallelFlux<T> checkpoint() {
-		return new ParallelFluxOnAssembly<>(this, null);
+		return new ParallelFluxOnAssembly<>(this, (String) null);
 	}
 
 	/**
@@ -270,9 +269,8 @@ public abstract class ParallelFlux<T> implements Publisher<T> {
 			return list;
 		});
 
-		Mono<List<T>> merged = railSorted.reduce((a, b) -> sortedMerger(a, b, comparator));
-
-		return merged;
+		return Flux.onAssembly(new ParallelMergeSort<>(railSorted, comparator))
+		           .collect(() -> new ArrayList<>(capacityHint), List::add);
 	}
 
 
@@ -858,6 +856,54 @@ public abstract class ParallelFlux<T> implements Publisher<T> {
 				Queues.get(prefetch)));
 	}
 
+	/**
+	 * Merges the values from each 'rail', each of which is expected to be already
+	 * sorted according to the given comparator, into a sorted regular Publisher sequence
+	 * that sequentially picks the smallest next value from the rails, running with a
+	 * default prefetch value for the rails.
+	 * <p>
+	 * Unlike {@link #sorted(Comparator)}, the rails are not collected and sorted first:
+	 * values are streamed as soon as every rail has either produced its next value or
+	 * completed, which also works with infinite rails. Values of rails which aren't
+	 * sorted are merged in no particular order.
+	 * <p>
+	 * This operator uses the default prefetch size returned by {@code
+	 * Queues.SMALL_BUFFER_SIZE}.
+	 *
+	 * @param comparator the comparator the rails are sorted by
+	 *
+	 * @return the new Flux instance
+	 *
+	 * @see ParallelFlux#ordered(Comparator, int)
+	 */
+	public final Flux<T> ordered(Comparator<? super T> comparator) {
+		return ordered(comparator, Queues.SMALL_BUFFER_SIZE);
+	}
+
+	/**
+	 * Merges the values from each 'rail', each of which is expected to be already
+	 * sorted according to the given comparator, into a sorted regular Publisher sequence
+	 * that sequentially picks the smallest next value from the rails, running with a
+	 * given prefetch value for the rails.
+	 * <p>
+	 * Unlike {@link #sorted(Comparator)}, the rails are not collected and sorted first:
+	 * values are streamed as soon as every rail has either produced its next value or
+	 * completed, which also works with infinite rails. Values of rails which aren't
+	 * sorted are merged in no particular order.
+	 *
+	 * @param comparator the comparator the rails are sorted by
+	 * @param prefetch the prefetch amount to use for each rail
+	 *
+	 * @return the new Flux instance
+	 */
+	public final Flux<T> ordered(Comparator<? super T> comparator, int prefetch) {
+		Objects.requireNonNull(comparator, "comparator");
+		return Flux.onAssembly(new ParallelMergeOrdered<>(this,
+				comparator,
+				prefetch,
+				Queues.get(prefetch)));
+	}
+
 	/**
 	 * Sorts the 'rails' of this {@link ParallelFlux} and returns a Publisher that
 	 * sequentially picks the smallest next value from the rails.
@@ -1173,44 +1219,4 @@ public abstract class ParallelFlux<T> implements Publisher<T> {
 				onCancel));
 	}
 
-	static final <T> List<T> sortedMerger(List<T> a, List<T> b, Comparator<? super T> comparator) {
-		int n = a.size() + b.size();
-		if (n == 0) {
-			return new ArrayList<>();
-		}
-		List<T> both = new ArrayList<>(n);
-
-		Iterator<T> at = a.iterator();
-		Iterator<T> bt = b.iterator();
-
-		T s1 = at.hasNext() ? at.next() : null;
-		T s2 = bt.hasNext() ? bt.next() : null;
-
-		while (s1 != null && s2 != null) {
-			if (comparator.compare(s1, s2) < 0) { // s1 comes before s2
-				both.add(s1);
-				s1 = at.hasNext() ? at.next() : null;
-			}
-			else {
-				both.add(s2);
-				s2 = bt.hasNext() ? bt.next() : null;
-			}
-		}
-
-		if (s1 != null) {
-			both.add(s1);
-			while (at.hasNext()) {
-				both.add(at.next());
-			}
-		}
-		else if (s2 != null) {
-			both.add(s2);
-			while (bt.hasNext()) {
-				both.add(bt.next());
-			}
-		}
-
-		return both;
-	}
-
 }
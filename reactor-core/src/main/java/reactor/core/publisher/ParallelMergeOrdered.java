@@ -0,0 +1,406 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.publisher;
+
+import java.util.Comparator;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.core.Exceptions;
+import reactor.core.Scannable;
+import reactor.core.publisher.ParallelMergeSort.LoserTree;
+import reactor.util.annotation.Nullable;
+import reactor.util.context.Context;
+
+/**
+ * Merges the individual 'rails' of the source ParallelFlux, each assumed to be sorted
+ * according to the provided comparator, into a single sorted regular Publisher
+ * sequence (exposed as reactor.core.publisher.Flux).
+ * <p>
+ * Unlike {@link ParallelMergeSort}, values are streamed from the rails with a prefetch
+ * rather than collected in a List per rail: the smallest head value is emitted as soon
+ * as every rail that isn't complete has a value available, selected through a
+ * {@link LoserTree}.
+ *
+ * @param <T> the value type
+ */
+final class ParallelMergeOrdered<T> extends Flux<T> implements Scannable {
+
+	final ParallelFlux<? extends T> source;
+	final Comparator<? super T>     comparator;
+	final int                       prefetch;
+	final Supplier<Queue<T>>        queueSupplier;
+
+	ParallelMergeOrdered(ParallelFlux<? extends T> source,
+			Comparator<? super T> comparator,
+			int prefetch,
+			Supplier<Queue<T>> queueSupplier) {
+		if (prefetch <= 0) {
+			throw new IllegalArgumentException("prefetch > 0 required but it was " + prefetch);
+		}
+		this.source = source;
+		this.comparator = comparator;
+		this.prefetch = prefetch;
+		this.queueSupplier = queueSupplier;
+	}
+
+	@Override
+	@Nullable
+	public Object scanUnsafe(Attr key) {
+		if (key == Attr.PARENT) return source;
+		if (key == Attr.PREFETCH) return getPrefetch();
+
+		return null;
+	}
+
+	@Override
+	public int getPrefetch() {
+		return prefetch;
+	}
+
+	@Override
+	public void subscribe(CoreSubscriber<? super T> actual) {
+		MergeOrderedMain<T> parent = new MergeOrderedMain<>(actual,
+				source.parallelism(),
+				comparator,
+				prefetch,
+				queueSupplier);
+		actual.onSubscribe(parent);
+		source.subscribe(parent.subscribers);
+	}
+
+	static final class MergeOrderedMain<T> implements InnerProducer<T> {
+
+		final MergeOrderedInner<T>[] subscribers;
+
+		final LoserTree<T> tree;
+
+		final CoreSubscriber<? super T> actual;
+
+		volatile int wip;
+		@SuppressWarnings("rawtypes")
+		static final AtomicIntegerFieldUpdater<MergeOrderedMain> WIP =
+				AtomicIntegerFieldUpdater.newUpdater(MergeOrderedMain.class, "wip");
+
+		volatile long requested;
+		@SuppressWarnings("rawtypes")
+		static final AtomicLongFieldUpdater<MergeOrderedMain> REQUESTED =
+				AtomicLongFieldUpdater.newUpdater(MergeOrderedMain.class, "requested");
+
+		volatile boolean cancelled;
+
+		volatile Throwable error;
+		@SuppressWarnings("rawtypes")
+		static final AtomicReferenceFieldUpdater<MergeOrderedMain, Throwable> ERROR =
+				AtomicReferenceFieldUpdater.newUpdater(MergeOrderedMain.class, Throwable.class, "error");
+
+		/**
+		 * The number of leaves which got their initial head, the tree being built once
+		 * all of them have one. Afterwards, only the leaf of the last emitted value
+		 * needs a new head, tracked by {@link #missing}.
+		 */
+		int initialized;
+
+		int missing = -1;
+
+		MergeOrderedMain(CoreSubscriber<? super T> actual,
+				int n,
+				Comparator<? super T> comparator,
+				int prefetch,
+				Supplier<Queue<T>> queueSupplier) {
+			this.actual = actual;
+			this.tree = new LoserTree<>(n, comparator);
+			@SuppressWarnings("unchecked")
+			MergeOrderedInner<T>[] a = new MergeOrderedInner[n];
+
+			for (int i = 0; i < n; i++) {
+				a[i] = new MergeOrderedInner<>(this, prefetch, queueSupplier.get());
+			}
+
+			this.subscribers = a;
+		}
+
+		@Override
+		public final CoreSubscriber<? super T> actual() {
+			return actual;
+		}
+
+		@Override
+		@Nullable
+		public Object scanUnsafe(Attr key) {
+			if (key == Attr.CANCELLED) return cancelled;
+			if (key == Attr.REQUESTED_FROM_DOWNSTREAM) return requested;
+			if (key == Attr.ERROR) return error;
+
+			return InnerProducer.super.scanUnsafe(key);
+		}
+
+		@Override
+		public Stream<? extends Scannable> inners() {
+			return Stream.of(subscribers);
+		}
+
+		@Override
+		public void request(long n) {
+			if (Operators.validate(n)) {
+				Operators.addCap(REQUESTED, this, n);
+				drain();
+			}
+		}
+
+		@Override
+		public void cancel() {
+			if (!cancelled) {
+				cancelled = true;
+
+				cancelAll();
+
+				if (WIP.getAndIncrement(this) == 0) {
+					cleanup();
+				}
+			}
+		}
+
+		void cancelAll() {
+			for (MergeOrderedInner<T> s : subscribers) {
+				s.cancel();
+			}
+		}
+
+		void cleanup() {
+			tree.clear();
+			for (MergeOrderedInner<T> s : subscribers) {
+				s.queue.clear();
+			}
+		}
+
+		void onError(Throwable ex) {
+			if (ERROR.compareAndSet(this, null, ex)) {
+				cancelAll();
+				drain();
+			}
+			else if (error != ex) {
+				Operators.onErrorDropped(ex, actual.currentContext());
+			}
+		}
+
+		void drain() {
+			if (WIP.getAndIncrement(this) != 0) {
+				return;
+			}
+
+			int missed = 1;
+
+			MergeOrderedInner<T>[] s = this.subscribers;
+			int n = s.length;
+			LoserTree<T> tree = this.tree;
+			Subscriber<? super T> a = this.actual;
+
+			for (;;) {
+
+				long r = requested;
+				long e = 0L;
+
+				for (;;) {
+					if (cancelled) {
+						cleanup();
+						return;
+					}
+
+					Throwable ex = error;
+					if (ex != null) {
+						cleanup();
+						a.onError(ex);
+						return;
+					}
+
+					int minIndex;
+					try {
+						if (initialized != n) {
+							while (initialized != n && poll(s[initialized], initialized)) {
+								initialized++;
+							}
+							if (initialized != n) {
+								break;
+							}
+							tree.build();
+						}
+						else if (missing >= 0) {
+							if (!poll(s[missing], missing)) {
+								break;
+							}
+							tree.replay(missing);
+							missing = -1;
+						}
+						minIndex = tree.winner();
+					}
+					catch (Throwable exc) {
+						ERROR.compareAndSet(this, null, Operators.onOperatorError(exc,
+								actual.currentContext()));
+						cancelAll();
+						continue;
+					}
+
+					if (minIndex < 0) {
+						a.onComplete();
+						return;
+					}
+
+					if (e == r) {
+						break;
+					}
+
+					a.onNext(tree.head(minIndex));
+					tree.set(minIndex, null);
+					missing = minIndex;
+
+					s[minIndex].requestOne();
+
+					e++;
+				}
+
+				if (e != 0 && r != Long.MAX_VALUE) {
+					REQUESTED.addAndGet(this, -e);
+				}
+
+				int w = wip;
+				if (w == missed) {
+					missed = WIP.addAndGet(this, -missed);
+					if (missed == 0) {
+						break;
+					}
+				}
+				else {
+					missed = w;
+				}
+			}
+		}
+
+		/**
+		 * Set the next head of a leaf from its rail, if available.
+		 *
+		 * @return true if the leaf got a value or its rail is exhausted, false if the
+		 * rail has yet to produce its next value
+		 */
+		boolean poll(MergeOrderedInner<T> inner, int index) {
+			boolean d = inner.done;
+			T v = inner.queue.poll();
+			if (v != null) {
+				tree.set(index, v);
+				return true;
+			}
+			return d;
+		}
+	}
+
+	static final class MergeOrderedInner<T> implements InnerConsumer<T> {
+
+		final MergeOrderedMain<T> parent;
+
+		final int prefetch;
+
+		final int limit;
+
+		final Queue<T> queue;
+
+		long produced;
+
+		volatile Subscription s;
+		@SuppressWarnings("rawtypes")
+		static final AtomicReferenceFieldUpdater<MergeOrderedInner, Subscription> S =
+				AtomicReferenceFieldUpdater.newUpdater(MergeOrderedInner.class, Subscription.class, "s");
+
+		volatile boolean done;
+
+		MergeOrderedInner(MergeOrderedMain<T> parent, int prefetch, Queue<T> queue) {
+			this.parent = parent;
+			this.prefetch = prefetch;
+			this.limit = Operators.unboundedOrLimit(prefetch);
+			this.queue = queue;
+		}
+
+		@Override
+		@Nullable
+		public Object scanUnsafe(Attr key) {
+			if (key == Attr.CANCELLED) return s == Operators.cancelledSubscription();
+			if (key == Attr.PARENT) return s;
+			if (key == Attr.ACTUAL) return parent;
+			if (key == Attr.PREFETCH) return prefetch;
+			if (key == Attr.BUFFERED) return queue.size();
+			if (key == Attr.TERMINATED) return done;
+
+			return null;
+		}
+
+		@Override
+		public Context currentContext() {
+			return parent.actual.currentContext();
+		}
+
+		@Override
+		public void onSubscribe(Subscription s) {
+			if (Operators.setOnce(S, this, s)) {
+				s.request(Operators.unboundedOrPrefetch(prefetch));
+			}
+		}
+
+		@Override
+		public void onNext(T t) {
+			if (!queue.offer(t)) {
+				parent.onError(Operators.onOperatorError(s,
+						Exceptions.failWithOverflow(Exceptions.BACKPRESSURE_ERROR_QUEUE_FULL),
+						t,
+						currentContext()));
+				return;
+			}
+			parent.drain();
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			parent.onError(t);
+		}
+
+		@Override
+		public void onComplete() {
+			done = true;
+			parent.drain();
+		}
+
+		void requestOne() {
+			long p = produced + 1;
+			if (p == limit) {
+				produced = 0;
+				s.request(p);
+			}
+			else {
+				produced = p;
+			}
+		}
+
+		void cancel() {
+			Operators.terminate(S, this);
+		}
+	}
+}
@@ -36,6 +36,9 @@ import reactor.util.context.Context;
  * emit the smallest item from these parallel Lists to the Subscriber.
  * <p>
  * It expects the source to emit exactly one list (which could be empty).
+ * <p>
+ * The smallest item is selected through a {@link LoserTree}, in {@code O(log n)}
+ * comparisons for {@code n} rails.
  *
  * @param <T> the value type
  */
@@ -82,9 +85,12 @@ final class ParallelMergeSort<T> extends Flux<T> implements Scannable {
 
 		final int[] indexes;
 
-		final Comparator<? super T> comparator;
+		final LoserTree<T> tree;
+
 		final CoreSubscriber<? super T> actual;
 
+		boolean treeBuilt;
+
 		volatile int wip;
 
 		@SuppressWarnings("rawtypes")
@@ -117,7 +123,7 @@ final class ParallelMergeSort<T> extends Flux<T> implements Scannable {
 		MergeSortMain(CoreSubscriber<? super T> actual,
 				int n,
 				Comparator<? super T> comparator) {
-			this.comparator = comparator;
+			this.tree = new LoserTree<>(n, comparator);
 			this.actual = actual;
 			MergeSortInner<T>[] s = new MergeSortInner[n];
 
@@ -167,7 +173,7 @@ final class ParallelMergeSort<T> extends Flux<T> implements Scannable {
 				cancelled = true;
 				cancelAll();
 				if (WIP.getAndIncrement(this) == 0) {
-					Arrays.fill(lists, null);
+					cleanup();
 				}
 			}
 		}
@@ -178,6 +184,11 @@ final class ParallelMergeSort<T> extends Flux<T> implements Scannable {
 			}
 		}
 
+		void cleanup() {
+			Arrays.fill(lists, null);
+			tree.clear();
+		}
+
 		void innerNext(List<T> value, int index) {
 			lists[index] = value;
 			if (REMAINING.decrementAndGet(this) == 0) {
@@ -204,90 +215,56 @@ final class ParallelMergeSort<T> extends Flux<T> implements Scannable {
 			Subscriber<? super T> a = actual;
 			List<T>[] lists = this.lists;
 			int[] indexes = this.indexes;
-			int n = indexes.length;
+			LoserTree<T> tree = this.tree;
 
 			for (; ; ) {
 
 				long r = requested;
 				long e = 0L;
 
-				while (e != r) {
+				for (;;) {
 					if (cancelled) {
-						Arrays.fill(lists, null);
+						cleanup();
 						return;
 					}
 
 					Throwable ex = error;
 					if (ex != null) {
 						cancelAll();
-						Arrays.fill(lists, null);
+						cleanup();
 						a.onError(ex);
 						return;
 					}
 
-					T min = null;
-					int minIndex = -1;
-
-					for (int i = 0; i < n; i++) {
-						List<T> list = lists[i];
-						int index = indexes[i];
-
-						if (list.size() != index) {
-							if (min == null) {
-								min = list.get(index);
-								minIndex = i;
-							}
-							else {
-								T b = list.get(index);
-								if (comparator.compare(min, b) > 0) {
-									min = b;
-									minIndex = i;
-								}
-							}
+					if (!treeBuilt) {
+						treeBuilt = true;
+						for (int i = 0; i < lists.length; i++) {
+							List<T> list = lists[i];
+							tree.set(i, list.isEmpty() ? null : list.get(0));
 						}
+						tree.build();
 					}
 
-					if (min == null) {
-						Arrays.fill(lists, null);
-						a.onComplete();
-						return;
-					}
-
-					a.onNext(min);
-
-					indexes[minIndex]++;
+					int minIndex = tree.winner();
 
-					e++;
-				}
-
-				if (e == r) { //TODO investigate condition always true
-					if (cancelled) {
-						Arrays.fill(lists, null);
+					if (minIndex < 0) {
+						cleanup();
+						a.onComplete();
 						return;
 					}
 
-					Throwable ex = error;
-					if (ex != null) {
-						cancelAll();
-						Arrays.fill(lists, null);
-						a.onError(ex);
-						return;
+					if (e == r) {
+						break;
 					}
 
-					boolean empty = true;
+					a.onNext(tree.head(minIndex));
 
-					for (int i = 0; i < n; i++) {
-						if (indexes[i] != lists[i].size()) {
-							empty = false;
-							break;
-						}
-					}
+					List<T> list = lists[minIndex];
+					int index = ++indexes[minIndex];
+					tree.set(minIndex, list.size() == index ? null : list.get(index));
+					tree.replay(minIndex);
 
-					if (empty) {
-						Arrays.fill(lists, null);
-						a.onComplete();
-						return;
-					}
+					e++;
 				}
 
 				if (e != 0 && r != Long.MAX_VALUE) {
@@ -369,4 +346,117 @@ final class ParallelMergeSort<T> extends Flux<T> implements Scannable {
 			Operators.terminate(S, this);
 		}
 	}
+
+	/**
+	 * A tournament tree of losers, selecting the smallest of the current head values of
+	 * {@code n} sorted sequences in {@code O(log n)} comparisons once the head of the
+	 * previously selected sequence is replaced, rather than comparing all the heads
+	 * again. Each internal node retains the loser of the match between its children
+	 * while the overall winner is kept apart, so that replaying the matches of a leaf
+	 * only involves the nodes on its path to the root.
+	 * <p>
+	 * A {@code null} head stands for an exhausted sequence, which loses to any value.
+	 * Equal values are won by the sequence of lowest index.
+	 *
+	 * @param <T> the value type
+	 */
+	static final class LoserTree<T> {
+
+		final Comparator<? super T> comparator;
+
+		/**
+		 * The head value of each leaf, padded with exhausted leaves up to a power of 2.
+		 */
+		final Object[] heads;
+
+		/**
+		 * The loser leaf of each internal node, the root being at index 1 and the
+		 * children of node {@code i} at {@code 2i} and {@code 2i + 1}.
+		 */
+		final int[] losers;
+
+		int winner;
+
+		LoserTree(int n, Comparator<? super T> comparator) {
+			int size = n <= 1 ? 1 : Integer.highestOneBit(n - 1) << 1;
+			this.comparator = comparator;
+			this.heads = new Object[size];
+			this.losers = new int[size];
+		}
+
+		void set(int leaf, @Nullable T value) {
+			heads[leaf] = value;
+		}
+
+		@SuppressWarnings("unchecked")
+		T head(int leaf) {
+			return (T) heads[leaf];
+		}
+
+		/**
+		 * Play all the matches, once every leaf has its initial head.
+		 */
+		void build() {
+			int size = heads.length;
+			int[] winners = new int[size << 1];
+			for (int i = 0; i < size; i++) {
+				winners[size + i] = i;
+			}
+			for (int node = size - 1; node > 0; node--) {
+				int left = winners[node << 1];
+				int right = winners[(node << 1) + 1];
+				if (beats(right, left)) {
+					winners[node] = right;
+					losers[node] = left;
+				}
+				else {
+					winners[node] = left;
+					losers[node] = right;
+				}
+			}
+			winner = size == 1 ? 0 : winners[1];
+		}
+
+		/**
+		 * Replay the matches from the given leaf to the root, once its head has been
+		 * replaced. Only valid for the leaf of the current winner.
+		 */
+		void replay(int leaf) {
+			int w = leaf;
+			for (int node = (leaf + heads.length) >>> 1; node > 0; node >>>= 1) {
+				int loser = losers[node];
+				if (beats(loser, w)) {
+					losers[node] = w;
+					w = loser;
+				}
+			}
+			winner = w;
+		}
+
+		/**
+		 * @return the leaf with the smallest head, or -1 if all are exhausted
+		 */
+		int winner() {
+			int w = winner;
+			return heads[w] == null ? -1 : w;
+		}
+
+		@SuppressWarnings("unchecked")
+		boolean beats(int a, int b) {
+			Object va = heads[a];
+			if (va == null) {
+				return false;
+			}
+			Object vb = heads[b];
+			if (vb == null) {
+				return true;
+			}
+			int c = comparator.compare((T) va, (T) vb);
+			return c < 0 || (c == 0 && a < b);
+		}
+
+		void clear() {
+			Arrays.fill(heads, null);
+		}
+	}
 }
@@ -19,6 +19,7 @@ import java.util.Queue;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
 import java.util.stream.Stream;
 
 import org.reactivestreams.Publisher;
@@ -34,6 +35,11 @@ import reactor.util.context.Context;
 /**
  * Dispatches the values from upstream in a round robin fashion to subscribers which are
  * ready to consume elements. A value from upstream is sent to only one of the subscribers.
+ * <p>
+ * Alternatively, values can be routed by the hash of a key, so that all values with the
+ * same key go to the same rail (in which case a value waits for its rail to be ready,
+ * holding back the values behind it), or adaptively to the rail with the most
+ * outstanding demand, so that rails processing cheaper values get more of them.
  *
  * @param <T> the value type
  */
@@ -46,7 +52,21 @@ final class ParallelSource<T> extends ParallelFlux<T> implements Scannable {
 	
 	final Supplier<Queue<T>> queueSupplier;
 
+	@Nullable
+	final ToIntFunction<? super T> keyHash;
+
+	final boolean adaptive;
+
 	ParallelSource(Publisher<? extends T> source, int parallelism, int prefetch, Supplier<Queue<T>> queueSupplier) {
+		this(source, parallelism, prefetch, queueSupplier, null, false);
+	}
+
+	ParallelSource(Publisher<? extends T> source,
+			int parallelism,
+			int prefetch,
+			Supplier<Queue<T>> queueSupplier,
+			@Nullable ToIntFunction<? super T> keyHash,
+			boolean adaptive) {
 		if (parallelism <= 0) {
 			throw new IllegalArgumentException("parallelism > 0 required but it was " + parallelism);
 		}
@@ -57,6 +77,8 @@ final class ParallelSource<T> extends ParallelFlux<T> implements Scannable {
 		this.parallelism = parallelism;
 		this.prefetch = prefetch;
 		this.queueSupplier = queueSupplier;
+		this.keyHash = keyHash;
+		this.adaptive = adaptive;
 	}
 
 	@Override
@@ -84,7 +106,8 @@ final class ParallelSource<T> extends ParallelFlux<T> implements Scannable {
 			return;
 		}
 		
-		source.subscribe(new ParallelSourceMain<>(subscribers, prefetch, queueSupplier));
+		source.subscribe(new ParallelSourceMain<>(subscribers, prefetch, queueSupplier,
+				keyHash, adaptive));
 	}
 	
 	static final class ParallelSourceMain<T> implements InnerConsumer<T> {
@@ -101,6 +124,11 @@ final class ParallelSource<T> extends ParallelFlux<T> implements Scannable {
 
 		final Supplier<Queue<T>> queueSupplier;
 
+		@Nullable
+		final ToIntFunction<? super T> keyHash;
+
+		final boolean adaptive;
+
 		Subscription s;
 		
 		Queue<T> queue;
@@ -131,11 +159,28 @@ final class ParallelSource<T> extends ParallelFlux<T> implements Scannable {
 		
 		int sourceMode;
 
+		/**
+		 * A value polled from the queue that waits for its key-affine rail to be ready.
+		 */
+		@Nullable
+		T pending;
+
+		int pendingIndex;
+
 		ParallelSourceMain(CoreSubscriber<? super T>[] subscribers, int prefetch,
 				Supplier<Queue<T>> queueSupplier) {
+			this(subscribers, prefetch, queueSupplier, null, false);
+		}
+
+		ParallelSourceMain(CoreSubscriber<? super T>[] subscribers, int prefetch,
+				Supplier<Queue<T>> queueSupplier,
+				@Nullable ToIntFunction<? super T> keyHash,
+				boolean adaptive) {
 			this.subscribers = subscribers;
 			this.prefetch = prefetch;
 			this.queueSupplier = queueSupplier;
+			this.keyHash = keyHash;
+			this.adaptive = adaptive;
 			this.limit = Operators.unboundedOrLimit(prefetch);
 			this.requests = new AtomicLongArray(subscribers.length);
 			this.emissions = new long[subscribers.length];
@@ -259,6 +304,7 @@ final class ParallelSource<T> extends ParallelFlux<T> implements Scannable {
 				this.s.cancel();
 				
 				if (WIP.getAndIncrement(this) == 0) {
+					pending = null;
 					queue.clear();
 				}
 			}
@@ -455,13 +501,162 @@ final class ParallelSource<T> extends ParallelFlux<T> implements Scannable {
 				return;
 			}
 			
-			if (sourceMode == Fuseable.SYNC) {
+			if (keyHash != null || adaptive) {
+				drainSelect();
+			}
+			else if (sourceMode == Fuseable.SYNC) {
 				drainSync();
 			} else {
 				drainAsync();
 			}
 		}
 
+		/**
+		 * Drain loop for the key-affine and adaptive modes, in which the rail of each
+		 * value is selected rather than visited in turn.
+		 */
+		void drainSelect() {
+			int missed = 1;
+
+			Queue<T> q = queue;
+			CoreSubscriber<? super T>[] a = this.subscribers;
+			AtomicLongArray r = this.requests;
+			long[] e = this.emissions;
+			ToIntFunction<? super T> kh = keyHash;
+			boolean sync = sourceMode == Fuseable.SYNC;
+			int consumed = produced;
+
+			for (;;) {
+
+				for (;;) {
+					if (cancelled) {
+						pending = null;
+						q.clear();
+						return;
+					}
+
+					boolean d = done;
+					if (d && !sync) {
+						Throwable ex = error;
+						if (ex != null) {
+							pending = null;
+							q.clear();
+							for (Subscriber<? super T> s : a) {
+								s.onError(ex);
+							}
+							return;
+						}
+					}
+
+					T v = pending;
+					int idx;
+
+					if (v == null) {
+						if (kh == null) {
+							idx = selectAdaptive(r, e);
+							if (idx < 0) {
+								break;
+							}
+						}
+						else {
+							idx = -1;
+						}
+
+						try {
+							v = q.poll();
+							if (v != null && kh != null) {
+								idx = railOf(kh.applyAsInt(v), e.length);
+							}
+						}
+						catch (Throwable ex) {
+							ex = Operators.onOperatorError(s, ex, v, currentContext());
+							q.clear();
+							for (Subscriber<? super T> s : a) {
+								s.onError(ex);
+							}
+							return;
+						}
+
+						if (v == null) {
+							if (sync || d) {
+								for (Subscriber<? super T> s : a) {
+									s.onComplete();
+								}
+								return;
+							}
+							break;
+						}
+					}
+					else {
+						idx = pendingIndex;
+					}
+
+					long eidx = e[idx];
+					if (r.get(idx) == eidx) {
+						pending = v;
+						pendingIndex = idx;
+						break;
+					}
+					pending = null;
+
+					a[idx].onNext(v);
+
+					e[idx] = eidx + 1;
+
+					if (!sync) {
+						int c = ++consumed;
+						if (c == limit) {
+							consumed = 0;
+							s.request(c);
+						}
+					}
+				}
+
+				int w = wip;
+				if (w == missed) {
+					produced = consumed;
+					missed = WIP.addAndGet(this, -missed);
+					if (missed == 0) {
+						break;
+					}
+				} else {
+					missed = w;
+				}
+			}
+		}
+
+		/**
+		 * Select the rail with the most outstanding demand, visiting rails from the
+		 * one after the last selected so that ties are broken in a round robin fashion.
+		 *
+		 * @return the index of the selected rail, or -1 if no rail has demand
+		 */
+		int selectAdaptive(AtomicLongArray r, long[] e) {
+			int n = e.length;
+			int idx = index;
+			int selected = -1;
+			long max = 0L;
+			for (int i = 0; i < n; i++) {
+				long outstanding = r.get(idx) - e[idx];
+				if (outstanding > max) {
+					max = outstanding;
+					selected = idx;
+				}
+				if (++idx == n) {
+					idx = 0;
+				}
+			}
+			if (selected >= 0) {
+				index = selected + 1 == n ? 0 : selected + 1;
+			}
+			return selected;
+		}
+
+		static int railOf(int hash, int parallelism) {
+			//spread the higher bits as hash codes often only differ there
+			return ((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % parallelism;
+		}
+
 		static final class ParallelSourceInner<T> implements InnerProducer<T> {
 
 			final ParallelSourceMain<T> parent;
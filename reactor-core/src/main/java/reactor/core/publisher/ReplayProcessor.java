@@ -133,7 +133,7 @@ public final class ReplayProcessor<T> extends FluxProcessor<T, T>
 			buffer = new FluxReplay.UnboundedReplayBuffer<>(historySize);
 		}
 		else {
-			buffer = new FluxReplay.SizeBoundReplayBuffer<>(historySize);
+			buffer = FluxReplay.sizeBoundBuffer(historySize);
 		}
 		return new ReplayProcessor<>(buffer);
 	}
@@ -287,6 +287,11 @@ public final class ReplayProcessor<T> extends FluxProcessor<T, T>
 		if (size <= 0) {
 			throw new IllegalArgumentException("size > 0 required but it was " + size);
 		}
+		if (size == Integer.MAX_VALUE) {
+			return new ReplayProcessor<>(new FluxReplay.TimeBucketedReplayBuffer<>(Queues.SMALL_BUFFER_SIZE,
+					maxAge.toMillis(),
+					scheduler));
+		}
 		return new ReplayProcessor<>(new FluxReplay.SizeAndTimeBoundReplayBuffer<>(size,
 				maxAge.toMillis(),
 				scheduler));
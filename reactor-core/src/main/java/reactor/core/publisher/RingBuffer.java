@@ -360,6 +360,14 @@ abstract class RingBuffer<E> implements LongSupplier {
 	 * @param sequence the sequence to publish.
 	 */
 	abstract void publish(long sequence);
+
+	/**
+	 * Publish the specified range of sequences, typically claimed with
+	 * {@link RingBuffer#next(int)}, signalling waiting readers only once.
+	 * @param lo first sequence to publish.
+	 * @param hi last sequence to publish.
+	 */
+	abstract void publish(long lo, long hi);
 	/**
 	 * Remove the specified sequence from this ringBuffer.
 	 * @param sequence to be removed.
@@ -767,6 +775,14 @@ abstract class RingBufferProducer {
 	 */
 	abstract void publish(long sequence);
 
+	/**
+	 * Batch publish sequences.  Called when all of the events have been filled.
+	 *
+	 * @param lo first sequence number to publish
+	 * @param hi last sequence number to publish
+	 */
+	abstract void publish(long lo, long hi);
+
 	/**
 	 *
 	 * @return the gating sequences array
@@ -878,6 +894,14 @@ final class SingleProducerSequencer extends SingleProducerSequencerFields {
 		waitStrategy.signalAllWhenBlocking();
 	}
 
+	/**
+	 * See {@code RingBufferProducer.publish(long, long)}.
+	 */
+	@Override
+	void publish(long lo, long hi) {
+		publish(hi);
+	}
+
 	@Override
 	long getHighestPublishedSequence(long lowerBound, long availableSequence) {
 		return availableSequence;
@@ -1003,6 +1027,12 @@ final class NotFunRingBuffer<E> extends NotFunRingBufferFields<E>
 		sequenceProducer.publish(sequence);
 	}
 
+	@Override
+	void publish(long lo, long hi)
+	{
+		sequenceProducer.publish(lo, hi);
+	}
+
 	@Override
 	int getPending() {
 		return (int)sequenceProducer.getPending();
@@ -1191,6 +1221,12 @@ final class UnsafeRingBuffer<E> extends RingBufferFields<E>
 		sequenceProducer.publish(sequence);
 	}
 
+	@Override
+	void publish(long lo, long hi)
+	{
+		sequenceProducer.publish(lo, hi);
+	}
+
 	@Override
 	int getPending() {
 		return (int)sequenceProducer.getPending();
@@ -1393,6 +1429,19 @@ final class MultiProducerRingBuffer extends RingBufferProducer
 		waitStrategy.signalAllWhenBlocking();
 	}
 
+	/**
+	 * See {@code RingBufferProducer.publish(long, long)}.
+	 */
+	@Override
+	void publish(long lo, long hi)
+	{
+		for (long l = lo; l <= hi; l++)
+		{
+			setAvailable(l);
+		}
+		waitStrategy.signalAllWhenBlocking();
+	}
+
 	/**
 	 * The below methods work on the availableBuffer flag.
 	 *
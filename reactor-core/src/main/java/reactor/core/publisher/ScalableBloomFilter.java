@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package reactor.core.publisher;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * A scalable Bloom filter exposed as a {@link java.util.Collection} of keys, for the
+ * probabilistic {@link Flux#distinctApproximate(java.util.function.Function, ToLongFunction, double)}.
+ * <p>
+ * Keys are hashed into a series of fixed size bit arrays (stages): once a stage holds as
+ * many keys as it was sized for, a stage twice as large and with a tighter false
+ * positive rate is added, so that the false positive rate of the filter itself stays
+ * under the configured one however many keys are added. Keys themselves are never
+ * retained, only a 64 bits hash of each, so {@link #add(Object)} may wrongly report a
+ * new key as already present (never the reverse), and the filter cannot be iterated.
+ * <p>
+ * Distinct keys with the same hash are always reported as duplicates, on top of that
+ * rate. With the default {@link Object#hashCode()} hasher, which only has 32 bits, this
+ * is common for some key types (e.g. {@link Long} keys whose high and low halves xor
+ * to the same value), so a wider hasher should be provided for those.
+ *
+ * @param <K> the key type
+ */
+final class ScalableBloomFilter<K> extends AbstractCollection<K> {
+
+	static final int    INITIAL_CAPACITY = 1024;
+	/**
+	 * The false positive rate of each stage is this ratio of the previous one's, which
+	 * bounds the overall rate to {@code falsePositiveRate}.
+	 */
+	static final double TIGHTENING_RATIO = 0.5;
+
+	static final double LN2 = Math.log(2);
+
+	final double falsePositiveRate;
+
+	final ToLongFunction<? super K> hasher;
+
+	final List<Stage> stages;
+
+	Stage current;
+	int   size;
+
+	ScalableBloomFilter(double falsePositiveRate) {
+		this(falsePositiveRate, Object::hashCode);
+	}
+
+	ScalableBloomFilter(double falsePositiveRate, ToLongFunction<? super K> hasher) {
+		if (!(falsePositiveRate > 0d && falsePositiveRate < 1d)) {
+			throw new IllegalArgumentException("falsePositiveRate must be between 0 and 1 (exclusive) but it was " + falsePositiveRate);
+		}
+		this.falsePositiveRate = falsePositiveRate;
+		this.hasher = hasher;
+		this.stages = new ArrayList<>();
+		clear();
+	}
+
+	@Override
+	public boolean add(K k) {
+		long h1 = mix(hasher.applyAsLong(k));
+		long h2 = mix(h1) | 1L;
+		for (int i = stages.size() - 1; i >= 0; i--) {
+			if (stages.get(i).mightContain(h1, h2)) {
+				return false;
+			}
+		}
+		Stage s = current;
+		if (s.count == s.capacity) {
+			s = new Stage(s.capacity * 2L,
+					falsePositiveRate * (1d - TIGHTENING_RATIO) * Math.pow(TIGHTENING_RATIO, stages.size()));
+			stages.add(s);
+			current = s;
+		}
+		s.put(h1, h2);
+		size++;
+		return true;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public boolean contains(Object o) {
+		long h1 = mix(hasher.applyAsLong((K) o));
+		long h2 = mix(h1) | 1L;
+		for (int i = stages.size() - 1; i >= 0; i--) {
+			if (stages.get(i).mightContain(h1, h2)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public Iterator<K> iterator() {
+		throw new UnsupportedOperationException("A Bloom filter doesn't retain its keys");
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public void clear() {
+		stages.clear();
+		current = new Stage(INITIAL_CAPACITY, falsePositiveRate * (1d - TIGHTENING_RATIO));
+		stages.add(current);
+		size = 0;
+	}
+
+	/**
+	 * @return the number of bits currently allocated, across all stages
+	 */
+	long bits() {
+		long n = 0;
+		for (Stage s : stages) {
+			n += s.bits;
+		}
+		return n;
+	}
+
+	@Override
+	public String toString() {
+		return "ScalableBloomFilter{size=" + size + ", stages=" + stages.size() + ", bits=" + bits() + "}";
+	}
+
+	/**
+	 * The SplitMix64 finalizer, spreading the bits of a hash over the whole 64 bits.
+	 */
+	static long mix(long h) {
+		h = (h ^ (h >>> 30)) * 0xbf58476d1ce4e5b9L;
+		h = (h ^ (h >>> 27)) * 0x94d049bb133111ebL;
+		return h ^ (h >>> 31);
+	}
+
+	static final class Stage {
+
+		final long[] words;
+		final long   bits;
+		final int    hashes;
+		final long   capacity;
+
+		long count;
+
+		Stage(long capacity, double falsePositiveRate) {
+			long m = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (LN2 * LN2));
+			//round up to whole words
+			m = Math.max(64L, (m + 63L) & ~63L);
+			if (m / 64L > Integer.MAX_VALUE - 8) {
+				throw new IllegalStateException("Bloom filter stage too large: " + m + " bits");
+			}
+			this.words = new long[(int) (m / 64L)];
+			this.bits = m;
+			this.hashes = Math.max(1, (int) Math.round((double) m / capacity * LN2));
+			this.capacity = capacity;
+		}
+
+		boolean mightContain(long h1, long h2) {
+			long h = h1;
+			for (int i = 0; i < hashes; i++) {
+				long index = (h & Long.MAX_VALUE) % bits;
+				if ((words[(int) (index >>> 6)] & (1L << index)) == 0L) {
+					return false;
+				}
+				h += h2;
+			}
+			return true;
+		}
+
+		void put(long h1, long h2) {
+			long h = h1;
+			for (int i = 0; i < hashes; i++) {
+				long index = (h & Long.MAX_VALUE) % bits;
+				words[(int) (index >>> 6)] |= 1L << index;
+				h += h2;
+			}
+			count++;
+		}
+	}
+}
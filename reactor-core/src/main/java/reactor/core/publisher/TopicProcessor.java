@@ -23,6 +23,7 @@ import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import org.reactivestreams.Subscriber;
@@ -83,6 +84,9 @@ public final class TopicProcessor<E> extends EventLoopProcessor<E>  {
 		String name;
 		ExecutorService executor;
 		ExecutorService requestTaskExecutor;
+		boolean sharedExecutor;
+		boolean sharedRequestTaskExecutor;
+		Consumer<? super Thread> threadAffinity;
 		int bufferSize;
 		WaitStrategy waitStrategy;
 		boolean share;
@@ -157,6 +161,24 @@ public final class TopicProcessor<E> extends EventLoopProcessor<E>  {
 		 */
 		public Builder<T> executor(@Nullable ExecutorService executor) {
 			this.executor = executor;
+			this.sharedExecutor = false;
+			return this;
+		}
+
+		/**
+		 * Configures an {@link ExecutorService} shared with other processors to execute
+		 * as many event-loop consuming the ringbuffer as subscribers. Unlike
+		 * {@link #executor(ExecutorService)}, the processor never shuts it down, so
+		 * a single bounded pool can serve the subscribers of many processors. Each
+		 * subscriber holds a thread until it terminates, so the pool size bounds the
+		 * number of concurrently running subscribers. Name configured using
+		 * {@link #name(String)} will be ignored if executor is push.
+		 * @param executor A provided ExecutorService shared with other processors
+		 * @return builder with provided shared executor
+		 */
+		public Builder<T> sharedExecutor(ExecutorService executor) {
+			this.executor = Objects.requireNonNull(executor, "executor");
+			this.sharedExecutor = true;
 			return this;
 		}
 
@@ -169,6 +191,44 @@ public final class TopicProcessor<E> extends EventLoopProcessor<E>  {
 		 */
 		public Builder<T> requestTaskExecutor(@Nullable ExecutorService requestTaskExecutor) {
 			this.requestTaskExecutor = requestTaskExecutor;
+			this.sharedRequestTaskExecutor = false;
+			return this;
+		}
+
+		/**
+		 * Configures an additional {@link ExecutorService} shared with other processors
+		 * that is used internally on each subscription. Unlike
+		 * {@link #requestTaskExecutor(ExecutorService)}, the processor never shuts it down.
+		 * @param requestTaskExecutor internal request executor shared with other processors
+		 * @return builder with provided shared internal request executor
+		 */
+		public Builder<T> sharedRequestTaskExecutor(ExecutorService requestTaskExecutor) {
+			this.requestTaskExecutor = Objects.requireNonNull(requestTaskExecutor, "requestTaskExecutor");
+			this.sharedRequestTaskExecutor = true;
+			return this;
+		}
+
+		/**
+		 * Configures the processor to run its internal request task on the single pool
+		 * of daemon threads shared by all the processors configured this way, instead of
+		 * creating a dedicated pool per processor.
+		 * @return builder with the global shared internal request executor
+		 */
+		public Builder<T> sharedRequestTaskExecutor() {
+			return sharedRequestTaskExecutor(EventLoopProcessor.sharedRequestTaskExecutor());
+		}
+
+		/**
+		 * Configures a callback invoked by each event-loop thread the processor creates,
+		 * from that thread and right before it starts consuming the ringbuffer. This is
+		 * the place to pin latency-critical consumers to dedicated cores, for instance
+		 * with a thread affinity library. Threads are named after {@link #name(String)}
+		 * followed by a sequence number. The callback will be ignored if executor is push.
+		 * @param threadAffinity the callback receiving each new event-loop thread
+		 * @return builder with provided thread affinity callback
+		 */
+		public Builder<T> threadAffinity(@Nullable Consumer<? super Thread> threadAffinity) {
+			this.threadAffinity = threadAffinity;
 			return this;
 		}
 
@@ -202,7 +262,7 @@ public final class TopicProcessor<E> extends EventLoopProcessor<E>  {
 		public TopicProcessor<T>  build() {
 			this.name = this.name != null ? this.name : TopicProcessor.class.getSimpleName();
 			this.waitStrategy = this.waitStrategy != null ? this.waitStrategy : WaitStrategy.phasedOffLiteLock(200, 100, TimeUnit.MILLISECONDS);
-			ThreadFactory threadFactory = this.executor != null ? null : new EventLoopFactory(name, autoCancel);
+			ThreadFactory threadFactory = this.executor != null ? null : new EventLoopFactory(name, autoCancel, threadAffinity);
 			ExecutorService requestTaskExecutor = this.requestTaskExecutor != null ? this.requestTaskExecutor : defaultRequestTaskExecutor(defaultName(threadFactory, TopicProcessor.class));
 			return new TopicProcessor<>(
 					threadFactory,
@@ -212,7 +272,9 @@ public final class TopicProcessor<E> extends EventLoopProcessor<E>  {
 					waitStrategy,
 					share,
 					autoCancel,
-					signalSupplier);
+					signalSupplier,
+					sharedExecutor,
+					sharedRequestTaskExecutor);
 		}
 	}
 
@@ -281,6 +343,21 @@ public final class TopicProcessor<E> extends EventLoopProcessor<E>  {
 			boolean shared,
 			boolean autoCancel,
 			@Nullable final Supplier<E> signalSupplier) {
+		this(threadFactory, executor, requestTaskExecutor, bufferSize, waitStrategy,
+				shared, autoCancel, signalSupplier, false, false);
+	}
+
+	TopicProcessor(
+			@Nullable ThreadFactory threadFactory,
+			@Nullable ExecutorService executor,
+			ExecutorService requestTaskExecutor,
+			int bufferSize,
+			WaitStrategy waitStrategy,
+			boolean shared,
+			boolean autoCancel,
+			@Nullable final Supplier<E> signalSupplier,
+			boolean sharedExecutor,
+			boolean sharedRequestTaskExecutor) {
 		super(bufferSize, threadFactory, executor, requestTaskExecutor, autoCancel,
 				shared, () -> {
 			Slot<E> signal = new Slot<>();
@@ -288,7 +365,7 @@ public final class TopicProcessor<E> extends EventLoopProcessor<E>  {
 				signal.value = signalSupplier.get();
 			}
 			return signal;
-		}, waitStrategy);
+		}, waitStrategy, sharedExecutor, sharedRequestTaskExecutor);
 
 		this.minimum = RingBuffer.newSequence(-1);
 		this.barrier = ringBuffer.newReader();
@@ -27,6 +27,7 @@ import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import org.reactivestreams.Subscriber;
@@ -80,6 +81,9 @@ public final class WorkQueueProcessor<E> extends EventLoopProcessor<E> {
 		String name;
 		ExecutorService executor;
 		ExecutorService requestTaskExecutor;
+		boolean sharedExecutor;
+		boolean sharedRequestTaskExecutor;
+		Consumer<? super Thread> threadAffinity;
 		int bufferSize;
 		WaitStrategy waitStrategy;
 		boolean share;
@@ -153,6 +157,24 @@ public final class WorkQueueProcessor<E> extends EventLoopProcessor<E> {
 		 */
 		public Builder<T> executor(@Nullable ExecutorService executor) {
 			this.executor = executor;
+			this.sharedExecutor = false;
+			return this;
+		}
+
+		/**
+		 * Configures an {@link ExecutorService} shared with other processors to execute
+		 * as many event-loop consuming the ringbuffer as subscribers. Unlike
+		 * {@link #executor(ExecutorService)}, the processor never shuts it down, so
+		 * a single bounded pool can serve the subscribers of many processors. Each
+		 * subscriber holds a thread until it terminates, so the pool size bounds the
+		 * number of concurrently running subscribers. Name configured using
+		 * {@link #name(String)} will be ignored if executor is push.
+		 * @param executor A provided ExecutorService shared with other processors
+		 * @return builder with provided shared executor
+		 */
+		public Builder<T> sharedExecutor(ExecutorService executor) {
+			this.executor = Objects.requireNonNull(executor, "executor");
+			this.sharedExecutor = true;
 			return this;
 		}
 
@@ -164,6 +186,44 @@ public final class WorkQueueProcessor<E> extends EventLoopProcessor<E> {
 		 */
 		public Builder<T> requestTaskExecutor(@Nullable ExecutorService requestTaskExecutor) {
 			this.requestTaskExecutor = requestTaskExecutor;
+			this.sharedRequestTaskExecutor = false;
+			return this;
+		}
+
+		/**
+		 * Configures an additional {@link ExecutorService} shared with other processors
+		 * that is used internally on each subscription. Unlike
+		 * {@link #requestTaskExecutor(ExecutorService)}, the processor never shuts it down.
+		 * @param requestTaskExecutor internal request executor shared with other processors
+		 * @return builder with provided shared internal request executor
+		 */
+		public Builder<T> sharedRequestTaskExecutor(ExecutorService requestTaskExecutor) {
+			this.requestTaskExecutor = Objects.requireNonNull(requestTaskExecutor, "requestTaskExecutor");
+			this.sharedRequestTaskExecutor = true;
+			return this;
+		}
+
+		/**
+		 * Configures the processor to run its internal request task on the single pool
+		 * of daemon threads shared by all the processors configured this way, instead of
+		 * creating a dedicated pool per processor.
+		 * @return builder with the global shared internal request executor
+		 */
+		public Builder<T> sharedRequestTaskExecutor() {
+			return sharedRequestTaskExecutor(EventLoopProcessor.sharedRequestTaskExecutor());
+		}
+
+		/**
+		 * Configures a callback invoked by each event-loop thread the processor creates,
+		 * from that thread and right before it starts consuming the ringbuffer. This is
+		 * the place to pin latency-critical consumers to dedicated cores, for instance
+		 * with a thread affinity library. Threads are named after {@link #name(String)}
+		 * followed by a sequence number. The callback will be ignored if executor is push.
+		 * @param threadAffinity the callback receiving each new event-loop thread
+		 * @return builder with provided thread affinity callback
+		 */
+		public Builder<T> threadAffinity(@Nullable Consumer<? super Thread> threadAffinity) {
+			this.threadAffinity = threadAffinity;
 			return this;
 		}
 
@@ -187,7 +247,7 @@ public final class WorkQueueProcessor<E> extends EventLoopProcessor<E> {
 		public WorkQueueProcessor<T>  build() {
 			String name = this.name != null ? this.name : WorkQueueProcessor.class.getSimpleName();
 			WaitStrategy waitStrategy = this.waitStrategy != null ? this.waitStrategy : WaitStrategy.liteBlocking();
-			ThreadFactory threadFactory = this.executor != null ? null : new EventLoopFactory(name, autoCancel);
+			ThreadFactory threadFactory = this.executor != null ? null : new EventLoopFactory(name, autoCancel, threadAffinity);
 			ExecutorService requestTaskExecutor = this.requestTaskExecutor != null ?
 					this.requestTaskExecutor : defaultRequestTaskExecutor(defaultName(threadFactory, WorkQueueProcessor.class));
 			return new WorkQueueProcessor<>(
@@ -197,7 +257,9 @@ public final class WorkQueueProcessor<E> extends EventLoopProcessor<E> {
 					bufferSize,
 					waitStrategy,
 					share,
-					autoCancel);
+					autoCancel,
+					sharedExecutor,
+					sharedRequestTaskExecutor);
 		}
 	}
 
@@ -271,19 +333,33 @@ public final class WorkQueueProcessor<E> extends EventLoopProcessor<E> {
 			AtomicIntegerFieldUpdater
 					.newUpdater(WorkQueueProcessor.class, "replaying");
 
-	@SuppressWarnings("unchecked")
 	WorkQueueProcessor(
 			@Nullable ThreadFactory threadFactory,
 			@Nullable ExecutorService executor,
 			ExecutorService requestTaskExecutor,
 			int bufferSize, WaitStrategy waitStrategy, boolean share,
 	                                boolean autoCancel) {
+		this(threadFactory, executor, requestTaskExecutor, bufferSize, waitStrategy,
+				share, autoCancel, false, false);
+	}
+
+	@SuppressWarnings("unchecked")
+	WorkQueueProcessor(
+			@Nullable ThreadFactory threadFactory,
+			@Nullable ExecutorService executor,
+			ExecutorService requestTaskExecutor,
+			int bufferSize, WaitStrategy waitStrategy, boolean share,
+			boolean autoCancel,
+			boolean sharedExecutor,
+			boolean sharedRequestTaskExecutor) {
 		super(bufferSize, threadFactory,
 				executor, requestTaskExecutor,
 				autoCancel,
 				share,
 				FACTORY,
-				waitStrategy);
+				waitStrategy,
+				sharedExecutor,
+				sharedRequestTaskExecutor);
 
 		this.writeWait = waitStrategy;
 
@@ -443,7 +519,8 @@ public final class WorkQueueProcessor<E> extends EventLoopProcessor<E> {
 		}
 
 		boolean isRunning() {
-			return running.get() && (processor.terminated == 0 || processor.error == null &&
+			return running.get() && (processor.terminated == 0 ||
+					processor.terminated == SHUTDOWN && processor.error == null &&
 					processor.ringBuffer.getAsLong() > sequence.getAsLong());
 		}
 
@@ -480,6 +557,9 @@ public final class WorkQueueProcessor<E> extends EventLoopProcessor<E> {
 						subscriber.onComplete();
 						return;
 					}
+					if (processor.terminated == FORCED_SHUTDOWN) {
+						return;
+					}
 				}
 
 				final boolean unbounded = pendingRequest.getAsLong() == Long.MAX_VALUE;
@@ -565,6 +645,9 @@ public final class WorkQueueProcessor<E> extends EventLoopProcessor<E> {
 								break;
 							}
 						}
+						else if (processor.terminated == FORCED_SHUTDOWN) {
+							break;
+						}
 						//processedSequence = true;
 						//continue event-loop
 
@@ -0,0 +1,528 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.scheduler;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.Scannable;
+import reactor.util.annotation.Nullable;
+
+/**
+ * Dynamically creates ScheduledExecutorService-based Workers like the
+ * {@link ElasticScheduler}, but caps the number of live backing thread pools to a
+ * {@code threadCap}. Once that cap is reached, new Workers and direct tasks share the
+ * least used of the existing thread pools, queueing their tasks behind the ones
+ * already submitted. Each thread pool accepts at most {@code queuedTaskCap} pending
+ * tasks (including delayed ones), after which further submissions are rejected with a
+ * {@link RejectedExecutionException}. This scheduler is time-capable (can schedule
+ * with delay / periodically).
+ * <p>
+ * Thread pools that have been idle for more than {@code ttlSeconds} are evicted.
+ * <p>
+ * {@link Scannable} introspection exposes the {@link Attr#CAPACITY thread cap}, the
+ * number of idle thread pools as {@link Attr#BUFFERED} and every live thread pool as
+ * one of its {@link #inners()}, each of which in turn exposes its pending tasks as
+ * {@link Attr#BUFFERED} and the {@link Attr#CAPACITY queued task cap}.
+ * <p>
+ * This scheduler is not restartable.
+ */
+final class BoundedElasticScheduler implements Scheduler, Scannable {
+
+	static final AtomicLong COUNTER = new AtomicLong();
+
+	static final ThreadFactory EVICTOR_FACTORY = r -> {
+		Thread t = new Thread(r, "boundedElastic-evictor-" + COUNTER.incrementAndGet());
+		t.setDaemon(true);
+		return t;
+	};
+
+	static final int DEFAULT_TTL_SECONDS = 60;
+
+	static final BoundedState SHUTDOWN = new BoundedState(null);
+
+	final int threadCap;
+
+	final int queuedTaskCap;
+
+	final ThreadFactory factory;
+
+	final int ttlSeconds;
+
+	@Nullable
+	final SchedulerMetrics metrics;
+
+	/**
+	 * Thread pools currently used by at least one Worker or direct task, guarded by
+	 * {@code this}.
+	 */
+	final List<BoundedState> busy;
+
+	/**
+	 * Thread pools not currently used, most recently released last, guarded by
+	 * {@code this}.
+	 */
+	final Deque<BoundedState> idle;
+
+	final ScheduledExecutorService evictor;
+
+	volatile boolean shutdown;
+
+	BoundedElasticScheduler(int threadCap, int queuedTaskCap, ThreadFactory factory,
+			int ttlSeconds) {
+		if (threadCap <= 0) {
+			throw new IllegalArgumentException("threadCap must be strictly positive, was: " + threadCap);
+		}
+		if (queuedTaskCap <= 0) {
+			throw new IllegalArgumentException("queuedTaskCap must be strictly positive, was: " + queuedTaskCap);
+		}
+		if (ttlSeconds <= 0) {
+			throw new IllegalArgumentException("ttlSeconds must be strictly positive, was: " + ttlSeconds);
+		}
+		this.threadCap = threadCap;
+		this.queuedTaskCap = queuedTaskCap;
+		this.factory = factory;
+		this.ttlSeconds = ttlSeconds;
+		this.metrics = Schedulers.newMetrics(Schedulers.BOUNDED_ELASTIC, factory);
+		this.busy = new ArrayList<>();
+		this.idle = new ArrayDeque<>();
+		this.evictor = Executors.newScheduledThreadPool(1, EVICTOR_FACTORY);
+		this.evictor.scheduleAtFixedRate(this::eviction,
+				ttlSeconds,
+				ttlSeconds,
+				TimeUnit.SECONDS);
+	}
+
+	/**
+	 * Instantiates the default {@link ScheduledExecutorService} for the
+	 * BoundedElasticScheduler (a single-threaded {@link ScheduledThreadPoolExecutor}
+	 * rejecting tasks past the {@code queuedTaskCap}).
+	 */
+	ScheduledExecutorService createExecutor() {
+		return new BoundedScheduledExecutorService(queuedTaskCap, factory);
+	}
+
+	@Override
+	public void start() {
+		throw new UnsupportedOperationException("Restarting not supported yet");
+	}
+
+	@Override
+	public boolean isDisposed() {
+		return shutdown;
+	}
+
+	@Override
+	public void dispose() {
+		if (shutdown) {
+			return;
+		}
+		List<BoundedState> toShutdown;
+		synchronized (this) {
+			if (shutdown) {
+				return;
+			}
+			shutdown = true;
+			toShutdown = new ArrayList<>(busy);
+			toShutdown.addAll(idle);
+			busy.clear();
+			idle.clear();
+		}
+
+		evictor.shutdownNow();
+
+		for (BoundedState state : toShutdown) {
+			state.exec.shutdownNow();
+		}
+	}
+
+	/**
+	 * Mark a thread pool as used by one more Worker or direct task: reuse the most
+	 * recently released idle one, or create a new one if below the {@code threadCap},
+	 * or share the busy one with the least number of users otherwise.
+	 *
+	 * @return the picked {@link BoundedState}, or {@link #SHUTDOWN} if disposed
+	 */
+	BoundedState pick() {
+		synchronized (this) {
+			if (shutdown) {
+				return SHUTDOWN;
+			}
+			BoundedState s = idle.pollLast();
+			if (s == null) {
+				if (busy.size() < threadCap) {
+					s = new BoundedState(this);
+				}
+				else {
+					s = busy.get(0);
+					for (int i = 1; i < busy.size(); i++) {
+						BoundedState candidate = busy.get(i);
+						if (candidate.markCount < s.markCount) {
+							s = candidate;
+						}
+					}
+				}
+			}
+			if (s.markCount++ == 0) {
+				busy.add(s);
+			}
+			return s;
+		}
+	}
+
+	/**
+	 * Release one usage of the given thread pool, making it idle if it was the last
+	 * one.
+	 *
+	 * @param s the {@link BoundedState} to release
+	 */
+	void release(BoundedState s) {
+		synchronized (this) {
+			if (shutdown || s.markCount == 0) {
+				return;
+			}
+			if (--s.markCount == 0) {
+				busy.remove(s);
+				s.idleSinceMillis = System.currentTimeMillis();
+				idle.offerLast(s);
+			}
+		}
+	}
+
+	@Override
+	public Disposable schedule(Runnable task) {
+		return schedule(task, 0L, TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+		BoundedState state = pick();
+		DirectScheduleTask dst = new DirectScheduleTask(task, state);
+		try {
+			dst.task = Schedulers.directSchedule(state.exec, dst, delay, unit);
+		}
+		catch (RejectedExecutionException ree) {
+			dst.release();
+			throw ree;
+		}
+		return dst;
+	}
+
+	@Override
+	public Disposable schedulePeriodically(Runnable task,
+			long initialDelay,
+			long period,
+			TimeUnit unit) {
+		BoundedState state = pick();
+		DirectScheduleTask dst = new DirectScheduleTask(task, state);
+		try {
+			dst.task = Schedulers.directSchedulePeriodically(state.exec,
+					task,
+					initialDelay,
+					period,
+					unit);
+		}
+		catch (RejectedExecutionException ree) {
+			dst.release();
+			throw ree;
+		}
+		return dst;
+	}
+
+	@Override
+	public Worker createWorker() {
+		return new BoundedWorker(pick());
+	}
+
+	void eviction() {
+		long now = System.currentTimeMillis();
+		List<BoundedState> evicted = new ArrayList<>();
+
+		synchronized (this) {
+			Iterator<BoundedState> it = idle.iterator();
+			while (it.hasNext()) {
+				BoundedState s = it.next();
+				if (s.idleSinceMillis + ttlSeconds * 1000L < now) {
+					it.remove();
+					evicted.add(s);
+				}
+			}
+		}
+
+		for (BoundedState s : evicted) {
+			s.exec.shutdownNow();
+		}
+	}
+
+	@Override
+	@Nullable
+	public Object scanUnsafe(Attr key) {
+		if (key == Attr.TERMINATED || key == Attr.CANCELLED) return isDisposed();
+		if (key == Attr.CAPACITY) return threadCap;
+		if (key == Attr.BUFFERED) {
+			synchronized (this) {
+				return idle.size();
+			}
+		}
+		if (key == Attr.NAME) return factory instanceof Schedulers.SchedulerThreadFactory ?
+				((Schedulers.SchedulerThreadFactory) factory).get() : null;
+		if (key == SchedulerMetrics.METRICS) return metrics;
+
+		return null;
+	}
+
+	@Override
+	public Stream<? extends Scannable> inners() {
+		List<BoundedState> states;
+		synchronized (this) {
+			states = new ArrayList<>(busy);
+			states.addAll(idle);
+		}
+		return states.stream();
+	}
+
+	static final class BoundedState implements Scannable {
+
+		final BoundedElasticScheduler parent;
+		final ScheduledExecutorService exec;
+
+		/**
+		 * The number of Workers and direct tasks currently using this thread pool,
+		 * guarded by the parent.
+		 */
+		int  markCount;
+		long idleSinceMillis;
+
+		BoundedState(@Nullable BoundedElasticScheduler parent) {
+			this.parent = parent;
+			if (parent != null) {
+				this.exec = Schedulers.decorateExecutorService(Schedulers.BOUNDED_ELASTIC,
+						parent::createExecutor,
+						parent.metrics);
+			}
+			else {
+				this.exec = Executors.newSingleThreadScheduledExecutor();
+				this.exec.shutdownNow();
+			}
+		}
+
+		void release() {
+			if (parent != null) {
+				parent.release(this);
+			}
+		}
+
+		@Override
+		@Nullable
+		public Object scanUnsafe(Attr key) {
+			if (key == Attr.PARENT) return parent;
+			if (key == Attr.TERMINATED || key == Attr.CANCELLED) return exec.isShutdown();
+			if (key == Attr.CAPACITY) return parent == null ? 0 : parent.queuedTaskCap;
+			if (key == Attr.BUFFERED) {
+				ScheduledExecutorService e = exec;
+				if (e instanceof InstrumentedExecutorService) {
+					e = ((InstrumentedExecutorService) e).delegate;
+				}
+				if (e instanceof ScheduledThreadPoolExecutor) {
+					return ((ScheduledThreadPoolExecutor) e).getQueue().size();
+				}
+				return null;
+			}
+
+			return null;
+		}
+	}
+
+	/**
+	 * A single-threaded {@link ScheduledThreadPoolExecutor} that rejects submissions
+	 * once its queue holds {@code queuedTaskCap} pending tasks.
+	 */
+	static final class BoundedScheduledExecutorService extends ScheduledThreadPoolExecutor {
+
+		final int queuedTaskCap;
+
+		BoundedScheduledExecutorService(int queuedTaskCap, ThreadFactory factory) {
+			super(1, factory);
+			setMaximumPoolSize(1);
+			setRemoveOnCancelPolicy(true);
+			this.queuedTaskCap = queuedTaskCap;
+		}
+
+		void ensureQueueCapacity() {
+			int queued = getQueue().size();
+			if (queued >= queuedTaskCap) {
+				throw new RejectedExecutionException("Task capacity of bounded elastic scheduler reached while scheduling 1 tasks (" + queued + "/" + queuedTaskCap + ")");
+			}
+		}
+
+		@Override
+		public synchronized ScheduledFuture<?> schedule(Runnable command,
+				long delay,
+				TimeUnit unit) {
+			ensureQueueCapacity();
+			return super.schedule(command, delay, unit);
+		}
+
+		@Override
+		public synchronized <V> ScheduledFuture<V> schedule(Callable<V> callable,
+				long delay,
+				TimeUnit unit) {
+			ensureQueueCapacity();
+			return super.schedule(callable, delay, unit);
+		}
+
+		@Override
+		public synchronized ScheduledFuture<?> scheduleAtFixedRate(Runnable command,
+				long initialDelay,
+				long period,
+				TimeUnit unit) {
+			ensureQueueCapacity();
+			return super.scheduleAtFixedRate(command, initialDelay, period, unit);
+		}
+
+		@Override
+		public synchronized ScheduledFuture<?> scheduleWithFixedDelay(Runnable command,
+				long initialDelay,
+				long delay,
+				TimeUnit unit) {
+			ensureQueueCapacity();
+			return super.scheduleWithFixedDelay(command, initialDelay, delay, unit);
+		}
+	}
+
+	static final class DirectScheduleTask extends AtomicBoolean
+			implements Runnable, Disposable {
+
+		final Runnable     delegate;
+		final BoundedState state;
+
+		volatile Disposable task;
+
+		DirectScheduleTask(Runnable delegate, BoundedState state) {
+			this.delegate = delegate;
+			this.state = state;
+		}
+
+		@Override
+		public void run() {
+			try {
+				delegate.run();
+			}
+			finally {
+				release();
+			}
+		}
+
+		void release() {
+			if (compareAndSet(false, true)) {
+				state.release();
+			}
+		}
+
+		@Override
+		public void dispose() {
+			Disposable t = task;
+			if (t != null) {
+				t.dispose();
+			}
+			release();
+		}
+
+		@Override
+		public boolean isDisposed() {
+			Disposable t = task;
+			return t != null && t.isDisposed();
+		}
+	}
+
+	static final class BoundedWorker extends AtomicBoolean implements Worker, Scannable {
+
+		final BoundedState state;
+
+		final Disposable.Composite tasks;
+
+		BoundedWorker(BoundedState state) {
+			this.state = state;
+			this.tasks = Disposables.composite();
+		}
+
+		@Override
+		public Disposable schedule(Runnable task) {
+			return Schedulers.workerSchedule(state.exec,
+					tasks,
+					task,
+					0L,
+					TimeUnit.MILLISECONDS);
+		}
+
+		@Override
+		public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+			return Schedulers.workerSchedule(state.exec, tasks, task, delay, unit);
+		}
+
+		@Override
+		public Disposable schedulePeriodically(Runnable task,
+				long initialDelay,
+				long period,
+				TimeUnit unit) {
+			return Schedulers.workerSchedulePeriodically(state.exec,
+					tasks,
+					task,
+					initialDelay,
+					period,
+					unit);
+		}
+
+		@Override
+		public void dispose() {
+			if (compareAndSet(false, true)) {
+				tasks.dispose();
+				state.release();
+			}
+		}
+
+		@Override
+		public boolean isDisposed() {
+			return tasks.isDisposed();
+		}
+
+		@Override
+		@Nullable
+		public Object scanUnsafe(Attr key) {
+			if (key == Attr.TERMINATED || key == Attr.CANCELLED) return isDisposed();
+			if (key == Attr.PARENT) return state;
+
+			return null;
+		}
+	}
+}
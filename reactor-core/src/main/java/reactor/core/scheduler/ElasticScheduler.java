@@ -30,6 +30,7 @@ import java.util.function.Supplier;
 
 import reactor.core.Disposable;
 import reactor.core.Disposables;
+import reactor.core.Scannable;
 import reactor.util.annotation.Nullable;
 
 /**
@@ -47,7 +48,8 @@ import reactor.util.annotation.Nullable;
  * @author Stephane Maldini
  * @author Simon Baslé
  */
-final class ElasticScheduler implements Scheduler, Supplier<ScheduledExecutorService> {
+final class ElasticScheduler implements Scheduler, Supplier<ScheduledExecutorService>,
+                                       Scannable {
 
 	static final AtomicLong COUNTER = new AtomicLong();
 
@@ -65,6 +67,8 @@ final class ElasticScheduler implements Scheduler, Supplier<ScheduledExecutorSer
 
 	final int ttlSeconds;
 
+	@Nullable
+	final SchedulerMetrics metrics;
 
 	final Queue<ScheduledExecutorServiceExpiry> cache;
 
@@ -81,6 +85,7 @@ final class ElasticScheduler implements Scheduler, Supplier<ScheduledExecutorSer
 		}
 		this.ttlSeconds = ttlSeconds;
 		this.factory = factory;
+		this.metrics = Schedulers.newMetrics(Schedulers.ELASTIC, factory);
 		this.cache = new ConcurrentLinkedQueue<>();
 		this.all = new ConcurrentLinkedQueue<>();
 		this.evictor = Executors.newScheduledThreadPool(1, EVICTOR_FACTORY);
@@ -182,6 +187,18 @@ final class ElasticScheduler implements Scheduler, Supplier<ScheduledExecutorSer
 		return new ElasticWorker(pick());
 	}
 
+	@Override
+	@Nullable
+	public Object scanUnsafe(Attr key) {
+		if (key == Attr.TERMINATED || key == Attr.CANCELLED) return isDisposed();
+		if (key == Attr.CAPACITY) return Integer.MAX_VALUE;
+		if (key == Attr.BUFFERED) return cache.size();
+		if (key == Attr.NAME && factory instanceof Supplier) return String.valueOf(((Supplier<?>) factory).get());
+		if (key == SchedulerMetrics.METRICS) return metrics;
+
+		return null;
+	}
+
 	void eviction() {
 		long now = System.currentTimeMillis();
 
@@ -204,7 +221,8 @@ final class ElasticScheduler implements Scheduler, Supplier<ScheduledExecutorSer
 			this.parent = parent;
 			if (parent != null) {
 				this.exec =
-						Schedulers.decorateExecutorService(Schedulers.ELASTIC, parent);
+						Schedulers.decorateExecutorService(Schedulers.ELASTIC, parent,
+								parent.metrics);
 			}
 			else {
 				this.exec = Executors.newSingleThreadScheduledExecutor();
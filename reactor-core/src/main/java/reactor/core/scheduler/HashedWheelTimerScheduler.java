@@ -0,0 +1,480 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.scheduler;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.Exceptions;
+import reactor.core.Scannable;
+import reactor.util.annotation.Nullable;
+
+/**
+ * Scheduler that tracks delayed tasks in a hashed timing wheel, driven by a single
+ * thread advancing the wheel by one bucket every tick. Scheduling and cancelling a
+ * task are O(1): each hands the task over to the wheel thread through a
+ * {@link ConcurrentLinkedQueue}, which allocates a queue node on top of the task
+ * itself, but neither takes a lock nor reorders a heap. This makes this scheduler
+ * suited for large amounts of timeouts that are most of the time cancelled before they
+ * fire.
+ * <p>
+ * Delays are rounded up to the next tick, so tasks run at most one tick late (plus the
+ * time taken by the tasks expiring before them), and tasks expiring within the same tick
+ * run in submission order rather than in deadline order.
+ * <p>
+ * All the tasks, including the ones submitted without delay, run on the wheel thread.
+ * They should thus be short and non-blocking, otherwise they delay the other timers:
+ * use {@code publishOn} to move heavier downstream processing to another
+ * {@link Scheduler}. Cancelling a running task doesn't interrupt it.
+ * <p>
+ * This scheduler is not restartable.
+ */
+final class HashedWheelTimerScheduler implements Scheduler, Scannable, Runnable {
+
+	static final AtomicLong COUNTER = new AtomicLong();
+
+	final String name;
+
+	final long tickNanos;
+
+	final Bucket[] wheel;
+
+	final int mask;
+
+	final Thread thread;
+
+	/**
+	 * Tasks to run as soon as possible, multi-producer single-consumer.
+	 */
+	final Queue<TimerTask> immediate;
+
+	/**
+	 * Delayed tasks not yet placed in the wheel, multi-producer single-consumer.
+	 */
+	final Queue<TimerTask> pending;
+
+	/**
+	 * Cancelled tasks to unlink from the wheel, multi-producer single-consumer.
+	 */
+	final Queue<TimerTask> cancelled;
+
+	/**
+	 * Reference time of the wheel, set once before the wheel thread starts.
+	 */
+	final long startNanos;
+
+	/**
+	 * Index of the next tick to expire, only accessed by the wheel thread.
+	 */
+	long tick;
+
+	volatile boolean terminated;
+
+	HashedWheelTimerScheduler(String name,
+			long tick,
+			TimeUnit unit,
+			int wheelSize,
+			ThreadFactory factory) {
+		if (tick <= 0L) {
+			throw new IllegalArgumentException("tick > 0 required but it was " + tick);
+		}
+		if (wheelSize <= 0 || wheelSize > 1 << 30) {
+			throw new IllegalArgumentException("wheelSize in (0, 2^30] required but it was " + wheelSize);
+		}
+		this.name = name;
+		this.tickNanos = Math.max(1L, unit.toNanos(tick));
+		int size = 1;
+		while (size < wheelSize) {
+			size <<= 1;
+		}
+		this.wheel = new Bucket[size];
+		for (int i = 0; i < size; i++) {
+			wheel[i] = new Bucket();
+		}
+		this.mask = size - 1;
+		this.immediate = new ConcurrentLinkedQueue<>();
+		this.pending = new ConcurrentLinkedQueue<>();
+		this.cancelled = new ConcurrentLinkedQueue<>();
+		this.startNanos = System.nanoTime();
+		this.thread = factory.newThread(this);
+		this.thread.start();
+	}
+
+	@Override
+	public void start() {
+		throw new UnsupportedOperationException("Restarting not supported yet");
+	}
+
+	@Override
+	public boolean isDisposed() {
+		return terminated;
+	}
+
+	@Override
+	public void dispose() {
+		if (!terminated) {
+			terminated = true;
+			LockSupport.unpark(thread);
+		}
+	}
+
+	@Override
+	public Disposable schedule(Runnable task) {
+		return submit(new TimerTask(task, this, null, 0L, 0L));
+	}
+
+	@Override
+	public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+		return submit(new TimerTask(task, this, null, unit.toNanos(delay), 0L));
+	}
+
+	@Override
+	public Disposable schedulePeriodically(Runnable task,
+			long initialDelay,
+			long period,
+			TimeUnit unit) {
+		if (period <= 0L) {
+			throw new IllegalArgumentException("period > 0 required but it was " + period);
+		}
+		return submit(new TimerTask(task,
+				this,
+				null,
+				unit.toNanos(initialDelay),
+				unit.toNanos(period)));
+	}
+
+	@Override
+	public Worker createWorker() {
+		return new TimerWorker(this);
+	}
+
+	TimerTask submit(TimerTask t) {
+		if (terminated) {
+			throw Exceptions.failWithRejected();
+		}
+		if (t.deadlineNanos - System.nanoTime() <= 0L) {
+			immediate.offer(t);
+			LockSupport.unpark(thread);
+		}
+		else {
+			pending.offer(t);
+		}
+		//covers a dispose racing with the offer, the task is dropped by the wheel thread
+		if (terminated) {
+			t.dispose();
+			throw Exceptions.failWithRejected();
+		}
+		return t;
+	}
+
+	@Override
+	public void run() {
+		while (!terminated) {
+			TimerTask t;
+			while ((t = immediate.poll()) != null) {
+				t.run();
+			}
+
+			long deadline = startNanos + (tick + 1) * tickNanos;
+			long waitNanos = deadline - System.nanoTime();
+			if (waitNanos <= 0L) {
+				expireTick();
+			}
+			else if (immediate.isEmpty()) {
+				LockSupport.parkNanos(this, waitNanos);
+			}
+		}
+		for (Bucket b : wheel) {
+			b.clear();
+		}
+		immediate.clear();
+		pending.clear();
+		cancelled.clear();
+	}
+
+	void expireTick() {
+		TimerTask t;
+		while ((t = cancelled.poll()) != null) {
+			Bucket b = t.bucket;
+			if (b != null) {
+				b.remove(t);
+			}
+		}
+		while ((t = pending.poll()) != null) {
+			if (!t.isDisposed()) {
+				place(t);
+			}
+		}
+
+		Bucket bucket = wheel[(int) (tick & mask)];
+		t = bucket.head;
+		while (t != null) {
+			TimerTask next = t.next;
+			if (t.remainingRounds <= 0L) {
+				bucket.remove(t);
+				t.run();
+			}
+			else {
+				t.remainingRounds--;
+			}
+			t = next;
+		}
+		tick++;
+	}
+
+	void place(TimerTask t) {
+		long ticks = Math.max((t.deadlineNanos - startNanos) / tickNanos, tick);
+		t.remainingRounds = (ticks - tick) / wheel.length;
+		wheel[(int) (ticks & mask)].add(t);
+	}
+
+	@Override
+	@Nullable
+	public Object scanUnsafe(Attr key) {
+		if (key == Attr.TERMINATED || key == Attr.CANCELLED) return isDisposed();
+		if (key == Attr.NAME) return name;
+		if (key == Attr.CAPACITY) return wheel.length;
+
+		return null;
+	}
+
+	/**
+	 * A doubly-linked list of the tasks hashed to one slot of the wheel, only accessed
+	 * by the wheel thread.
+	 */
+	static final class Bucket {
+
+		@Nullable
+		TimerTask head;
+		@Nullable
+		TimerTask tail;
+
+		void add(TimerTask t) {
+			t.bucket = this;
+			if (tail == null) {
+				head = tail = t;
+			}
+			else {
+				tail.next = t;
+				t.prev = tail;
+				tail = t;
+			}
+		}
+
+		void remove(TimerTask t) {
+			TimerTask prev = t.prev;
+			TimerTask next = t.next;
+			if (prev != null) {
+				prev.next = next;
+			}
+			else {
+				head = next;
+			}
+			if (next != null) {
+				next.prev = prev;
+			}
+			else {
+				tail = prev;
+			}
+			t.prev = null;
+			t.next = null;
+			t.bucket = null;
+		}
+
+		void clear() {
+			TimerTask t = head;
+			while (t != null) {
+				TimerTask next = t.next;
+				t.prev = null;
+				t.next = null;
+				t.bucket = null;
+				t = next;
+			}
+			head = null;
+			tail = null;
+		}
+	}
+
+	/**
+	 * A task submitted directly or through a {@link TimerWorker}, optionally after a
+	 * delay and repeatedly at a fixed rate. Disposing it flags it and lets the wheel
+	 * thread unlink it on its next tick.
+	 */
+	static final class TimerTask implements Runnable, Disposable {
+
+		final Runnable                  task;
+		final HashedWheelTimerScheduler scheduler;
+		@Nullable
+		final Composite                 parent;
+		final long                      periodNanos;
+
+		long deadlineNanos;
+
+		//wheel state, only accessed by the wheel thread
+		long      remainingRounds;
+		@Nullable
+		Bucket    bucket;
+		@Nullable
+		TimerTask prev;
+		@Nullable
+		TimerTask next;
+
+		volatile int state;
+		static final AtomicIntegerFieldUpdater<TimerTask> STATE =
+				AtomicIntegerFieldUpdater.newUpdater(TimerTask.class, "state");
+
+		static final int WAITING   = 0;
+		static final int RUNNING   = 1;
+		static final int DONE      = 2;
+		static final int CANCELLED = 3;
+
+		TimerTask(Runnable task,
+				HashedWheelTimerScheduler scheduler,
+				@Nullable Composite parent,
+				long delayNanos,
+				long periodNanos) {
+			this.task = Objects.requireNonNull(task, "task");
+			this.scheduler = scheduler;
+			this.parent = parent;
+			this.periodNanos = periodNanos;
+			this.deadlineNanos = System.nanoTime() + Math.max(0L, delayNanos);
+		}
+
+		@Override
+		public void run() {
+			if (!STATE.compareAndSet(this, WAITING, RUNNING)) {
+				return;
+			}
+			try {
+				task.run();
+			}
+			catch (Throwable ex) {
+				Schedulers.handleError(ex);
+			}
+			if (periodNanos > 0L && STATE.compareAndSet(this, RUNNING, WAITING)) {
+				deadlineNanos += periodNanos;
+				//the next deadline may already be past, it then expires on the next tick
+				scheduler.pending.offer(this);
+			}
+			else if (STATE.compareAndSet(this, RUNNING, DONE) && parent != null) {
+				parent.remove(this);
+			}
+		}
+
+		@Override
+		public void dispose() {
+			for (; ; ) {
+				int s = state;
+				if (s >= DONE) {
+					return;
+				}
+				if (STATE.compareAndSet(this, s, CANCELLED)) {
+					if (s == WAITING) {
+						scheduler.cancelled.offer(this);
+					}
+					if (parent != null) {
+						parent.remove(this);
+					}
+					return;
+				}
+			}
+		}
+
+		@Override
+		public boolean isDisposed() {
+			return state >= DONE;
+		}
+	}
+
+	static final class TimerWorker implements Worker, Scannable {
+
+		final HashedWheelTimerScheduler parent;
+
+		final Composite tasks;
+
+		TimerWorker(HashedWheelTimerScheduler parent) {
+			this.parent = parent;
+			this.tasks = Disposables.composite();
+		}
+
+		@Override
+		public Disposable schedule(Runnable task) {
+			return track(new TimerTask(task, parent, tasks, 0L, 0L));
+		}
+
+		@Override
+		public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+			return track(new TimerTask(task, parent, tasks, unit.toNanos(delay), 0L));
+		}
+
+		@Override
+		public Disposable schedulePeriodically(Runnable task,
+				long initialDelay,
+				long period,
+				TimeUnit unit) {
+			if (period <= 0L) {
+				throw new IllegalArgumentException("period > 0 required but it was " + period);
+			}
+			return track(new TimerTask(task,
+					parent,
+					tasks,
+					unit.toNanos(initialDelay),
+					unit.toNanos(period)));
+		}
+
+		TimerTask track(TimerTask t) {
+			if (!tasks.add(t)) {
+				throw Exceptions.failWithRejected();
+			}
+			try {
+				return parent.submit(t);
+			}
+			catch (Throwable ex) {
+				tasks.remove(t);
+				throw ex;
+			}
+		}
+
+		@Override
+		public void dispose() {
+			tasks.dispose();
+		}
+
+		@Override
+		public boolean isDisposed() {
+			return tasks.isDisposed();
+		}
+
+		@Override
+		@Nullable
+		public Object scanUnsafe(Attr key) {
+			if (key == Attr.TERMINATED || key == Attr.CANCELLED) return isDisposed();
+			if (key == Attr.PARENT) return parent;
+			if (key == Attr.BUFFERED) return tasks.size();
+
+			return null;
+		}
+	}
+}
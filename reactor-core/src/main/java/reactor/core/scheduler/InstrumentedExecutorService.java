@@ -0,0 +1,396 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.scheduler;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+import reactor.util.annotation.Nullable;
+
+/**
+ * A {@link ScheduledExecutorService} wrapping the tasks submitted to a delegate in
+ * order to record them into {@link SchedulerMetrics}. The wrapper doubles as the
+ * {@link ScheduledFuture} returned to the caller, so each task costs a single extra
+ * allocation.
+ * <p>
+ * Tasks dropped by {@link #shutdownNow()} are no longer counted as pending, and their
+ * futures are cancelled as they will never run.
+ * <p>
+ * {@code invokeAll} and {@code invokeAny} are delegated without instrumentation, as
+ * they are not used by Reactor's schedulers.
+ */
+final class InstrumentedExecutorService implements ScheduledExecutorService {
+
+	final ScheduledExecutorService delegate;
+	final SchedulerMetrics         metrics;
+
+	InstrumentedExecutorService(ScheduledExecutorService delegate, SchedulerMetrics metrics) {
+		this.delegate = delegate;
+		this.metrics = metrics;
+	}
+
+	<V> InstrumentedTask<V> submitted(InstrumentedTask<V> task, Future<V> future) {
+		task.future = future;
+		return task;
+	}
+
+	@Override
+	public void execute(Runnable command) {
+		InstrumentedTask<Void> task = new InstrumentedTask<>(command, metrics, 0L, 0L);
+		metrics.recordSubmitted();
+		try {
+			delegate.execute(task);
+		}
+		catch (RejectedExecutionException ree) {
+			metrics.recordRejected();
+			throw ree;
+		}
+	}
+
+	@Override
+	public Future<?> submit(Runnable command) {
+		InstrumentedTask<Void> task = new InstrumentedTask<>(command, metrics, 0L, 0L);
+		metrics.recordSubmitted();
+		try {
+			return submitted(task, delegate.submit(task, null));
+		}
+		catch (RejectedExecutionException ree) {
+			metrics.recordRejected();
+			throw ree;
+		}
+	}
+
+	@Override
+	public <T> Future<T> submit(Runnable command, T result) {
+		InstrumentedTask<T> task = new InstrumentedTask<>(command, metrics, 0L, 0L);
+		metrics.recordSubmitted();
+		try {
+			return submitted(task, delegate.submit(task, result));
+		}
+		catch (RejectedExecutionException ree) {
+			metrics.recordRejected();
+			throw ree;
+		}
+	}
+
+	@Override
+	public <T> Future<T> submit(Callable<T> callable) {
+		InstrumentedTask<T> task = new InstrumentedTask<>(callable, metrics, 0L, 0L);
+		metrics.recordSubmitted();
+		try {
+			return submitted(task, delegate.submit((Callable<T>) task));
+		}
+		catch (RejectedExecutionException ree) {
+			metrics.recordRejected();
+			throw ree;
+		}
+	}
+
+	@Override
+	public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+		InstrumentedTask<Void> task =
+				new InstrumentedTask<>(command, metrics, unit.toNanos(delay), 0L);
+		metrics.recordSubmitted();
+		try {
+			return submitted(task, delegate.schedule((Callable<Void>) task, delay, unit));
+		}
+		catch (RejectedExecutionException ree) {
+			metrics.recordRejected();
+			throw ree;
+		}
+	}
+
+	@Override
+	public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+		InstrumentedTask<V> task =
+				new InstrumentedTask<>(callable, metrics, unit.toNanos(delay), 0L);
+		metrics.recordSubmitted();
+		try {
+			return submitted(task, delegate.schedule((Callable<V>) task, delay, unit));
+		}
+		catch (RejectedExecutionException ree) {
+			metrics.recordRejected();
+			throw ree;
+		}
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public ScheduledFuture<?> scheduleAtFixedRate(Runnable command,
+			long initialDelay,
+			long period,
+			TimeUnit unit) {
+		InstrumentedTask<Void> task = new InstrumentedTask<>(command,
+				metrics,
+				unit.toNanos(initialDelay),
+				unit.toNanos(period));
+		metrics.recordSubmitted();
+		try {
+			return submitted(task,
+					(Future<Void>) delegate.scheduleAtFixedRate(task, initialDelay, period, unit));
+		}
+		catch (RejectedExecutionException ree) {
+			metrics.recordRejected();
+			throw ree;
+		}
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command,
+			long initialDelay,
+			long delay,
+			TimeUnit unit) {
+		InstrumentedTask<Void> task = new InstrumentedTask<>(command,
+				metrics,
+				unit.toNanos(initialDelay),
+				-unit.toNanos(delay));
+		metrics.recordSubmitted();
+		try {
+			return submitted(task,
+					(Future<Void>) delegate.scheduleWithFixedDelay(task, initialDelay, delay, unit));
+		}
+		catch (RejectedExecutionException ree) {
+			metrics.recordRejected();
+			throw ree;
+		}
+	}
+
+	@Override
+	public void shutdown() {
+		delegate.shutdown();
+	}
+
+	@Override
+	public List<Runnable> shutdownNow() {
+		List<Runnable> dropped = delegate.shutdownNow();
+		for (Runnable r : dropped) {
+			if (r instanceof InstrumentedTask) {
+				((InstrumentedTask<?>) r).dropped();
+			}
+			//cancelling the dropped future makes a later InstrumentedTask#cancel a no-op,
+			//so that it is not counted twice
+			else if (!(r instanceof Future) || ((Future<?>) r).cancel(false)) {
+				metrics.pending.decrement();
+			}
+		}
+		return dropped;
+	}
+
+	@Override
+	public boolean isShutdown() {
+		return delegate.isShutdown();
+	}
+
+	@Override
+	public boolean isTerminated() {
+		return delegate.isTerminated();
+	}
+
+	@Override
+	public boolean awaitTermination(long timeout, TimeUnit unit)
+			throws InterruptedException {
+		return delegate.awaitTermination(timeout, unit);
+	}
+
+	@Override
+	public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks)
+			throws InterruptedException {
+		return delegate.invokeAll(tasks);
+	}
+
+	@Override
+	public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks,
+			long timeout,
+			TimeUnit unit) throws InterruptedException {
+		return delegate.invokeAll(tasks, timeout, unit);
+	}
+
+	@Override
+	public <T> T invokeAny(Collection<? extends Callable<T>> tasks)
+			throws InterruptedException, ExecutionException {
+		return delegate.invokeAny(tasks);
+	}
+
+	@Override
+	public <T> T invokeAny(Collection<? extends Callable<T>> tasks,
+			long timeout,
+			TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+		return delegate.invokeAny(tasks, timeout, unit);
+	}
+
+	/**
+	 * A task measuring the time it waited since it was due and the time it ran. Its
+	 * state tracks whether it is counted in {@link SchedulerMetrics#queueDepth()}.
+	 *
+	 * @param <V> the result type
+	 */
+	static final class InstrumentedTask<V> implements Runnable, Callable<V>, ScheduledFuture<V> {
+
+		final Object           task;
+		final SchedulerMetrics metrics;
+
+		/**
+		 * Positive for fixed-rate tasks, negative for fixed-delay tasks, 0 for one-shot
+		 * tasks, as in {@link java.util.concurrent.ScheduledThreadPoolExecutor}.
+		 */
+		final long periodNanos;
+
+		long dueNanos;
+
+		Future<V> future;
+
+		volatile int state;
+		static final AtomicIntegerFieldUpdater<InstrumentedTask> STATE =
+				AtomicIntegerFieldUpdater.newUpdater(InstrumentedTask.class, "state");
+
+		static final int PENDING   = 0;
+		static final int RUNNING   = 1;
+		static final int DONE      = 2;
+		static final int CANCELLED = 3;
+
+		InstrumentedTask(Object task, SchedulerMetrics metrics, long delayNanos, long periodNanos) {
+			this.task = task;
+			this.metrics = metrics;
+			this.periodNanos = periodNanos;
+			this.dueNanos = System.nanoTime() + Math.max(0L, delayNanos);
+		}
+
+		@Override
+		public void run() {
+			long start = started();
+			boolean success = false;
+			try {
+				((Runnable) task).run();
+				success = true;
+			}
+			finally {
+				finished(start, success);
+			}
+		}
+
+		@Override
+		@Nullable
+		@SuppressWarnings("unchecked")
+		public V call() throws Exception {
+			long start = started();
+			try {
+				if (task instanceof Callable) {
+					return ((Callable<V>) task).call();
+				}
+				((Runnable) task).run();
+				return null;
+			}
+			finally {
+				finished(start, false);
+			}
+		}
+
+		long started() {
+			long start = System.nanoTime();
+			if (STATE.compareAndSet(this, PENDING, RUNNING)) {
+				metrics.pending.decrement();
+			}
+			return start;
+		}
+
+		void finished(long start, boolean periodicSuccess) {
+			long end = System.nanoTime();
+			metrics.recordCompleted(start - dueNanos, end - start);
+
+			if (periodNanos != 0L && periodicSuccess) {
+				dueNanos = periodNanos > 0L ? dueNanos + periodNanos : end - periodNanos;
+				if (STATE.compareAndSet(this, RUNNING, PENDING)) {
+					metrics.pending.increment();
+				}
+			}
+			else {
+				STATE.compareAndSet(this, RUNNING, DONE);
+			}
+		}
+
+		void dropped() {
+			if (STATE.compareAndSet(this, PENDING, CANCELLED)) {
+				metrics.pending.decrement();
+			}
+		}
+
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning) {
+			boolean cancelled = future.cancel(mayInterruptIfRunning);
+			if (cancelled) {
+				for (; ; ) {
+					int s = state;
+					if (s >= DONE) {
+						break;
+					}
+					if (STATE.compareAndSet(this, s, CANCELLED)) {
+						if (s == PENDING) {
+							metrics.pending.decrement();
+						}
+						break;
+					}
+				}
+			}
+			return cancelled;
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return future.isCancelled();
+		}
+
+		@Override
+		public boolean isDone() {
+			return future.isDone();
+		}
+
+		@Override
+		public V get() throws InterruptedException, ExecutionException {
+			return future.get();
+		}
+
+		@Override
+		public V get(long timeout, TimeUnit unit)
+				throws InterruptedException, ExecutionException, TimeoutException {
+			return future.get(timeout, unit);
+		}
+
+		@Override
+		public long getDelay(TimeUnit unit) {
+			if (future instanceof Delayed) {
+				return ((Delayed) future).getDelay(unit);
+			}
+			return 0L;
+		}
+
+		@Override
+		public int compareTo(Delayed o) {
+			return Long.compare(getDelay(TimeUnit.NANOSECONDS), o.getDelay(TimeUnit.NANOSECONDS));
+		}
+	}
+}
@@ -15,25 +15,37 @@
  */
 package reactor.core.scheduler;
 
+import java.util.concurrent.Callable;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RunnableScheduledFuture;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.IntUnaryOperator;
 import java.util.function.Supplier;
 
 import reactor.core.Disposable;
+import reactor.core.Scannable;
+import reactor.util.annotation.Nullable;
 
 /**
  * Scheduler that hosts a fixed pool of single-threaded ScheduledExecutorService-based workers
  * and is suited for parallel work. This scheduler is time-capable (can schedule with
  * delay / periodically).
+ * <p>
+ * The executor hosting each new Worker or direct task is chosen by a
+ * {@link WorkerSelector}, which can take into account the number of tasks pending on
+ * each executor (including delayed tasks that are not due yet). That count is only
+ * tracked for the default executors, decorated executors always report 0.
  *
  * @author Stephane Maldini
  * @author Simon Baslé
  */
-final class ParallelScheduler implements Scheduler, Supplier<ScheduledExecutorService> {
+final class ParallelScheduler implements Scheduler, Supplier<ScheduledExecutorService>, Scannable {
 
     static final AtomicLong COUNTER = new AtomicLong();
 
@@ -53,30 +65,42 @@ final class ParallelScheduler implements Scheduler, Supplier<ScheduledExecutorSe
         TERMINATED.shutdownNow();
     }
 
-    int roundRobin;
+    final WorkerSelector selector;
+
+    final IntUnaryOperator pendingTasks;
+
+    @Nullable
+    final SchedulerMetrics metrics;
 
     ParallelScheduler(int n, ThreadFactory factory) {
+        this(n, factory, WorkerSelector.roundRobin());
+    }
+
+    ParallelScheduler(int n, ThreadFactory factory, WorkerSelector selector) {
         if (n <= 0) {
             throw new IllegalArgumentException("n > 0 required but it was " + n);
         }
         this.n = n;
         this.factory = factory;
+        this.selector = selector;
+        this.pendingTasks = this::pendingTasks;
+        this.metrics = Schedulers.newMetrics(Schedulers.PARALLEL, factory);
         init(n);
     }
 
     /**
      * Instantiates the default {@link ScheduledExecutorService} for the ParallelScheduler
-     * ({@code Executors.newSingleThreadScheduledExecutor}).
+     * (a single-threaded {@link ScheduledThreadPoolExecutor} tracking its pending tasks).
      */
     @Override
     public ScheduledExecutorService get() {
-        return Executors.newSingleThreadScheduledExecutor(factory);
+        return new PendingTasksExecutor(factory);
     }
     
     void init(int n) {
         ScheduledExecutorService[] a = new ScheduledExecutorService[n];
         for (int i = 0; i < n; i++) {
-            a[i] = Schedulers.decorateExecutorService(Schedulers.PARALLEL, this);
+            a[i] = Schedulers.decorateExecutorService(Schedulers.PARALLEL, this, metrics);
         }
         EXECUTORS.lazySet(this, a);
     }
@@ -103,7 +127,7 @@ final class ParallelScheduler implements Scheduler, Supplier<ScheduledExecutorSe
             if (b == null) {
                 b = new ScheduledExecutorService[n];
                 for (int i = 0; i < n; i++) {
-                    b[i] = Schedulers.decorateExecutorService(Schedulers.PARALLEL, this);
+                    b[i] = Schedulers.decorateExecutorService(Schedulers.PARALLEL, this, metrics);
                 }
             }
             
@@ -129,19 +153,25 @@ final class ParallelScheduler implements Scheduler, Supplier<ScheduledExecutorSe
     ScheduledExecutorService pick() {
         ScheduledExecutorService[] a = executors;
         if (a != SHUTDOWN) {
-            // ignoring the race condition here, its already random who gets which executor
-            int idx = roundRobin;
-            if (idx == n) {
-                idx = 0;
-                roundRobin = 1;
-            } else {
-                roundRobin = idx + 1;
-            }
-            return a[idx];
+            return a[selector.select(n, pendingTasks)];
         }
         return TERMINATED;
     }
 
+    int pendingTasks(int index) {
+        ScheduledExecutorService[] a = executors;
+        if (index < a.length) {
+            ScheduledExecutorService exec = a[index];
+            if (exec instanceof InstrumentedExecutorService) {
+                exec = ((InstrumentedExecutorService) exec).delegate;
+            }
+            if (exec instanceof PendingTasksExecutor) {
+                return ((PendingTasksExecutor) exec).pending;
+            }
+        }
+        return 0;
+    }
+
     @Override
     public Disposable schedule(Runnable task) {
 	    return Schedulers.directSchedule(pick(), task, 0L, TimeUnit.MILLISECONDS);
@@ -168,4 +198,70 @@ final class ParallelScheduler implements Scheduler, Supplier<ScheduledExecutorSe
     public Worker createWorker() {
         return new ExecutorServiceWorker(pick());
     }
+
+    @Override
+    @Nullable
+    public Object scanUnsafe(Attr key) {
+        if (key == Attr.TERMINATED || key == Attr.CANCELLED) return isDisposed();
+        if (key == Attr.CAPACITY) return n;
+        if (key == Attr.NAME && factory instanceof Supplier) return String.valueOf(((Supplier<?>) factory).get());
+        if (key == SchedulerMetrics.METRICS) return metrics;
+
+        return null;
+    }
+
+    /**
+     * A single-threaded {@link ScheduledThreadPoolExecutor} maintaining a count of
+     * its queued tasks through its extension hooks, so that it can be read without
+     * inspecting the (locked) work queue.
+     */
+    static final class PendingTasksExecutor extends ScheduledThreadPoolExecutor {
+
+        volatile int pending;
+        static final AtomicIntegerFieldUpdater<PendingTasksExecutor> PENDING =
+                AtomicIntegerFieldUpdater.newUpdater(PendingTasksExecutor.class, "pending");
+
+        PendingTasksExecutor(ThreadFactory factory) {
+            super(1, factory);
+            setRemoveOnCancelPolicy(true);
+        }
+
+        @Override
+        protected <V> RunnableScheduledFuture<V> decorateTask(Runnable runnable,
+                RunnableScheduledFuture<V> task) {
+            PENDING.incrementAndGet(this);
+            return task;
+        }
+
+        @Override
+        protected <V> RunnableScheduledFuture<V> decorateTask(Callable<V> callable,
+                RunnableScheduledFuture<V> task) {
+            PENDING.incrementAndGet(this);
+            return task;
+        }
+
+        @Override
+        protected void beforeExecute(Thread t, Runnable r) {
+            PENDING.decrementAndGet(this);
+        }
+
+        @Override
+        protected void afterExecute(Runnable r, @Nullable Throwable t) {
+            //periodic tasks are put back in the queue after each run
+            if (r instanceof RunnableScheduledFuture
+                    && ((RunnableScheduledFuture) r).isPeriodic()
+                    && !((RunnableScheduledFuture) r).isDone()) {
+                PENDING.incrementAndGet(this);
+            }
+        }
+
+        @Override
+        public boolean remove(Runnable task) {
+            if (super.remove(task)) {
+                PENDING.decrementAndGet(this);
+                return true;
+            }
+            return false;
+        }
+    }
 }
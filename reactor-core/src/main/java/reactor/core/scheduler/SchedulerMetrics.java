@@ -0,0 +1,336 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.scheduler;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import reactor.core.Scannable;
+
+/**
+ * Task metrics of a {@link Scheduler}: the number of submitted, completed and rejected
+ * tasks, the number of tasks waiting to be executed and histograms of the time tasks
+ * wait before being executed and of the time they run.
+ * <p>
+ * Metrics are opt-in: they are only recorded for the {@link Schedulers#newParallel(String) parallel},
+ * {@link Schedulers#newSingle(String) single}, {@link Schedulers#newElastic(String) elastic},
+ * {@link Schedulers#newBoundedElastic(int, int, String) bounded elastic},
+ * {@link Schedulers#newVirtualThreadPerTask(String) thread-per-task} and
+ * {@link Schedulers#newWorkStealing(String, int) work-stealing} schedulers created
+ * after {@link Schedulers#enableMetrics()}, and are then exposed through the
+ * {@link #METRICS} {@link Scannable} attribute of the scheduler. A {@link Listener}
+ * can also be registered to export each task measurement.
+ * <p>
+ * All the recording is lock-free. A periodic task counts as one submitted task, but
+ * each of its executions is recorded as a completed task.
+ *
+ * @see Schedulers#enableMetrics(Listener)
+ */
+public final class SchedulerMetrics {
+
+	/**
+	 * A {@link SchedulerMetrics} attribute exposed by instrumented schedulers, or
+	 * {@literal null} if metrics were not enabled when the scheduler was created.
+	 */
+	public static final Scannable.Attr<SchedulerMetrics> METRICS = new MetricsAttr();
+
+	final String   type;
+	final String   name;
+	final Listener listener;
+
+	final LongAdder submitted = new LongAdder();
+	final LongAdder completed = new LongAdder();
+	final LongAdder rejected  = new LongAdder();
+	final LongAdder pending   = new LongAdder();
+
+	final Histogram waitTime = new Histogram();
+	final Histogram runTime  = new Histogram();
+
+	SchedulerMetrics(String type, String name, Listener listener) {
+		this.type = type;
+		this.name = name;
+		this.listener = listener;
+	}
+
+	/**
+	 * @return the flavor of the scheduler, e.g. {@code parallel} or {@code elastic}
+	 */
+	public String type() {
+		return type;
+	}
+
+	/**
+	 * @return the name of the scheduler, usually its thread prefix
+	 */
+	public String name() {
+		return name;
+	}
+
+	/**
+	 * @return the number of tasks accepted by the scheduler
+	 */
+	public long submittedCount() {
+		return submitted.sum();
+	}
+
+	/**
+	 * @return the number of task executions that finished, normally or not
+	 */
+	public long completedCount() {
+		return completed.sum();
+	}
+
+	/**
+	 * @return the number of tasks rejected by the scheduler
+	 */
+	public long rejectedCount() {
+		return rejected.sum();
+	}
+
+	/**
+	 * @return the number of tasks waiting to be executed, including delayed and
+	 * periodic tasks that are not due yet
+	 */
+	public long queueDepth() {
+		return Math.max(0L, pending.sum());
+	}
+
+	/**
+	 * @return the {@link Histogram} of the nanoseconds elapsed between the time a task
+	 * was due and the time it started executing
+	 */
+	public Histogram waitTime() {
+		return waitTime;
+	}
+
+	/**
+	 * @return the {@link Histogram} of the nanoseconds spent executing tasks
+	 */
+	public Histogram runTime() {
+		return runTime;
+	}
+
+	void recordSubmitted() {
+		submitted.increment();
+		pending.increment();
+		try {
+			listener.onTaskSubmitted(this);
+		}
+		catch (Throwable e) {
+			Schedulers.log.warn("SchedulerMetrics listener failed", e);
+		}
+	}
+
+	void recordRejected() {
+		submitted.decrement();
+		pending.decrement();
+		rejected.increment();
+		try {
+			listener.onTaskRejected(this);
+		}
+		catch (Throwable e) {
+			Schedulers.log.warn("SchedulerMetrics listener failed", e);
+		}
+	}
+
+	void recordCompleted(long waitNanos, long runNanos) {
+		completed.increment();
+		waitTime.record(waitNanos);
+		runTime.record(runNanos);
+		try {
+			listener.onTaskCompleted(this, waitNanos, runNanos);
+		}
+		catch (Throwable e) {
+			Schedulers.log.warn("SchedulerMetrics listener failed", e);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "SchedulerMetrics{" + type + "/" + name +
+				", submitted=" + submittedCount() +
+				", completed=" + completedCount() +
+				", rejected=" + rejectedCount() +
+				", queueDepth=" + queueDepth() +
+				", waitTime=" + waitTime +
+				", runTime=" + runTime + '}';
+	}
+
+	/**
+	 * A listener notified of each task measurement of the instrumented schedulers, for
+	 * instance to export them to a metrics library. Callbacks are invoked on the
+	 * submitting or executing thread and should be cheap and non-blocking.
+	 */
+	public interface Listener {
+
+		/**
+		 * Invoked when a task has been accepted by a scheduler.
+		 *
+		 * @param metrics the metrics of the scheduler
+		 */
+		default void onTaskSubmitted(SchedulerMetrics metrics) {
+		}
+
+		/**
+		 * Invoked when a task has been rejected by a scheduler.
+		 *
+		 * @param metrics the metrics of the scheduler
+		 */
+		default void onTaskRejected(SchedulerMetrics metrics) {
+		}
+
+		/**
+		 * Invoked when a task execution has finished, normally or not.
+		 *
+		 * @param metrics the metrics of the scheduler
+		 * @param waitNanos the nanoseconds elapsed between the time the task was due and
+		 * the time it started executing
+		 * @param runNanos the nanoseconds spent executing the task
+		 */
+		default void onTaskCompleted(SchedulerMetrics metrics, long waitNanos, long runNanos) {
+		}
+	}
+
+	/**
+	 * A lock-free histogram of positive {@code long} values (negative values are
+	 * recorded as 0). Values are counted in log-linear buckets: each power of two range
+	 * is split in 16 sub-buckets, so that values read back from the histogram are within
+	 * 1/16th (6.25%) of the recorded ones, whatever their magnitude.
+	 */
+	public static final class Histogram {
+
+		static final int SUB_BUCKET_BITS  = 4;
+		static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+		static final int BUCKET_COUNT     = (64 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+		final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+		final LongAdder       count  = new LongAdder();
+		final LongAdder       sum    = new LongAdder();
+		final AtomicLong      max    = new AtomicLong();
+
+		Histogram() {
+		}
+
+		static int indexOf(long value) {
+			if (value < SUB_BUCKET_COUNT) {
+				return (int) value;
+			}
+			int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+			int sub = (int) (value >>> shift) & (SUB_BUCKET_COUNT - 1);
+			return (shift + 1) * SUB_BUCKET_COUNT + sub;
+		}
+
+		static long highestValueAt(int index) {
+			if (index < SUB_BUCKET_COUNT) {
+				return index;
+			}
+			int shift = index / SUB_BUCKET_COUNT - 1;
+			long sub = index % SUB_BUCKET_COUNT;
+			return ((SUB_BUCKET_COUNT + sub + 1) << shift) - 1;
+		}
+
+		/**
+		 * Record a value.
+		 *
+		 * @param value the value to record
+		 */
+		public void record(long value) {
+			if (value < 0L) {
+				value = 0L;
+			}
+			counts.getAndIncrement(indexOf(value));
+			count.increment();
+			sum.add(value);
+			long m = max.get();
+			while (value > m && !max.compareAndSet(m, value)) {
+				m = max.get();
+			}
+		}
+
+		/**
+		 * @return the number of recorded values
+		 */
+		public long count() {
+			return count.sum();
+		}
+
+		/**
+		 * @return the highest recorded value, or 0 if none
+		 */
+		public long max() {
+			return max.get();
+		}
+
+		/**
+		 * @return the average of the recorded values, or 0 if none
+		 */
+		public double mean() {
+			long c = count.sum();
+			return c == 0L ? 0d : (double) sum.sum() / c;
+		}
+
+		/**
+		 * Return an approximation of the value under which the given percentage of the
+		 * recorded values fall, e.g. {@code valueAtPercentile(99)} for the 99th
+		 * percentile.
+		 *
+		 * @param percentile the percentile, between 0 and 100
+		 *
+		 * @return the value at the given percentile, or 0 if no value was recorded
+		 */
+		public long valueAtPercentile(double percentile) {
+			if (percentile < 0d || percentile > 100d) {
+				throw new IllegalArgumentException("percentile must be between 0 and 100, was " + percentile);
+			}
+			long total = 0L;
+			long[] snapshot = new long[BUCKET_COUNT];
+			for (int i = 0; i < BUCKET_COUNT; i++) {
+				snapshot[i] = counts.get(i);
+				total += snapshot[i];
+			}
+			if (total == 0L) {
+				return 0L;
+			}
+			long target = Math.max(1L, (long) Math.ceil(percentile / 100d * total));
+			long seen = 0L;
+			for (int i = 0; i < BUCKET_COUNT; i++) {
+				seen += snapshot[i];
+				if (seen >= target) {
+					return Math.min(highestValueAt(i), max());
+				}
+			}
+			return max();
+		}
+
+		@Override
+		public String toString() {
+			return "{count=" + count() +
+					", mean=" + (long) mean() +
+					", p50=" + valueAtPercentile(50d) +
+					", p99=" + valueAtPercentile(99d) +
+					", max=" + max() + '}';
+		}
+	}
+
+	static final class MetricsAttr extends Scannable.Attr<SchedulerMetrics> {
+
+		MetricsAttr() {
+			super(null);
+		}
+	}
+}
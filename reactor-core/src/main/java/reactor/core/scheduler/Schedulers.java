@@ -16,6 +16,7 @@
 
 package reactor.core.scheduler;
 
+import java.time.Duration;
 import java.util.Objects;
 import java.util.concurrent.Callable;
 import java.util.concurrent.Executor;
@@ -29,11 +30,14 @@ import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import reactor.core.Disposable;
 import reactor.core.Exceptions;
+import reactor.core.Scannable;
 import reactor.util.Logger;
 import reactor.util.Loggers;
+import reactor.util.annotation.Nullable;
 
 import static reactor.core.Exceptions.unwrap;
 
@@ -62,8 +66,28 @@ public abstract class Schedulers {
 	 */
 	public static final int DEFAULT_POOL_SIZE = Math.max(Runtime.getRuntime().availableProcessors(), 4);
 
+	/**
+	 * Default maximum size for the global {@link #boundedElastic()} {@link Scheduler},
+	 * initialized to 10 x number of processors available to the runtime on init.
+	 *
+	 * @see Runtime#availableProcessors()
+	 * @see #boundedElastic()
+	 */
+	public static final int DEFAULT_BOUNDED_ELASTIC_SIZE = 10 * Runtime.getRuntime().availableProcessors();
+
+	/**
+	 * Default maximum number of enqueued tasks per thread for the global
+	 * {@link #boundedElastic()} {@link Scheduler}, initialized to 100000.
+	 *
+	 * @see #boundedElastic()
+	 */
+	public static final int DEFAULT_BOUNDED_ELASTIC_QUEUESIZE = 100000;
+
 	static volatile BiConsumer<Thread, ? super Throwable> onHandleErrorHook;
 
+	@Nullable
+	static volatile SchedulerMetrics.Listener metricsListener;
+
 	/**
 	 * Create a {@link Scheduler} which uses a backing {@link Executor} to schedule
 	 * Runnables for async operators.
@@ -123,6 +147,27 @@ public abstract class Schedulers {
 		return cache(CACHED_ELASTIC, ELASTIC, ELASTIC_SUPPLIER);
 	}
 
+	/**
+	 * {@link Scheduler} that dynamically creates a bounded number of ExecutorService-based
+	 * Workers, reusing them once the Workers have been shut down. The underlying
+	 * single-threaded thread pools can be evicted if idle for more than
+	 * {@link BoundedElasticScheduler#DEFAULT_TTL_SECONDS 60} seconds.
+	 * <p>
+	 * The maximum number of created thread pools is capped to
+	 * {@link #DEFAULT_BOUNDED_ELASTIC_SIZE}, and each thread pool can hold at most
+	 * {@link #DEFAULT_BOUNDED_ELASTIC_QUEUESIZE} pending tasks, after which tasks are
+	 * rejected. Once the cap is reached, new Workers share the least used existing
+	 * thread pools.
+	 * <p>
+	 * This scheduler is not restartable.
+	 *
+	 * @return a reusable {@link Scheduler} that dynamically creates a bounded number of
+	 * ExecutorService-based Workers, suited for blocking work
+	 */
+	public static Scheduler boundedElastic() {
+		return cache(CACHED_BOUNDED_ELASTIC, BOUNDED_ELASTIC, BOUNDED_ELASTIC_SUPPLIER);
+	}
+
 	/**
 	 * Executes tasks on the caller's thread immediately.
 	 *
@@ -211,6 +256,110 @@ public abstract class Schedulers {
 		return factory.newElastic(ttlSeconds, threadFactory);
 	}
 
+	/**
+	 * {@link Scheduler} that dynamically creates a bounded number of ExecutorService-based
+	 * Workers, reusing them once the Workers have been shut down. The underlying
+	 * single-threaded thread pools can be evicted if idle for more than
+	 * {@link BoundedElasticScheduler#DEFAULT_TTL_SECONDS 60} seconds.
+	 * <p>
+	 * The maximum number of created thread pools is capped to {@code threadCap}, and
+	 * each thread pool can hold at most {@code queuedTaskCap} pending tasks, after which
+	 * tasks are rejected. Once the cap is reached, new Workers share the least used
+	 * existing thread pools.
+	 * <p>
+	 * This scheduler is not restartable.
+	 *
+	 * @param threadCap maximum number of underlying threads to create
+	 * @param queuedTaskCap maximum number of tasks to enqueue on each thread
+	 * @param name Thread prefix
+	 *
+	 * @return a new {@link Scheduler} that dynamically creates a bounded number of
+	 * ExecutorService-based Workers, suited for blocking work
+	 */
+	public static Scheduler newBoundedElastic(int threadCap, int queuedTaskCap, String name) {
+		return newBoundedElastic(threadCap, queuedTaskCap, name,
+				BoundedElasticScheduler.DEFAULT_TTL_SECONDS);
+	}
+
+	/**
+	 * {@link Scheduler} that dynamically creates a bounded number of ExecutorService-based
+	 * Workers, reusing them once the Workers have been shut down.
+	 * <p>
+	 * The maximum number of created thread pools is capped to {@code threadCap}, and
+	 * each thread pool can hold at most {@code queuedTaskCap} pending tasks, after which
+	 * tasks are rejected. Once the cap is reached, new Workers share the least used
+	 * existing thread pools.
+	 * <p>
+	 * This scheduler is not restartable.
+	 *
+	 * @param threadCap maximum number of underlying threads to create
+	 * @param queuedTaskCap maximum number of tasks to enqueue on each thread
+	 * @param name Thread prefix
+	 * @param ttlSeconds Time-to-live for an idle {@link reactor.core.scheduler.Scheduler.Worker},
+	 * in seconds and strictly positive
+	 *
+	 * @return a new {@link Scheduler} that dynamically creates a bounded number of
+	 * ExecutorService-based Workers, suited for blocking work
+	 */
+	public static Scheduler newBoundedElastic(int threadCap, int queuedTaskCap,
+			String name, int ttlSeconds) {
+		return newBoundedElastic(threadCap, queuedTaskCap, name, ttlSeconds, false);
+	}
+
+	/**
+	 * {@link Scheduler} that dynamically creates a bounded number of ExecutorService-based
+	 * Workers, reusing them once the Workers have been shut down.
+	 * <p>
+	 * The maximum number of created thread pools is capped to {@code threadCap}, and
+	 * each thread pool can hold at most {@code queuedTaskCap} pending tasks, after which
+	 * tasks are rejected. Once the cap is reached, new Workers share the least used
+	 * existing thread pools.
+	 * <p>
+	 * This scheduler is not restartable.
+	 *
+	 * @param threadCap maximum number of underlying threads to create
+	 * @param queuedTaskCap maximum number of tasks to enqueue on each thread
+	 * @param name Thread prefix
+	 * @param ttlSeconds Time-to-live for an idle {@link reactor.core.scheduler.Scheduler.Worker},
+	 * in seconds and strictly positive
+	 * @param daemon false if the {@link Scheduler} requires an explicit {@link
+	 * Scheduler#dispose()} to exit the VM.
+	 *
+	 * @return a new {@link Scheduler} that dynamically creates a bounded number of
+	 * ExecutorService-based Workers, suited for blocking work
+	 */
+	public static Scheduler newBoundedElastic(int threadCap, int queuedTaskCap,
+			String name, int ttlSeconds, boolean daemon) {
+		return newBoundedElastic(threadCap, queuedTaskCap,
+				new SchedulerThreadFactory(name, daemon, BoundedElasticScheduler.COUNTER),
+				ttlSeconds);
+	}
+
+	/**
+	 * {@link Scheduler} that dynamically creates a bounded number of ExecutorService-based
+	 * Workers, reusing them once the Workers have been shut down.
+	 * <p>
+	 * The maximum number of created thread pools is capped to {@code threadCap}, and
+	 * each thread pool can hold at most {@code queuedTaskCap} pending tasks, after which
+	 * tasks are rejected. Once the cap is reached, new Workers share the least used
+	 * existing thread pools.
+	 * <p>
+	 * This scheduler is not restartable.
+	 *
+	 * @param threadCap maximum number of underlying threads to create
+	 * @param queuedTaskCap maximum number of tasks to enqueue on each thread
+	 * @param threadFactory a {@link ThreadFactory} to use each thread initialization
+	 * @param ttlSeconds Time-to-live for an idle {@link reactor.core.scheduler.Scheduler.Worker},
+	 * in seconds and strictly positive
+	 *
+	 * @return a new {@link Scheduler} that dynamically creates a bounded number of
+	 * ExecutorService-based Workers, suited for blocking work
+	 */
+	public static Scheduler newBoundedElastic(int threadCap, int queuedTaskCap,
+			ThreadFactory threadFactory, int ttlSeconds) {
+		return factory.newBoundedElastic(threadCap, queuedTaskCap, threadFactory, ttlSeconds);
+	}
+
 	/**
 	 * {@link Scheduler} that hosts a fixed pool of single-threaded ExecutorService-based
 	 * workers and is suited for parallel work.
@@ -271,6 +420,196 @@ public abstract class Schedulers {
 		return factory.newParallel(parallelism, threadFactory);
 	}
 
+	/**
+	 * {@link Scheduler} that hosts a fixed pool of single-threaded ExecutorService-based
+	 * workers and is suited for parallel work, using the given {@link WorkerSelector}
+	 * to choose which worker hosts each new {@link reactor.core.scheduler.Scheduler.Worker}
+	 * or direct task.
+	 *
+	 * @param name Thread prefix
+	 * @param parallelism Number of pooled workers.
+	 * @param daemon false if the {@link Scheduler} requires an explicit {@link
+	 * Scheduler#dispose()} to exit the VM.
+	 * @param selector the {@link WorkerSelector} to use, e.g.
+	 * {@link WorkerSelector#leastPendingTasks()}
+	 *
+	 * @return a new {@link Scheduler} that hosts a fixed pool of single-threaded
+	 * ExecutorService-based workers and is suited for parallel work
+	 */
+	public static Scheduler newParallel(String name, int parallelism, boolean daemon,
+			WorkerSelector selector) {
+		return factory.newParallel(parallelism,
+				new SchedulerThreadFactory(name, daemon, ParallelScheduler.COUNTER),
+				selector);
+	}
+
+	/**
+	 * {@link Scheduler} that runs each {@link reactor.core.scheduler.Scheduler.Worker}
+	 * and each direct task on its own virtual thread, and is suited for wrapping
+	 * blocking calls. Cancelling a task interrupts its thread if it is running.
+	 * <p>
+	 * Virtual threads are looked up reflectively: on runtimes that don't support them,
+	 * this falls back to a {@link #newBoundedElastic(int, int, String) bounded elastic}
+	 * {@link Scheduler} with {@link #DEFAULT_BOUNDED_ELASTIC_SIZE} threads and
+	 * {@link #DEFAULT_BOUNDED_ELASTIC_QUEUESIZE} queued tasks per thread.
+	 * <p>
+	 * This scheduler is not restartable.
+	 *
+	 * @param name Thread prefix
+	 *
+	 * @return a new {@link Scheduler} running each Worker or task on a new virtual
+	 * thread, or a new bounded elastic {@link Scheduler} if virtual threads are not
+	 * supported
+	 */
+	public static Scheduler newVirtualThreadPerTask(String name) {
+		ThreadFactory virtualThreadFactory = ThreadPerTaskScheduler.virtualThreadFactory(name);
+		if (virtualThreadFactory == null) {
+			if (log.isDebugEnabled()) {
+				log.debug("Virtual threads not supported, falling back to newBoundedElastic for " + name);
+			}
+			return newBoundedElastic(DEFAULT_BOUNDED_ELASTIC_SIZE,
+					DEFAULT_BOUNDED_ELASTIC_QUEUESIZE,
+					name);
+		}
+		return newThreadPerTask(virtualThreadFactory);
+	}
+
+	/**
+	 * {@link Scheduler} that runs each {@link reactor.core.scheduler.Scheduler.Worker}
+	 * and each direct task on a new thread created by the given {@link ThreadFactory},
+	 * which only suits factories of cheap threads like the JDK's virtual threads.
+	 * Cancelling a task interrupts its thread if it is running.
+	 * <p>
+	 * This scheduler is not restartable.
+	 *
+	 * @param threadFactory a {@link ThreadFactory} creating a thread per Worker or task
+	 *
+	 * @return a new {@link Scheduler} running each Worker or task on a new thread
+	 * @see #newVirtualThreadPerTask(String)
+	 */
+	public static Scheduler newThreadPerTask(ThreadFactory threadFactory) {
+		return factory.newThreadPerTask(threadFactory);
+	}
+
+	/**
+	 * {@link Scheduler} that hosts a work-stealing pool of threads and is suited for
+	 * parallel work with uneven task costs. Each thread keeps its own deque of tasks
+	 * and steals from its siblings when idle, while tasks of a same
+	 * {@link reactor.core.scheduler.Scheduler.Worker} never run concurrently.
+	 *
+	 * @param parallelism Number of pooled threads.
+	 *
+	 * @return a new {@link Scheduler} that hosts a work-stealing pool of threads
+	 */
+	public static Scheduler newWorkStealing(int parallelism) {
+		return newWorkStealing(WORK_STEALING, parallelism);
+	}
+
+	/**
+	 * {@link Scheduler} that hosts a work-stealing pool of threads and is suited for
+	 * parallel work with uneven task costs. Each thread keeps its own deque of tasks
+	 * and steals from its siblings when idle, while tasks of a same
+	 * {@link reactor.core.scheduler.Scheduler.Worker} never run concurrently.
+	 *
+	 * @param name Thread prefix
+	 * @param parallelism Number of pooled threads.
+	 *
+	 * @return a new {@link Scheduler} that hosts a work-stealing pool of threads
+	 */
+	public static Scheduler newWorkStealing(String name, int parallelism) {
+		return newWorkStealing(name, parallelism, false);
+	}
+
+	/**
+	 * {@link Scheduler} that hosts a work-stealing pool of threads and is suited for
+	 * parallel work with uneven task costs. Each thread keeps its own deque of tasks
+	 * and steals from its siblings when idle, while tasks of a same
+	 * {@link reactor.core.scheduler.Scheduler.Worker} never run concurrently.
+	 *
+	 * @param name Thread prefix
+	 * @param parallelism Number of pooled threads.
+	 * @param daemon false if the {@link Scheduler} requires an explicit {@link
+	 * Scheduler#dispose()} to exit the VM.
+	 *
+	 * @return a new {@link Scheduler} that hosts a work-stealing pool of threads
+	 */
+	public static Scheduler newWorkStealing(String name, int parallelism, boolean daemon) {
+		return newWorkStealing(parallelism,
+				new SchedulerThreadFactory(name, daemon, WorkStealingScheduler.COUNTER));
+	}
+
+	/**
+	 * {@link Scheduler} that hosts a work-stealing pool of threads and is suited for
+	 * parallel work with uneven task costs. Each thread keeps its own deque of tasks
+	 * and steals from its siblings when idle, while tasks of a same
+	 * {@link reactor.core.scheduler.Scheduler.Worker} never run concurrently.
+	 *
+	 * @param parallelism Number of pooled threads.
+	 * @param threadFactory a {@link ThreadFactory} used to name and configure the
+	 * pooled threads
+	 *
+	 * @return a new {@link Scheduler} that hosts a work-stealing pool of threads
+	 */
+	public static Scheduler newWorkStealing(int parallelism, ThreadFactory threadFactory) {
+		return factory.newWorkStealing(parallelism, threadFactory);
+	}
+
+	/**
+	 * {@link Scheduler} that tracks delayed tasks in a hashed timing wheel of 512
+	 * buckets, advanced every 10 milliseconds by a single thread, and is suited as the
+	 * time source of timeouts and delays that are mostly cancelled before firing.
+	 * Scheduling and cancelling are O(1), but delays are rounded up to the next tick
+	 * and all tasks run on the wheel thread, so they should be short and non-blocking.
+	 *
+	 * @param name Thread prefix
+	 *
+	 * @return a new {@link Scheduler} backed by a hashed timing wheel
+	 */
+	public static Scheduler newHashedWheelTimer(String name) {
+		return newHashedWheelTimer(name, Duration.ofMillis(10), 512);
+	}
+
+	/**
+	 * {@link Scheduler} that tracks delayed tasks in a hashed timing wheel advanced
+	 * every {@code tick} by a single thread, and is suited as the time source of
+	 * timeouts and delays that are mostly cancelled before firing. Scheduling and
+	 * cancelling are O(1), but delays are rounded up to the next tick and all tasks
+	 * run on the wheel thread, so they should be short and non-blocking.
+	 *
+	 * @param name Thread prefix
+	 * @param tick the resolution of the wheel
+	 * @param wheelSize the number of buckets of the wheel, rounded up to a power of 2
+	 *
+	 * @return a new {@link Scheduler} backed by a hashed timing wheel
+	 */
+	public static Scheduler newHashedWheelTimer(String name, Duration tick, int wheelSize) {
+		return newHashedWheelTimer(name, tick, wheelSize, false);
+	}
+
+	/**
+	 * {@link Scheduler} that tracks delayed tasks in a hashed timing wheel advanced
+	 * every {@code tick} by a single thread, and is suited as the time source of
+	 * timeouts and delays that are mostly cancelled before firing. Scheduling and
+	 * cancelling are O(1), but delays are rounded up to the next tick and all tasks
+	 * run on the wheel thread, so they should be short and non-blocking.
+	 *
+	 * @param name Thread prefix
+	 * @param tick the resolution of the wheel
+	 * @param wheelSize the number of buckets of the wheel, rounded up to a power of 2
+	 * @param daemon false if the {@link Scheduler} requires an explicit {@link
+	 * Scheduler#dispose()} to exit the VM.
+	 *
+	 * @return a new {@link Scheduler} backed by a hashed timing wheel
+	 */
+	public static Scheduler newHashedWheelTimer(String name, Duration tick, int wheelSize,
+			boolean daemon) {
+		return new HashedWheelTimerScheduler(name,
+				tick.toNanos(),
+				TimeUnit.NANOSECONDS,
+				wheelSize,
+				new SchedulerThreadFactory(name, daemon, HashedWheelTimerScheduler.COUNTER));
+	}
+
 	/**
 	 * {@link Scheduler} that hosts a single-threaded ExecutorService-based worker and is
 	 * suited for parallel work.
@@ -329,9 +668,50 @@ public abstract class Schedulers {
 		onHandleErrorHook = Objects.requireNonNull(c, "onHandleError");
 	}
 
+	/**
+	 * Record {@link SchedulerMetrics} for the schedulers created from now on, exposed
+	 * through their {@link SchedulerMetrics#METRICS} {@link Scannable} attribute.
+	 * Cached schedulers like {@link #parallel()} are only instrumented if they are
+	 * first used after this call, or after a {@link #shutdownNow()}.
+	 */
+	public static void enableMetrics() {
+		enableMetrics(NOOP_METRICS_LISTENER);
+	}
+
+	/**
+	 * Record {@link SchedulerMetrics} for the schedulers created from now on, exposed
+	 * through their {@link SchedulerMetrics#METRICS} {@link Scannable} attribute, and
+	 * notify the given {@link SchedulerMetrics.Listener} of each task measurement.
+	 * Cached schedulers like {@link #parallel()} are only instrumented if they are
+	 * first used after this call, or after a {@link #shutdownNow()}.
+	 *
+	 * @param listener the listener to notify of each task measurement
+	 */
+	public static void enableMetrics(SchedulerMetrics.Listener listener) {
+		if (log.isDebugEnabled()) {
+			log.debug("Enabling scheduler metrics");
+		}
+		metricsListener = Objects.requireNonNull(listener, "listener");
+	}
+
+	/**
+	 * Stop recording {@link SchedulerMetrics} for the schedulers created from now on.
+	 * Schedulers that were created while metrics were enabled keep recording them.
+	 */
+	public static void disableMetrics() {
+		if (log.isDebugEnabled()) {
+			log.debug("Disabling scheduler metrics");
+		}
+		metricsListener = null;
+	}
+
 	/**
 	 * {@link Scheduler} that hosts a fixed pool of single-threaded ExecutorService-based
 	 * workers and is suited for parallel work.
+	 * <p>
+	 * Workers are assigned round-robin, unless the {@code reactor.schedulers.parallel.selector}
+	 * system property is set to {@code leastPendingTasks} or {@code powerOfTwoChoices}
+	 * (see {@link WorkerSelector}).
 	 *
 	 * @return a reusable {@link Scheduler} that hosts a fixed pool of single-threaded
 	 * ExecutorService-based workers
@@ -359,7 +739,8 @@ public abstract class Schedulers {
 
 	/**
 	 * Replace {@link Schedulers} factories ({@link #newParallel(String) newParallel},
-	 * {@link #newSingle(String) newSingle} and {@link #newElastic(String) newElastic}). Also
+	 * {@link #newSingle(String) newSingle}, {@link #newElastic(String) newElastic} and
+	 * {@link #newBoundedElastic(int, int, String) newBoundedElastic}). Also
 	 * shutdown Schedulers from the cached factories (like {@link #single()}) in order to
 	 * also use these replacements, re-creating the shared schedulers from the new factory
 	 * upon next use.
@@ -379,10 +760,12 @@ public abstract class Schedulers {
 	 */
 	public static void shutdownNow() {
 		CachedScheduler oldElastic = CACHED_ELASTIC.getAndSet(null);
+		CachedScheduler oldBoundedElastic = CACHED_BOUNDED_ELASTIC.getAndSet(null);
 		CachedScheduler oldParallel = CACHED_PARALLEL.getAndSet(null);
 		CachedScheduler oldSingle = CACHED_SINGLE.getAndSet(null);
 
 		if (oldElastic != null) oldElastic._dispose();
+		if (oldBoundedElastic != null) oldBoundedElastic._dispose();
 		if (oldParallel != null) oldParallel._dispose();
 		if (oldSingle != null) oldSingle._dispose();
 	}
@@ -451,6 +834,28 @@ public abstract class Schedulers {
 			return new ElasticScheduler(threadFactory, ttlSeconds);
 		}
 
+		/**
+		 * {@link Scheduler} that dynamically creates a bounded number of Workers
+		 * resources and caches eventually, reusing them once the Workers have been shut
+		 * down.
+		 * <p>
+		 * The maximum number of created workers is capped to {@code threadCap}, each
+		 * accepting at most {@code queuedTaskCap} pending tasks.
+		 *
+		 * @param threadCap maximum number of underlying threads to create
+		 * @param queuedTaskCap maximum number of tasks to enqueue on each thread
+		 * @param threadFactory a {@link ThreadFactory} to use
+		 * @param ttlSeconds Time-to-live for an idle {@link reactor.core.scheduler.Scheduler.Worker},
+		 * in seconds and strictly positive
+		 *
+		 * @return a new {@link Scheduler} that dynamically creates a bounded number of
+		 * Workers resources
+		 */
+		default Scheduler newBoundedElastic(int threadCap, int queuedTaskCap,
+				ThreadFactory threadFactory, int ttlSeconds) {
+			return new BoundedElasticScheduler(threadCap, queuedTaskCap, threadFactory, ttlSeconds);
+		}
+
 		/**
 		 * {@link Scheduler} that hosts a fixed pool of workers and is suited for parallel
 		 * work.
@@ -466,6 +871,24 @@ public abstract class Schedulers {
 			return new ParallelScheduler(parallelism, threadFactory);
 		}
 
+		/**
+		 * {@link Scheduler} that hosts a fixed pool of workers and is suited for parallel
+		 * work, using the given {@link WorkerSelector} to choose the worker hosting
+		 * each new {@link reactor.core.scheduler.Scheduler.Worker} or direct task.
+		 *
+		 * @param parallelism Number of pooled workers.
+		 * @param threadFactory a {@link ThreadFactory} to use for the fixed initialized
+		 * number of {@link Thread}
+		 * @param selector the {@link WorkerSelector} to use
+		 *
+		 * @return a new {@link Scheduler} that hosts a fixed pool of workers and is
+		 * suited for parallel work
+		 */
+		default Scheduler newParallel(int parallelism, ThreadFactory threadFactory,
+				WorkerSelector selector) {
+			return new ParallelScheduler(parallelism, threadFactory, selector);
+		}
+
 		/**
 		 * {@link Scheduler} that hosts a single worker and is suited for non-blocking
 		 * work.
@@ -478,26 +901,76 @@ public abstract class Schedulers {
 		default Scheduler newSingle(ThreadFactory threadFactory) {
 			return new SingleScheduler(threadFactory);
 		}
+
+		/**
+		 * {@link Scheduler} that hosts a work-stealing pool of threads and is suited
+		 * for parallel work with uneven task costs.
+		 * <p>
+		 * As the pool needs its own kind of threads, the {@link ThreadFactory} is only
+		 * used to create a template for each of them, whose name, daemon flag and
+		 * priority are copied.
+		 *
+		 * @param parallelism Number of pooled threads.
+		 * @param threadFactory a {@link ThreadFactory} used to name and configure the
+		 * pooled threads
+		 *
+		 * @return a new {@link Scheduler} that hosts a work-stealing pool of threads
+		 */
+		default Scheduler newWorkStealing(int parallelism, ThreadFactory threadFactory) {
+			return new WorkStealingScheduler(parallelism, threadFactory);
+		}
+
+		/**
+		 * {@link Scheduler} that runs each {@link reactor.core.scheduler.Scheduler.Worker}
+		 * and each direct task on a new thread created by the given
+		 * {@link ThreadFactory}, which only suits factories of cheap threads like the
+		 * JDK's virtual threads.
+		 *
+		 * @param threadFactory a {@link ThreadFactory} creating a thread per Worker or
+		 * task
+		 *
+		 * @return a new {@link Scheduler} running each Worker or task on a new thread
+		 */
+		default Scheduler newThreadPerTask(ThreadFactory threadFactory) {
+			return new ThreadPerTaskScheduler(threadFactory);
+		}
 	}
 
 	// Internals
-	static final String ELASTIC  = "elastic"; // IO stuff
-	static final String PARALLEL = "parallel"; //scale up common tasks
-	static final String SINGLE   = "single"; //non blocking tasks
-	static final String TIMER    = "timer"; //timed tasks
+	static final String ELASTIC         = "elastic"; // IO stuff
+	static final String BOUNDED_ELASTIC = "boundedElastic"; // Blocking IO stuff, capped
+	static final String PARALLEL        = "parallel"; //scale up common tasks
+	static final String SINGLE          = "single"; //non blocking tasks
+	static final String TIMER           = "timer"; //timed tasks
+	static final String WORK_STEALING   = "workStealing"; //uneven parallel tasks
+	static final String THREAD_PER_TASK = "threadPerTask"; //blocking tasks on virtual threads
 
 	// Cached schedulers in atomic references:
-	static AtomicReference<CachedScheduler> CACHED_ELASTIC  = new AtomicReference<>();
-	static AtomicReference<CachedScheduler> CACHED_PARALLEL = new AtomicReference<>();
-	static AtomicReference<CachedScheduler> CACHED_SINGLE   = new AtomicReference<>();
+	static AtomicReference<CachedScheduler> CACHED_ELASTIC         = new AtomicReference<>();
+	static AtomicReference<CachedScheduler> CACHED_BOUNDED_ELASTIC = new AtomicReference<>();
+	static AtomicReference<CachedScheduler> CACHED_PARALLEL        = new AtomicReference<>();
+	static AtomicReference<CachedScheduler> CACHED_SINGLE          = new AtomicReference<>();
 
 	static final Supplier<Scheduler> ELASTIC_SUPPLIER =
 			() -> newElastic(ELASTIC, ElasticScheduler.DEFAULT_TTL_SECONDS, true);
 
-	static final Supplier<Scheduler> PARALLEL_SUPPLIER = () -> newParallel(PARALLEL,
-			Runtime.getRuntime()
-			       .availableProcessors(),
-			true);
+	static final Supplier<Scheduler> BOUNDED_ELASTIC_SUPPLIER =
+			() -> newBoundedElastic(DEFAULT_BOUNDED_ELASTIC_SIZE,
+					DEFAULT_BOUNDED_ELASTIC_QUEUESIZE, BOUNDED_ELASTIC,
+					BoundedElasticScheduler.DEFAULT_TTL_SECONDS, true);
+
+	static final String PARALLEL_SELECTOR_PROPERTY = "reactor.schedulers.parallel.selector";
+
+	static final Supplier<Scheduler> PARALLEL_SUPPLIER = () -> {
+		WorkerSelector selector =
+				WorkerSelectors.fromName(System.getProperty(PARALLEL_SELECTOR_PROPERTY));
+		if (selector == null) {
+			return newParallel(PARALLEL, Runtime.getRuntime()
+			                                    .availableProcessors(), true);
+		}
+		return newParallel(PARALLEL, Runtime.getRuntime()
+		                                    .availableProcessors(), true, selector);
+	};
 
 	static final Supplier<Scheduler> SINGLE_SUPPLIER = () -> newSingle(SINGLE, true);
 
@@ -584,7 +1057,7 @@ public abstract class Schedulers {
 		}
 	}
 
-	static class CachedScheduler implements Scheduler, Supplier<Scheduler> {
+	static class CachedScheduler implements Scheduler, Supplier<Scheduler>, Scannable {
 
 		final Scheduler cached;
 		final String    key;
@@ -647,6 +1120,17 @@ public abstract class Schedulers {
 			return cached;
 		}
 
+		@Override
+		@Nullable
+		public Object scanUnsafe(Attr key) {
+			return Scannable.from(cached).scanUnsafe(key);
+		}
+
+		@Override
+		public Stream<? extends Scannable> inners() {
+			return Scannable.from(cached).inners();
+		}
+
 		void _dispose() {
 			cached.dispose();
 		}
@@ -744,4 +1228,45 @@ public abstract class Schedulers {
 		return factory.decorateExecutorService(schedulerType, actual);
 	}
 
+	static ScheduledExecutorService decorateExecutorService(String schedulerType,
+			Supplier<? extends ScheduledExecutorService> actual,
+			@Nullable SchedulerMetrics metrics) {
+		ScheduledExecutorService exec = factory.decorateExecutorService(schedulerType, actual);
+		if (metrics == null) {
+			return exec;
+		}
+		return new InstrumentedExecutorService(exec, metrics);
+	}
+
+	/**
+	 * Create the {@link SchedulerMetrics} of a new {@link Scheduler} if metrics are
+	 * enabled.
+	 *
+	 * @param schedulerType the flavor of the scheduler
+	 * @param name the name of the scheduler, or a {@link Supplier} of it (like
+	 * {@link SchedulerThreadFactory}), defaulting to the scheduler type otherwise
+	 *
+	 * @return the {@link SchedulerMetrics} to record, or null if metrics are disabled
+	 */
+	@Nullable
+	static SchedulerMetrics newMetrics(String schedulerType, @Nullable Object name) {
+		SchedulerMetrics.Listener listener = metricsListener;
+		if (listener == null) {
+			return null;
+		}
+		String n;
+		if (name instanceof Supplier) {
+			n = String.valueOf(((Supplier<?>) name).get());
+		}
+		else if (name instanceof String) {
+			n = (String) name;
+		}
+		else {
+			n = schedulerType;
+		}
+		return new SchedulerMetrics(schedulerType, n, listener);
+	}
+
+	static final SchedulerMetrics.Listener NOOP_METRICS_LISTENER = new SchedulerMetrics.Listener() { };
+
 }
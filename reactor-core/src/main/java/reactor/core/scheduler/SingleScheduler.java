@@ -26,18 +26,24 @@ import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.function.Supplier;
 
 import reactor.core.Disposable;
+import reactor.core.Scannable;
+import reactor.util.annotation.Nullable;
 
 /**
  * Scheduler that works with a single-threaded ScheduledExecutorService and is suited for
  * same-thread work (like an event dispatch thread). This scheduler is time-capable (can
  * schedule with delay / periodically).
  */
-final class SingleScheduler implements Scheduler, Supplier<ScheduledExecutorService> {
+final class SingleScheduler implements Scheduler, Supplier<ScheduledExecutorService>,
+                                      Scannable {
 
 	static final AtomicLong COUNTER       = new AtomicLong();
 
 	final ThreadFactory factory;
 
+	@Nullable
+	final SchedulerMetrics metrics;
+
 	volatile ScheduledExecutorService executor;
 	static final AtomicReferenceFieldUpdater<SingleScheduler, ScheduledExecutorService> EXECUTORS =
 			AtomicReferenceFieldUpdater.newUpdater(SingleScheduler.class,
@@ -53,6 +59,7 @@ final class SingleScheduler implements Scheduler, Supplier<ScheduledExecutorServ
 
 	SingleScheduler(ThreadFactory factory) {
 		this.factory = factory;
+		this.metrics = Schedulers.newMetrics(Schedulers.SINGLE, factory);
 		init();
 	}
 
@@ -69,7 +76,7 @@ final class SingleScheduler implements Scheduler, Supplier<ScheduledExecutorServ
 
 	private void init() {
 		EXECUTORS.lazySet(this,
-				Schedulers.decorateExecutorService(Schedulers.SINGLE, this));
+				Schedulers.decorateExecutorService(Schedulers.SINGLE, this, metrics));
 	}
 
 	@Override
@@ -91,7 +98,7 @@ final class SingleScheduler implements Scheduler, Supplier<ScheduledExecutorServ
 			}
 
 			if (b == null) {
-				b = Schedulers.decorateExecutorService(Schedulers.SINGLE, this);
+				b = Schedulers.decorateExecutorService(Schedulers.SINGLE, this, metrics);
 			}
 
 			if (EXECUTORS.compareAndSet(this, a, b)) {
@@ -138,4 +145,15 @@ final class SingleScheduler implements Scheduler, Supplier<ScheduledExecutorServ
 		return new ExecutorServiceWorker(executor);
 	}
 
+	@Override
+	@Nullable
+	public Object scanUnsafe(Attr key) {
+		if (key == Attr.TERMINATED || key == Attr.CANCELLED) return isDisposed();
+		if (key == Attr.CAPACITY) return 1;
+		if (key == Attr.NAME && factory instanceof Supplier) return String.valueOf(((Supplier<?>) factory).get());
+		if (key == SchedulerMetrics.METRICS) return metrics;
+
+		return null;
+	}
+
 }
@@ -0,0 +1,283 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.scheduler;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.Exceptions;
+import reactor.core.Scannable;
+import reactor.util.annotation.Nullable;
+
+/**
+ * Scheduler that creates a new thread from its {@link ThreadFactory} for each
+ * {@link reactor.core.scheduler.Scheduler.Worker} and each direct task, which is only
+ * sensible when that factory creates cheap threads like the JDK's virtual threads (see
+ * {@link #virtualThreadFactory(String)}). This scheduler is time-capable (can schedule
+ * with delay / periodically).
+ * <p>
+ * Each Worker or direct task is backed by its own single-threaded
+ * {@link ScheduledThreadPoolExecutor}, which is shut down once the Worker is disposed
+ * or the direct task is done, so that delays, periodic scheduling and cancellation
+ * (including interruption of a running task) behave like with the other
+ * ScheduledExecutorService-based schedulers.
+ * <p>
+ * This scheduler is not restartable.
+ */
+final class ThreadPerTaskScheduler implements Scheduler, Scannable {
+
+	final String name;
+
+	final ThreadFactory factory;
+
+	final Composite workers;
+
+	@Nullable
+	final SchedulerMetrics metrics;
+
+	ThreadPerTaskScheduler(ThreadFactory factory) {
+		this.name = factory instanceof Supplier ?
+				String.valueOf(((Supplier<?>) factory).get()) : Schedulers.THREAD_PER_TASK;
+		this.factory = factory;
+		this.workers = Disposables.composite();
+		this.metrics = Schedulers.newMetrics(Schedulers.THREAD_PER_TASK, name);
+	}
+
+	/**
+	 * Instantiates the default {@link ScheduledExecutorService} backing a single Worker
+	 * or direct task of the ThreadPerTaskScheduler.
+	 */
+	ScheduledExecutorService createExecutor() {
+		ScheduledThreadPoolExecutor e = new ScheduledThreadPoolExecutor(1, factory);
+		e.setRemoveOnCancelPolicy(true);
+		return e;
+	}
+
+	@Override
+	public void start() {
+		throw new UnsupportedOperationException("Restarting not supported yet");
+	}
+
+	@Override
+	public boolean isDisposed() {
+		return workers.isDisposed();
+	}
+
+	@Override
+	public void dispose() {
+		workers.dispose();
+	}
+
+	@Override
+	public Disposable schedule(Runnable task) {
+		return schedule(task, 0L, TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+		ThreadPerTaskWorker worker = createWorker();
+		try {
+			worker.schedule(new DirectScheduleTask(task, worker), delay, unit);
+		}
+		catch (Throwable ex) {
+			worker.dispose();
+			throw ex;
+		}
+		return worker;
+	}
+
+	@Override
+	public Disposable schedulePeriodically(Runnable task,
+			long initialDelay,
+			long period,
+			TimeUnit unit) {
+		ThreadPerTaskWorker worker = createWorker();
+		try {
+			worker.schedulePeriodically(task, initialDelay, period, unit);
+		}
+		catch (Throwable ex) {
+			worker.dispose();
+			throw ex;
+		}
+		return worker;
+	}
+
+	@Override
+	public ThreadPerTaskWorker createWorker() {
+		ThreadPerTaskWorker worker = new ThreadPerTaskWorker(this);
+		if (!workers.add(worker)) {
+			worker.exec.shutdownNow();
+			throw Exceptions.failWithRejected();
+		}
+		return worker;
+	}
+
+	@Override
+	@Nullable
+	public Object scanUnsafe(Attr key) {
+		if (key == Attr.TERMINATED || key == Attr.CANCELLED) return isDisposed();
+		if (key == Attr.NAME) return name;
+		if (key == Attr.CAPACITY) return Integer.MAX_VALUE;
+		if (key == Attr.BUFFERED) return workers.size();
+		if (key == SchedulerMetrics.METRICS) return metrics;
+
+		return null;
+	}
+
+	/**
+	 * Create a {@link ThreadFactory} of virtual threads named after the given prefix,
+	 * if the runtime supports them. The lookup is done reflectively so that this class
+	 * can be compiled and loaded on a Java 8 runtime.
+	 *
+	 * @param name the thread name prefix
+	 * @return a {@link ThreadFactory} of virtual threads, or null if not supported
+	 */
+	@Nullable
+	static ThreadFactory virtualThreadFactory(String name) {
+		try {
+			Method ofVirtual = Thread.class.getMethod("ofVirtual");
+			Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+			Object builder = ofVirtual.invoke(null);
+			builder = builderClass.getMethod("name", String.class, long.class)
+			                      .invoke(builder, name + "-", 1L);
+			return new VirtualThreadFactory(name,
+					(ThreadFactory) builderClass.getMethod("factory").invoke(builder));
+		}
+		catch (Throwable e) {
+			//not a Java 21+ runtime, or virtual threads are a disabled preview feature
+			return null;
+		}
+	}
+
+	/**
+	 * A {@link ThreadFactory} of virtual threads which, like the factories of
+	 * {@link Schedulers}, exposes the name of the {@link Scheduler} as a
+	 * {@link Supplier}.
+	 */
+	static final class VirtualThreadFactory implements ThreadFactory, Supplier<String> {
+
+		final String        name;
+		final ThreadFactory delegate;
+
+		VirtualThreadFactory(String name, ThreadFactory delegate) {
+			this.name = name;
+			this.delegate = delegate;
+		}
+
+		@Override
+		public Thread newThread(Runnable r) {
+			return delegate.newThread(r);
+		}
+
+		@Override
+		public String get() {
+			return name;
+		}
+	}
+
+	static final class DirectScheduleTask implements Runnable {
+
+		final Runnable            delegate;
+		final ThreadPerTaskWorker worker;
+
+		DirectScheduleTask(Runnable delegate, ThreadPerTaskWorker worker) {
+			this.delegate = delegate;
+			this.worker = worker;
+		}
+
+		@Override
+		public void run() {
+			try {
+				delegate.run();
+			}
+			finally {
+				worker.dispose();
+			}
+		}
+	}
+
+	static final class ThreadPerTaskWorker implements Worker, Scannable {
+
+		final ThreadPerTaskScheduler parent;
+
+		final ScheduledExecutorService exec;
+
+		final Composite tasks;
+
+		ThreadPerTaskWorker(ThreadPerTaskScheduler parent) {
+			this.parent = parent;
+			this.exec = Schedulers.decorateExecutorService(Schedulers.THREAD_PER_TASK,
+					parent::createExecutor,
+					parent.metrics);
+			this.tasks = Disposables.composite();
+		}
+
+		@Override
+		public Disposable schedule(Runnable task) {
+			return Schedulers.workerSchedule(exec, tasks, task, 0L, TimeUnit.MILLISECONDS);
+		}
+
+		@Override
+		public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+			return Schedulers.workerSchedule(exec, tasks, task, delay, unit);
+		}
+
+		@Override
+		public Disposable schedulePeriodically(Runnable task,
+				long initialDelay,
+				long period,
+				TimeUnit unit) {
+			return Schedulers.workerSchedulePeriodically(exec,
+					tasks,
+					task,
+					initialDelay,
+					period,
+					unit);
+		}
+
+		@Override
+		public void dispose() {
+			if (!tasks.isDisposed()) {
+				//interrupts the running task if any and removes the pending ones
+				tasks.dispose();
+				//lets the thread terminate once done with the current task
+				exec.shutdown();
+				parent.workers.remove(this);
+			}
+		}
+
+		@Override
+		public boolean isDisposed() {
+			return tasks.isDisposed();
+		}
+
+		@Override
+		@Nullable
+		public Object scanUnsafe(Attr key) {
+			if (key == Attr.TERMINATED || key == Attr.CANCELLED) return isDisposed();
+			if (key == Attr.PARENT) return parent;
+
+			return null;
+		}
+	}
+}
@@ -0,0 +1,514 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.scheduler;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.Exceptions;
+import reactor.core.Scannable;
+import reactor.util.annotation.Nullable;
+
+/**
+ * Scheduler that runs tasks on a {@link ForkJoinPool} of {@code parallelism} threads,
+ * each keeping its own deque of tasks and stealing from its siblings when idle. Tasks
+ * submitted from one of the pool's threads are pushed to that thread's local deque,
+ * so a slow pipeline only delays the tasks that are not stolen by an idle thread.
+ * <p>
+ * Each {@link reactor.core.scheduler.Scheduler.Worker} trampolines its tasks through
+ * a queue drained by a single pool task at a time, so tasks of a same Worker never
+ * run concurrently and are executed in submission order, although consecutive drains
+ * can happen on different threads.
+ * <p>
+ * This scheduler is time-capable (can schedule with delay / periodically): delays are
+ * tracked by a dedicated single-threaded timer which hands the due tasks off to the
+ * pool. Only that timer goes through {@link Schedulers.Factory#decorateExecutorService}:
+ * the pool itself is not a {@link ScheduledExecutorService}, which is also why the
+ * {@link SchedulerMetrics} are recorded by the tasks themselves.
+ * <p>
+ * This scheduler is not restartable.
+ */
+final class WorkStealingScheduler implements Scheduler, Scannable {
+
+	static final AtomicLong COUNTER = new AtomicLong();
+
+	final int parallelism;
+
+	final String name;
+
+	final ForkJoinPool pool;
+
+	final ScheduledExecutorService timer;
+
+	@Nullable
+	final SchedulerMetrics metrics;
+
+	WorkStealingScheduler(int parallelism, ThreadFactory threadFactory) {
+		if (parallelism <= 0) {
+			throw new IllegalArgumentException("parallelism > 0 required but it was " + parallelism);
+		}
+		this.parallelism = parallelism;
+		this.name = threadFactory instanceof Supplier ?
+				String.valueOf(((Supplier<?>) threadFactory).get()) : Schedulers.WORK_STEALING;
+		this.metrics = Schedulers.newMetrics(Schedulers.WORK_STEALING, name);
+		WorkStealingThreadFactory factory = new WorkStealingThreadFactory(threadFactory);
+		this.pool = new ForkJoinPool(parallelism, factory, factory, true);
+		this.timer = Schedulers.decorateExecutorService(Schedulers.WORK_STEALING, this::createTimer);
+	}
+
+	/**
+	 * Instantiates the default {@link ScheduledExecutorService} tracking the delayed
+	 * tasks of the WorkStealingScheduler.
+	 */
+	ScheduledExecutorService createTimer() {
+		ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, r -> {
+			Thread t = new Thread(r, name + "-timer-" + COUNTER.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		});
+		timer.setRemoveOnCancelPolicy(true);
+		return timer;
+	}
+
+	@Override
+	public void start() {
+		throw new UnsupportedOperationException("Restarting not supported yet");
+	}
+
+	@Override
+	public boolean isDisposed() {
+		return pool.isShutdown();
+	}
+
+	@Override
+	public void dispose() {
+		timer.shutdownNow();
+		pool.shutdownNow();
+		SchedulerMetrics m = metrics;
+		if (m != null) {
+			//the pool doesn't return the tasks it drops, so they can't be dequeued one by one
+			m.pending.reset();
+		}
+	}
+
+	@Override
+	public Disposable schedule(Runnable task) {
+		Objects.requireNonNull(task, "task");
+		WorkStealingTask r = new WorkStealingTask(task, this, null, 0L);
+		r.start(0L, TimeUnit.NANOSECONDS);
+		return r;
+	}
+
+	@Override
+	public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+		if (delay <= 0L) {
+			return schedule(task);
+		}
+		Objects.requireNonNull(task, "task");
+		WorkStealingTask r = new WorkStealingTask(task, this, null, 0L);
+		r.start(delay, unit);
+		return r;
+	}
+
+	@Override
+	public Disposable schedulePeriodically(Runnable task,
+			long initialDelay,
+			long period,
+			TimeUnit unit) {
+		Objects.requireNonNull(task, "task");
+		WorkStealingTask r = new WorkStealingTask(task, this, null, unit.toNanos(period));
+		r.start(initialDelay, unit);
+		return r;
+	}
+
+	@Override
+	public Worker createWorker() {
+		return new WorkStealingWorker(this);
+	}
+
+	@Override
+	@Nullable
+	public Object scanUnsafe(Attr key) {
+		if (key == Attr.TERMINATED || key == Attr.CANCELLED) return isDisposed();
+		if (key == Attr.NAME) return name;
+		if (key == Attr.CAPACITY) return parallelism;
+		if (key == Attr.BUFFERED) {
+			long queued = pool.getQueuedTaskCount() + pool.getQueuedSubmissionCount();
+			return queued > Integer.MAX_VALUE ? Integer.MIN_VALUE : (int) queued;
+		}
+		if (key == Attr.LARGE_BUFFERED) return pool.getQueuedTaskCount() + pool.getQueuedSubmissionCount();
+		if (key == SchedulerMetrics.METRICS) return metrics;
+
+		return null;
+	}
+
+	/**
+	 * Adapts a {@link ThreadFactory} to the {@link ForkJoinPool}, which needs its own
+	 * {@link ForkJoinWorkerThread}: each pool thread is named and configured after an
+	 * unstarted thread created by the {@link ThreadFactory}.
+	 */
+	static final class WorkStealingThreadFactory
+			implements ForkJoinPool.ForkJoinWorkerThreadFactory,
+			           Thread.UncaughtExceptionHandler {
+
+		static final Runnable NOOP = () -> {};
+
+		final ThreadFactory threadFactory;
+
+		WorkStealingThreadFactory(ThreadFactory threadFactory) {
+			this.threadFactory = threadFactory;
+		}
+
+		@Override
+		public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+			Thread template = threadFactory.newThread(NOOP);
+			ForkJoinWorkerThread t = new WorkStealingThread(pool);
+			t.setName(template.getName());
+			t.setDaemon(template.isDaemon());
+			t.setPriority(template.getPriority());
+			return t;
+		}
+
+		@Override
+		public void uncaughtException(Thread t, Throwable e) {
+			Schedulers.log.error("Scheduler worker in group " + t.getThreadGroup().getName() +
+					" failed with an uncaught exception", e);
+		}
+	}
+
+	static final class WorkStealingThread extends ForkJoinWorkerThread {
+
+		WorkStealingThread(ForkJoinPool pool) {
+			super(pool);
+		}
+	}
+
+	/**
+	 * A task submitted either directly to the pool or to a {@link WorkStealingWorker}
+	 * queue, optionally after a delay and repeatedly at a fixed rate. Disposing it
+	 * cancels any pending delay and prevents further executions, but doesn't interrupt
+	 * a running execution.
+	 */
+	static final class WorkStealingTask extends AtomicBoolean implements Runnable, Disposable {
+
+		final Runnable              task;
+		final WorkStealingScheduler scheduler;
+		@Nullable
+		final WorkStealingWorker    parent;
+		final long                  periodNanos;
+
+		long nextRunNanos;
+
+		volatile Disposable delayed;
+
+		volatile int queued;
+		static final AtomicIntegerFieldUpdater<WorkStealingTask> QUEUED =
+				AtomicIntegerFieldUpdater.newUpdater(WorkStealingTask.class, "queued");
+
+		WorkStealingTask(Runnable task,
+				WorkStealingScheduler scheduler,
+				@Nullable WorkStealingWorker parent,
+				long periodNanos) {
+			this.task = task;
+			this.scheduler = scheduler;
+			this.parent = parent;
+			this.periodNanos = periodNanos;
+		}
+
+		/**
+		 * Hand the task over to the timer, or directly to the pool if it is neither
+		 * delayed nor periodic, for its first execution.
+		 */
+		void start(long delay, TimeUnit unit) {
+			SchedulerMetrics m = scheduler.metrics;
+			if (m != null) {
+				m.recordSubmitted();
+				queue();
+			}
+			try {
+				if (delay > 0L || periodNanos > 0L) {
+					delay(delay, unit);
+				}
+				else {
+					if (m != null) {
+						nextRunNanos = System.nanoTime();
+					}
+					execute();
+				}
+			}
+			catch (RejectedExecutionException ree) {
+				if (m != null && QUEUED.compareAndSet(this, 1, 0)) {
+					m.recordRejected();
+				}
+				dispose();
+				throw ree;
+			}
+		}
+
+		void delay(long delay, TimeUnit unit) {
+			long delayNanos = Math.max(0L, unit.toNanos(delay));
+			nextRunNanos = System.nanoTime() + delayNanos;
+			delayed = Schedulers.directSchedule(scheduler.timer,
+					this::submit,
+					delayNanos,
+					TimeUnit.NANOSECONDS);
+			if (get()) {
+				delayed.dispose();
+			}
+		}
+
+		void execute() {
+			if (parent != null) {
+				parent.enqueue(this);
+			}
+			else {
+				scheduler.pool.execute(this);
+			}
+		}
+
+		void submit() {
+			if (get()) {
+				return;
+			}
+			try {
+				execute();
+			}
+			catch (RejectedExecutionException ree) {
+				dispose();
+			}
+		}
+
+		/**
+		 * Keep the task counted as pending in the scheduler metrics until it runs or
+		 * is disposed, whichever comes first.
+		 */
+		void queue() {
+			queued = 1;
+			if (get()) {
+				dequeue();
+			}
+		}
+
+		void dequeue() {
+			SchedulerMetrics m = scheduler.metrics;
+			if (m != null && QUEUED.compareAndSet(this, 1, 0)) {
+				m.pending.decrement();
+			}
+		}
+
+		@Override
+		public void run() {
+			if (get()) {
+				return;
+			}
+			SchedulerMetrics m = scheduler.metrics;
+			long start = 0L;
+			if (m != null) {
+				dequeue();
+				start = System.nanoTime();
+			}
+			try {
+				task.run();
+			}
+			catch (Throwable ex) {
+				Schedulers.handleError(ex);
+			}
+			if (m != null) {
+				m.recordCompleted(start - nextRunNanos, System.nanoTime() - start);
+			}
+			if (periodNanos > 0L) {
+				if (!get()) {
+					nextRunNanos += periodNanos;
+					if (m != null) {
+						m.pending.increment();
+						queue();
+					}
+					try {
+						delay(nextRunNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+					}
+					catch (RejectedExecutionException ree) {
+						//the scheduler has been disposed
+						dispose();
+					}
+				}
+			}
+			else {
+				dispose();
+			}
+		}
+
+		@Override
+		public void dispose() {
+			if (compareAndSet(false, true)) {
+				dequeue();
+				Disposable d = delayed;
+				if (d != null) {
+					d.dispose();
+				}
+				if (parent != null) {
+					parent.tasks.remove(this);
+				}
+			}
+		}
+
+		@Override
+		public boolean isDisposed() {
+			return get();
+		}
+	}
+
+	/**
+	 * A trampolining worker submitting a single drain task at a time to the pool.
+	 */
+	static final class WorkStealingWorker implements Worker, Runnable, Scannable {
+
+		final WorkStealingScheduler parent;
+
+		final Queue<WorkStealingTask> queue;
+
+		final Composite tasks;
+
+		volatile int wip;
+		static final AtomicIntegerFieldUpdater<WorkStealingWorker> WIP =
+				AtomicIntegerFieldUpdater.newUpdater(WorkStealingWorker.class, "wip");
+
+		WorkStealingWorker(WorkStealingScheduler parent) {
+			this.parent = parent;
+			this.queue = new ConcurrentLinkedQueue<>();
+			this.tasks = Disposables.composite();
+		}
+
+		@Override
+		public Disposable schedule(Runnable task) {
+			WorkStealingTask r = track(task, 0L);
+			r.start(0L, TimeUnit.NANOSECONDS);
+			return r;
+		}
+
+		@Override
+		public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+			if (delay <= 0L) {
+				return schedule(task);
+			}
+			WorkStealingTask r = track(task, 0L);
+			r.start(delay, unit);
+			return r;
+		}
+
+		@Override
+		public Disposable schedulePeriodically(Runnable task,
+				long initialDelay,
+				long period,
+				TimeUnit unit) {
+			WorkStealingTask r = track(task, unit.toNanos(period));
+			r.start(initialDelay, unit);
+			return r;
+		}
+
+		WorkStealingTask track(Runnable task, long periodNanos) {
+			Objects.requireNonNull(task, "task");
+			WorkStealingTask r = new WorkStealingTask(task, parent, this, periodNanos);
+			if (!tasks.add(r)) {
+				throw Exceptions.failWithRejected();
+			}
+			return r;
+		}
+
+		void enqueue(WorkStealingTask r) {
+			if (tasks.isDisposed()) {
+				return;
+			}
+			queue.offer(r);
+
+			if (WIP.getAndIncrement(this) == 0) {
+				try {
+					parent.pool.execute(this);
+				}
+				catch (RejectedExecutionException ree) {
+					//no drain will run the queued tasks: drop them and let the next
+					//enqueue submit a drain again. The rejected task itself is disposed
+					//in WorkStealingTask#start or #submit
+					WorkStealingTask t;
+					while ((t = queue.poll()) != null) {
+						if (t != r) {
+							t.dispose();
+						}
+					}
+					WIP.set(this, 0);
+					throw Exceptions.failWithRejected(ree);
+				}
+			}
+		}
+
+		@Override
+		public void dispose() {
+			tasks.dispose();
+			queue.clear();
+		}
+
+		@Override
+		public boolean isDisposed() {
+			return tasks.isDisposed();
+		}
+
+		@Override
+		public void run() {
+			final Queue<WorkStealingTask> q = queue;
+
+			int missed = 1;
+			for (; ; ) {
+				WorkStealingTask task;
+				while ((task = q.poll()) != null) {
+					if (tasks.isDisposed()) {
+						q.clear();
+						return;
+					}
+					task.run();
+				}
+
+				missed = WIP.addAndGet(this, -missed);
+				if (missed == 0) {
+					break;
+				}
+			}
+		}
+
+		@Override
+		@Nullable
+		public Object scanUnsafe(Attr key) {
+			if (key == Attr.TERMINATED || key == Attr.CANCELLED) return isDisposed();
+			if (key == Attr.PARENT) return parent;
+			if (key == Attr.BUFFERED) return queue.size();
+
+			return null;
+		}
+	}
+}
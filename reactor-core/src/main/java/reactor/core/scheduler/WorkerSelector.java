@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.scheduler;
+
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Strategy used by a parallel {@link Scheduler} to select which of its {@code n}
+ * backing executors should host a new {@link reactor.core.scheduler.Scheduler.Worker}
+ * or direct task, given the number of tasks currently pending on each of them.
+ * <p>
+ * Implementations are invoked concurrently and should be cheap: they are called on
+ * every {@link Scheduler#createWorker()} and direct scheduling.
+ *
+ * @see Schedulers#newParallel(String, int, boolean, WorkerSelector)
+ */
+@FunctionalInterface
+public interface WorkerSelector {
+
+	/**
+	 * Select the index of the executor to use.
+	 *
+	 * @param n the number of executors to select from
+	 * @param pendingTasks a function returning the number of tasks currently pending on
+	 * the executor at a given index (from 0 to n - 1), or 0 if unknown
+	 *
+	 * @return the selected index, between 0 (inclusive) and n (exclusive)
+	 */
+	int select(int n, IntUnaryOperator pendingTasks);
+
+	/**
+	 * A {@link WorkerSelector} cycling through the executors regardless of their load.
+	 * This is the default strategy.
+	 *
+	 * @return a new round-robin {@link WorkerSelector}
+	 */
+	static WorkerSelector roundRobin() {
+		return new WorkerSelectors.RoundRobin();
+	}
+
+	/**
+	 * A {@link WorkerSelector} picking the executor with the fewest pending tasks,
+	 * breaking ties in a round-robin fashion. It inspects the pending count of every
+	 * executor on each selection.
+	 *
+	 * @return a new least-pending-tasks {@link WorkerSelector}
+	 */
+	static WorkerSelector leastPendingTasks() {
+		return new WorkerSelectors.LeastPendingTasks();
+	}
+
+	/**
+	 * A {@link WorkerSelector} picking two executors at random and selecting the one
+	 * with the fewest pending tasks, which avoids the most loaded executors while only
+	 * inspecting two pending counts per selection.
+	 *
+	 * @return a power-of-two-choices {@link WorkerSelector}
+	 */
+	static WorkerSelector powerOfTwoChoices() {
+		return WorkerSelectors.PowerOfTwoChoices.INSTANCE;
+	}
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.scheduler;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntUnaryOperator;
+
+import reactor.util.annotation.Nullable;
+
+/**
+ * Built-in {@link WorkerSelector} implementations.
+ */
+final class WorkerSelectors {
+
+	WorkerSelectors() {
+	}
+
+	/**
+	 * Resolve one of the built-in {@link WorkerSelector} from its name, as given by the
+	 * selector's {@code toString()}.
+	 *
+	 * @param name the name of the selector, or null
+	 * @return a new {@link WorkerSelector}, or null if the name is null or unknown
+	 */
+	@Nullable
+	static WorkerSelector fromName(@Nullable String name) {
+		if (name == null) {
+			return null;
+		}
+		switch (name) {
+			case "roundRobin":
+				return WorkerSelector.roundRobin();
+			case "leastPendingTasks":
+				return WorkerSelector.leastPendingTasks();
+			case "powerOfTwoChoices":
+				return WorkerSelector.powerOfTwoChoices();
+			default:
+				Schedulers.log.warn("Unknown WorkerSelector " + name + ", using roundRobin");
+				return null;
+		}
+	}
+
+	static final class RoundRobin implements WorkerSelector {
+
+		int index;
+
+		RoundRobin() {
+		}
+
+		@Override
+		public int select(int n, IntUnaryOperator pendingTasks) {
+			// ignoring the race condition here, its already random who gets which executor
+			int idx = index;
+			if (idx >= n) {
+				idx = 0;
+			}
+			index = idx + 1;
+			return idx;
+		}
+
+		@Override
+		public String toString() {
+			return "roundRobin";
+		}
+	}
+
+	static final class LeastPendingTasks implements WorkerSelector {
+
+		int offset;
+
+		LeastPendingTasks() {
+		}
+
+		@Override
+		public int select(int n, IntUnaryOperator pendingTasks) {
+			int start = offset;
+			if (start >= n) {
+				start = 0;
+			}
+			offset = start + 1;
+
+			int best = start;
+			int bestPending = pendingTasks.applyAsInt(start);
+			for (int i = 1; i < n && bestPending > 0; i++) {
+				int idx = start + i;
+				if (idx >= n) {
+					idx -= n;
+				}
+				int pending = pendingTasks.applyAsInt(idx);
+				if (pending < bestPending) {
+					best = idx;
+					bestPending = pending;
+				}
+			}
+			return best;
+		}
+
+		@Override
+		public String toString() {
+			return "leastPendingTasks";
+		}
+	}
+
+	static final class PowerOfTwoChoices implements WorkerSelector {
+
+		static final PowerOfTwoChoices INSTANCE = new PowerOfTwoChoices();
+
+		PowerOfTwoChoices() {
+		}
+
+		@Override
+		public int select(int n, IntUnaryOperator pendingTasks) {
+			if (n == 1) {
+				return 0;
+			}
+			ThreadLocalRandom random = ThreadLocalRandom.current();
+			int a = random.nextInt(n);
+			int b = random.nextInt(n - 1);
+			if (b >= a) {
+				b++;
+			}
+			return pendingTasks.applyAsInt(b) < pendingTasks.applyAsInt(a) ? b : a;
+		}
+
+		@Override
+		public String toString() {
+			return "powerOfTwoChoices";
+		}
+	}
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.util.concurrent;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Base class of the bounded, array backed, multi-producer queues. The producer and
+ * consumer indexes are padded from each other and from the array to avoid false sharing
+ * between the producers and the consumer(s), as in {@link SpscArrayQueue}.
+ * <p>
+ * Only the {@link Queue} methods used by Reactor are implemented, the others throw
+ * {@link UnsupportedOperationException}.
+ *
+ * @param <T> the value type
+ */
+abstract class MpArrayQueue<T> extends MpArrayQueueP3<T> implements Queue<T> {
+	/** */
+	private static final long serialVersionUID = -3366395211929364325L;
+
+	MpArrayQueue(int capacity) {
+		super(Queues.ceilingNextPowerOfTwo(capacity));
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return producerIndex == consumerIndex;
+	}
+
+	@Override
+	public void clear() {
+		while (poll() != null && !isEmpty());
+	}
+
+	@Override
+	public int size() {
+		long ci = consumerIndex;
+		for (;;) {
+			long pi = producerIndex;
+			long ci2 = consumerIndex;
+			if (ci == ci2) {
+				return (int) Math.min(pi - ci, length());
+			}
+			ci = ci2;
+		}
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public Object[] toArray() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public <R> R[] toArray(R[] a) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean containsAll(Collection<?> c) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean addAll(Collection<? extends T> c) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean removeAll(Collection<?> c) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean retainAll(Collection<?> c) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean add(T e) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public T remove() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public T element() {
+		throw new UnsupportedOperationException();
+	}
+}
+
+class MpArrayQueueCold<T> extends AtomicReferenceArray<T> {
+	/** */
+	private static final long serialVersionUID = 2472394863201387164L;
+
+	final int mask;
+
+	MpArrayQueueCold(int length) {
+		super(length);
+		mask = length - 1;
+	}
+}
+
+class MpArrayQueueP1<T> extends MpArrayQueueCold<T> {
+	/** */
+	private static final long serialVersionUID = -1894226826416813407L;
+
+	volatile long p00, p01, p02, p03, p04, p05, p06, p07;
+	volatile long p08, p09, p0A, p0B, p0C, p0D, p0E;
+
+	MpArrayQueueP1(int length) {
+		super(length);
+	}
+}
+
+class MpArrayQueueProducer<T> extends MpArrayQueueP1<T> {
+	/** */
+	private static final long serialVersionUID = 6921823541628399183L;
+
+	MpArrayQueueProducer(int length) {
+		super(length);
+	}
+
+	volatile long producerIndex;
+	@SuppressWarnings("rawtypes")
+	static final AtomicLongFieldUpdater<MpArrayQueueProducer> PRODUCER_INDEX =
+			AtomicLongFieldUpdater.newUpdater(MpArrayQueueProducer.class, "producerIndex");
+
+	/**
+	 * A cached upper bound of the producer index, only refreshed from the consumer index
+	 * when reached, so that producers rarely read the consumer cache line.
+	 */
+	volatile long producerLimit;
+}
+
+class MpArrayQueueP2<T> extends MpArrayQueueProducer<T> {
+	/** */
+	private static final long serialVersionUID = 3262734318727286547L;
+
+	volatile long p00, p01, p02, p03, p04, p05, p06, p07;
+	volatile long p08, p09, p0A, p0B, p0C, p0D, p0E;
+
+	MpArrayQueueP2(int length) {
+		super(length);
+	}
+}
+
+class MpArrayQueueConsumer<T> extends MpArrayQueueP2<T> {
+	/** */
+	private static final long serialVersionUID = -8223471736389219384L;
+
+	MpArrayQueueConsumer(int length) {
+		super(length);
+	}
+
+	volatile long consumerIndex;
+	@SuppressWarnings("rawtypes")
+	static final AtomicLongFieldUpdater<MpArrayQueueConsumer> CONSUMER_INDEX =
+			AtomicLongFieldUpdater.newUpdater(MpArrayQueueConsumer.class, "consumerIndex");
+}
+
+class MpArrayQueueP3<T> extends MpArrayQueueConsumer<T> {
+	/** */
+	private static final long serialVersionUID = 5419584120376612453L;
+
+	volatile long p00, p01, p02, p03, p04, p05, p06, p07;
+	volatile long p08, p09, p0A, p0B, p0C, p0D, p0E;
+
+	MpArrayQueueP3(int length) {
+		super(length);
+	}
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.util.concurrent;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import reactor.util.annotation.Nullable;
+
+/**
+ * A bounded, array backed, multi-producer multi-consumer queue.
+ * <p>
+ * This implementation is based on Dmitry Vyukov's bounded MPMC queue, as in JCTools'
+ * <a href='https://github.com/JCTools/JCTools/blob/master/jctools-core/src/main/java/org/jctools/queues/MpmcArrayQueue.java'>MpmcArrayQueue</a>:
+ * each slot has a sequence number telling producers and consumers whether it is
+ * available in their current lap, so that both sides only CAS their own index.
+ *
+ * @param <T> the value type
+ */
+final class MpmcArrayQueue<T> extends MpArrayQueue<T> {
+	/** */
+	private static final long serialVersionUID = 1290871249851274138L;
+
+	final AtomicLongArray sequences;
+
+	MpmcArrayQueue(int capacity) {
+		super(capacity);
+		int length = length();
+		AtomicLongArray s = new AtomicLongArray(length);
+		for (int i = 0; i < length; i++) {
+			s.lazySet(i, i);
+		}
+		this.sequences = s;
+	}
+
+	@Override
+	public boolean offer(T e) {
+		Objects.requireNonNull(e, "e");
+		final AtomicLongArray s = sequences;
+		final int m = mask;
+		final long capacity = m + 1;
+
+		for (;;) {
+			long pi = producerIndex;
+			int offset = (int) pi & m;
+			long seq = s.get(offset);
+			if (seq == pi) {
+				if (PRODUCER_INDEX.compareAndSet(this, pi, pi + 1)) {
+					lazySet(offset, e);
+					s.lazySet(offset, pi + 1);
+					return true;
+				}
+			}
+			else if (seq < pi && pi - capacity >= consumerIndex) {
+				//the slot of the previous lap has not been consumed
+				return false;
+			}
+		}
+	}
+
+	@Override
+	@Nullable
+	public T poll() {
+		final AtomicLongArray s = sequences;
+		final int m = mask;
+		final long capacity = m + 1;
+
+		for (;;) {
+			long ci = consumerIndex;
+			int offset = (int) ci & m;
+			long seq = s.get(offset);
+			if (seq == ci + 1) {
+				if (CONSUMER_INDEX.compareAndSet(this, ci, ci + 1)) {
+					T v = get(offset);
+					lazySet(offset, null);
+					s.lazySet(offset, ci + capacity);
+					return v;
+				}
+			}
+			else if (seq < ci + 1 && ci >= producerIndex) {
+				//the slot of this lap has not been claimed by a producer
+				return null;
+			}
+		}
+	}
+
+	@Override
+	@Nullable
+	public T peek() {
+		final AtomicLongArray s = sequences;
+		final int m = mask;
+
+		for (;;) {
+			long ci = consumerIndex;
+			int offset = (int) ci & m;
+			long seq = s.get(offset);
+			if (seq == ci + 1) {
+				T v = get(offset);
+				if (v != null && ci == consumerIndex) {
+					return v;
+				}
+			}
+			else if (seq < ci + 1 && ci >= producerIndex) {
+				return null;
+			}
+		}
+	}
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.util.concurrent;
+
+import java.util.Objects;
+
+import reactor.util.annotation.Nullable;
+
+/**
+ * A bounded, array backed, multi-producer single-consumer queue.
+ * <p>
+ * This implementation is based on JCTools' MPSC algorithm:
+ * <a href='https://github.com/JCTools/JCTools/blob/master/jctools-core/src/main/java/org/jctools/queues/MpscArrayQueue.java'>MpscArrayQueue</a>.
+ * Producers claim a slot by CAS on the producer index then lazily write it, the single
+ * consumer spins on a claimed slot that is not written yet.
+ *
+ * @param <T> the value type
+ */
+final class MpscArrayQueue<T> extends MpArrayQueue<T> {
+	/** */
+	private static final long serialVersionUID = -2398213417532834871L;
+
+	MpscArrayQueue(int capacity) {
+		super(capacity);
+		this.producerLimit = length();
+	}
+
+	@Override
+	public boolean offer(T e) {
+		Objects.requireNonNull(e, "e");
+		final int m = mask;
+		long limit = producerLimit;
+		long pi;
+		do {
+			pi = producerIndex;
+			if (pi >= limit) {
+				limit = consumerIndex + m + 1;
+				if (pi >= limit) {
+					return false;
+				}
+				producerLimit = limit;
+			}
+		}
+		while (!PRODUCER_INDEX.compareAndSet(this, pi, pi + 1));
+
+		lazySet((int) pi & m, e);
+		return true;
+	}
+
+	@Override
+	@Nullable
+	public T poll() {
+		long ci = consumerIndex;
+		int offset = (int) ci & mask;
+
+		T v = get(offset);
+		if (v == null) {
+			if (ci == producerIndex) {
+				return null;
+			}
+			//a producer claimed the slot but has not written it yet
+			do {
+				v = get(offset);
+			}
+			while (v == null);
+		}
+		lazySet(offset, null);
+		CONSUMER_INDEX.lazySet(this, ci + 1);
+		return v;
+	}
+
+	@Override
+	@Nullable
+	public T peek() {
+		long ci = consumerIndex;
+		int offset = (int) ci & mask;
+
+		T v = get(offset);
+		if (v == null && ci != producerIndex) {
+			do {
+				v = get(offset);
+			}
+			while (v == null);
+		}
+		return v;
+	}
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.util.concurrent;
+
+import java.util.AbstractQueue;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+import reactor.util.annotation.Nullable;
+
+/**
+ * An unbounded, linked multi-producer single-consumer queue.
+ * <p>
+ * This implementation is based on Dmitry Vyukov's intrusive MPSC node-based queue, as in
+ * JCTools' <a href='https://github.com/JCTools/JCTools/blob/master/jctools-core/src/main/java/org/jctools/queues/MpscLinkedQueue.java'>MpscLinkedQueue</a>:
+ * producers swap the tail node with a single {@code getAndSet} and link the previous one
+ * to it, the consumer spins on a swapped node that is not linked yet. The tail and head
+ * references are padded from each other.
+ *
+ * @param <T> the value type
+ */
+final class MpscLinkedQueue<T> extends MpscLinkedQueueP2<T> {
+
+	MpscLinkedQueue() {
+		LinkedNode<T> node = new LinkedNode<>(null);
+		CONSUMER_NODE.lazySet(this, node);
+		PRODUCER_NODE.getAndSet(this, node);
+	}
+
+	@Override
+	public boolean offer(T e) {
+		Objects.requireNonNull(e, "e");
+		LinkedNode<T> node = new LinkedNode<>(e);
+		@SuppressWarnings("unchecked")
+		LinkedNode<T> previous = PRODUCER_NODE.getAndSet(this, node);
+		previous.lazySet(node);
+		return true;
+	}
+
+	@Override
+	@Nullable
+	public T poll() {
+		LinkedNode<T> current = consumerNode;
+		LinkedNode<T> next = current.get();
+		if (next == null) {
+			if (current == producerNode) {
+				return null;
+			}
+			//a producer swapped the tail but has not linked it yet
+			do {
+				next = current.get();
+			}
+			while (next == null);
+		}
+		T v = next.value;
+		next.value = null;
+		//self-link the consumed node so that it doesn't retain the rest of the queue
+		current.lazySet(current);
+		CONSUMER_NODE.lazySet(this, next);
+		return v;
+	}
+
+	@Override
+	@Nullable
+	public T peek() {
+		LinkedNode<T> current = consumerNode;
+		LinkedNode<T> next = current.get();
+		if (next == null && current != producerNode) {
+			do {
+				next = current.get();
+			}
+			while (next == null);
+		}
+		return next == null ? null : next.value;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return consumerNode == producerNode;
+	}
+
+	@Override
+	public void clear() {
+		while (poll() != null && !isEmpty());
+	}
+
+	@Override
+	public int size() {
+		LinkedNode<T> current = consumerNode;
+		LinkedNode<T> last = producerNode;
+		int size = 0;
+		while (current != last && size < Integer.MAX_VALUE) {
+			LinkedNode<T> next = current.get();
+			if (next == null || next == current) {
+				//not linked yet, or consumed concurrently
+				break;
+			}
+			current = next;
+			size++;
+		}
+		return size;
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		throw new UnsupportedOperationException();
+	}
+
+	static final class LinkedNode<T> extends AtomicReference<LinkedNode<T>> {
+		/** */
+		private static final long serialVersionUID = 4165308461383946624L;
+
+		@Nullable
+		T value;
+
+		LinkedNode(@Nullable T value) {
+			this.value = value;
+		}
+	}
+}
+
+abstract class MpscLinkedQueueProducer<T> extends AbstractQueue<T> {
+
+	volatile MpscLinkedQueue.LinkedNode<T> producerNode;
+	@SuppressWarnings("rawtypes")
+	static final AtomicReferenceFieldUpdater<MpscLinkedQueueProducer, MpscLinkedQueue.LinkedNode>
+			PRODUCER_NODE = AtomicReferenceFieldUpdater.newUpdater(MpscLinkedQueueProducer.class,
+			MpscLinkedQueue.LinkedNode.class,
+			"producerNode");
+}
+
+abstract class MpscLinkedQueueP1<T> extends MpscLinkedQueueProducer<T> {
+
+	volatile long p00, p01, p02, p03, p04, p05, p06, p07;
+	volatile long p08, p09, p0A, p0B, p0C, p0D, p0E;
+}
+
+abstract class MpscLinkedQueueConsumer<T> extends MpscLinkedQueueP1<T> {
+
+	volatile MpscLinkedQueue.LinkedNode<T> consumerNode;
+	@SuppressWarnings("rawtypes")
+	static final AtomicReferenceFieldUpdater<MpscLinkedQueueConsumer, MpscLinkedQueue.LinkedNode>
+			CONSUMER_NODE = AtomicReferenceFieldUpdater.newUpdater(MpscLinkedQueueConsumer.class,
+			MpscLinkedQueue.LinkedNode.class,
+			"consumerNode");
+}
+
+abstract class MpscLinkedQueueP2<T> extends MpscLinkedQueueConsumer<T> {
+
+	volatile long p00, p01, p02, p03, p04, p05, p06, p07;
+	volatile long p08, p09, p0A, p0B, p0C, p0D, p0E;
+}
@@ -29,7 +29,8 @@ import reactor.util.annotation.Nullable;
 
 /**
  * Queue utilities and suppliers for 1-producer/1-consumer ready queues adapted for
- * various given capacities.
+ * various given capacities, as well as multi-producer queues (see {@link #mpsc()} and
+ * {@link #mpmc()}).
  */
 public final class Queues {
 
@@ -46,12 +47,15 @@ public final class Queues {
 	 * @return the capacity of the queue, if discoverable with confidence, or {@link #CAPACITY_UNSURE} negative constant.
 	 */
 	public static final int capacity(Queue q) {
-		if (q instanceof SpscLinkedArrayQueue) {
+		if (q instanceof SpscLinkedArrayQueue || q instanceof MpscLinkedQueue) {
 			return Integer.MAX_VALUE;
 		}
 		else if (q instanceof SpscArrayQueue) {
 			return ((SpscArrayQueue) q).length();
 		}
+		else if (q instanceof MpArrayQueue) {
+			return ((MpArrayQueue) q).length();
+		}
 		else if (q instanceof BlockingQueue) {
 			return ((BlockingQueue) q).remainingCapacity();
 		}
@@ -137,6 +141,68 @@ public final class Queues {
 		return ONE_SUPPLIER;
 	}
 
+	/**
+	 * Returns an unbounded, linked multi-producer single-consumer Queue: {@code offer}
+	 * can be called concurrently without external synchronization, but {@code poll}
+	 * must only be called by one thread at a time.
+	 *
+	 * @param <T> the reified {@link Queue} generic type
+	 * @return an unbounded multi-producer {@link Queue} {@link Supplier}
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> Supplier<Queue<T>> mpsc() {
+		return MPSC_UNBOUNDED;
+	}
+
+	/**
+	 * Returns a bounded, array-based multi-producer single-consumer Queue: {@code offer}
+	 * can be called concurrently without external synchronization, but {@code poll}
+	 * must only be called by one thread at a time. The capacity is rounded up to the
+	 * next power of 2, and an {@code Integer.MAX_VALUE} capacity returns the unbounded
+	 * {@link #mpsc()} Queue.
+	 *
+	 * @param capacity the queue capacity
+	 * @param <T> the reified {@link Queue} generic type
+	 * @return a bounded or unbounded multi-producer {@link Queue} {@link Supplier}
+	 */
+	public static <T> Supplier<Queue<T>> mpsc(int capacity) {
+		if (capacity == Integer.MAX_VALUE) {
+			return mpsc();
+		}
+		final int adjustedCapacity = Math.max(8, capacity);
+		return () -> new MpscArrayQueue<>(adjustedCapacity);
+	}
+
+	/**
+	 * Returns a bounded, array-based multi-producer multi-consumer Queue of
+	 * {@link #SMALL_BUFFER_SIZE} capacity: both {@code offer} and {@code poll} can be
+	 * called concurrently without external synchronization.
+	 *
+	 * @param <T> the reified {@link Queue} generic type
+	 * @return a bounded multi-producer multi-consumer {@link Queue} {@link Supplier}
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> Supplier<Queue<T>> mpmc() {
+		return MPMC_SMALL;
+	}
+
+	/**
+	 * Returns a bounded, array-based multi-producer multi-consumer Queue: both
+	 * {@code offer} and {@code poll} can be called concurrently without external
+	 * synchronization. The capacity is rounded up to the next power of 2.
+	 *
+	 * @param capacity the queue capacity
+	 * @param <T> the reified {@link Queue} generic type
+	 * @return a bounded multi-producer multi-consumer {@link Queue} {@link Supplier}
+	 */
+	public static <T> Supplier<Queue<T>> mpmc(int capacity) {
+		if (capacity <= 0 || capacity > 1 << 30) {
+			throw new IllegalArgumentException("capacity must be between 1 and 2^30, was " + capacity);
+		}
+		final int adjustedCapacity = Math.max(2, capacity);
+		return () -> new MpmcArrayQueue<>(adjustedCapacity);
+	}
+
 	/**
 	 * @param <T> the reified {@link Queue} generic type
 	 *
@@ -342,4 +408,8 @@ public final class Queues {
 			() -> new SpscLinkedArrayQueue<>(SMALL_BUFFER_SIZE);
 	@SuppressWarnings("rawtypes")
 	static final Supplier XS_UNBOUNDED = () -> new SpscLinkedArrayQueue<>(XS_BUFFER_SIZE);
+	@SuppressWarnings("rawtypes")
+	static final Supplier MPSC_UNBOUNDED = MpscLinkedQueue::new;
+	@SuppressWarnings("rawtypes")
+	static final Supplier MPMC_SMALL = () -> new MpmcArrayQueue<>(SMALL_BUFFER_SIZE);
 }
@@ -17,6 +17,7 @@ package reactor.util.concurrent;
 
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.LockSupport;
@@ -35,6 +36,40 @@ public abstract class WaitStrategy {
      */
     public static final Runnable NOOP_SPIN_OBSERVER = () -> { };
 
+    /**
+     * Adaptive wait strategy for waiting consumers on a barrier. Spins, then yields,
+     * then waits using a {@link #liteBlocking()} strategy, like
+     * {@link #phasedOffLiteLock(long, long, TimeUnit)}, but the spin and yield timeouts
+     * are derived from the wait times observed so far instead of being fixed: they grow
+     * up to 100 microseconds and 1 millisecond to cover the usual hand-off latency of busy
+     * consumers and shrink when consumers end up blocking because the producers are idle.
+     * <p>
+     * The returned {@link Adaptive} exposes the number of waits satisfied in each phase
+     * and its current timeouts for tuning purposes.
+     *
+     * @return the wait strategy
+     */
+    public static Adaptive adaptive() {
+        return new Adaptive(Adaptive.DEFAULT_MAX_SPIN_NANOS,
+                Adaptive.DEFAULT_MAX_YIELD_NANOS,
+                TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Adaptive wait strategy for waiting consumers on a barrier. Spins, then yields,
+     * then waits using a {@link #liteBlocking()} strategy, with spin and yield timeouts
+     * derived from the wait times observed so far and bounded by the given maximums.
+     *
+     * @param maxSpinTimeout the maximum spin timeout
+     * @param maxYieldTimeout the maximum yield timeout
+     * @param units the time unit
+     * @return the wait strategy
+     * @see #adaptive()
+     */
+    public static Adaptive adaptive(long maxSpinTimeout, long maxYieldTimeout, TimeUnit units) {
+        return new Adaptive(maxSpinTimeout, maxYieldTimeout, units);
+    }
+
     /**
      * Blocking strategy that uses a lock and condition variable for consumer waiting on a barrier.
      *
@@ -535,4 +570,167 @@ public abstract class WaitStrategy {
 
 	    private static final int SPIN_TRIES = 100;
     }
+
+    /**
+     * A {@link WaitStrategy} tuning its spin and yield phases from the observed wait
+     * times, see {@link WaitStrategy#adaptive()}.
+     * <p>
+     * An exponential moving average of the waits satisfied by spinning or yielding sets
+     * the spin timeout to twice and the yield timeout to four times that average, so
+     * that most hand-offs are caught before parking. Each wait that falls back to
+     * blocking halves both timeouts instead, so that consumers of an idle producer
+     * quickly stop burning CPU. On a single core machine, the spin phase is skipped. The
+     * state is shared by all the consumers using the strategy and updated without
+     * synchronization, as it is only a heuristic.
+     */
+    public static final class Adaptive extends WaitStrategy {
+
+        static final long DEFAULT_MAX_SPIN_NANOS  = TimeUnit.MICROSECONDS.toNanos(100);
+        static final long DEFAULT_MAX_YIELD_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+        static final long MIN_SPIN_NANOS          = TimeUnit.MICROSECONDS.toNanos(1);
+        static final long MIN_YIELD_NANOS         = TimeUnit.MICROSECONDS.toNanos(10);
+        static final long INITIAL_WAIT_NANOS      = TimeUnit.MICROSECONDS.toNanos(5);
+
+        /**
+         * The spin loop reads the clock every {@code SPIN_CHECK_MASK + 1} iterations.
+         */
+        static final int SPIN_CHECK_MASK = 63;
+
+        /**
+         * Spinning only delays the producer on a single core, go straight to yielding.
+         */
+        static final boolean SPIN = Runtime.getRuntime().availableProcessors() > 1;
+
+        final long         maxSpinNanos;
+        final long         maxYieldNanos;
+        final WaitStrategy fallbackStrategy;
+
+        final LongAdder spins  = new LongAdder();
+        final LongAdder yields = new LongAdder();
+        final LongAdder parks  = new LongAdder();
+
+        volatile long averageWaitNanos;
+        volatile long spinTimeoutNanos;
+        volatile long yieldTimeoutNanos;
+
+        Adaptive(long maxSpinTimeout, long maxYieldTimeout, TimeUnit units) {
+            this.maxSpinNanos = Math.max(MIN_SPIN_NANOS, units.toNanos(maxSpinTimeout));
+            this.maxYieldNanos = Math.max(MIN_YIELD_NANOS, units.toNanos(maxYieldTimeout));
+            this.fallbackStrategy = liteBlocking();
+            adapt(INITIAL_WAIT_NANOS);
+        }
+
+        /**
+         * @return the number of waits satisfied while spinning
+         */
+        public long spinCount() {
+            return spins.sum();
+        }
+
+        /**
+         * @return the number of waits satisfied while yielding
+         */
+        public long yieldCount() {
+            return yields.sum();
+        }
+
+        /**
+         * @return the number of waits that fell back to blocking
+         */
+        public long parkCount() {
+            return parks.sum();
+        }
+
+        /**
+         * @return the current spin timeout, in nanoseconds
+         */
+        public long spinTimeoutNanos() {
+            return spinTimeoutNanos;
+        }
+
+        /**
+         * @return the current yield timeout, in nanoseconds
+         */
+        public long yieldTimeoutNanos() {
+            return yieldTimeoutNanos;
+        }
+
+        /**
+         * @return the moving average of the waits satisfied by spinning or yielding, in
+         * nanoseconds
+         */
+        public long averageWaitNanos() {
+            return averageWaitNanos;
+        }
+
+        @Override
+        public void signalAllWhenBlocking() {
+            fallbackStrategy.signalAllWhenBlocking();
+        }
+
+        @Override
+        public long waitFor(long sequence, LongSupplier cursor, Runnable barrier)
+                throws InterruptedException {
+            long availableSequence;
+            if ((availableSequence = cursor.getAsLong()) >= sequence) {
+                return availableSequence;
+            }
+
+            final long startTime = System.nanoTime();
+            final long spinDeadline = startTime + spinTimeoutNanos;
+            int counter = 0;
+
+            while (SPIN) {
+                barrier.run();
+                if ((availableSequence = cursor.getAsLong()) >= sequence) {
+                    spins.increment();
+                    waited(System.nanoTime() - startTime);
+                    return availableSequence;
+                }
+                if ((++counter & SPIN_CHECK_MASK) == 0 && System.nanoTime() - spinDeadline >= 0) {
+                    break;
+                }
+            }
+
+            final long yieldDeadline = spinDeadline + yieldTimeoutNanos;
+
+            for (;;) {
+                Thread.yield();
+                barrier.run();
+                if ((availableSequence = cursor.getAsLong()) >= sequence) {
+                    yields.increment();
+                    waited(System.nanoTime() - startTime);
+                    return availableSequence;
+                }
+                if (System.nanoTime() - yieldDeadline >= 0) {
+                    break;
+                }
+            }
+
+            parks.increment();
+            spinTimeoutNanos = Math.max(MIN_SPIN_NANOS, spinTimeoutNanos >> 1);
+            yieldTimeoutNanos = Math.max(MIN_YIELD_NANOS, yieldTimeoutNanos >> 1);
+            return fallbackStrategy.waitFor(sequence, cursor, barrier);
+        }
+
+        void waited(long waitNanos) {
+            long average = averageWaitNanos;
+            adapt(average + ((waitNanos - average) >> 3));
+        }
+
+        void adapt(long average) {
+            averageWaitNanos = average;
+            spinTimeoutNanos = Math.min(maxSpinNanos, Math.max(MIN_SPIN_NANOS, average << 1));
+            yieldTimeoutNanos = Math.min(maxYieldNanos, Math.max(MIN_YIELD_NANOS, average << 2));
+        }
+
+        @Override
+        public String toString() {
+            return "Adaptive{spins=" + spinCount() +
+                    ", yields=" + yieldCount() +
+                    ", parks=" + parkCount() +
+                    ", spinTimeoutNanos=" + spinTimeoutNanos +
+                    ", yieldTimeoutNanos=" + yieldTimeoutNanos + '}';
+        }
+    }
 }
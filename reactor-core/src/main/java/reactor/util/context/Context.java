@@ -34,8 +34,9 @@ import reactor.util.annotation.Nullable;
  * Note that contexts are optimized for low cardinality key/value storage, and a user
  * might want to associate a dedicated mutable structure to a single key to represent his
  * own context instead of using multiple {@link #put}, which could be more costly.
- * Past five user key/value pair, the {@link Context} will use a copy-on-write
- * implementation backed by a new {@link java.util.Map} on each {@link #put}.
+ * Past five user key/value pair, the {@link Context} will use a persistent hash trie
+ * implementation, where each {@link #put} only copies the few nodes on the path to the
+ * key and shares the others.
  *
  * @author Stephane Maldini
  */
@@ -262,6 +263,7 @@ public interface Context {
 	 */
 	default Context putAll(Context other) {
 		if (other.isEmpty()) return this;
+		if (other instanceof ContextHamt) return ContextHamt.merge(this, other);
 
 		return other.stream()
 		            .reduce(this,
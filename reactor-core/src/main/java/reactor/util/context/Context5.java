@@ -76,7 +76,7 @@ final class Context5 implements Context {
 			return new Context5(key1, value1, key2, value2, key3, value3, key4, value4, key, value);
 		}
 
-		return new ContextN(key1, value1, key2, value2, key3, value3, key4, value4, key5, value5, key, value);
+		return ContextHamt.of(key1, value1, key2, value2, key3, value3, key4, value4, key5, value5, key, value);
 	}
 
 	@Override
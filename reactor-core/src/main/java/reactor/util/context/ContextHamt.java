@@ -0,0 +1,393 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.util.context;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+
+import reactor.util.annotation.Nullable;
+
+/**
+ * A persistent {@link Context} for more than five key/value pairs, backed by a
+ * compressed hash-array mapped trie (CHAMP). {@link #put(Object, Object)} only copies
+ * the nodes on the path to the key, at most 7 nodes of up to 32 slots, and shares all
+ * the others with the original {@link Context}, instead of copying the whole map like
+ * {@link ContextN}.
+ * <p>
+ * {@link #putAll(Context)} merges all the entries of the other {@link Context} in a
+ * single pass: nodes created during the merge are owned by it and updated in place.
+ * {@link #delete(Object)}, which is rare, rebuilds the trie.
+ */
+final class ContextHamt implements Context {
+
+	final Node root;
+	final int  size;
+
+	ContextHamt(Node root, int size) {
+		this.root = root;
+		this.size = size;
+	}
+
+	/**
+	 * Create a {@link ContextHamt} from five existing key/value pairs and a new one.
+	 */
+	static ContextHamt of(Object key1, Object value1, Object key2, Object value2,
+			Object key3, Object value3, Object key4, Object value4,
+			Object key5, Object value5, Object key6, Object value6) {
+		Builder b = new Builder(Node.EMPTY, 0);
+		b.put(key1, value1);
+		b.put(key2, value2);
+		b.put(key3, value3);
+		b.put(key4, value4);
+		b.put(key5, value5);
+		b.put(key6, value6);
+		return b.build();
+	}
+
+	/**
+	 * Merge two {@link Context} in a single pass, the entries of {@code other} replacing
+	 * the ones of {@code base}, reusing the trie of either context if possible.
+	 */
+	static Context merge(Context base, Context other) {
+		if (other.isEmpty()) {
+			return base;
+		}
+		if (base instanceof ContextHamt) {
+			ContextHamt b = (ContextHamt) base;
+			Builder builder = new Builder(b.root, b.size);
+			putAll(builder, other, false);
+			return builder.build();
+		}
+		if (other instanceof ContextHamt) {
+			ContextHamt o = (ContextHamt) other;
+			Builder builder = new Builder(o.root, o.size);
+			putAll(builder, base, true);
+			return builder.build();
+		}
+		Builder builder = new Builder(Node.EMPTY, 0);
+		putAll(builder, base, false);
+		putAll(builder, other, false);
+		return builder.size <= 5 ? builder.toSmallContext() : builder.build();
+	}
+
+	static void putAll(Builder builder, Context source, boolean ifAbsent) {
+		BiConsumer<Object, Object> put = ifAbsent ? builder::putIfAbsent : builder::put;
+		if (source instanceof ContextHamt) {
+			((ContextHamt) source).root.forEach(put);
+		}
+		else {
+			source.stream()
+			      .forEach(e -> put.accept(e.getKey(), e.getValue()));
+		}
+	}
+
+	static int hash(Object key) {
+		int h = key.hashCode();
+		return h ^ (h >>> 16);
+	}
+
+	@Override
+	public Context put(Object key, Object value) {
+		Objects.requireNonNull(key, "key");
+		Objects.requireNonNull(value, "value");
+
+		Builder b = new Builder(root, size);
+		b.put(key, value);
+		if (b.root == root) {
+			return this;
+		}
+		return b.build();
+	}
+
+	@Override
+	public Context delete(Object key) {
+		Objects.requireNonNull(key, "key");
+		if (!hasKey(key)) {
+			return this;
+		}
+
+		Builder b = new Builder(Node.EMPTY, 0);
+		root.forEach((k, v) -> {
+			if (!k.equals(key)) {
+				b.put(k, v);
+			}
+		});
+		return b.size <= 5 ? b.toSmallContext() : b.build();
+	}
+
+	@Override
+	public boolean hasKey(Object key) {
+		return root.find(key, hash(key)) != Node.NOT_FOUND;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T get(Object key) {
+		Object v = root.find(key, hash(key));
+		if (v == Node.NOT_FOUND) {
+			throw new NoSuchElementException("Context does not contain key: " + key);
+		}
+		return (T) v;
+	}
+
+	@Override
+	@Nullable
+	@SuppressWarnings("unchecked")
+	public <T> T getOrDefault(Object key, @Nullable T defaultValue) {
+		Object v = root.find(key, hash(key));
+		if (v == Node.NOT_FOUND) {
+			return defaultValue;
+		}
+		return (T) v;
+	}
+
+	@Override
+	public Stream<Map.Entry<Object, Object>> stream() {
+		List<Map.Entry<Object, Object>> entries = new ArrayList<>(size);
+		root.forEach((k, v) -> entries.add(new AbstractMap.SimpleImmutableEntry<>(k, v)));
+		return entries.stream();
+	}
+
+	@Override
+	public Context putAll(Context other) {
+		return merge(this, other);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder("ContextHamt{");
+		root.forEach((k, v) -> {
+			if (sb.length() > 12) {
+				sb.append(", ");
+			}
+			sb.append(k)
+			  .append('=')
+			  .append(v);
+		});
+		return sb.append('}')
+		         .toString();
+	}
+
+	/**
+	 * Accumulates updates into a trie: the nodes it creates are tagged with the builder
+	 * and updated in place by its subsequent updates, the others are copied on write.
+	 */
+	static final class Builder {
+
+		Node root;
+		int  size;
+
+		Builder(Node root, int size) {
+			this.root = root;
+			this.size = size;
+		}
+
+		void put(Object key, Object value) {
+			root = root.put(this, key, value, hash(key), 0);
+		}
+
+		void putIfAbsent(Object key, Object value) {
+			int h = hash(key);
+			if (root.find(key, h) == Node.NOT_FOUND) {
+				root = root.put(this, key, value, h, 0);
+			}
+		}
+
+		ContextHamt build() {
+			return new ContextHamt(root, size);
+		}
+
+		Context toSmallContext() {
+			Context c = Context.empty();
+			Context[] holder = {c};
+			root.forEach((k, v) -> holder[0] = holder[0].put(k, v));
+			return holder[0];
+		}
+	}
+
+	/**
+	 * A trie node. Following CHAMP, the key/value pairs stored directly in the node come
+	 * first in {@link #content}, in the order of their bit in {@link #dataMap}, and the
+	 * sub-nodes come last, in the reverse order of their bit in {@link #nodeMap}. Keys
+	 * whose hashes are fully equal end up in a collision node, where {@link #content}
+	 * only holds key/value pairs.
+	 */
+	static final class Node {
+
+		static final Object NOT_FOUND = new Object();
+
+		static final Node EMPTY = new Node(null, 0, 0, new Object[0], false);
+
+		@Nullable
+		final Builder  owner;
+		final boolean  collision;
+		int            dataMap;
+		int            nodeMap;
+		Object[]       content;
+
+		Node(@Nullable Builder owner, int dataMap, int nodeMap, Object[] content,
+				boolean collision) {
+			this.owner = owner;
+			this.dataMap = dataMap;
+			this.nodeMap = nodeMap;
+			this.content = content;
+			this.collision = collision;
+		}
+
+		static int bit(int hash, int shift) {
+			return 1 << ((hash >>> shift) & 31);
+		}
+
+		static int index(int bitmap, int bit) {
+			return Integer.bitCount(bitmap & (bit - 1));
+		}
+
+		Object find(Object key, int hash) {
+			Node n = this;
+			int shift = 0;
+			for (; ; ) {
+				Object[] c = n.content;
+				if (n.collision) {
+					for (int i = 0; i < c.length; i += 2) {
+						if (c[i].equals(key)) {
+							return c[i + 1];
+						}
+					}
+					return NOT_FOUND;
+				}
+				int bit = bit(hash, shift);
+				if ((n.dataMap & bit) != 0) {
+					int i = 2 * index(n.dataMap, bit);
+					return c[i].equals(key) ? c[i + 1] : NOT_FOUND;
+				}
+				if ((n.nodeMap & bit) == 0) {
+					return NOT_FOUND;
+				}
+				n = (Node) c[c.length - 1 - index(n.nodeMap, bit)];
+				shift += 5;
+			}
+		}
+
+		Node put(Builder b, Object key, Object value, int hash, int shift) {
+			Object[] c = content;
+			if (collision) {
+				for (int i = 0; i < c.length; i += 2) {
+					if (c[i].equals(key)) {
+						return c[i + 1] == value ? this : set(b, i + 1, value);
+					}
+				}
+				Object[] dst = new Object[c.length + 2];
+				System.arraycopy(c, 0, dst, 0, c.length);
+				dst[c.length] = key;
+				dst[c.length + 1] = value;
+				b.size++;
+				return update(b, dataMap, nodeMap, dst);
+			}
+
+			int bit = bit(hash, shift);
+			if ((dataMap & bit) != 0) {
+				int i = 2 * index(dataMap, bit);
+				Object k = c[i];
+				if (k.equals(key)) {
+					return c[i + 1] == value ? this : set(b, i + 1, value);
+				}
+				Node sub = merge(b, k, c[i + 1], hash(k), key, value, hash, shift + 5);
+				b.size++;
+				return dataToNode(b, bit, i, sub);
+			}
+			if ((nodeMap & bit) != 0) {
+				int j = c.length - 1 - index(nodeMap, bit);
+				Node sub = (Node) c[j];
+				Node newSub = sub.put(b, key, value, hash, shift + 5);
+				return newSub == sub ? this : set(b, j, newSub);
+			}
+
+			int i = 2 * index(dataMap, bit);
+			Object[] dst = new Object[c.length + 2];
+			System.arraycopy(c, 0, dst, 0, i);
+			dst[i] = key;
+			dst[i + 1] = value;
+			System.arraycopy(c, i, dst, i + 2, c.length - i);
+			b.size++;
+			return update(b, dataMap | bit, nodeMap, dst);
+		}
+
+		static Node merge(Builder b, Object key1, Object value1, int hash1,
+				Object key2, Object value2, int hash2, int shift) {
+			if (shift >= 32) {
+				return new Node(b, 0, 0, new Object[]{key1, value1, key2, value2}, true);
+			}
+			int mask1 = (hash1 >>> shift) & 31;
+			int mask2 = (hash2 >>> shift) & 31;
+			if (mask1 != mask2) {
+				Object[] c = mask1 < mask2 ?
+						new Object[]{key1, value1, key2, value2} :
+						new Object[]{key2, value2, key1, value1};
+				return new Node(b, (1 << mask1) | (1 << mask2), 0, c, false);
+			}
+			Node sub = merge(b, key1, value1, hash1, key2, value2, hash2, shift + 5);
+			return new Node(b, 0, 1 << mask1, new Object[]{sub}, false);
+		}
+
+		Node set(Builder b, int i, Object v) {
+			if (owner == b) {
+				content[i] = v;
+				return this;
+			}
+			Object[] dst = content.clone();
+			dst[i] = v;
+			return new Node(b, dataMap, nodeMap, dst, collision);
+		}
+
+		Node dataToNode(Builder b, int bit, int dataIndex, Node sub) {
+			Object[] c = content;
+			int nodeIndex = c.length - 2 - index(nodeMap, bit);
+			Object[] dst = new Object[c.length - 1];
+			System.arraycopy(c, 0, dst, 0, dataIndex);
+			System.arraycopy(c, dataIndex + 2, dst, dataIndex, nodeIndex - dataIndex);
+			dst[nodeIndex] = sub;
+			System.arraycopy(c, nodeIndex + 2, dst, nodeIndex + 1, c.length - nodeIndex - 2);
+			return update(b, dataMap ^ bit, nodeMap | bit, dst);
+		}
+
+		Node update(Builder b, int dataMap, int nodeMap, Object[] content) {
+			if (owner == b) {
+				this.dataMap = dataMap;
+				this.nodeMap = nodeMap;
+				this.content = content;
+				return this;
+			}
+			return new Node(b, dataMap, nodeMap, content, collision);
+		}
+
+		void forEach(BiConsumer<Object, Object> consumer) {
+			Object[] c = content;
+			int data = collision ? c.length / 2 : Integer.bitCount(dataMap);
+			for (int i = 0; i < data; i++) {
+				consumer.accept(c[2 * i], c[2 * i + 1]);
+			}
+			for (int i = c.length - 1; i >= 2 * data; i--) {
+				((Node) c[i]).forEach(consumer);
+			}
+		}
+	}
+}
@@ -118,6 +118,73 @@ public class HooksTraceTest {
 		throw new IllegalStateException();
 	}
 
+	@Test
+	public void testCallSiteTrace() throws Exception {
+		Hooks.onOperatorCallSiteDebug();
+		try {
+			Flux.just(1)
+			    .map(d -> {
+				    throw new RuntimeException();
+			    })
+			    .share()
+			    .filter(d -> true)
+			    .map(d -> d)
+			    .blockLast();
+		}
+		catch(Exception e){
+			e.printStackTrace();
+			String message = e.getSuppressed()[0].getMessage();
+			assertThat(message).contains("\treactor.core.publisher.Flux.map(Flux.java:")
+			                   .contains("\treactor.HooksTraceTest.testCallSiteTrace(HooksTraceTest.java:")
+			                   .contains("|_\tFlux.share(HooksTraceTest.java:")
+			                   .doesNotContain("org.junit");
+			return;
+		}
+		finally {
+			Hooks.resetOnOperatorDebug();
+		}
+		throw new IllegalStateException();
+	}
+
+	@Test
+	public void testCallSiteTraceStableAcrossAssemblies() {
+		Hooks.onOperatorCallSiteDebug();
+		try {
+			List<String> traces = new ArrayList<>();
+			for (int i = 0; i < 2; i++) {
+				traces.add(Flux.just(i).map(d -> d).toString());
+			}
+			assertThat(traces.get(0)).isEqualTo(traces.get(1))
+			                         .contains("Flux.map(HooksTraceTest.java:");
+		}
+		finally {
+			Hooks.resetOnOperatorDebug();
+		}
+	}
+
+	@Test
+	public void testCallSiteTraceSampled() {
+		Hooks.onOperatorCallSiteDebug(4);
+		try {
+			int traced = 0;
+			for (int i = 0; i < 8; i++) {
+				Flux<Integer> flux = Flux.just(i);
+				if (flux.getClass().getSimpleName().endsWith("OnAssembly")) {
+					traced++;
+				}
+			}
+			assertThat(traced).isEqualTo(2);
+		}
+		finally {
+			Hooks.resetOnOperatorDebug();
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testCallSiteTraceRejectsZeroSampleRate() {
+		Hooks.onOperatorCallSiteDebug(0);
+	}
+
 	@Test
 	public void testTraceDefer() throws Exception {
 		Hooks.onOperatorDebug();
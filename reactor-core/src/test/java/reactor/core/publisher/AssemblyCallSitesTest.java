@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.publisher;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import reactor.core.publisher.FluxOnAssembly.AssemblySnapshotException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AssemblyCallSitesTest {
+
+	@Test
+	public void sameCallSiteSharesSnapshot() {
+		List<AssemblySnapshotException> snapshots = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			snapshots.add(AssemblyCallSites.sample(1));
+		}
+
+		assertThat(snapshots).doesNotContainNull();
+		assertThat(snapshots.get(0)).isSameAs(snapshots.get(1))
+		                            .isSameAs(snapshots.get(2));
+	}
+
+	@Test
+	public void differentCallSitesHaveDifferentSnapshots() {
+		AssemblySnapshotException first = AssemblyCallSites.sample(1);
+		AssemblySnapshotException second = AssemblyCallSites.sample(1);
+
+		assertThat(first).isNotNull()
+		                 .isNotSameAs(second);
+		assertThat(first.toString()).isNotEqualTo(second.toString());
+	}
+
+	@Test
+	public void snapshotOnlyHasCallSiteFrames() {
+		AssemblySnapshotException snapshot = AssemblyCallSites.sample(1);
+
+		assertThat(snapshot).isNotNull();
+		assertThat(snapshot.isLight()).isFalse();
+		assertThat(snapshot.getStackTrace()).hasSize(2);
+		assertThat(snapshot.getStackTrace()[0].getMethodName())
+				.isEqualTo("snapshotOnlyHasCallSiteFrames");
+	}
+
+	@Test
+	public void sampledPerThreadBeforeLookup() {
+		AssemblyCallSites.SKIPPED.remove();
+		AssemblyCallSites.CACHE.clear();
+		int sampled = 0;
+		for (int i = 0; i < 9; i++) {
+			if (AssemblyCallSites.sample(3) != null) {
+				sampled++;
+			}
+		}
+		//the counter is shared with other call sites of the same thread
+		AssemblySnapshotException other = AssemblyCallSites.sample(3);
+
+		assertThat(sampled).isEqualTo(3);
+		assertThat(other).isNotNull();
+		//skipped assemblies don't look their call site up
+		assertThat(AssemblyCallSites.CACHE).hasSize(2);
+	}
+
+	@Test
+	public void cacheDoesNotRetainFrames() {
+		AssemblyCallSites.sample(1);
+
+		assertThat(AssemblyCallSites.CACHE.keySet())
+				.isNotEmpty()
+				.allMatch(k -> k.operatorFrame == null && k.callerFrame == null);
+	}
+}
@@ -16,6 +16,7 @@
 
 package reactor.core.publisher;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -24,6 +25,8 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Queue;
 import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -32,6 +35,7 @@ import org.junit.Test;
 import org.reactivestreams.Subscription;
 import reactor.core.Scannable;
 import reactor.core.Scannable.Attr;
+import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
 import reactor.util.concurrent.Queues;
 
@@ -314,4 +318,55 @@ public class BlockingIterableTest {
 				                        .collect(Collectors.toSet()))
 				.withMessage("boom");
 	}
+
+	@Test(timeout = 10000)
+	public void asyncProducerAllPrefetches() {
+		for (int prefetch : new int[]{1, 32, 256}) {
+			long sum = 0L;
+			for (Integer i : Flux.range(0, 100_000)
+			                     .subscribeOn(Schedulers.single())
+			                     .toIterable(prefetch)) {
+				sum += i;
+			}
+			assertThat(sum).as("prefetch %d", prefetch).isEqualTo(4_999_950_000L);
+		}
+	}
+
+	@Test(timeout = 5000)
+	public void asyncErrorWakesParkedConsumer() {
+		Iterator<Integer> it = Flux.<Integer>error(new IllegalStateException("boom"))
+				.delaySubscription(Duration.ofMillis(100))
+				.toIterable()
+				.iterator();
+
+		assertThatExceptionOfType(IllegalStateException.class)
+				.isThrownBy(it::hasNext)
+				.withMessage("boom");
+	}
+
+	@Test(timeout = 5000)
+	public void interruptedConsumerCancels() throws InterruptedException {
+		AtomicBoolean cancelled = new AtomicBoolean();
+		AtomicReference<Throwable> error = new AtomicReference<>();
+		Iterator<Object> it = Flux.never()
+		                          .doOnCancel(() -> cancelled.set(true))
+		                          .toIterable()
+		                          .iterator();
+
+		Thread t = new Thread(() -> {
+			try {
+				it.hasNext();
+			}
+			catch (Throwable e) {
+				error.set(e);
+			}
+		});
+		t.start();
+		Thread.sleep(100);
+		t.interrupt();
+		t.join();
+
+		assertThat(cancelled.get()).isTrue();
+		assertThat(error.get()).hasCauseInstanceOf(InterruptedException.class);
+	}
 }
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BufferPoolTest {
+
+	@Test
+	public void releasedBufferIsClearedAndReused() {
+		BufferPool<Integer> pool = BufferPool.create(16, 2);
+
+		List<Integer> buffer = pool.get();
+		buffer.add(1);
+
+		assertThat(pool.release(buffer)).isTrue();
+		assertThat(buffer).isEmpty();
+		assertThat(pool.pooled()).isEqualTo(1);
+
+		assertThat(pool.get()).isSameAs(buffer);
+		assertThat(pool.pooled()).isZero();
+	}
+
+	@Test
+	public void doubleReleaseIsIgnored() {
+		BufferPool<Integer> pool = BufferPool.create(16, 2);
+
+		List<Integer> buffer = pool.get();
+
+		assertThat(pool.release(buffer)).isTrue();
+		assertThat(pool.release(buffer)).isFalse();
+		assertThat(pool.pooled()).isEqualTo(1);
+	}
+
+	@Test
+	public void foreignBuffersAreIgnored() {
+		BufferPool<Integer> pool = BufferPool.create(16, 2);
+		BufferPool<Integer> other = BufferPool.create(16, 2);
+
+		assertThat(pool.release(new ArrayList<>())).isFalse();
+		assertThat(pool.release(other.get())).isFalse();
+		assertThat(pool.pooled()).isZero();
+	}
+
+	@Test
+	public void fullPoolDropsReleasedBuffers() {
+		BufferPool<Integer> pool = BufferPool.create(16, 2);
+		List<Integer> b1 = pool.get();
+		List<Integer> b2 = pool.get();
+		List<Integer> b3 = pool.get();
+
+		assertThat(pool.release(b1)).isTrue();
+		assertThat(pool.release(b2)).isTrue();
+		assertThat(pool.release(b3)).isFalse();
+		assertThat(pool.pooled()).isEqualTo(2);
+	}
+
+	@Test
+	public void bufferDrawsFromPool() {
+		BufferPool<Integer> pool = BufferPool.create(3, 1);
+		List<List<Integer>> seen = new ArrayList<>();
+
+		StepVerifier.create(Flux.range(1, 7)
+		                        .buffer(3, pool)
+		                        .map(b -> {
+			                        seen.add(b);
+			                        List<Integer> copy = new ArrayList<>(b);
+			                        pool.release(b);
+			                        return copy;
+		                        }))
+		            .expectNext(Arrays.asList(1, 2, 3), Arrays.asList(4, 5, 6),
+				            Collections.singletonList(7))
+		            .verifyComplete();
+
+		assertThat(seen.get(1)).isSameAs(seen.get(0));
+		assertThat(seen.get(2)).isSameAs(seen.get(0));
+	}
+
+	@Test
+	public void bufferTimeoutDrawsFromPool() {
+		BufferPool<Integer> pool = BufferPool.create(10, 4);
+
+		StepVerifier.create(Flux.range(0, 10_000)
+		                        .bufferTimeout(10, Duration.ofSeconds(1), pool)
+		                        .publishOn(Schedulers.parallel())
+		                        .map(b -> {
+			                        int size = b.size();
+			                        pool.release(b);
+			                        return size;
+		                        })
+		                        .reduce(0, Integer::sum))
+		            .expectNext(10_000)
+		            .expectComplete()
+		            .verify(Duration.ofSeconds(10));
+
+		assertThat(pool.pooled()).isBetween(1, 4);
+	}
+
+	@Test
+	public void bufferErrorReleasesPartialBuffers() {
+		BufferPool<Integer> exact = BufferPool.create(3, 4);
+		BufferPool<Integer> skip = BufferPool.create(2, 4);
+		BufferPool<Integer> overlap = BufferPool.create(3, 4);
+		Flux<Integer> source = Flux.range(1, 5)
+		                           .concatWith(Flux.error(new IllegalStateException("boom")));
+
+		StepVerifier.create(source.buffer(3, exact))
+		            .expectNext(Arrays.asList(1, 2, 3))
+		            .verifyErrorMessage("boom");
+		StepVerifier.create(source.buffer(2, 3, skip))
+		            .expectNext(Arrays.asList(1, 2), Arrays.asList(4, 5))
+		            .verifyErrorMessage("boom");
+		StepVerifier.create(source.buffer(3, 1, overlap))
+		            .expectNext(Arrays.asList(1, 2, 3), Arrays.asList(2, 3, 4),
+				            Arrays.asList(3, 4, 5))
+		            .verifyErrorMessage("boom");
+
+		//the emitted buffers are left to downstream, only the partial ones are released
+		assertThat(exact.pooled()).isEqualTo(1);
+		assertThat(skip.pooled()).isZero();
+		assertThat(overlap.pooled()).isEqualTo(2);
+	}
+
+	@Test
+	public void bufferTimeoutReleasesUnusedBuffer() {
+		BufferPool<Integer> completed = BufferPool.create(3, 4);
+		BufferPool<Integer> failed = BufferPool.create(3, 4);
+
+		StepVerifier.create(Flux.range(1, 3)
+		                        .bufferTimeout(3, Duration.ofSeconds(1), completed))
+		            .expectNext(Arrays.asList(1, 2, 3))
+		            .verifyComplete();
+		StepVerifier.create(Flux.range(1, 2)
+		                        .concatWith(Flux.error(new IllegalStateException("boom")))
+		                        .bufferTimeout(3, Duration.ofSeconds(1), failed))
+		            .verifyErrorMessage("boom");
+
+		assertThat(completed.pooled()).isEqualTo(1);
+		assertThat(failed.pooled()).isEqualTo(1);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void failNegativeCapacity() {
+		BufferPool.create(-1, 2);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void failZeroMaxPooled() {
+		BufferPool.create(16, 0);
+	}
+}
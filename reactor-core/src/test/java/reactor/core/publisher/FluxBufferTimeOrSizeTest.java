@@ -17,7 +17,10 @@ package reactor.core.publisher;
 
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.junit.Test;
 import org.reactivestreams.Subscription;
@@ -25,6 +28,8 @@ import reactor.core.CoreSubscriber;
 import reactor.core.Scannable;
 import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
+import reactor.test.subscriber.AssertSubscriber;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -105,4 +110,141 @@ public class FluxBufferTimeOrSizeTest {
 		assertThat(test.scan(Scannable.Attr.CANCELLED)).isTrue();
 		assertThat(test.scan(Scannable.Attr.TERMINATED)).isFalse();
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void fairBackpressureSplitsOnSize() {
+		StepVerifier.create(Flux.range(1, 10)
+		                        .bufferTimeout(3, Duration.ofSeconds(1), true))
+		            .expectNext(Arrays.asList(1, 2, 3),
+				            Arrays.asList(4, 5, 6),
+				            Arrays.asList(7, 8, 9),
+				            Collections.singletonList(10))
+		            .verifyComplete();
+	}
+
+	@Test
+	public void fairBackpressureRequestsOnlyWhatFillsRequestedBuffers() {
+		VirtualTimeScheduler vts = VirtualTimeScheduler.create();
+		DirectProcessor<Integer> source = DirectProcessor.create();
+		AtomicLong upstreamRequested = new AtomicLong();
+		AssertSubscriber<List<Integer>> ts = AssertSubscriber.create(0);
+
+		source.doOnRequest(upstreamRequested::addAndGet)
+		      .bufferTimeout(3, Duration.ofSeconds(1), vts, ArrayList::new, true)
+		      .subscribe(ts);
+
+		assertThat(upstreamRequested.get()).isZero();
+
+		ts.request(2);
+		assertThat(upstreamRequested.get()).isEqualTo(6);
+
+		source.onNext(1);
+		source.onNext(2);
+		vts.advanceTimeBy(Duration.ofMillis(999));
+		ts.assertNoValues();
+
+		vts.advanceTimeBy(Duration.ofMillis(1));
+		ts.assertValues(Arrays.asList(1, 2));
+		//the partial buffer consumed a request, upstream still has 4 to deliver
+		assertThat(upstreamRequested.get()).isEqualTo(6);
+
+		source.onNext(3);
+		source.onNext(4);
+		source.onNext(5);
+		ts.assertValues(Arrays.asList(1, 2), Arrays.asList(3, 4, 5));
+	}
+
+	@Test
+	public void fairBackpressureHoldsTimedOutBufferUntilRequested() {
+		VirtualTimeScheduler vts = VirtualTimeScheduler.create();
+		DirectProcessor<Integer> source = DirectProcessor.create();
+		AssertSubscriber<List<Integer>> ts = AssertSubscriber.create(1);
+
+		source.bufferTimeout(3, Duration.ofSeconds(1), vts, ArrayList::new, true)
+		      .subscribe(ts);
+
+		source.onNext(1);
+		source.onNext(2);
+		source.onNext(3);
+		ts.assertValues(Arrays.asList(1, 2, 3));
+
+		vts.advanceTimeBy(Duration.ofSeconds(5));
+		ts.assertValueCount(1);
+
+		ts.request(1);
+		source.onNext(4);
+		ts.assertValueCount(1);
+
+		vts.advanceTimeBy(Duration.ofMillis(500));
+		source.onNext(5);
+		vts.advanceTimeBy(Duration.ofMillis(500));
+		ts.assertValues(Arrays.asList(1, 2, 3), Arrays.asList(4, 5));
+
+		ts.request(1);
+		source.onNext(6);
+		source.onComplete();
+		ts.assertValues(Arrays.asList(1, 2, 3), Arrays.asList(4, 5),
+				Collections.singletonList(6))
+		  .assertComplete();
+	}
+
+	@Test
+	public void fairBackpressureEmitsRemainderOnCompleteWhenRequested() {
+		AssertSubscriber<List<Integer>> ts = AssertSubscriber.create(1);
+
+		Flux.range(1, 4)
+		    .bufferTimeout(3, Duration.ofSeconds(10), true)
+		    .subscribe(ts);
+
+		ts.assertValues(Arrays.asList(1, 2, 3))
+		  .assertNotComplete();
+
+		ts.request(1);
+		ts.assertValues(Arrays.asList(1, 2, 3), Collections.singletonList(4))
+		  .assertComplete();
+	}
+
+	@Test
+	public void fairBackpressureErrorDropsPendingValues() {
+		StepVerifier.create(Flux.just(1, 2)
+		                        .concatWith(Flux.error(new IllegalStateException("boom")))
+		                        .bufferTimeout(3, Duration.ofSeconds(10), true))
+		            .verifyErrorMessage("boom");
+	}
+
+	@Test
+	public void fairBackpressureSlowConsumerNeverOverflows() {
+		StepVerifier.create(Flux.range(0, 1_000_000)
+		                        .subscribeOn(Schedulers.parallel())
+		                        .bufferTimeout(100, Duration.ofMillis(1), true)
+		                        .publishOn(Schedulers.single(), 4)
+		                        .map(l -> {
+			                        assertThat(l).hasSizeLessThanOrEqualTo(100);
+			                        return l.size();
+		                        })
+		                        .reduce(0, Integer::sum))
+		            .expectNext(1_000_000)
+		            .expectComplete()
+		            .verify(Duration.ofSeconds(10));
+	}
+
+	@Test
+	public void scanFairBackpressureSubscriber() {
+		CoreSubscriber<List<String>> actual = new LambdaSubscriber<>(null, e -> {}, null, null);
+
+		FluxBufferTimeOrSize.BufferTimeoutWithBackpressureSubscriber<String, List<String>> test =
+				new FluxBufferTimeOrSize.BufferTimeoutWithBackpressureSubscriber<>(actual,
+						123, 1000, Schedulers.single(), ArrayList::new);
+		Subscription parent = Operators.emptySubscription();
+		test.onSubscribe(parent);
+
+		assertThat(test.scan(Scannable.Attr.PARENT)).isSameAs(parent);
+		assertThat(test.scan(Scannable.Attr.ACTUAL)).isSameAs(actual);
+		assertThat(test.scan(Scannable.Attr.CAPACITY)).isEqualTo(123);
+		assertThat(test.scan(Scannable.Attr.BUFFERED)).isEqualTo(0);
+
+		assertThat(test.scan(Scannable.Attr.CANCELLED)).isFalse();
+		test.cancel();
+		assertThat(test.scan(Scannable.Attr.CANCELLED)).isTrue();
+	}
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.publisher;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.reactivestreams.Subscription;
+import reactor.core.Scannable;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+import reactor.test.subscriber.AssertSubscriber;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FluxCombineLatestCoalescedTest {
+
+	@Test
+	public void combinesLatestValues() {
+		StepVerifier.create(Flux.combineLatestCoalesced((Object[] a) -> a[0] + "" + a[1],
+				Flux.just(1, 2, 3),
+				Flux.just("a", "b")))
+		            .expectNext("3a", "3b")
+		            .verifyComplete();
+	}
+
+	@Test
+	public void emptySourceCompletes() {
+		StepVerifier.create(Flux.combineLatestCoalesced((Object[] a) -> a[0] + "" + a[1],
+				Flux.just(1, 2, 3),
+				Flux.empty()))
+		            .verifyComplete();
+	}
+
+	@Test
+	public void noSourceCompletes() {
+		StepVerifier.create(Flux.combineLatestCoalesced(new ArrayList<Flux<Integer>>(),
+				a -> a.length))
+		            .verifyComplete();
+	}
+
+	@Test
+	public void sourceErrorTerminates() {
+		StepVerifier.create(Flux.combineLatestCoalesced((Object[] a) -> a[0],
+				Flux.just(1),
+				Flux.error(new IllegalStateException("boom"))))
+		            .verifyErrorMessage("boom");
+	}
+
+	@Test
+	public void combinerErrorTerminates() {
+		StepVerifier.create(Flux.combineLatestCoalesced((Object[] a) -> {
+					throw new IllegalStateException("boom");
+				},
+				Flux.just(1),
+				Flux.just(2)))
+		            .verifyErrorMessage("boom");
+	}
+
+	@Test
+	public void intermediateUpdatesAreCoalesced() {
+		DirectProcessor<Integer> source1 = DirectProcessor.create();
+		DirectProcessor<Integer> source2 = DirectProcessor.create();
+		AssertSubscriber<String> ts = AssertSubscriber.create(0);
+
+		Flux.combineLatestCoalesced((Object[] a) -> a[0] + "-" + a[1], source1, source2)
+		    .subscribe(ts);
+
+		source1.onNext(1);
+		source2.onNext(1);
+		source1.onNext(2);
+		source2.onNext(2);
+		source2.onNext(3);
+
+		ts.assertNoValues();
+
+		ts.request(1);
+		ts.assertValues("2-3");
+
+		source1.onNext(4);
+		ts.request(5);
+		ts.assertValues("2-3", "4-3");
+
+		source1.onComplete();
+		source2.onNext(9);
+		source2.onComplete();
+
+		ts.assertValues("2-3", "4-3", "4-9")
+		  .assertComplete();
+	}
+
+	@Test
+	public void pendingCombinationIsEmittedBeforeCompletion() {
+		AssertSubscriber<String> ts = AssertSubscriber.create(0);
+
+		Flux.combineLatestCoalesced((Object[] a) -> a[0] + "-" + a[1],
+				Flux.just(1, 2),
+				Flux.just(3, 4))
+		    .subscribe(ts);
+
+		ts.assertNoValues()
+		  .assertNotComplete();
+
+		ts.request(1);
+
+		ts.assertValues("2-4")
+		  .assertComplete();
+	}
+
+	@Test
+	public void cancelStopsSources() {
+		DirectProcessor<Integer> source1 = DirectProcessor.create();
+		DirectProcessor<Integer> source2 = DirectProcessor.create();
+		AssertSubscriber<String> ts = AssertSubscriber.create();
+
+		Flux.combineLatestCoalesced((Object[] a) -> a[0] + "-" + a[1], source1, source2)
+		    .subscribe(ts);
+
+		assertThat(source1.hasDownstreams()).isTrue();
+		assertThat(source2.hasDownstreams()).isTrue();
+
+		ts.cancel();
+
+		assertThat(source1.hasDownstreams()).isFalse();
+		assertThat(source2.hasDownstreams()).isFalse();
+	}
+
+	@Test
+	public void concurrentSourcesEndWithLatestValues() {
+		List<Flux<Integer>> sources = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			sources.add(Flux.range(0, 100_000)
+			                .subscribeOn(Schedulers.parallel()));
+		}
+
+		StepVerifier.create(Flux.combineLatestCoalesced(sources, Arrays::asList)
+		                        .publishOn(Schedulers.single(), 1)
+		                        .last())
+		            .expectNext(Arrays.asList(99_999, 99_999, 99_999, 99_999,
+				            99_999, 99_999, 99_999, 99_999))
+		            .expectComplete()
+		            .verify(Duration.ofSeconds(10));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void failPrefetch() {
+		Flux.combineLatestCoalesced((Object[] a) -> a[0], -1, Flux.just(1), Flux.just(2));
+	}
+
+	@Test
+	public void scanMain() {
+		AssertSubscriber<Integer> actual = AssertSubscriber.create(0);
+		FluxCombineLatestCoalesced.CoalescingCoordinator<String, Integer> test =
+				new FluxCombineLatestCoalesced.CoalescingCoordinator<>(actual,
+						arr -> arr.length, 5, 123);
+
+		test.request(2);
+		assertThat(test.scan(Scannable.Attr.REQUESTED_FROM_DOWNSTREAM)).isEqualTo(2L);
+		assertThat(test.scan(Scannable.Attr.ACTUAL)).isSameAs(actual);
+		assertThat(test.inners()).hasSize(5);
+
+		assertThat(test.scan(Scannable.Attr.TERMINATED)).isFalse();
+		assertThat(test.scan(Scannable.Attr.CANCELLED)).isFalse();
+		test.cancel();
+		assertThat(test.scan(Scannable.Attr.CANCELLED)).isTrue();
+	}
+
+	@Test
+	public void scanInner() {
+		AssertSubscriber<Integer> actual = AssertSubscriber.create();
+		FluxCombineLatestCoalesced.CoalescingCoordinator<String, Integer> main =
+				new FluxCombineLatestCoalesced.CoalescingCoordinator<>(actual,
+						arr -> arr.length, 5, 123);
+		FluxCombineLatestCoalesced.CoalescingInner<String> test =
+				new FluxCombineLatestCoalesced.CoalescingInner<>(main, 789);
+		Subscription parent = Operators.emptySubscription();
+		test.onSubscribe(parent);
+
+		assertThat(test.scan(Scannable.Attr.PARENT)).isSameAs(parent);
+		assertThat(test.scan(Scannable.Attr.ACTUAL)).isSameAs(main);
+		assertThat(test.scan(Scannable.Attr.PREFETCH)).isEqualTo(789);
+
+		assertThat(test.scan(Scannable.Attr.CANCELLED)).isFalse();
+		test.cancel();
+		assertThat(test.scan(Scannable.Attr.CANCELLED)).isTrue();
+	}
+}
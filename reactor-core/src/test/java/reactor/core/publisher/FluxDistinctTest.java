@@ -16,7 +16,9 @@
 
 package reactor.core.publisher;
 
+import java.time.Duration;
 import java.util.AbstractCollection;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -33,6 +35,7 @@ import reactor.core.Scannable;
 import reactor.test.MockUtils;
 import reactor.test.StepVerifier;
 import reactor.test.publisher.FluxOperatorTest;
+import reactor.test.scheduler.VirtualTimeScheduler;
 import reactor.test.subscriber.AssertSubscriber;
 import reactor.util.annotation.Nullable;
 
@@ -472,4 +475,166 @@ public class FluxDistinctTest extends FluxOperatorTest<String, String> {
 		test.onError(new IllegalStateException("boom"));
 		assertThat(test.scan(Scannable.Attr.TERMINATED)).isTrue();
 	}
+
+	@Test
+	public void lruForgetsLeastRecentlySeenKey() {
+		StepVerifier.create(Flux.just(1, 2, 1, 3, 1, 4, 2, 5, 1)
+		                        .hide()
+		                        .distinct(i -> i, 2))
+		            .expectNext(1, 2, 3, 4, 2, 5, 1)
+		            .verifyComplete();
+	}
+
+	@Test
+	public void lruFused() {
+		StepVerifier.create(Flux.just(1, 2, 1, 3, 1, 4, 2, 5, 1)
+		                        .distinct(i -> i, 2))
+		            .expectFusion(Fuseable.SYNC)
+		            .expectNext(1, 2, 3, 4, 2, 5, 1)
+		            .verifyComplete();
+	}
+
+	@Test
+	public void lruKeySetIsBounded() {
+		FluxDistinct.LruKeySet<Integer> keys = new FluxDistinct.LruKeySet<>(100);
+		for (int i = 0; i < 10_000; i++) {
+			assertThat(keys.add(i)).isTrue();
+		}
+		assertThat(keys).hasSize(100)
+		                .contains(9999)
+		                .doesNotContain(9899);
+	}
+
+	@Test
+	public void windowForgetsExpiredKeys() {
+		VirtualTimeScheduler vts = VirtualTimeScheduler.getOrSet();
+		try {
+			DirectProcessor<Integer> source = DirectProcessor.create();
+			List<Integer> values = new ArrayList<>();
+			source.distinct(i -> i, Duration.ofSeconds(1))
+			      .subscribe(values::add);
+
+			source.onNext(1);
+			source.onNext(2);
+			vts.advanceTimeBy(Duration.ofMillis(600));
+			//a duplicate doesn't extend the window of its key
+			source.onNext(1);
+			source.onNext(3);
+			vts.advanceTimeBy(Duration.ofMillis(400));
+			source.onNext(1);
+			source.onNext(3);
+			source.onNext(2);
+
+			assertThat(values).containsExactly(1, 2, 3, 1, 2);
+		}
+		finally {
+			VirtualTimeScheduler.reset();
+		}
+	}
+
+	@Test
+	public void windowUsesProvidedTimer() {
+		VirtualTimeScheduler vts = VirtualTimeScheduler.create();
+		DirectProcessor<Integer> source = DirectProcessor.create();
+		List<Integer> values = new ArrayList<>();
+		source.distinct(i -> i, Duration.ofSeconds(1), vts)
+		      .subscribe(values::add);
+
+		source.onNext(1);
+		source.onNext(1);
+		vts.advanceTimeBy(Duration.ofSeconds(1));
+		source.onNext(1);
+
+		assertThat(values).containsExactly(1, 1);
+	}
+
+	@Test
+	public void windowFused() {
+		StepVerifier.create(Flux.just(1, 2, 1, 3)
+		                        .distinct(i -> i, Duration.ofMinutes(1)))
+		            .expectFusion(Fuseable.SYNC)
+		            .expectNext(1, 2, 3)
+		            .verifyComplete();
+	}
+
+	@Test
+	public void approximateFiltersAllDuplicates() {
+		StepVerifier.create(Flux.range(0, 10_000)
+		                        .concatWith(Flux.range(0, 10_000))
+		                        .distinctApproximate(i -> i, 0.01)
+		                        .count())
+		            .assertNext(c -> assertThat(c).isBetween(9_800L, 10_000L))
+		            .verifyComplete();
+	}
+
+	@Test
+	public void approximateFused() {
+		StepVerifier.create(Flux.just("a", "b", "a", "c")
+		                        .distinctApproximate(s -> s, 0.001))
+		            .expectFusion(Fuseable.SYNC)
+		            .expectNext("a", "b", "c")
+		            .verifyComplete();
+	}
+
+	@Test
+	public void approximateFalsePositiveRateIsBounded() {
+		ScalableBloomFilter<Integer> filter = new ScalableBloomFilter<>(0.01);
+		int falsePositives = 0;
+		for (int i = 0; i < 1_000_000; i++) {
+			if (!filter.add(i)) {
+				falsePositives++;
+			}
+		}
+
+		assertThat(falsePositives).isLessThan(12_000);
+		assertThat(filter.stages.size()).isGreaterThan(1);
+		//a few bits per key, compared to a boxed key and an entry per key in a HashSet
+		assertThat(filter.bits() / 8).isLessThan(4_000_000);
+
+		filter.clear();
+		assertThat(filter).isEmpty();
+		assertThat(filter.stages).hasSize(1);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void failZeroMaxKeys() {
+		Flux.just(1).distinct(i -> i, 0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void failZeroWindow() {
+		Flux.just(1).distinct(i -> i, Duration.ZERO);
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void failNullTimer() {
+		Flux.just(1).distinct(i -> i, Duration.ofSeconds(1), null);
+	}
+
+	@Test
+	public void approximateWithWiderHashKeepsCollidingHashCodes() {
+		//both hash codes are 0, as Long#hashCode xors the two halves
+		long a = 0L;
+		long b = (1L << 32) | 1L;
+
+		StepVerifier.create(Flux.just(a, b)
+		                        .distinctApproximate(l -> l, 0.01))
+		            .expectNext(a)
+		            .verifyComplete();
+
+		StepVerifier.create(Flux.just(a, b, a)
+		                        .distinctApproximate(l -> l, Long::longValue, 0.01))
+		            .expectNext(a, b)
+		            .verifyComplete();
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void failNullKeyHasher() {
+		Flux.just(1).distinctApproximate(i -> i, null, 0.01);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void failFalsePositiveRateOne() {
+		Flux.just(1).distinctApproximate(i -> i, 1d);
+	}
 }
@@ -0,0 +1,312 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.publisher;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.After;
+import org.junit.Test;
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.core.Fuseable;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
+import reactor.util.concurrent.Queues;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FluxGroupByLongTest {
+
+	@After
+	public void resetVirtualTime() {
+		VirtualTimeScheduler.reset();
+	}
+
+	@Test
+	public void groupsByLongKey() {
+		StepVerifier.create(Flux.range(0, 100_000)
+		                        .groupByLong(i -> i % 1000)
+		                        .flatMap(g -> g.count()
+		                                       .filter(c -> c == 100)
+		                                       .map(c -> g.key()), 1000)
+		                        .collect(ArrayList::new, List::add))
+		            .assertNext(keys -> assertThat(keys).hasSize(1000)
+		                                                .contains(0L, 999L))
+		            .verifyComplete();
+	}
+
+	@Test
+	public void groupsByIntKey() {
+		StepVerifier.create(Flux.just("a", "bb", "cc", "ddd")
+		                        .groupByLong(String::length)
+		                        .flatMap(g -> g.collectList()
+		                                       .map(l -> g.key() + "=" + l))
+		                        .collectList())
+		            .assertNext(l -> assertThat(l).containsExactlyInAnyOrder("1=[a]",
+				            "2=[bb, cc]",
+				            "3=[ddd]"))
+		            .verifyComplete();
+	}
+
+	@Test
+	public void maxGroupsEvictsLeastRecentlyUsed() {
+		StepVerifier.create(Flux.just(1, 2, 1, 3, 2, 1)
+		                        .groupByLong(i -> i, 2)
+		                        .flatMap(g -> g.collectList()
+		                                       .map(l -> g.key() + "=" + l)))
+		            .expectNext("2=[2]", "1=[1, 1]", "3=[3]")
+		            //the remaining groups complete with the source, in no particular order
+		            .expectNextCount(2)
+		            .verifyComplete();
+	}
+
+	@Test
+	public void maxIdleEvictsIdleGroups() {
+		VirtualTimeScheduler vts = VirtualTimeScheduler.getOrSet();
+		DirectProcessor<Integer> source = DirectProcessor.create();
+		List<String> completed = new ArrayList<>();
+
+		source.groupByLong(i -> i % 10, Duration.ofSeconds(1))
+		      .subscribe(g -> g.count()
+		                       .subscribe(c -> completed.add(g.key() + "=" + c)));
+
+		source.onNext(1);
+		source.onNext(2);
+		source.onNext(11);
+		vts.advanceTimeBy(Duration.ofMillis(800));
+		source.onNext(21);
+		vts.advanceTimeBy(Duration.ofMillis(500));
+		source.onNext(3);
+
+		assertThat(completed).containsExactly("2=1");
+
+		vts.advanceTimeBy(Duration.ofSeconds(2));
+		//the idle group of key 1 is completed before a new one is opened
+		source.onNext(1);
+
+		assertThat(completed).containsExactly("2=1", "1=3", "3=1");
+
+		source.onComplete();
+
+		assertThat(completed).containsExactly("2=1", "1=3", "3=1", "1=1");
+	}
+
+	@Test
+	public void maxIdleReadsTimeFromGivenTimer() {
+		VirtualTimeScheduler timer = VirtualTimeScheduler.create();
+		DirectProcessor<Integer> source = DirectProcessor.create();
+		List<String> completed = new ArrayList<>();
+
+		source.groupByLong(i -> i % 10, Duration.ofSeconds(1), Integer.MAX_VALUE, timer)
+		      .subscribe(g -> g.count()
+		                       .subscribe(c -> completed.add(g.key() + "=" + c)));
+
+		source.onNext(1);
+		source.onNext(2);
+		timer.advanceTimeBy(Duration.ofMillis(1500));
+		source.onNext(11);
+
+		assertThat(completed).containsExactly("1=1", "2=1");
+	}
+
+	@Test
+	public void cancelledGroupIsReopened() {
+		StepVerifier.create(Flux.range(0, 100)
+		                        .groupByLong(i -> i % 3)
+		                        .flatMap(g -> g.take(1)))
+		            .expectNextCount(100)
+		            .verifyComplete();
+	}
+
+	@Test
+	public void evictedGroupsReplenishSource() {
+		StepVerifier.create(Flux.range(0, 1_000_000)
+		                        .groupByLong(i -> i % 10_000, 100)
+		                        .flatMap(g -> g.publishOn(Schedulers.parallel())
+		                                       .count(), 256)
+		                        .reduce(0L, Long::sum))
+		            .expectNext(1_000_000L)
+		            .expectComplete()
+		            .verify(Duration.ofSeconds(30));
+	}
+
+	@Test
+	public void sameGroupsAsGroupBy() {
+		Random random = new Random(0);
+		List<Long> keys = new ArrayList<>();
+		for (int i = 0; i < 100_000; i++) {
+			keys.add(random.nextLong() % 5000);
+		}
+
+		Map<Long, Long> expected =
+				Flux.fromIterable(keys)
+				    .groupBy(k -> k)
+				    .flatMap(g -> g.count().map(c -> new long[]{g.key(), c}), 10_000)
+				    .collect(HashMap<Long, Long>::new, (m, e) -> m.put(e[0], e[1]))
+				    .block();
+
+		StepVerifier.create(Flux.fromIterable(keys)
+		                        .groupByLong(k -> k)
+		                        .flatMap(g -> g.count().map(c -> new long[]{g.key(), c}), 10_000)
+		                        .collect(HashMap<Long, Long>::new, (m, e) -> m.put(e[0], e[1])))
+		            .expectNext(expected)
+		            .verifyComplete();
+	}
+
+	@Test
+	public void mapRemovesAndPurges() {
+		List<FluxGroupByLong.LongGroup<Integer>> purged = new ArrayList<>();
+		FluxGroupByLong.LongGroupMap<Integer> map =
+				new FluxGroupByLong.LongGroupMap<>(purged::add);
+		FluxGroupByLong.LongGroupByMain<Integer, Integer> main =
+				new FluxGroupByLong.LongGroupByMain<>(Operators.emptySubscriber(),
+						Queues.<GroupedFlux<Long, Integer>>unbounded().get(),
+						Queues.unbounded(),
+						16,
+						i -> i,
+						i -> i,
+						FluxGroupByLong.NO_MAX_IDLE,
+						Integer.MAX_VALUE,
+						Schedulers.immediate());
+
+		List<FluxGroupByLong.LongGroup<Integer>> groups = new ArrayList<>();
+		for (long k = 0; k < 1000; k++) {
+			FluxGroupByLong.LongGroup<Integer> g =
+					new FluxGroupByLong.LongGroup<>(k * 64, Queues.<Integer>one().get(), main, 16);
+			groups.add(g);
+			map.put(k * 64, g);
+		}
+		for (long k = 0; k < 1000; k += 2) {
+			map.remove(k * 64);
+		}
+
+		assertThat(map.size()).isEqualTo(500);
+		for (long k = 0; k < 1000; k++) {
+			if (k % 2 == 0) {
+				assertThat(map.get(k * 64)).isNull();
+			}
+			else {
+				assertThat(map.get(k * 64)).isSameAs(groups.get((int) k));
+			}
+		}
+
+		//terminated groups are dropped on rehash
+		for (int k = 1; k < 1000; k += 2) {
+			groups.get(k).parent = null;
+		}
+		map.rehash();
+
+		assertThat(map.size()).isZero();
+		assertThat(purged).hasSize(500);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void failZeroMaxGroups() {
+		Flux.range(0, 10).groupByLong(i -> i, 0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void failNegativeMaxIdle() {
+		Flux.range(0, 10).groupByLong(i -> i, Duration.ofMillis(-1));
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void failNullTimer() {
+		Flux.range(0, 10).groupByLong(i -> i, Duration.ofSeconds(1), 10, null);
+	}
+
+	@Test
+	public void evictedFusedGroupReplenishesConsumedValues() {
+		//an evicted group requests the same as a group that stays mapped
+		assertThat(requestedByFusedGroups(2)).isEqualTo(requestedByFusedGroups(Integer.MAX_VALUE));
+	}
+
+	static long requestedByFusedGroups(int maxGroups) {
+		AtomicLong requested = new AtomicLong();
+		DirectProcessor<Integer> source = DirectProcessor.create();
+		List<Fuseable.QueueSubscription<Integer>> groups = new ArrayList<>();
+
+		source.doOnRequest(requested::addAndGet)
+		      .groupByLong(i -> i, maxGroups)
+		      .subscribe(g -> g.subscribe(new CoreSubscriber<Integer>() {
+			      @Override
+			      @SuppressWarnings("unchecked")
+			      public void onSubscribe(Subscription s) {
+				      Fuseable.QueueSubscription<Integer> qs =
+						      (Fuseable.QueueSubscription<Integer>) s;
+				      qs.requestFusion(Fuseable.ASYNC);
+				      groups.add(qs);
+			      }
+
+			      @Override
+			      public void onNext(Integer t) {
+				      //values are polled by the test
+			      }
+
+			      @Override
+			      public void onError(Throwable t) {
+			      }
+
+			      @Override
+			      public void onComplete() {
+			      }
+		      }));
+
+		source.onNext(1);
+		source.onNext(1);
+		groups.get(0).poll();
+		groups.get(0).poll();
+		//evicts the group of key 1 when limited to 2 groups
+		source.onNext(2);
+		source.onNext(3);
+		//polling to empty replenishes the values consumed so far
+		assertThat(groups.get(0).poll()).isNull();
+
+		return requested.get();
+	}
+
+	@Test
+	public void innersExposesOpenGroups() {
+		FluxGroupByLong.LongGroupByMain<Integer, Integer> main =
+				new FluxGroupByLong.LongGroupByMain<>(Operators.emptySubscriber(),
+						Queues.<GroupedFlux<Long, Integer>>unbounded().get(),
+						Queues.unbounded(),
+						16,
+						i -> i,
+						i -> i,
+						FluxGroupByLong.NO_MAX_IDLE,
+						Integer.MAX_VALUE,
+						Schedulers.immediate());
+		main.onSubscribe(Operators.emptySubscription());
+		main.onNext(1);
+		main.onNext(2);
+		main.onNext(1);
+
+		assertThat(main.inners()).hasSize(2);
+
+		main.onComplete();
+
+		assertThat(main.inners()).isEmpty();
+	}
+}
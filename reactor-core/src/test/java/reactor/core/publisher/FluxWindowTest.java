@@ -16,6 +16,8 @@
 
 package reactor.core.publisher;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Queue;
@@ -29,6 +31,8 @@ import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscription;
 import reactor.core.CoreSubscriber;
 import reactor.core.Scannable;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
 import reactor.test.publisher.FluxOperatorTest;
 import reactor.test.subscriber.AssertSubscriber;
 import reactor.util.concurrent.Queues;
@@ -56,6 +60,11 @@ public class FluxWindowTest extends FluxOperatorTest<String, Flux<String>> {
 								s -> s.buffer().subscribe(b -> assertThat(b).containsExactly(item(2)))),
 
 				scenario(f -> f.window(2, 1))
+						.receive(s -> s.buffer().subscribe(b -> assertThat(b).containsExactly(item(0), item(1))),
+								s -> s.buffer().subscribe(b -> assertThat(b).containsExactly(item(1), item(2))),
+								s -> s.buffer().subscribe(b -> assertThat(b).containsExactly(item(2)))),
+
+				scenario(f -> f.window(2, 1, true))
 						.receive(s -> s.buffer().subscribe(b -> assertThat(b).containsExactly(item(0), item(1))),
 								s -> s.buffer().subscribe(b -> assertThat(b).containsExactly(item(1), item(2))),
 								s -> s.buffer().subscribe(b -> assertThat(b).containsExactly(item(2))))
@@ -69,7 +78,9 @@ public class FluxWindowTest extends FluxOperatorTest<String, Flux<String>> {
 
 				scenario(f -> f.window(1, 2)),
 
-				scenario(f -> f.window(2, 1))
+				scenario(f -> f.window(2, 1)),
+
+				scenario(f -> f.window(2, 1, true))
 		);
 	}
 
@@ -684,4 +695,175 @@ public class FluxWindowTest extends FluxOperatorTest<String, Flux<String>> {
         test.cancel();
         Assertions.assertThat(test.scan(Scannable.Attr.CANCELLED)).isTrue();
     }
+
+	@Test
+	public void exactWindowPassesThroughWithoutQueue() {
+		List<FluxWindow.InnerWindow<Integer>> windows = new ArrayList<>();
+
+		StepVerifier.create(Flux.range(1, 10)
+		                        .window(5)
+		                        .doOnNext(w -> windows.add((FluxWindow.InnerWindow<Integer>) w))
+		                        .flatMap(Flux::collectList))
+		            .expectNext(Arrays.asList(1, 2, 3, 4, 5), Arrays.asList(6, 7, 8, 9, 10))
+		            .verifyComplete();
+
+		assertThat(windows).hasSize(2)
+		                   .allSatisfy(w -> assertThat(w.queue).isNull());
+	}
+
+	@Test
+	public void exactWindowQueuesBeyondDemand() {
+		AssertSubscriber<Integer> ts = AssertSubscriber.create(1);
+		List<Flux<Integer>> windows = new ArrayList<>();
+		DirectProcessor<Integer> source = DirectProcessor.create();
+
+		source.window(3)
+		      .subscribe(windows::add);
+
+		source.onNext(1);
+		windows.get(0).subscribe(ts);
+		source.onNext(2);
+		source.onNext(3);
+
+		ts.assertValues(1)
+		  .assertNotComplete();
+
+		ts.request(5);
+		ts.assertValues(1, 2, 3)
+		  .assertComplete();
+	}
+
+	@Test
+	public void windowAllowsSingleSubscriber() {
+		List<Flux<Integer>> windows = Flux.range(1, 3)
+		                                  .window(3)
+		                                  .collectList()
+		                                  .block();
+
+		StepVerifier.create(windows.get(0))
+		            .expectNext(1, 2, 3)
+		            .verifyComplete();
+
+		StepVerifier.create(windows.get(0))
+		            .verifyError(IllegalStateException.class);
+	}
+
+	@Test
+	public void sharedOverlapMatchesOverlap() {
+		for (int size = 1; size <= 7; size++) {
+			for (int skip = 1; skip < size; skip++) {
+				List<List<Integer>> expected = Flux.range(0, 600)
+				                                   .window(size, skip)
+				                                   .concatMap(Flux::collectList)
+				                                   .collectList()
+				                                   .block();
+
+				StepVerifier.create(Flux.range(0, 600)
+				                        .window(size, skip, true)
+				                        .concatMap(Flux::collectList)
+				                        .collectList())
+				            .expectNext(expected)
+				            .verifyComplete();
+			}
+		}
+	}
+
+	@Test
+	public void sharedOverlapLateSubscribers() {
+		List<Flux<Integer>> windows = Flux.range(1, 7)
+		                                  .window(3, 1, true)
+		                                  .collectList()
+		                                  .block();
+
+		assertThat(windows).hasSize(7);
+		assertThat(windows.get(0).collectList().block()).containsExactly(1, 2, 3);
+		assertThat(windows.get(4).collectList().block()).containsExactly(5, 6, 7);
+		assertThat(windows.get(6).collectList().block()).containsExactly(7);
+	}
+
+	@Test
+	public void sharedOverlapAsyncConsumers() {
+		StepVerifier.create(Flux.range(0, 100_000)
+		                        .window(100, 10, true)
+		                        .flatMap(w -> w.publishOn(Schedulers.parallel())
+		                                       .count(), 32)
+		                        .reduce(0L, Long::sum))
+		            .expectNext(999_550L)
+		            .expectComplete()
+		            .verify(Duration.ofSeconds(10));
+	}
+
+	@Test
+	public void sharedOverlapError() {
+		StepVerifier.create(Flux.range(1, 4)
+		                        .concatWith(Flux.error(new IllegalStateException("boom")))
+		                        .window(3, 1, true)
+		                        .concatMap(w -> w.collectList()
+		                                         .onErrorReturn(Arrays.asList(-1))))
+		            .expectNext(Arrays.asList(1, 2, 3),
+				            Arrays.asList(2, 3, 4),
+				            Arrays.asList(-1),
+				            Arrays.asList(-1))
+		            .verifyErrorMessage("boom");
+	}
+
+	@Test
+	public void sharedOverlapCancelledWindowsCancelSource() {
+		DirectProcessor<Integer> source = DirectProcessor.create();
+
+		StepVerifier.create(source.window(3, 1, true)
+		                          .take(2)
+		                          .flatMap(w -> w.take(1)))
+		            .then(() -> source.onNext(1))
+		            .then(() -> source.onNext(2))
+		            .expectNext(1, 2)
+		            .verifyComplete();
+
+		assertThat(source.hasDownstreams()).isFalse();
+	}
+
+	@Test
+	public void scanInnerWindow() {
+		FluxWindow.InnerWindow<Integer> test =
+				new FluxWindow.InnerWindow<>(Queues.unbounded(), () -> { });
+
+		test.onNext(1);
+		test.onNext(2);
+		assertThat(test.scan(Scannable.Attr.BUFFERED)).isEqualTo(2);
+		assertThat(test.scan(Scannable.Attr.TERMINATED)).isFalse();
+
+		test.onComplete();
+		assertThat(test.scan(Scannable.Attr.TERMINATED)).isTrue();
+
+		assertThat(test.scan(Scannable.Attr.CANCELLED)).isFalse();
+		test.cancel();
+		assertThat(test.scan(Scannable.Attr.CANCELLED)).isTrue();
+	}
+
+	@Test
+	public void scanOverlapSharedSubscriber() {
+		CoreSubscriber<Flux<Integer>> actual = new LambdaSubscriber<>(null, e -> {}, null, null);
+		FluxWindow.WindowOverlapSharedSubscriber<Integer> test =
+				new FluxWindow.WindowOverlapSharedSubscriber<>(actual, 123, 3);
+		Subscription parent = Operators.emptySubscription();
+		test.onSubscribe(parent);
+
+		assertThat(test.scan(Scannable.Attr.PARENT)).isSameAs(parent);
+		assertThat(test.scan(Scannable.Attr.ACTUAL)).isSameAs(actual);
+		assertThat(test.scan(Scannable.Attr.CAPACITY)).isEqualTo(123);
+		test.requested = 35;
+		assertThat(test.scan(Scannable.Attr.REQUESTED_FROM_DOWNSTREAM)).isEqualTo(35L);
+		test.onNext(2);
+		assertThat(test.scan(Scannable.Attr.BUFFERED)).isEqualTo(1);
+		assertThat(test.inners()).hasSize(1);
+
+		assertThat(test.scan(Scannable.Attr.TERMINATED)).isFalse();
+		test.onError(new IllegalStateException("boom"));
+		assertThat(test.scan(Scannable.Attr.ERROR)).hasMessage("boom");
+		assertThat(test.scan(Scannable.Attr.TERMINATED)).isTrue();
+
+		assertThat(test.scan(Scannable.Attr.CANCELLED)).isFalse();
+		test.cancel();
+		assertThat(test.scan(Scannable.Attr.CANCELLED)).isTrue();
+	}
 }
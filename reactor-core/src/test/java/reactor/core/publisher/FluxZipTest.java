@@ -1355,4 +1355,61 @@ public class FluxZipTest extends FluxOperatorTest<String, String> {
         Assertions.assertThat(test.scan(Scannable.Attr.TERMINATED)).isTrue();
         Assertions.assertThat(test.scan(Scannable.Attr.CANCELLED)).isTrue();
     }
+
+	@Test
+	public void arrayZipperGetsCopyOfValues() {
+		StepVerifier.create(Flux.zip((Object[] values) -> values,
+				Flux.range(0, 3).hide(),
+				Flux.range(10, 3).hide()))
+		            .assertNext(a -> assertThat(a).containsExactly(0, 10))
+		            .assertNext(a -> assertThat(a).containsExactly(1, 11))
+		            .assertNext(a -> assertThat(a).containsExactly(2, 12))
+		            .verifyComplete();
+	}
+
+	@Test
+	public void pairwiseZipperOfThreeSources() {
+		StepVerifier.create(Flux.range(0, 3)
+		                        .hide()
+		                        .zipWith(Flux.range(10, 3).hide(), Integer::sum)
+		                        .zipWith(Flux.range(20, 3).hide(), Integer::sum))
+		            .expectNext(30, 33, 36)
+		            .verifyComplete();
+	}
+
+	@Test
+	public void pairwiseZipperOfFourSources() {
+		StepVerifier.create(Flux.range(0, 3)
+		                        .zipWith(Flux.range(10, 3), Integer::sum)
+		                        .zipWith(Flux.range(20, 3), Integer::sum)
+		                        .zipWith(Flux.range(30, 3), Integer::sum))
+		            .expectNext(60, 64, 68)
+		            .verifyComplete();
+	}
+
+	@Test
+	public void zipWithPrefetchUsesPairwiseZipper() {
+		Flux<Integer> zipped = Flux.range(0, 3)
+		                           .zipWith(Flux.range(10, 3), 1, Integer::sum);
+
+		assertThat(zipped).isInstanceOf(FluxZip.class);
+		assertThat(((FluxZip<?, ?>) zipped).zipper).isInstanceOf(FluxZip.PairwiseZipper.class);
+		assertThat(zipped.getPrefetch()).isEqualTo(1);
+
+		StepVerifier.create(zipped.zipWith(Flux.range(20, 3), Integer::sum))
+		            .expectNext(30, 33, 36)
+		            .verifyComplete();
+	}
+
+	@Test
+	public void tupleZipperOfThreeSourcesBackpressured() {
+		StepVerifier.create(Flux.zip(Flux.range(0, 3).hide(),
+				Flux.range(10, 3).hide(),
+				Flux.range(20, 3).hide()), 0)
+		            .thenRequest(1)
+		            .expectNext(Tuples.of(0, 10, 20))
+		            .thenRequest(2)
+		            .expectNext(Tuples.of(1, 11, 21), Tuples.of(2, 12, 22))
+		            .verifyComplete();
+	}
 }
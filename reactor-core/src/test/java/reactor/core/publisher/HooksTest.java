@@ -961,4 +961,21 @@ public class HooksTest {
 			Hooks.resetOnNextDropped();
 		}
 	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void addCallSiteInfo() {
+		Flux<Integer> flux = (Flux<Integer>) Hooks.addCallSiteInfo(
+				Flux.just(1).map(d -> d / 0),
+				"\treactor.core.publisher.Flux.map(Flux.java)\n" +
+						"\tcom.example.Service.find(Service.java:42)\n");
+
+		StepVerifier.create(flux)
+		            .expectErrorSatisfies(e -> assertThat(e.getSuppressed()[0].getMessage())
+				            .contains("Assembly trace from producer [reactor.core.publisher.FluxMapFuseable] :\n" +
+						            "\treactor.core.publisher.Flux.map(Flux.java)\n" +
+						            "\tcom.example.Service.find(Service.java:42)\n")
+				            .contains("|_\tFlux.map(Service.java:42)"))
+		            .verify();
+	}
 }
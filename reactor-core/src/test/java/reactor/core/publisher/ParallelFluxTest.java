@@ -779,61 +779,6 @@ public class ParallelFluxTest {
 		assertThat(valueCount.intValue()).isEqualTo(4);
 	}
 
-	@Test
-	public void collectSortedListBothEmpty() {
-		List<Integer> result = ParallelFlux.sortedMerger(Collections.emptyList(),
-				Collections.emptyList(),
-				Integer::compareTo);
-
-		assertThat(result)
-				.isEmpty();
-	}
-
-	@Test
-	public void collectSortedListRightLarger() {
-		List<Integer> left = Arrays.asList(1, 3);
-		List<Integer> right = Arrays.asList(2, 4, 5, 6);
-
-		List<Integer> result = ParallelFlux.sortedMerger(left, right, Integer::compareTo);
-
-		assertThat(result)
-				.containsExactly(1, 2, 3, 4, 5, 6);
-	}
-
-	@Test
-	public void collectSortedListLeftLarger() {
-		List<Integer> left = Arrays.asList(2, 4, 5, 6);
-		List<Integer> right = Arrays.asList(1, 3);
-
-		List<Integer> result = ParallelFlux.sortedMerger(left, right, Integer::compareTo);
-
-		assertThat(result)
-				.containsExactly(1, 2, 3, 4, 5, 6);
-	}
-
-	@Test
-	public void collectSortedListLeftEmpty() {
-		List<Integer> left = Collections.emptyList();
-		List<Integer> right = Arrays.asList(2, 4, 5, 6);
-
-		List<Integer> result = ParallelFlux.sortedMerger(left, right, Integer::compareTo);
-
-		assertThat(result)
-				.containsExactly(2, 4, 5, 6);
-	}
-
-	@Test
-	public void collectSortedListRightEmpty() {
-		List<Integer> left = Arrays.asList(2, 4, 5, 6);
-		List<Integer> right = Collections.emptyList();
-
-		List<Integer> result = ParallelFlux.sortedMerger(left, right, Integer::compareTo);
-
-		assertThat(result)
-				.containsExactly(2, 4, 5, 6);
-	}
-
-
 	@Test
 	public void testParallelism() throws Exception
 	{
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.publisher;
+
+import java.time.Duration;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.core.Scannable;
+import reactor.core.publisher.ParallelMergeOrdered.MergeOrderedInner;
+import reactor.core.publisher.ParallelMergeOrdered.MergeOrderedMain;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+import reactor.util.concurrent.Queues;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ParallelMergeOrderedTest {
+
+	@Test
+	public void mergesSortedRails() {
+		StepVerifier.create(Flux.range(0, 10_000)
+		                        .parallel(7)
+		                        .runOn(Schedulers.parallel())
+		                        .ordered(Integer::compareTo))
+		            .expectNextSequence(() -> IntStream.range(0, 10_000)
+		                                                .boxed()
+		                                                .iterator())
+		            .expectComplete()
+		            .verify(Duration.ofSeconds(10));
+	}
+
+	@Test
+	public void mergesManyRailsWithSmallPrefetch() {
+		StepVerifier.create(Flux.range(0, 10_000)
+		                        .hide()
+		                        .parallel(64, 4)
+		                        .ordered(Integer::compareTo, 2))
+		            .expectNextSequence(() -> IntStream.range(0, 10_000)
+		                                                .boxed()
+		                                                .iterator())
+		            .verifyComplete();
+	}
+
+	@Test
+	public void backpressured() {
+		StepVerifier.create(Flux.range(0, 100)
+		                        .parallel(4)
+		                        .ordered(Integer::compareTo), 0)
+		            .thenRequest(3)
+		            .expectNext(0, 1, 2)
+		            .thenRequest(Long.MAX_VALUE)
+		            .expectNextCount(97)
+		            .verifyComplete();
+	}
+
+	@Test
+	public void streamsInfiniteRails() {
+		StepVerifier.create(Flux.interval(Duration.ofMillis(1))
+		                        .parallel(3)
+		                        .ordered(Long::compareTo)
+		                        .take(10))
+		            .expectNext(0L, 1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L)
+		            .expectComplete()
+		            .verify(Duration.ofSeconds(5));
+	}
+
+	@Test
+	public void emptyRails() {
+		StepVerifier.create(Flux.just(1)
+		                        .parallel(4)
+		                        .ordered(Integer::compareTo))
+		            .expectNext(1)
+		            .verifyComplete();
+	}
+
+	@Test
+	public void railError() {
+		StepVerifier.create(Flux.range(0, 10)
+		                        .concatWith(Flux.error(new IllegalStateException("boom")))
+		                        .parallel(2)
+		                        .ordered(Integer::compareTo))
+		            .thenConsumeWhile(i -> true)
+		            .verifyErrorMessage("boom");
+	}
+
+	@Test
+	public void comparatorFailure() {
+		StepVerifier.create(Flux.range(0, 10)
+		                        .parallel(2)
+		                        .ordered((a, b) -> {
+			                        throw new IllegalStateException("boom");
+		                        }))
+		            .verifyErrorMessage("boom");
+	}
+
+	@Test
+	public void scanOperator() {
+		ParallelFlux<Integer> source = Flux.range(0, 10).parallel(2);
+		ParallelMergeOrdered<Integer> test = new ParallelMergeOrdered<>(source,
+				Integer::compareTo, 123, Queues.small());
+
+		assertThat(test.scan(Scannable.Attr.PARENT)).isSameAs(source);
+		assertThat(test.scan(Scannable.Attr.PREFETCH)).isEqualTo(123);
+	}
+
+	@Test
+	public void scanInnerSubscriber() {
+		CoreSubscriber<Integer> mainActual = new LambdaSubscriber<>(null, e -> { }, null, null);
+		MergeOrderedMain<Integer> main = new MergeOrderedMain<>(mainActual, 2,
+				Integer::compareTo, 123, Queues.small());
+		MergeOrderedInner<Integer> test = main.subscribers[1];
+
+		Subscription subscription = Operators.emptySubscription();
+		test.onSubscribe(subscription);
+
+		assertThat(test.scan(Scannable.Attr.PARENT)).isSameAs(subscription);
+		assertThat(test.scan(Scannable.Attr.ACTUAL)).isSameAs(main);
+		assertThat(test.scan(Scannable.Attr.PREFETCH)).isEqualTo(123);
+		assertThat(test.scan(Scannable.Attr.BUFFERED)).isEqualTo(0);
+
+		assertThat(test.scan(Scannable.Attr.CANCELLED)).isFalse();
+		test.cancel();
+		assertThat(test.scan(Scannable.Attr.CANCELLED)).isTrue();
+	}
+}
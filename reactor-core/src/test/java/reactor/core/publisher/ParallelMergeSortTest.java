@@ -16,14 +16,21 @@
 
 package reactor.core.publisher;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
 
 import org.junit.Test;
 import org.reactivestreams.Subscription;
 import reactor.core.CoreSubscriber;
 import reactor.core.Scannable;
+import reactor.core.publisher.ParallelMergeSort.LoserTree;
 import reactor.core.publisher.ParallelMergeSort.MergeSortInner;
 import reactor.core.publisher.ParallelMergeSort.MergeSortMain;
+import reactor.test.StepVerifier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -80,4 +87,83 @@ public class ParallelMergeSortTest {
 		assertThat(test.scan(Scannable.Attr.CANCELLED)).isTrue();
 	}
 
-}
\ No newline at end of file
+	@Test
+	public void loserTreeSelectsSmallestHead() {
+		Random random = new Random(0);
+		for (int n = 1; n <= 17; n++) {
+			List<List<Integer>> rails = new ArrayList<>();
+			List<Integer> expected = new ArrayList<>();
+			for (int i = 0; i < n; i++) {
+				List<Integer> rail = new ArrayList<>();
+				for (int j = random.nextInt(20); j > 0; j--) {
+					rail.add(random.nextInt(50));
+				}
+				Collections.sort(rail);
+				rails.add(rail);
+				expected.addAll(rail);
+			}
+			Collections.sort(expected);
+
+			LoserTree<Integer> tree = new LoserTree<>(n, Integer::compareTo);
+			int[] indexes = new int[n];
+			for (int i = 0; i < n; i++) {
+				tree.set(i, rails.get(i).isEmpty() ? null : rails.get(i).get(0));
+			}
+			tree.build();
+
+			List<Integer> merged = new ArrayList<>();
+			int w;
+			while ((w = tree.winner()) >= 0) {
+				merged.add(tree.head(w));
+				List<Integer> rail = rails.get(w);
+				int index = ++indexes[w];
+				tree.set(w, index == rail.size() ? null : rail.get(index));
+				tree.replay(w);
+			}
+
+			assertThat(merged).as("%d rails", n).isEqualTo(expected);
+		}
+	}
+
+	@Test
+	public void loserTreeBreaksTiesByRailIndex() {
+		LoserTree<String> tree = new LoserTree<>(3, Comparator.comparing(String::length));
+		tree.set(0, "bb");
+		tree.set(1, "a");
+		tree.set(2, "c");
+		tree.build();
+
+		assertThat(tree.winner()).isEqualTo(1);
+
+		tree.set(1, "dd");
+		tree.replay(1);
+		assertThat(tree.winner()).isEqualTo(2);
+
+		tree.set(2, null);
+		tree.replay(2);
+		assertThat(tree.winner()).isEqualTo(0);
+	}
+
+	@Test
+	public void sortedManyRails() {
+		StepVerifier.create(Flux.range(0, 10_000)
+		                        .map(i -> 9_999 - i)
+		                        .parallel(64)
+		                        .sorted(Integer::compareTo))
+		            .expectNextSequence(() -> IntStream.range(0, 10_000)
+		                                                .boxed()
+		                                                .iterator())
+		            .verifyComplete();
+	}
+
+	@Test
+	public void collectSortedListManyRails() {
+		StepVerifier.create(Flux.range(0, 10_000)
+		                        .map(i -> 9_999 - i)
+		                        .parallel(64)
+		                        .collectSortedList(Integer::compareTo))
+		            .assertNext(l -> assertThat(l).hasSize(10_000)
+		                                          .isSorted())
+		            .verifyComplete();
+	}
+}
@@ -16,10 +16,19 @@
 
 package reactor.core.publisher;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.junit.Test;
 import org.reactivestreams.Subscription;
 import reactor.core.CoreSubscriber;
 import reactor.core.Scannable;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+import reactor.test.subscriber.AssertSubscriber;
 import reactor.util.concurrent.Queues;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -89,4 +98,100 @@ public class ParallelSourceTest {
 		assertThat(test.scan(Scannable.Attr.ACTUAL)).isSameAs(subs[test.index]);
 	}
 
-}
\ No newline at end of file
+	@Test
+	public void keyAffineRoutesSameKeyToSameRail() {
+		StepVerifier.create(Flux.range(0, 10)
+		                        .parallel(3, i -> i % 3)
+		                        .groups()
+		                        .flatMap(g -> g.collectList()
+		                                       .map(l -> g.key() + "=" + l))
+		                        .collectList())
+		            .assertNext(l -> assertThat(l).containsExactlyInAnyOrder(
+				            "0=[0, 3, 6, 9]",
+				            "1=[1, 4, 7]",
+				            "2=[2, 5, 8]"))
+		            .verifyComplete();
+	}
+
+	@Test
+	public void keyAffineKeepsOrderPerKey() {
+		Map<Integer, List<Integer>> valuesPerKey = new ConcurrentHashMap<>();
+
+		Flux.range(0, 10_000)
+		    .hide()
+		    .parallel(4, i -> i % 37)
+		    .runOn(Schedulers.parallel())
+		    .doOnNext(i -> valuesPerKey.computeIfAbsent(i % 37, k -> new ArrayList<>())
+		                               .add(i))
+		    .sequential()
+		    .blockLast(Duration.ofSeconds(10));
+
+		assertThat(valuesPerKey).hasSize(37);
+		valuesPerKey.values()
+		            .forEach(l -> assertThat(l).isSorted());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void keyAffineWaitsForItsRail() {
+		AssertSubscriber<Integer> ts0 = AssertSubscriber.create(1);
+		AssertSubscriber<Integer> ts1 = AssertSubscriber.create(5);
+
+		Flux.range(0, 6)
+		    .parallel(2, i -> 0)
+		    .subscribe(new CoreSubscriber[]{ts0, ts1});
+
+		ts0.assertValues(0)
+		   .assertNotComplete();
+		ts1.assertNoValues();
+
+		ts0.request(10);
+
+		ts0.assertValues(0, 1, 2, 3, 4, 5)
+		   .assertComplete();
+		ts1.assertNoValues()
+		   .assertComplete();
+	}
+
+	@Test
+	public void keyAffineHashFailure() {
+		StepVerifier.create(Flux.range(0, 10)
+		                        .parallel(2, i -> {
+			                        if (i == 5) {
+				                        throw new IllegalStateException("boom");
+			                        }
+			                        return i;
+		                        })
+		                        .sequential())
+		            .expectNextCount(5)
+		            .verifyErrorMessage("boom");
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void adaptiveFeedsRailWithMostDemand() {
+		AssertSubscriber<Integer> ts0 = AssertSubscriber.create(1);
+		AssertSubscriber<Integer> ts1 = AssertSubscriber.create(5);
+
+		Flux.range(0, 6)
+		    .parallelAdaptive(2)
+		    .subscribe(new CoreSubscriber[]{ts0, ts1});
+
+		ts0.assertValues(4);
+		ts1.assertValues(0, 1, 2, 3, 5);
+	}
+
+	@Test
+	public void adaptiveAsync() {
+		StepVerifier.create(Flux.range(0, 10_000)
+		                        .hide()
+		                        .parallelAdaptive(4)
+		                        .runOn(Schedulers.parallel())
+		                        .map(i -> i + 1)
+		                        .sequential()
+		                        .reduce(0L, Long::sum))
+		            .expectNext(50_005_000L)
+		            .expectComplete()
+		            .verify(Duration.ofSeconds(10));
+	}
+}
@@ -26,6 +26,7 @@ import reactor.core.Disposable;
 import reactor.core.Exceptions;
 import reactor.core.Fuseable;
 import reactor.core.Scannable;
+import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
 import reactor.test.scheduler.VirtualTimeScheduler;
 import reactor.test.subscriber.AssertSubscriber;
@@ -633,6 +634,123 @@ public class ReplayProcessorTest {
 		assertThat(test.scan(Scannable.Attr.CAPACITY)).isEqualTo(Integer.MAX_VALUE);
 	}
 
+	@Test
+	public void boundedManySegmentsLaggingSubscriberSeesNoGap() {
+		ReplayProcessor<Integer> rp = ReplayProcessor.create(300);
+		assertThat(rp.buffer).isInstanceOf(FluxReplay.SizeBoundArrayReplayBuffer.class);
+
+		AssertSubscriber<Integer> slow = AssertSubscriber.create(3);
+		rp.subscribe(slow);
+
+		for (int i = 0; i < 5000; i++) {
+			rp.onNext(i);
+		}
+
+		slow.assertValues(0, 1, 2);
+
+		StepVerifier.create(rp.take(300))
+		            .expectNext(4700)
+		            .expectNextCount(298)
+		            .expectNext(4999)
+		            .verifyComplete();
+
+		slow.request(Long.MAX_VALUE);
+		rp.onComplete();
+		slow.assertValueCount(5000)
+		    .assertComplete();
+
+		assertThat(rp.buffer.size()).isEqualTo(300);
+		StepVerifier.create(rp.limitRate(7))
+		            .expectNext(4700)
+		            .expectNextCount(299)
+		            .verifyComplete();
+	}
+
+	@Test
+	public void unboundedGrowingSegments() {
+		ReplayProcessor<Integer> rp = ReplayProcessor.create(16, true);
+
+		for (int i = 0; i < 100_000; i++) {
+			rp.onNext(i);
+		}
+		rp.onComplete();
+
+		StepVerifier.create(rp.limitRate(13))
+		            .expectNextCount(100_000)
+		            .verifyComplete();
+		StepVerifier.create(rp.publishOn(Schedulers.immediate(), 13)
+		                      .reduce(0L, (acc, v) -> acc + v))
+		            .expectNext(4_999_950_000L)
+		            .verifyComplete();
+	}
+
+	@Test
+	public void timedManySegments() {
+		ReplayProcessor<Integer> rp =
+				ReplayProcessor.createTimeout(Duration.ofSeconds(1));
+
+		AssertSubscriber<Integer> early = AssertSubscriber.create();
+		rp.subscribe(early);
+
+		for (int i = 0; i < 10_000; i++) {
+			rp.onNext(i);
+			VirtualTimeScheduler.get().advanceTimeBy(Duration.ofMillis(10));
+		}
+
+		AssertSubscriber<Integer> late = AssertSubscriber.create();
+		rp.subscribe(late);
+
+		for (int i = 10_000; i < 10_300; i++) {
+			rp.onNext(i);
+		}
+		rp.onComplete();
+
+		early.assertValueCount(10_300)
+		     .assertComplete();
+		//only the values emitted during the last second are replayed
+		late.assertValueCount(399)
+		    .assertComplete();
+		assertThat(late.values().get(0)).isEqualTo(9901);
+		assertThat(late.values().get(398)).isEqualTo(10_299);
+	}
+
+	@Test
+	public void timedManySegmentsBackpressured() {
+		ReplayProcessor<Integer> rp =
+				ReplayProcessor.createTimeout(Duration.ofSeconds(1));
+
+		for (int i = 0; i < 1000; i++) {
+			rp.onNext(i);
+		}
+		rp.onComplete();
+
+		StepVerifier.create(rp.limitRate(7))
+		            .expectNextCount(1000)
+		            .verifyComplete();
+
+		StepVerifier.create(rp.publishOn(Schedulers.immediate(), 7))
+		            .expectNextCount(1000)
+		            .verifyComplete();
+	}
+
+	@Test
+	public void timedBufferDropsExpiredSegments() {
+		VirtualTimeScheduler vts = VirtualTimeScheduler.create();
+		FluxReplay.TimeBucketedReplayBuffer<Integer> buffer =
+				new FluxReplay.TimeBucketedReplayBuffer<>(16, 100, vts);
+
+		for (int i = 0; i < 1000; i++) {
+			buffer.add(i);
+			vts.advanceTimeBy(Duration.ofMillis(1));
+		}
+
+		//values added at 900..999 are still within maxAge at 999
+		assertThat(buffer.size()).isEqualTo(100);
+		FluxReplay.TimeBucketedReplayBuffer.Segment head = buffer.head;
+		assertThat(head.times[head.start]).isEqualTo(900L);
+		assertThat(head.values[head.start]).isEqualTo(900);
+	}
+
 	@Before
 	public void virtualTime(){
     	VirtualTimeScheduler.getOrSet();
@@ -15,7 +15,10 @@
  */
 package reactor.core.publisher;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -28,6 +31,7 @@ import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 import reactor.core.CoreSubscriber;
+import reactor.core.Fuseable;
 import reactor.core.Scannable;
 import reactor.core.publisher.FluxCreate.SerializedSink;
 import reactor.core.scheduler.Scheduler;
@@ -885,4 +889,158 @@ public class TopicProcessorTest {
 					.thenCancel()
 					.verify();
 	}
+
+	@Test
+	public void fusedSyncSourceIsDrainedInBatches() {
+		TopicProcessor<Integer> processor = TopicProcessor.<Integer>builder()
+				.bufferSize(16)
+				.build();
+		Mono<Long> count = processor.count()
+		                            .cache();
+		count.subscribe();
+
+		Flux.range(0, 10_000)
+		    .subscribe(processor);
+
+		assertThat(processor.sourceMode).isEqualTo(Fuseable.SYNC);
+		assertThat(count.block(Duration.ofSeconds(10))).isEqualTo(10_000L);
+	}
+
+	@Test
+	public void threadBarrierSourceIsNotFused() {
+		TopicProcessor<Integer> processor = TopicProcessor.<Integer>builder()
+				.bufferSize(16)
+				.build();
+		Mono<Long> count = processor.count()
+		                            .cache();
+		count.subscribe();
+
+		Flux.range(0, 10_000)
+		    .map(i -> i + 1)
+		    .subscribe(processor);
+
+		assertThat(processor.sourceMode).isEqualTo(Fuseable.NONE);
+		assertThat(count.block(Duration.ofSeconds(10))).isEqualTo(10_000L);
+	}
+
+	@Test
+	public void fusedAsyncSourceIsDrainedInBatches() {
+		UnicastProcessor<Integer> source = UnicastProcessor.create();
+		TopicProcessor<Integer> processor = TopicProcessor.<Integer>builder()
+				.bufferSize(16)
+				.build();
+		Mono<Integer> sum = processor.reduce(0, (a, b) -> a + b)
+		                             .cache();
+		sum.subscribe();
+
+		source.subscribe(processor);
+		assertThat(processor.sourceMode).isEqualTo(Fuseable.ASYNC);
+
+		for (int i = 1; i <= 1000; i++) {
+			source.onNext(i);
+		}
+		source.onComplete();
+
+		assertThat(sum.block(Duration.ofSeconds(10))).isEqualTo(500_500);
+	}
+
+	@Test
+	public void fusedSourceErrorIsPropagated() {
+		TopicProcessor<Integer> processor = TopicProcessor.<Integer>builder()
+				.bufferSize(16)
+				.build();
+
+		Flux.range(0, 10)
+		    .map(i -> {
+			    if (i == 5) {
+				    throw new IllegalStateException("boom");
+			    }
+			    return i;
+		    })
+		    .subscribe(processor);
+
+		StepVerifier.create(processor)
+		            .expectErrorMessage("boom")
+		            .verify(Duration.ofSeconds(5));
+	}
+
+	@Test
+	public void sharedExecutorIsNotShutdown() throws InterruptedException {
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			TopicProcessor<Integer> first = TopicProcessor.<Integer>builder()
+					.sharedExecutor(executor)
+					.bufferSize(16)
+					.build();
+			TopicProcessor<Integer> second = TopicProcessor.<Integer>builder()
+					.sharedExecutor(executor)
+					.bufferSize(16)
+					.build();
+
+			StepVerifier.create(first.count())
+			            .then(() -> Flux.range(0, 100).subscribe(first))
+			            .expectNext(100L)
+			            .verifyComplete();
+
+			assertThat(first.awaitAndShutdown(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(executor.isShutdown()).isFalse();
+
+			StepVerifier.create(second.count())
+			            .then(() -> Flux.range(0, 50).subscribe(second))
+			            .expectNext(50L)
+			            .verifyComplete();
+
+			second.forceShutdown();
+			assertThat(executor.isShutdown()).isFalse();
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void sharedRequestTaskExecutorIsReused() {
+		TopicProcessor<Integer> first = TopicProcessor.<Integer>builder()
+				.sharedRequestTaskExecutor()
+				.build();
+		TopicProcessor<Integer> second = TopicProcessor.<Integer>builder()
+				.sharedRequestTaskExecutor()
+				.build();
+
+		assertThat(first.requestTaskExecutor).isSameAs(second.requestTaskExecutor);
+
+		StepVerifier.create(first)
+		            .then(() -> Flux.range(0, 10).subscribe(first))
+		            .expectNextCount(10)
+		            .verifyComplete();
+
+		first.shutdown();
+		assertThat(second.requestTaskExecutor.isShutdown()).isFalse();
+
+		StepVerifier.create(second)
+		            .then(() -> Flux.range(0, 10).subscribe(second))
+		            .expectNextCount(10)
+		            .verifyComplete();
+	}
+
+	@Test
+	public void threadAffinityRunsOnEventLoopThread() {
+		List<String> pinned = new CopyOnWriteArrayList<>();
+		TopicProcessor<Integer> processor = TopicProcessor.<Integer>builder()
+				.name("latencyCritical")
+				.threadAffinity(t -> {
+					if (t == Thread.currentThread()) {
+						pinned.add(t.getName());
+					}
+				})
+				.build();
+
+		StepVerifier.create(processor)
+		            .then(() -> Flux.range(0, 10).subscribe(processor))
+		            .expectNextCount(10)
+		            .verifyComplete();
+
+		assertThat(pinned).hasSize(1)
+		                  .allMatch(name -> name.startsWith("latencyCritical-"));
+	}
 }
@@ -40,6 +40,7 @@ import org.reactivestreams.Subscription;
 import reactor.core.CoreSubscriber;
 import reactor.core.Disposable;
 import reactor.core.Exceptions;
+import reactor.core.Fuseable;
 import reactor.core.Scannable;
 import reactor.core.publisher.FluxCreate.SerializedSink;
 import reactor.core.scheduler.Scheduler;
@@ -1534,4 +1535,84 @@ public class WorkQueueProcessorTest {
 			s.request(Long.MAX_VALUE);
 		}
 	}
+
+	@Test
+	public void fusedSourceIsDrainedInBatchesToAllWorkers() {
+		WorkQueueProcessor<Integer> processor = WorkQueueProcessor.<Integer>builder()
+				.bufferSize(16)
+				.build();
+		Mono<Long> count1 = processor.count()
+		                             .cache();
+		Mono<Long> count2 = processor.count()
+		                             .cache();
+		count1.subscribe();
+		count2.subscribe();
+
+		Flux.range(0, 10_000)
+		    .subscribe(processor);
+
+		Assertions.assertThat(processor.sourceMode).isEqualTo(Fuseable.SYNC);
+		Assertions.assertThat(count1.block(Duration.ofSeconds(10)) + count2.block(Duration.ofSeconds(10)))
+				.isEqualTo(10_000L);
+	}
+
+	@Test
+	public void sharedExecutorIsNotShutdown() throws InterruptedException {
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			WorkQueueProcessor<Integer> first = WorkQueueProcessor.<Integer>builder()
+					.sharedExecutor(executor)
+					.sharedRequestTaskExecutor()
+					.bufferSize(16)
+					.build();
+			WorkQueueProcessor<Integer> second = WorkQueueProcessor.<Integer>builder()
+					.sharedExecutor(executor)
+					.sharedRequestTaskExecutor()
+					.bufferSize(16)
+					.build();
+
+			StepVerifier.create(first.count())
+			            .then(() -> Flux.range(0, 100).subscribe(first))
+			            .expectNext(100L)
+			            .verifyComplete();
+
+			Assertions.assertThat(first.awaitAndShutdown(5, TimeUnit.SECONDS)).isTrue();
+			Assertions.assertThat(executor.isShutdown()).isFalse();
+			Assertions.assertThat(first.requestTaskExecutor.isShutdown()).isFalse();
+
+			StepVerifier.create(second.count())
+			            .then(() -> Flux.range(0, 50).subscribe(second))
+			            .expectNext(50L)
+			            .verifyComplete();
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void forceShutdownReleasesSharedExecutorThread() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(1);
+		try {
+			WorkQueueProcessor<Integer> processor = WorkQueueProcessor.<Integer>builder()
+					.sharedExecutor(executor)
+					.bufferSize(16)
+					.build();
+			AtomicInteger received = new AtomicInteger();
+			processor.subscribe(v -> received.incrementAndGet());
+			processor.onNext(1);
+
+			processor.forceShutdown();
+
+			Assertions.assertThat(processor.awaitAndShutdown(5, TimeUnit.SECONDS)).isTrue();
+			Assertions.assertThat(processor.downstreamCount()).isZero();
+			Assertions.assertThat(executor.isShutdown()).isFalse();
+			//the single thread of the shared executor is available again
+			Assertions.assertThat(executor.submit(() -> "reused").get(5, TimeUnit.SECONDS))
+			          .isEqualTo("reused");
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
 }
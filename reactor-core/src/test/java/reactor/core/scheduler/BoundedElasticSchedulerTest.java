@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.scheduler;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import reactor.core.Disposable;
+import reactor.core.Scannable;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class BoundedElasticSchedulerTest extends AbstractSchedulerTest {
+
+	@Override
+	protected Scheduler scheduler() {
+		return Schedulers.newBoundedElastic(4, 100, "BoundedElasticSchedulerTest");
+	}
+
+	@Override
+	protected boolean shouldCheckInterrupted() {
+		return true;
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void unsupportedStart() {
+		Schedulers.boundedElastic().start();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void negativeTime() {
+		Schedulers.newBoundedElastic(1, 1, "test", -1);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void zeroTime() {
+		Schedulers.newBoundedElastic(1, 1, "test", 0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void zeroThreadCap() {
+		Schedulers.newBoundedElastic(0, 1, "test");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void zeroQueuedTaskCap() {
+		Schedulers.newBoundedElastic(1, 0, "test");
+	}
+
+	@Test
+	public void workersShareThreadsOnceCapReached() {
+		BoundedElasticScheduler s = (BoundedElasticScheduler) Schedulers.newBoundedElastic(2, 10, "test");
+		try {
+			BoundedElasticScheduler.BoundedWorker w1 = (BoundedElasticScheduler.BoundedWorker) s.createWorker();
+			BoundedElasticScheduler.BoundedWorker w2 = (BoundedElasticScheduler.BoundedWorker) s.createWorker();
+			BoundedElasticScheduler.BoundedWorker w3 = (BoundedElasticScheduler.BoundedWorker) s.createWorker();
+
+			assertThat(w1.state).isNotSameAs(w2.state);
+			assertThat(w3.state).isSameAs(w1.state);
+			assertThat(w1.state.markCount).isEqualTo(2);
+			assertThat(s.inners()).hasSize(2);
+
+			w1.dispose();
+			w3.dispose();
+			assertThat(s.scan(Scannable.Attr.BUFFERED)).as("idle").isEqualTo(1);
+
+			BoundedElasticScheduler.BoundedWorker w4 = (BoundedElasticScheduler.BoundedWorker) s.createWorker();
+			assertThat(w4.state).as("reuses idle").isSameAs(w1.state);
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void rejectsOnceQueuedTaskCapReached() throws InterruptedException {
+		Scheduler s = Schedulers.newBoundedElastic(1, 2, "test");
+		CountDownLatch running = new CountDownLatch(1);
+		CountDownLatch block = new CountDownLatch(1);
+		try {
+			Scheduler.Worker worker = s.createWorker();
+			worker.schedule(() -> {
+				running.countDown();
+				try {
+					block.await();
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			});
+			running.await();
+
+			worker.schedule(() -> {});
+			worker.schedule(() -> {}, 1, TimeUnit.SECONDS);
+
+			assertThat(Scannable.from(s).inners().findFirst().get().scan(Scannable.Attr.BUFFERED))
+					.isEqualTo(2);
+
+			assertThatExceptionOfType(RejectedExecutionException.class)
+					.isThrownBy(() -> s.schedule(() -> {}))
+					.withMessage("Task capacity of bounded elastic scheduler reached while scheduling 1 tasks (2/2)");
+		}
+		finally {
+			block.countDown();
+			s.dispose();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void directTaskReleasesThreadOnCancel() {
+		BoundedElasticScheduler s = (BoundedElasticScheduler) Schedulers.newBoundedElastic(1, 10, "test");
+		try {
+			Disposable d = s.schedule(() -> {}, 10, TimeUnit.SECONDS);
+			assertThat(s.busy).hasSize(1);
+
+			d.dispose();
+
+			assertThat(d.isDisposed()).isTrue();
+			assertThat(s.busy).isEmpty();
+			assertThat(s.idle).hasSize(1);
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void eviction() throws Exception {
+		BoundedElasticScheduler s = (BoundedElasticScheduler) Schedulers.newBoundedElastic(2, 10, "test-recycle", 1);
+		s.evictor.shutdownNow();
+
+		try {
+			s.createWorker().dispose();
+			assertThat(s.idle).hasSize(1);
+
+			while (!s.idle.isEmpty()) {
+				s.eviction();
+				Thread.sleep(100);
+			}
+		}
+		finally {
+			s.dispose();
+			s.dispose();//noop
+		}
+
+		assertThat(s.idle).isEmpty();
+		assertThat(s.isDisposed()).isTrue();
+	}
+
+	@Test
+	public void scanScheduler() {
+		Scheduler s = Schedulers.newBoundedElastic(3, 10, "scanned");
+		try {
+			Scannable scannable = Scannable.from(s);
+			assertThat(scannable.scan(Scannable.Attr.NAME)).isEqualTo("scanned");
+			assertThat(scannable.scan(Scannable.Attr.CAPACITY)).isEqualTo(3);
+			assertThat(scannable.scan(Scannable.Attr.BUFFERED)).isZero();
+			assertThat(scannable.scan(Scannable.Attr.TERMINATED)).isFalse();
+
+			Scheduler.Worker worker = s.createWorker();
+			Scannable inner = scannable.inners().findFirst().get();
+			assertThat(inner.scan(Scannable.Attr.PARENT)).isSameAs(s);
+			assertThat(inner.scan(Scannable.Attr.CAPACITY)).isEqualTo(10);
+			assertThat(Scannable.from(worker).scan(Scannable.Attr.PARENT)).isSameAs(inner);
+		}
+		finally {
+			s.dispose();
+		}
+		assertThat(Scannable.from(s).scan(Scannable.Attr.TERMINATED)).isTrue();
+		assertThat(Scannable.from(s).inners()).isEmpty();
+	}
+
+	@Test
+	public void smokeTestDelay() {
+		Scheduler s = scheduler();
+		try {
+			StepVerifier.create(Mono.delay(Duration.ofMillis(100), s))
+			            .expectSubscription()
+			            .expectNoEvent(Duration.ofMillis(90))
+			            .expectNext(0L)
+			            .verifyComplete();
+		}
+		finally {
+			s.dispose();
+		}
+	}
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.scheduler;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import reactor.core.Disposable;
+import reactor.core.Scannable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HashedWheelTimerSchedulerTest extends AbstractSchedulerTest {
+
+	@Override
+	protected Scheduler scheduler() {
+		return Schedulers.newHashedWheelTimer("HashedWheelTimerSchedulerTest",
+				Duration.ofMillis(1), 64);
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void unsupportedStart() {
+		Scheduler s = scheduler();
+		try {
+			s.start();
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void zeroTick() {
+		Schedulers.newHashedWheelTimer("test", Duration.ZERO, 64);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void zeroWheelSize() {
+		Schedulers.newHashedWheelTimer("test", Duration.ofMillis(1), 0);
+	}
+
+	@Test
+	public void wheelSizeRoundedToPowerOfTwo() {
+		HashedWheelTimerScheduler s = (HashedWheelTimerScheduler)
+				Schedulers.newHashedWheelTimer("test", Duration.ofMillis(1), 100);
+		try {
+			assertThat(s.wheel).hasSize(128);
+			assertThat(s.scan(Scannable.Attr.CAPACITY)).isEqualTo(128);
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void delayLongerThanOneRound() {
+		//64 buckets of 1ms, the task has to survive several rounds
+		Scheduler s = scheduler();
+		try {
+			StepVerifier.create(Mono.delay(Duration.ofMillis(200), s))
+			            .expectSubscription()
+			            .expectNoEvent(Duration.ofMillis(190))
+			            .expectNext(0L)
+			            .verifyComplete();
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void cancelledTasksAreUnlinked() throws InterruptedException {
+		HashedWheelTimerScheduler s = (HashedWheelTimerScheduler) scheduler();
+		try {
+			AtomicInteger fired = new AtomicInteger();
+			for (int i = 0; i < 10_000; i++) {
+				Disposable d = s.schedule(fired::incrementAndGet, 1, TimeUnit.HOURS);
+				d.dispose();
+				assertThat(d.isDisposed()).isTrue();
+			}
+
+			while (!s.pending.isEmpty() || !s.cancelled.isEmpty()) {
+				Thread.sleep(10);
+			}
+			for (HashedWheelTimerScheduler.Bucket bucket : s.wheel) {
+				assertThat(bucket.head).isNull();
+			}
+			assertThat(fired).hasValue(0);
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void workerTasksRunInOrder() throws InterruptedException {
+		Scheduler s = scheduler();
+		Scheduler.Worker w = s.createWorker();
+		try {
+			int[] order = new int[1];
+			AtomicInteger misordered = new AtomicInteger();
+			CountDownLatch latch = new CountDownLatch(1000);
+			for (int i = 0; i < 1000; i++) {
+				int expected = i;
+				w.schedule(() -> {
+					if (order[0]++ != expected) {
+						misordered.incrementAndGet();
+					}
+					latch.countDown();
+				});
+			}
+
+			latch.await();
+			assertThat(misordered).hasValue(0);
+		}
+		finally {
+			w.dispose();
+			s.dispose();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void periodicTaskStopsOnDispose() throws InterruptedException {
+		Scheduler s = scheduler();
+		try {
+			AtomicInteger count = new AtomicInteger();
+			CountDownLatch latch = new CountDownLatch(3);
+			Disposable d = s.schedulePeriodically(() -> {
+				count.incrementAndGet();
+				latch.countDown();
+			}, 0, 5, TimeUnit.MILLISECONDS);
+
+			latch.await();
+			d.dispose();
+			int afterDispose = count.get();
+			Thread.sleep(50);
+
+			assertThat(d.isDisposed()).isTrue();
+			assertThat(count).hasValue(afterDispose);
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void timeoutOnTimer() {
+		Scheduler s = scheduler();
+		try {
+			StepVerifier.create(Mono.never()
+			                        .timeout(Duration.ofMillis(50), s))
+			            .expectError(TimeoutException.class)
+			            .verify(Duration.ofSeconds(5));
+
+			StepVerifier.create(Flux.just(1, 2, 3)
+			                        .timeout(Duration.ofMillis(500), s))
+			            .expectNext(1, 2, 3)
+			            .verifyComplete();
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void cacheOnTimer() {
+		Scheduler s = scheduler();
+		try {
+			AtomicInteger subscriptions = new AtomicInteger();
+			Mono<Integer> cached = Mono.fromCallable(subscriptions::incrementAndGet)
+			                           .cache(Duration.ofMillis(50), s);
+
+			StepVerifier.create(cached).expectNext(1).verifyComplete();
+			StepVerifier.create(cached).expectNext(1).verifyComplete();
+			StepVerifier.create(Mono.delay(Duration.ofMillis(200), s).then(cached))
+			            .expectNext(2)
+			            .verifyComplete();
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void scanScheduler() {
+		Scheduler s = scheduler();
+		try {
+			Scannable scannable = Scannable.from(s);
+			assertThat(scannable.scan(Scannable.Attr.NAME)).isEqualTo("HashedWheelTimerSchedulerTest");
+			assertThat(scannable.scan(Scannable.Attr.CAPACITY)).isEqualTo(64);
+			assertThat(scannable.scan(Scannable.Attr.TERMINATED)).isFalse();
+
+			Scheduler.Worker worker = s.createWorker();
+			worker.schedule(() -> {}, 1, TimeUnit.HOURS);
+			assertThat(Scannable.from(worker).scan(Scannable.Attr.PARENT)).isSameAs(s);
+			assertThat(Scannable.from(worker).scan(Scannable.Attr.BUFFERED)).isEqualTo(1);
+			worker.dispose();
+			assertThat(Scannable.from(worker).scan(Scannable.Attr.BUFFERED)).isZero();
+		}
+		finally {
+			s.dispose();
+		}
+		assertThat(Scannable.from(s).scan(Scannable.Attr.TERMINATED)).isTrue();
+	}
+}
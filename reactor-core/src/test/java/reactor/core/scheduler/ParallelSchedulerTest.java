@@ -23,6 +23,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.junit.Test;
+import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
@@ -141,4 +142,86 @@ public class ParallelSchedulerTest extends AbstractSchedulerTest {
 		latch.await();
 		assertThat(map.values()).containsOnly(m);
 	}
+
+	@Test(timeout = 10000)
+	public void pendingTasksAreTracked() throws Exception {
+		ParallelScheduler scheduler = (ParallelScheduler) Schedulers.newParallel("test", 2);
+		CountDownLatch running = new CountDownLatch(1);
+		CountDownLatch block = new CountDownLatch(1);
+		try {
+			Scheduler.Worker worker = scheduler.createWorker();
+			worker.schedule(() -> {
+				running.countDown();
+				try {
+					block.await();
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			});
+			running.await();
+
+			worker.schedule(() -> {});
+			Disposable delayed = worker.schedule(() -> {}, 1, TimeUnit.HOURS);
+			assertThat(scheduler.pendingTasks(0)).isEqualTo(2);
+
+			delayed.dispose();
+			assertThat(scheduler.pendingTasks(0)).as("after cancel").isEqualTo(1);
+		}
+		finally {
+			block.countDown();
+			scheduler.dispose();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void leastPendingTasksAvoidsBackloggedExecutor() throws Exception {
+		ParallelScheduler scheduler = (ParallelScheduler) Schedulers.newParallel("test",
+				3, true, WorkerSelector.leastPendingTasks());
+		CountDownLatch running = new CountDownLatch(1);
+		CountDownLatch block = new CountDownLatch(1);
+		try {
+			ExecutorServiceWorker backlogged = (ExecutorServiceWorker) scheduler.createWorker();
+			backlogged.schedule(() -> {
+				running.countDown();
+				try {
+					block.await();
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			});
+			running.await();
+			for (int i = 0; i < 5; i++) {
+				backlogged.schedule(() -> {});
+			}
+
+			for (int i = 0; i < 10; i++) {
+				ExecutorServiceWorker worker = (ExecutorServiceWorker) scheduler.createWorker();
+				assertThat(worker.exec).as("worker " + i).isNotSameAs(backlogged.exec);
+			}
+		}
+		finally {
+			block.countDown();
+			scheduler.dispose();
+		}
+	}
+
+	@Test
+	public void selectorSystemProperty() {
+		System.setProperty(Schedulers.PARALLEL_SELECTOR_PROPERTY, "powerOfTwoChoices");
+		try {
+			Scheduler s = Schedulers.PARALLEL_SUPPLIER.get();
+			try {
+				assertThat(((ParallelScheduler) s).selector)
+						.isSameAs(WorkerSelector.powerOfTwoChoices());
+			}
+			finally {
+				s.dispose();
+			}
+		}
+		finally {
+			System.clearProperty(Schedulers.PARALLEL_SELECTOR_PROPERTY);
+		}
+	}
 }
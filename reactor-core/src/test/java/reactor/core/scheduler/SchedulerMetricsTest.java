@@ -0,0 +1,306 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.scheduler;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.After;
+import org.junit.Test;
+import reactor.core.Disposable;
+import reactor.core.Scannable;
+import reactor.core.publisher.Flux;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class SchedulerMetricsTest {
+
+	@After
+	public void disableMetrics() {
+		Schedulers.disableMetrics();
+	}
+
+	@Test
+	public void disabledByDefault() {
+		Scheduler s = Schedulers.newParallel("test", 2);
+		try {
+			assertThat(Scannable.from(s).scan(SchedulerMetrics.METRICS)).isNull();
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void disablingOnlyAffectsNewSchedulers() {
+		Schedulers.enableMetrics();
+		Scheduler before = Schedulers.newSingle("before");
+		Schedulers.disableMetrics();
+		Scheduler after = Schedulers.newSingle("after");
+		try {
+			assertThat(Scannable.from(before).scan(SchedulerMetrics.METRICS)).isNotNull();
+			assertThat(Scannable.from(after).scan(SchedulerMetrics.METRICS)).isNull();
+		}
+		finally {
+			before.dispose();
+			after.dispose();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void instrumentedSchedulers() {
+		Schedulers.enableMetrics();
+		Scheduler[] schedulers = new Scheduler[] {
+				Schedulers.newParallel("parallelMetrics", 2),
+				Schedulers.newSingle("singleMetrics"),
+				Schedulers.newElastic("elasticMetrics"),
+				Schedulers.newBoundedElastic(2, 100, "boundedElasticMetrics"),
+				Schedulers.newWorkStealing("workStealingMetrics", 2)
+		};
+		try {
+			for (Scheduler s : schedulers) {
+				Flux.range(1, 100)
+				    .publishOn(s, 8)
+				    .blockLast();
+
+				SchedulerMetrics metrics = Scannable.from(s).scan(SchedulerMetrics.METRICS);
+				assertThat(metrics).as("metrics of %s", s).isNotNull();
+				assertThat(metrics.name()).endsWith("Metrics");
+				assertThat(metrics.submittedCount()).as("submitted").isPositive();
+				assertThat(metrics.completedCount()).as("completed").isPositive();
+				assertThat(metrics.rejectedCount()).as("rejected").isZero();
+				assertThat(metrics.runTime().count()).as("runTime").isPositive();
+				assertThat(metrics.waitTime().count()).as("waitTime").isPositive();
+			}
+		}
+		finally {
+			for (Scheduler s : schedulers) {
+				s.dispose();
+			}
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void queueDepthTracksDelayedAndCancelledTasks() throws InterruptedException {
+		Schedulers.enableMetrics();
+		Scheduler s = Schedulers.newSingle("test");
+		try {
+			SchedulerMetrics metrics = Scannable.from(s).scan(SchedulerMetrics.METRICS);
+
+			Disposable d1 = s.schedule(() -> {}, 1, TimeUnit.HOURS);
+			Disposable d2 = s.schedule(() -> {}, 1, TimeUnit.HOURS);
+			assertThat(metrics.queueDepth()).isEqualTo(2);
+
+			d1.dispose();
+			assertThat(metrics.queueDepth()).isEqualTo(1);
+
+			CountDownLatch latch = new CountDownLatch(3);
+			Disposable periodic = s.schedulePeriodically(latch::countDown, 0, 1, TimeUnit.MILLISECONDS);
+			latch.await();
+			periodic.dispose();
+			d2.dispose();
+
+			assertThat(metrics.queueDepth()).isZero();
+			assertThat(metrics.submittedCount()).isEqualTo(3);
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void workStealingQueueDepthTracksDelayedAndCancelledTasks() throws InterruptedException {
+		Schedulers.enableMetrics();
+		Scheduler s = Schedulers.newWorkStealing("test", 2);
+		try {
+			SchedulerMetrics metrics = Scannable.from(s).scan(SchedulerMetrics.METRICS);
+			Scheduler.Worker w = s.createWorker();
+
+			Disposable d1 = s.schedule(() -> {}, 1, TimeUnit.HOURS);
+			Disposable d2 = w.schedule(() -> {}, 1, TimeUnit.HOURS);
+			assertThat(metrics.queueDepth()).isEqualTo(2);
+
+			d1.dispose();
+			assertThat(metrics.queueDepth()).isEqualTo(1);
+
+			CountDownLatch latch = new CountDownLatch(3);
+			Disposable periodic = w.schedulePeriodically(latch::countDown, 0, 1, TimeUnit.MILLISECONDS);
+			latch.await();
+			periodic.dispose();
+			d2.dispose();
+
+			assertThat(metrics.queueDepth()).isZero();
+			assertThat(metrics.submittedCount()).isEqualTo(3);
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void queueDepthDropsTasksOnShutdownNow() {
+		Schedulers.enableMetrics();
+		Scheduler s = Schedulers.newSingle("test");
+		SchedulerMetrics metrics = Scannable.from(s).scan(SchedulerMetrics.METRICS);
+
+		Disposable d1 = s.schedule(() -> {}, 1, TimeUnit.HOURS);
+		s.schedule(() -> {}, 1, TimeUnit.HOURS);
+		assertThat(metrics.queueDepth()).isEqualTo(2);
+
+		s.dispose();
+		assertThat(metrics.pending.sum()).isZero();
+
+		//cancelling a task dropped by shutdownNow doesn't count it twice
+		d1.dispose();
+		assertThat(metrics.pending.sum()).isZero();
+	}
+
+	@Test(timeout = 10000)
+	public void queueDepthDropsExecutedTasksOnShutdownNow() throws InterruptedException {
+		SchedulerMetrics metrics =
+				new SchedulerMetrics("test", "test", Schedulers.NOOP_METRICS_LISTENER);
+		InstrumentedExecutorService executor =
+				new InstrumentedExecutorService(Executors.newSingleThreadScheduledExecutor(), metrics);
+		CountDownLatch running = new CountDownLatch(1);
+		CountDownLatch blocked = new CountDownLatch(1);
+
+		executor.execute(() -> {
+			running.countDown();
+			try {
+				blocked.await();
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		running.await();
+		executor.execute(() -> {});
+		executor.execute(() -> {});
+		assertThat(metrics.pending.sum()).isEqualTo(2);
+
+		assertThat(executor.shutdownNow()).hasSize(2);
+		assertThat(metrics.pending.sum()).isZero();
+	}
+
+	@Test(timeout = 10000)
+	public void rejectedTasksAndListener() throws InterruptedException {
+		AtomicLong submitted = new AtomicLong();
+		AtomicLong rejected = new AtomicLong();
+		AtomicLong completed = new AtomicLong();
+		Schedulers.enableMetrics(new SchedulerMetrics.Listener() {
+			@Override
+			public void onTaskSubmitted(SchedulerMetrics metrics) {
+				submitted.incrementAndGet();
+			}
+
+			@Override
+			public void onTaskRejected(SchedulerMetrics metrics) {
+				rejected.incrementAndGet();
+			}
+
+			@Override
+			public void onTaskCompleted(SchedulerMetrics metrics, long waitNanos, long runNanos) {
+				assertThat(metrics.type()).isEqualTo(Schedulers.BOUNDED_ELASTIC);
+				assertThat(runNanos).isGreaterThanOrEqualTo(0L);
+				completed.incrementAndGet();
+			}
+		});
+		Scheduler s = Schedulers.newBoundedElastic(1, 1, "test");
+		CountDownLatch running = new CountDownLatch(1);
+		CountDownLatch block = new CountDownLatch(1);
+		try {
+			s.schedule(() -> {
+				running.countDown();
+				try {
+					block.await();
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			});
+			running.await();
+			s.schedule(() -> {});
+
+			assertThatExceptionOfType(RejectedExecutionException.class)
+					.isThrownBy(() -> s.schedule(() -> {}));
+
+			SchedulerMetrics metrics = Scannable.from(s).scan(SchedulerMetrics.METRICS);
+			assertThat(metrics.submittedCount()).isEqualTo(2);
+			assertThat(metrics.rejectedCount()).isEqualTo(1);
+			assertThat(metrics.queueDepth()).isEqualTo(1);
+			assertThat(submitted).hasValue(3);
+			assertThat(rejected).hasValue(1);
+
+			block.countDown();
+			while (completed.get() < 2) {
+				Thread.sleep(10);
+			}
+			assertThat(metrics.queueDepth()).isZero();
+			assertThat(metrics.completedCount()).isEqualTo(2);
+		}
+		finally {
+			block.countDown();
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void leastPendingTasksStillWorksWithMetrics() {
+		Schedulers.enableMetrics();
+		ParallelScheduler s = (ParallelScheduler) Schedulers.newParallel("test", 2, false,
+				WorkerSelector.leastPendingTasks());
+		try {
+			s.schedule(() -> {}, 1, TimeUnit.HOURS);
+			assertThat(s.pendingTasks(0) + s.pendingTasks(1)).isEqualTo(1);
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void histogramPercentiles() {
+		SchedulerMetrics.Histogram h = new SchedulerMetrics.Histogram();
+		assertThat(h.valueAtPercentile(99)).isZero();
+
+		for (long i = 1; i <= 10_000; i++) {
+			h.record(i);
+		}
+		h.record(-1);
+
+		assertThat(h.count()).isEqualTo(10_001);
+		assertThat(h.max()).isEqualTo(10_000);
+		assertThat(h.valueAtPercentile(100)).isEqualTo(10_000);
+		assertThat(h.valueAtPercentile(0)).isZero();
+		assertThat(h.valueAtPercentile(50)).isBetween(5000L, (long) (5000 * 1.0625));
+		assertThat(h.valueAtPercentile(99)).isBetween(9900L, 10_000L);
+	}
+
+	@Test
+	public void histogramBuckets() {
+		for (long v : new long[]{0L, 1L, 15L, 16L, 17L, 1000L, 123_456_789L, Long.MAX_VALUE}) {
+			int index = SchedulerMetrics.Histogram.indexOf(v);
+			long highest = SchedulerMetrics.Histogram.highestValueAt(index);
+			assertThat(highest).as("highest of %s", v).isGreaterThanOrEqualTo(v);
+			assertThat(highest - v).as("precision of %s", v).isLessThanOrEqualTo(v / 16);
+		}
+	}
+}
@@ -31,6 +31,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import org.assertj.core.api.Assertions;
 import org.junit.After;
@@ -50,15 +51,21 @@ public class SchedulersTest {
 
 	final static class TestSchedulers implements Schedulers.Factory {
 
-		final Scheduler      elastic  = Schedulers.Factory.super.newElastic(60, Thread::new);
-		final Scheduler      single   = Schedulers.Factory.super.newSingle(Thread::new);
-		final Scheduler      parallel =	Schedulers.Factory.super.newParallel(1, Thread::new);
+		final Scheduler      elastic        = Schedulers.Factory.super.newElastic(60, Thread::new);
+		final Scheduler      boundedElastic = Schedulers.Factory.super.newBoundedElastic(2, Integer.MAX_VALUE, Thread::new, 60);
+		final Scheduler      single         = Schedulers.Factory.super.newSingle(Thread::new);
+		final Scheduler      parallel       = Schedulers.Factory.super.newParallel(1, Thread::new);
+		final Scheduler      workStealing   = Schedulers.Factory.super.newWorkStealing(1, Thread::new);
+		final Scheduler      threadPerTask  = Schedulers.Factory.super.newThreadPerTask(Thread::new);
 
 		TestSchedulers(boolean disposeOnInit) {
 			if (disposeOnInit) {
 				elastic.dispose();
+				boundedElastic.dispose();
 				single.dispose();
 				parallel.dispose();
+				workStealing.dispose();
+				threadPerTask.dispose();
 			}
 		}
 
@@ -67,6 +74,11 @@ public class SchedulersTest {
 			return elastic;
 		}
 
+		public final Scheduler newBoundedElastic(int threadCap, int queuedTaskCap, ThreadFactory threadFactory, int ttlSeconds) {
+			assertThat(((Schedulers.SchedulerThreadFactory)threadFactory).get()).isEqualTo("unused");
+			return boundedElastic;
+		}
+
 		public final Scheduler newParallel(int parallelism, ThreadFactory threadFactory) {
 			assertThat(((Schedulers.SchedulerThreadFactory)threadFactory).get()).isEqualTo("unused");
 			return parallel;
@@ -76,6 +88,16 @@ public class SchedulersTest {
 			assertThat(((Schedulers.SchedulerThreadFactory)threadFactory).get()).isEqualTo("unused");
 			return single;
 		}
+
+		public final Scheduler newWorkStealing(int parallelism, ThreadFactory threadFactory) {
+			assertThat(((Schedulers.SchedulerThreadFactory)threadFactory).get()).isEqualTo("unused");
+			return workStealing;
+		}
+
+		public final Scheduler newThreadPerTask(ThreadFactory threadFactory) {
+			assertThat(((Supplier<?>) threadFactory).get()).isEqualTo("unused");
+			return threadPerTask;
+		}
 	}
 
 	@After
@@ -91,7 +113,12 @@ public class SchedulersTest {
 
 		Assert.assertEquals(ts.single, Schedulers.newSingle("unused"));
 		Assert.assertEquals(ts.elastic, Schedulers.newElastic("unused"));
+		Assert.assertEquals(ts.boundedElastic, Schedulers.newBoundedElastic(4, 100, "unused"));
 		Assert.assertEquals(ts.parallel, Schedulers.newParallel("unused"));
+		Assert.assertEquals(ts.workStealing, Schedulers.newWorkStealing("unused", 1));
+		//falls back to the bounded elastic scheduler without virtual threads
+		Assert.assertEquals(ThreadPerTaskScheduler.virtualThreadFactory("unused") != null ?
+				ts.threadPerTask : ts.boundedElastic, Schedulers.newVirtualThreadPerTask("unused"));
 
 		Schedulers.resetFactory();
 
@@ -693,6 +720,7 @@ public class SchedulersTest {
 
 		//noop
 		Schedulers.elastic().dispose();
+		Schedulers.boundedElastic().dispose();
 	}
 
 	final static class EmptyScheduler implements Scheduler {
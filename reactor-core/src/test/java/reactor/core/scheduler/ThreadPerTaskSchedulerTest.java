@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.scheduler;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+import reactor.core.Disposable;
+import reactor.core.Scannable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ThreadPerTaskSchedulerTest extends AbstractSchedulerTest {
+
+	@Override
+	protected Scheduler scheduler() {
+		//platform threads, so that the scheduler can be tested on any runtime
+		return new ThreadPerTaskScheduler(new Schedulers.SchedulerThreadFactory(
+				"ThreadPerTaskSchedulerTest", false, new AtomicLong()));
+	}
+
+	@Override
+	protected boolean shouldCheckInterrupted() {
+		return true;
+	}
+
+	@Test
+	public void virtualThreadPerTaskOrFallback() {
+		Scheduler s = Schedulers.newVirtualThreadPerTask("virtual");
+		try {
+			if (ThreadPerTaskScheduler.virtualThreadFactory("virtual") == null) {
+				assertThat(s).isInstanceOf(BoundedElasticScheduler.class);
+			}
+			else {
+				assertThat(s).isInstanceOf(ThreadPerTaskScheduler.class);
+			}
+
+			StepVerifier.create(Mono.fromCallable(() -> Thread.currentThread().getName())
+			                        .subscribeOn(s))
+			            .assertNext(name -> assertThat(name).startsWith("virtual-"))
+			            .verifyComplete();
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void eachWorkerHasItsOwnThread() throws InterruptedException {
+		Scheduler s = scheduler();
+		try {
+			Thread[] threads = new Thread[2];
+			CountDownLatch latch = new CountDownLatch(2);
+			s.createWorker().schedule(() -> {
+				threads[0] = Thread.currentThread();
+				latch.countDown();
+			});
+			s.createWorker().schedule(() -> {
+				threads[1] = Thread.currentThread();
+				latch.countDown();
+			});
+
+			latch.await();
+			assertThat(threads[0]).isNotSameAs(threads[1]);
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void directTaskReleasesItsWorker() throws InterruptedException {
+		ThreadPerTaskScheduler s = (ThreadPerTaskScheduler) scheduler();
+		try {
+			CountDownLatch latch = new CountDownLatch(1);
+			Disposable d = s.schedule(latch::countDown);
+
+			latch.await();
+			while (!d.isDisposed()) {
+				Thread.sleep(10);
+			}
+			assertThat(s.workers.size()).isZero();
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void manyConcurrentBlockingCalls() {
+		Scheduler s = scheduler();
+		try {
+			StepVerifier.create(Flux.range(1, 100)
+			                        .flatMap(i -> Mono.fromCallable(() -> {
+				                        Thread.sleep(100);
+				                        return i;
+			                        })
+			                                          .subscribeOn(s), 100)
+			                        .count())
+			            .expectNext(100L)
+			            .expectComplete()
+			            .verify(Duration.ofSeconds(5));
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void smokeTestDelay() {
+		Scheduler s = scheduler();
+		try {
+			StepVerifier.create(Mono.delay(Duration.ofMillis(100), s))
+			            .expectSubscription()
+			            .expectNoEvent(Duration.ofMillis(90))
+			            .expectNext(0L)
+			            .verifyComplete();
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void scanScheduler() {
+		Scheduler s = scheduler();
+		try {
+			Scannable scannable = Scannable.from(s);
+			assertThat(scannable.scan(Scannable.Attr.NAME)).isEqualTo("ThreadPerTaskSchedulerTest");
+			assertThat(scannable.scan(Scannable.Attr.CAPACITY)).isEqualTo(Integer.MAX_VALUE);
+
+			Scheduler.Worker worker = s.createWorker();
+			assertThat(scannable.scan(Scannable.Attr.BUFFERED)).isEqualTo(1);
+			assertThat(Scannable.from(worker).scan(Scannable.Attr.PARENT)).isSameAs(s);
+
+			worker.dispose();
+			assertThat(scannable.scan(Scannable.Attr.BUFFERED)).isZero();
+		}
+		finally {
+			s.dispose();
+		}
+		assertThat(Scannable.from(s).scan(Scannable.Attr.TERMINATED)).isTrue();
+	}
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.scheduler;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.junit.Test;
+import reactor.core.Scannable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class WorkStealingSchedulerTest extends AbstractSchedulerTest {
+
+	@Override
+	protected Scheduler scheduler() {
+		return Schedulers.newWorkStealing("WorkStealingSchedulerTest", 4);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void zeroParallelism() {
+		Schedulers.newWorkStealing(0);
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void unsupportedStart() {
+		Scheduler s = scheduler();
+		try {
+			s.start();
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void workerTasksNeverRunConcurrentlyAndKeepOrder() throws InterruptedException {
+		Scheduler s = scheduler();
+		try {
+			Scheduler.Worker w = s.createWorker();
+			int n = 10_000;
+			AtomicInteger running = new AtomicInteger();
+			AtomicBoolean overlap = new AtomicBoolean();
+			AtomicBoolean outOfOrder = new AtomicBoolean();
+			int[] next = new int[1];
+			CountDownLatch latch = new CountDownLatch(n);
+
+			for (int i = 0; i < n; i++) {
+				int expected = i;
+				w.schedule(() -> {
+					if (running.incrementAndGet() != 1) {
+						overlap.set(true);
+					}
+					if (next[0]++ != expected) {
+						outOfOrder.set(true);
+					}
+					running.decrementAndGet();
+					latch.countDown();
+				});
+			}
+
+			latch.await();
+			assertThat(overlap).as("overlap").isFalse();
+			assertThat(outOfOrder).as("outOfOrder").isFalse();
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void idleThreadsStealFromBusyOnes() throws InterruptedException {
+		Scheduler s = Schedulers.newWorkStealing("steal", 2);
+		CountDownLatch block = new CountDownLatch(1);
+		CountDownLatch stolen = new CountDownLatch(1);
+		try {
+			s.schedule(() -> {
+				//schedule from within the pool, landing on this thread's own deque
+				s.schedule(stolen::countDown);
+				try {
+					block.await();
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			});
+
+			assertThat(stolen.await(5, TimeUnit.SECONDS)).as("stolen").isTrue();
+		}
+		finally {
+			block.countDown();
+			s.dispose();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void threadFactoryConfiguresPooledThreads() throws InterruptedException {
+		Scheduler s = Schedulers.newWorkStealing(1, r -> {
+			Thread t = new Thread(r, "customWorkStealing");
+			t.setDaemon(true);
+			return t;
+		});
+		AtomicReference<Thread> thread = new AtomicReference<>();
+		CountDownLatch latch = new CountDownLatch(1);
+		try {
+			s.schedule(() -> {
+				thread.set(Thread.currentThread());
+				latch.countDown();
+			});
+			latch.await();
+
+			assertThat(thread.get().getName()).isEqualTo("customWorkStealing");
+			assertThat(thread.get().isDaemon()).isTrue();
+			assertThat(Scannable.from(s).scan(Scannable.Attr.NAME)).isEqualTo(Schedulers.WORK_STEALING);
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void timerIsDecorated() {
+		List<String> decorated = new CopyOnWriteArrayList<>();
+		Schedulers.setFactory(new Schedulers.Factory() {
+			@Override
+			public ScheduledExecutorService decorateExecutorService(String schedulerType,
+					Supplier<? extends ScheduledExecutorService> actual) {
+				decorated.add(schedulerType);
+				return actual.get();
+			}
+		});
+		try {
+			Scheduler s = scheduler();
+			s.dispose();
+
+			assertThat(decorated).containsExactly(Schedulers.WORK_STEALING);
+		}
+		finally {
+			Schedulers.resetFactory();
+		}
+	}
+
+	@Test
+	public void runOn() {
+		Scheduler s = scheduler();
+		try {
+			StepVerifier.create(Flux.range(1, 1000)
+			                        .parallel(8)
+			                        .runOn(s)
+			                        .map(i -> i * 2)
+			                        .sequential()
+			                        .reduce(0, Integer::sum))
+			            .expectNext(1001000)
+			            .verifyComplete();
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void smokeTestDelay() {
+		Scheduler s = scheduler();
+		try {
+			StepVerifier.create(Mono.delay(Duration.ofMillis(100), s))
+			            .expectSubscription()
+			            .expectNoEvent(Duration.ofMillis(90))
+			            .expectNext(0L)
+			            .verifyComplete();
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void rejectedDrainDoesntLeaveWorkerStuck() {
+		WorkStealingScheduler s = (WorkStealingScheduler) scheduler();
+		try {
+			WorkStealingScheduler.WorkStealingWorker w =
+					(WorkStealingScheduler.WorkStealingWorker) s.createWorker();
+			s.pool.shutdown();
+
+			//each task is rejected, not only the one that submitted the first drain
+			for (int i = 0; i < 2; i++) {
+				assertThatExceptionOfType(RejectedExecutionException.class)
+						.isThrownBy(() -> w.schedule(() -> { }));
+				assertThat(w.wip).isZero();
+				assertThat(w.queue).isEmpty();
+			}
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void scanScheduler() {
+		Scheduler s = scheduler();
+		try {
+			Scannable scannable = Scannable.from(s);
+			assertThat(scannable.scan(Scannable.Attr.NAME)).isEqualTo("WorkStealingSchedulerTest");
+			assertThat(scannable.scan(Scannable.Attr.CAPACITY)).isEqualTo(4);
+			assertThat(scannable.scan(Scannable.Attr.TERMINATED)).isFalse();
+
+			Scannable worker = Scannable.from(s.createWorker());
+			assertThat(worker.scan(Scannable.Attr.PARENT)).isSameAs(s);
+			assertThat(worker.scan(Scannable.Attr.BUFFERED)).isZero();
+		}
+		finally {
+			s.dispose();
+		}
+		assertThat(Scannable.from(s).scan(Scannable.Attr.TERMINATED)).isTrue();
+	}
+}
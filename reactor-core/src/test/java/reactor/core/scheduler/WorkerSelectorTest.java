@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.scheduler;
+
+import java.util.function.IntUnaryOperator;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WorkerSelectorTest {
+
+	static final IntUnaryOperator NO_PENDING = i -> 0;
+
+	@Test
+	public void roundRobinCycles() {
+		WorkerSelector selector = WorkerSelector.roundRobin();
+
+		assertThat(selector.select(3, NO_PENDING)).isEqualTo(0);
+		assertThat(selector.select(3, NO_PENDING)).isEqualTo(1);
+		assertThat(selector.select(3, NO_PENDING)).isEqualTo(2);
+		assertThat(selector.select(3, NO_PENDING)).isEqualTo(0);
+	}
+
+	@Test
+	public void leastPendingTasksPicksMinimum() {
+		WorkerSelector selector = WorkerSelector.leastPendingTasks();
+		int[] pending = {5, 3, 0, 7};
+
+		for (int i = 0; i < 8; i++) {
+			assertThat(selector.select(4, idx -> pending[idx])).isEqualTo(2);
+		}
+	}
+
+	@Test
+	public void leastPendingTasksBreaksTiesRoundRobin() {
+		WorkerSelector selector = WorkerSelector.leastPendingTasks();
+
+		assertThat(selector.select(3, NO_PENDING)).isEqualTo(0);
+		assertThat(selector.select(3, NO_PENDING)).isEqualTo(1);
+		assertThat(selector.select(3, NO_PENDING)).isEqualTo(2);
+	}
+
+	@Test
+	public void powerOfTwoChoicesNeverPicksTheMostLoaded() {
+		WorkerSelector selector = WorkerSelector.powerOfTwoChoices();
+		int[] pending = {1, 1, 100};
+
+		for (int i = 0; i < 1000; i++) {
+			assertThat(selector.select(3, idx -> pending[idx])).isBetween(0, 1);
+		}
+	}
+
+	@Test
+	public void powerOfTwoChoicesSingleExecutor() {
+		assertThat(WorkerSelector.powerOfTwoChoices().select(1, NO_PENDING)).isZero();
+	}
+
+	@Test
+	public void fromName() {
+		assertThat(WorkerSelectors.fromName("roundRobin")).isInstanceOf(WorkerSelectors.RoundRobin.class);
+		assertThat(WorkerSelectors.fromName("leastPendingTasks")).isInstanceOf(WorkerSelectors.LeastPendingTasks.class);
+		assertThat(WorkerSelectors.fromName("powerOfTwoChoices")).isSameAs(WorkerSelector.powerOfTwoChoices());
+		assertThat(WorkerSelectors.fromName("unknown")).isNull();
+		assertThat(WorkerSelectors.fromName(null)).isNull();
+	}
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.util.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.junit.Test;
+import reactor.test.RaceTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MultiProducerQueuesTest {
+
+	static final int PRODUCERS = 4;
+	static final int PER_PRODUCER = 50_000;
+
+	@Test
+	public void mpscArrayOfferPollFull() {
+		Queue<Integer> q = Queues.<Integer>mpsc(8).get();
+
+		for (int i = 0; i < 8; i++) {
+			assertThat(q.offer(i)).isTrue();
+		}
+		assertThat(q.offer(8)).isFalse();
+		assertThat(q.size()).isEqualTo(8);
+		assertThat(q.peek()).isEqualTo(0);
+
+		for (int i = 0; i < 8; i++) {
+			assertThat(q.poll()).isEqualTo(i);
+		}
+		assertThat(q.poll()).isNull();
+		assertThat(q.isEmpty()).isTrue();
+	}
+
+	@Test
+	public void mpmcArrayOfferPollFull() {
+		Queue<Integer> q = Queues.<Integer>mpmc(4).get();
+
+		for (int i = 0; i < 4; i++) {
+			assertThat(q.offer(i)).isTrue();
+		}
+		assertThat(q.offer(4)).isFalse();
+		assertThat(q.size()).isEqualTo(4);
+		assertThat(q.peek()).isEqualTo(0);
+
+		for (int i = 0; i < 4; i++) {
+			assertThat(q.poll()).isEqualTo(i);
+		}
+		assertThat(q.poll()).isNull();
+		assertThat(q.peek()).isNull();
+		assertThat(q.isEmpty()).isTrue();
+
+		//second lap
+		assertThat(q.offer(5)).isTrue();
+		assertThat(q.poll()).isEqualTo(5);
+	}
+
+	@Test
+	public void mpscLinkedOfferPollClear() {
+		Queue<Integer> q = Queues.<Integer>mpsc().get();
+
+		for (int i = 0; i < 100; i++) {
+			assertThat(q.offer(i)).isTrue();
+		}
+		assertThat(q.size()).isEqualTo(100);
+		assertThat(q.peek()).isEqualTo(0);
+		assertThat(q.poll()).isEqualTo(0);
+
+		q.clear();
+		assertThat(q.isEmpty()).isTrue();
+		assertThat(q.size()).isZero();
+		assertThat(q.poll()).isNull();
+	}
+
+	@Test
+	public void mpscArrayConcurrentOffersKeepPerProducerOrder() throws InterruptedException {
+		concurrentOffersKeepPerProducerOrder(Queues.mpsc(64));
+	}
+
+	@Test
+	public void mpscLinkedConcurrentOffersKeepPerProducerOrder() throws InterruptedException {
+		concurrentOffersKeepPerProducerOrder(Queues.mpsc());
+	}
+
+	@Test
+	public void mpmcArrayConcurrentOffersKeepPerProducerOrder() throws InterruptedException {
+		concurrentOffersKeepPerProducerOrder(Queues.mpmc(64));
+	}
+
+	@Test
+	public void mpmcArrayConcurrentPollsDeliverEachValueOnce() throws InterruptedException {
+		Queue<Integer> q = Queues.<Integer>mpmc(16).get();
+		int total = PRODUCERS * PER_PRODUCER;
+		AtomicLong sum = new AtomicLong();
+		AtomicLong count = new AtomicLong();
+
+		List<Thread> threads = new ArrayList<>();
+		for (int p = 0; p < PRODUCERS; p++) {
+			int base = p * PER_PRODUCER;
+			threads.add(new Thread(() -> {
+				for (int i = 0; i < PER_PRODUCER; i++) {
+					while (!q.offer(base + i)) {
+						Thread.yield();
+					}
+				}
+			}));
+		}
+		for (int c = 0; c < 3; c++) {
+			threads.add(new Thread(() -> {
+				while (count.get() < total) {
+					Integer v = q.poll();
+					if (v == null) {
+						Thread.yield();
+						continue;
+					}
+					sum.addAndGet(v);
+					count.incrementAndGet();
+				}
+			}));
+		}
+		for (Thread t : threads) {
+			t.start();
+		}
+		for (Thread t : threads) {
+			t.join();
+		}
+
+		assertThat(count.get()).isEqualTo(total);
+		assertThat(sum.get()).isEqualTo((long) total * (total - 1) / 2);
+		assertThat(q.isEmpty()).isTrue();
+	}
+
+	@Test
+	public void raceOfferOfferThenPoll() {
+		for (Supplier<Queue<Integer>> supplier : suppliers()) {
+			for (int i = 0; i < 1000; i++) {
+				Queue<Integer> q = supplier.get();
+
+				RaceTestUtils.race(() -> q.offer(1), () -> q.offer(2));
+
+				assertThat(q.size()).isEqualTo(2);
+				int a = q.poll();
+				int b = q.poll();
+				assertThat(a + b).isEqualTo(3);
+				assertThat(q.poll()).isNull();
+			}
+		}
+	}
+
+	@Test
+	public void raceOfferPoll() {
+		for (Supplier<Queue<Integer>> supplier : suppliers()) {
+			for (int i = 0; i < 1000; i++) {
+				Queue<Integer> q = supplier.get();
+				Integer[] polled = new Integer[1];
+
+				RaceTestUtils.race(() -> q.offer(1), () -> polled[0] = q.poll());
+
+				if (polled[0] == null) {
+					assertThat(q.poll()).isEqualTo(1);
+				}
+				else {
+					assertThat(polled[0]).isEqualTo(1);
+					assertThat(q.isEmpty()).isTrue();
+				}
+			}
+		}
+	}
+
+	static List<Supplier<Queue<Integer>>> suppliers() {
+		List<Supplier<Queue<Integer>>> suppliers = new ArrayList<>();
+		suppliers.add(Queues.mpsc());
+		suppliers.add(Queues.mpsc(8));
+		suppliers.add(Queues.mpmc(8));
+		return suppliers;
+	}
+
+	static void concurrentOffersKeepPerProducerOrder(Supplier<Queue<Integer>> supplier)
+			throws InterruptedException {
+		Queue<Integer> q = supplier.get();
+		CountDownLatch start = new CountDownLatch(1);
+
+		List<Thread> producers = new ArrayList<>();
+		for (int p = 0; p < PRODUCERS; p++) {
+			int base = p * PER_PRODUCER;
+			Thread t = new Thread(() -> {
+				try {
+					start.await();
+				}
+				catch (InterruptedException e) {
+					return;
+				}
+				for (int i = 0; i < PER_PRODUCER; i++) {
+					while (!q.offer(base + i)) {
+						Thread.yield();
+					}
+				}
+			});
+			t.start();
+			producers.add(t);
+		}
+		start.countDown();
+
+		int[] last = new int[PRODUCERS];
+		for (int p = 0; p < PRODUCERS; p++) {
+			last[p] = -1;
+		}
+		int received = 0;
+		while (received < PRODUCERS * PER_PRODUCER) {
+			Integer v = q.poll();
+			if (v == null) {
+				Thread.yield();
+				continue;
+			}
+			int producer = v / PER_PRODUCER;
+			assertThat(v % PER_PRODUCER).as("order of producer %d", producer)
+			                            .isGreaterThan(last[producer]);
+			last[producer] = v % PER_PRODUCER;
+			received++;
+		}
+		for (Thread t : producers) {
+			t.join();
+		}
+
+		assertThat(q.poll()).isNull();
+		for (int p = 0; p < PRODUCERS; p++) {
+			assertThat(last[p]).isEqualTo(PER_PRODUCER - 1);
+		}
+	}
+}
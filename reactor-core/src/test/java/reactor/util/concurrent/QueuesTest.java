@@ -69,6 +69,21 @@ public class QueuesTest {
 		assertThat(Queues.capacity(q)).isEqualTo(Integer.MAX_VALUE);
 	}
 
+	@Test
+	public void capacityMpscQueues() {
+		assertThat(Queues.capacity(Queues.mpsc().get())).isEqualTo(Integer.MAX_VALUE);
+		assertThat(Queues.capacity(Queues.mpsc(Integer.MAX_VALUE).get())).isEqualTo(Integer.MAX_VALUE);
+		assertThat(Queues.capacity(Queues.mpsc(2).get())).isEqualTo(8);
+		assertThat(Queues.capacity(Queues.mpsc(9).get())).isEqualTo(16);
+	}
+
+	@Test
+	public void capacityMpmcQueues() {
+		assertThat(Queues.capacity(Queues.mpmc().get())).isEqualTo(Queues.SMALL_BUFFER_SIZE);
+		assertThat(Queues.capacity(Queues.mpmc(1).get())).isEqualTo(2);
+		assertThat(Queues.capacity(Queues.mpmc(9).get())).isEqualTo(16);
+	}
+
 	@Test
 	public void capacityOtherQueue() {
 		Queue q = new PriorityQueue<>(10);
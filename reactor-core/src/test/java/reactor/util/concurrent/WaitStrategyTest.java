@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.util.concurrent;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WaitStrategyTest {
+
+	@Test
+	public void adaptiveReturnsImmediatelyWhenAvailable() throws InterruptedException {
+		WaitStrategy.Adaptive strategy = WaitStrategy.adaptive();
+
+		assertThat(strategy.waitFor(3L, () -> 5L, WaitStrategy.NOOP_SPIN_OBSERVER)).isEqualTo(5L);
+		assertThat(strategy.spinCount() + strategy.yieldCount() + strategy.parkCount()).isZero();
+	}
+
+	@Test
+	public void adaptiveShrinksTimeoutsWhenBlocking() throws InterruptedException {
+		WaitStrategy.Adaptive strategy = WaitStrategy.adaptive(100, 100, TimeUnit.MICROSECONDS);
+		AtomicLong cursor = new AtomicLong();
+		long spinTimeout = strategy.spinTimeoutNanos();
+		long yieldTimeout = strategy.yieldTimeoutNanos();
+
+		Thread producer = new Thread(() -> {
+			try {
+				Thread.sleep(100);
+			}
+			catch (InterruptedException e) {
+				return;
+			}
+			cursor.set(1L);
+			strategy.signalAllWhenBlocking();
+		});
+		producer.start();
+
+		assertThat(strategy.waitFor(1L, cursor::get, WaitStrategy.NOOP_SPIN_OBSERVER)).isEqualTo(1L);
+		assertThat(strategy.parkCount()).isEqualTo(1L);
+		assertThat(strategy.spinTimeoutNanos()).isLessThanOrEqualTo(spinTimeout);
+		assertThat(strategy.yieldTimeoutNanos()).isLessThan(yieldTimeout);
+	}
+
+	@Test
+	public void adaptiveTimeoutsFollowObservedWaits() {
+		WaitStrategy.Adaptive strategy = WaitStrategy.adaptive(1, 10, TimeUnit.MILLISECONDS);
+
+		for (int i = 0; i < 100; i++) {
+			strategy.waited(TimeUnit.MICROSECONDS.toNanos(50));
+		}
+
+		assertThat(strategy.averageWaitNanos()).isBetween(45_000L, 50_000L);
+		assertThat(strategy.spinTimeoutNanos()).isEqualTo(strategy.averageWaitNanos() * 2);
+		assertThat(strategy.yieldTimeoutNanos()).isEqualTo(strategy.averageWaitNanos() * 4);
+
+		for (int i = 0; i < 100; i++) {
+			strategy.waited(TimeUnit.MILLISECONDS.toNanos(100));
+		}
+
+		assertThat(strategy.spinTimeoutNanos()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(1));
+		assertThat(strategy.yieldTimeoutNanos()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(10));
+	}
+}
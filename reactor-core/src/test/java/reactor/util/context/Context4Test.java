@@ -192,7 +192,7 @@ public class Context4Test {
 		Context m = Context.of("A", 1, "B", 2, "C", 3);
 		Context put = c.putAll(m);
 
-		assertThat(put).isInstanceOf(ContextN.class);
+		assertThat(put).isInstanceOf(ContextHamt.class);
 		assertThat(put.stream().map(Map.Entry::getKey))
 				.containsExactlyInAnyOrder(1, 2, 3, 4, "A", "B", "C");
 	}
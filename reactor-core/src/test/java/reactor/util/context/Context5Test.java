@@ -99,10 +99,10 @@ public class Context5Test {
 	}
 
 	@Test
-	public void putDifferentKeyContextN() throws Exception {
+	public void putDifferentKeyContextHamt() throws Exception {
 		Context put = c.put(6, "Abis");
 		assertThat(put)
-				.isInstanceOf(ContextN.class);
+				.isInstanceOf(ContextHamt.class);
 		assertThat(put.stream().map(Map.Entry::getKey))
 				.containsExactly(1, 2, 3, 4, 5, 6);
 		assertThat(put.stream().map(Map.Entry::getValue))
@@ -224,7 +224,7 @@ public class Context5Test {
 		Context m = Context.of("A", 1, "B", 2, "C", 3);
 		Context put = c.putAll(m);
 
-		assertThat(put).isInstanceOf(ContextN.class);
+		assertThat(put).isInstanceOf(ContextHamt.class);
 		assertThat(put.stream().map(Map.Entry::getKey))
 				.containsExactlyInAnyOrder(1, 2, 3, 4, 5, "A", "B", "C");
 	}
@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.util.context;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class ContextHamtTest {
+
+	Context c;
+
+	@Before
+	public void initContext() {
+		c = ContextHamt.of(1, "A", 2, "B", 3, "C",
+				4, "D", 5, "E", 6, "F");
+	}
+
+	@Test
+	public void replaceKeyNewContext() {
+		Context put = c.put(3, "foo");
+
+		assertThat(put)
+				.isInstanceOf(ContextHamt.class)
+				.isNotSameAs(c);
+		assertThat(put.stream().map(Map.Entry::getKey))
+				.containsExactly(1, 2, 3, 4, 5, 6);
+		assertThat(put.stream().map(Map.Entry::getValue))
+				.containsExactly("A", "B", "foo", "D", "E", "F");
+		assertThat(c.<String>get(3)).isEqualTo("C");
+	}
+
+	@Test
+	public void replaceKeySameValueSameContext() {
+		assertThat(c.put(3, "C")).isSameAs(c);
+	}
+
+	@Test
+	public void putDifferentKeyContextHamt() {
+		Context put = c.put(7, "Abis");
+
+		assertThat(put).isInstanceOf(ContextHamt.class);
+		assertThat(((ContextHamt) put).size).isEqualTo(7);
+		assertThat(put.stream().map(Map.Entry::getKey))
+				.containsExactly(1, 2, 3, 4, 5, 6, 7);
+		assertThat(c.hasKey(7)).isFalse();
+	}
+
+	@Test
+	public void putSharesUntouchedNodes() {
+		Context big = c;
+		for (int i = 0; i < 1000; i++) {
+			big = big.put("key" + i, i);
+		}
+		ContextHamt before = (ContextHamt) big;
+		ContextHamt after = (ContextHamt) big.put("key500", "changed");
+
+		int shared = 0;
+		for (int i = 0; i < before.root.content.length; i++) {
+			if (before.root.content[i] == after.root.content[i]) {
+				shared++;
+			}
+		}
+		assertThat(shared).isEqualTo(before.root.content.length - 1);
+		assertThat(before.<Integer>get("key500")).isEqualTo(500);
+		assertThat(after.<String>get("key500")).isEqualTo("changed");
+	}
+
+	@Test
+	public void hasKeyAndGet() {
+		assertThat(c.hasKey(1)).as("hasKey(1)").isTrue();
+		assertThat(c.hasKey(7)).as("hasKey(7)").isFalse();
+		assertThat(c.<String>get(6)).isEqualTo("F");
+		assertThat(c.getOrDefault(7, "foo")).isEqualTo("foo");
+		assertThat(c.getOrEmpty(7)).isEmpty();
+		assertThatExceptionOfType(NoSuchElementException.class)
+				.isThrownBy(() -> c.get(7))
+				.withMessage("Context does not contain key: 7");
+	}
+
+	@Test
+	public void hashCollisions() {
+		Context collisions = c;
+		for (int i = 0; i < 10; i++) {
+			collisions = collisions.put(new Colliding(i), i);
+		}
+		collisions = collisions.put(new Colliding(3), "three");
+
+		assertThat(((ContextHamt) collisions).size).isEqualTo(16);
+		assertThat(collisions.<String>get(new Colliding(3))).isEqualTo("three");
+		assertThat(collisions.<Integer>get(new Colliding(9))).isEqualTo(9);
+		assertThat(collisions.hasKey(new Colliding(10))).isFalse();
+
+		Context deleted = collisions.delete(new Colliding(3));
+		assertThat(deleted.hasKey(new Colliding(3))).isFalse();
+		assertThat(deleted.stream().count()).isEqualTo(15);
+	}
+
+	@Test
+	public void removeKeysToContext5() {
+		Context remaining = c.delete(7)
+		                     .delete(6);
+
+		assertThat(c.delete(7)).isSameAs(c);
+		assertThat(remaining).isInstanceOf(Context5.class);
+		assertThat(remaining.stream().map(Map.Entry::getKey))
+				.containsExactlyInAnyOrder(1, 2, 3, 4, 5);
+	}
+
+	@Test
+	public void putAllOfContext3() {
+		Context m = Context.of("A", 1, "B", 2, 3, "foo");
+		Context put = c.putAll(m);
+
+		assertThat(put).isInstanceOf(ContextHamt.class);
+		assertThat(put.stream().map(Map.Entry::getKey))
+				.containsExactlyInAnyOrder(1, 2, 3, 4, 5, 6, "A", "B");
+		assertThat(put.<String>get(3)).isEqualTo("foo");
+	}
+
+	@Test
+	public void putAllOfContextHamtKeepsOtherValues() {
+		Context m = Context.of("A", 1, "B", 2, "C", 3, "D", 4, "E", 5)
+		                   .put(1, "foo");
+		Context put = c.putAll(m);
+		Context reverse = m.putAll(c);
+
+		assertThat(put.<String>get(1)).isEqualTo("foo");
+		assertThat(reverse.<String>get(1)).isEqualTo("A");
+		assertThat(put.stream().map(Map.Entry::getKey))
+				.containsExactlyInAnyOrder(1, 2, 3, 4, 5, 6, "A", "B", "C", "D", "E");
+		assertThat(((ContextHamt) put).size).isEqualTo(11);
+		assertThat(((ContextHamt) reverse).size).isEqualTo(11);
+		//the source contexts are left untouched
+		assertThat(c.<String>get(1)).isEqualTo("A");
+		assertThat(m.<String>get(1)).isEqualTo("foo");
+		assertThat(c.stream().count()).isEqualTo(6);
+	}
+
+	@Test
+	public void putAllOfEmpty() {
+		assertThat(c.putAll(Context.empty())).isSameAs(c);
+	}
+
+	@Test
+	public void randomOperationsMatchHashMap() {
+		Random random = new Random(0);
+		Context context = Context.empty();
+		Map<Object, Object> expected = new HashMap<>();
+
+		for (int i = 0; i < 10_000; i++) {
+			Object key = random.nextInt(4) == 0 ? new Colliding(random.nextInt(20)) : random.nextInt(100);
+			if (random.nextInt(4) == 0) {
+				context = context.delete(key);
+				expected.remove(key);
+			}
+			else {
+				context = context.put(key, i);
+				expected.put(key, i);
+			}
+
+			assertThat(context.stream()
+			                  .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue)))
+					.isEqualTo(expected);
+		}
+	}
+
+	@Test
+	public void string() {
+		assertThat(c.toString()).isEqualTo("ContextHamt{1=A, 2=B, 3=C, 4=D, 5=E, 6=F}");
+	}
+
+	static final class Colliding {
+
+		final int id;
+
+		Colliding(int id) {
+			this.id = id;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof Colliding && ((Colliding) o).id == id;
+		}
+
+		@Override
+		public int hashCode() {
+			return 42;
+		}
+
+		@Override
+		public String toString() {
+			return "Colliding" + id;
+		}
+	}
+}
@@ -49,7 +49,7 @@ public class ContextTest {
 			case 3: return SIZE_3;
 			case 4: return SIZE_4;
 			case 5: return SIZE_5;
-			default: return new Condition<>(c -> c instanceof ContextN
+			default: return new Condition<>(c -> c instanceof ContextHamt
 					&& c.stream().count() == n,
 					"size %d", n);
 		}
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.tools.agent;
+
+import java.util.function.Supplier;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * A typical operator chain, assembled by {@link DebugAgentBenchmark} either as is or
+ * instrumented by the {@link ReactorDebugAgent}.
+ */
+public class AssemblyFixture implements Supplier<Flux<String>> {
+
+	@Override
+	public Flux<String> get() {
+		return Flux.just("pedro", "simon", "stephane")
+		           .filter(name -> !name.isEmpty())
+		           .map(String::toUpperCase)
+		           .flatMap(Flux::just)
+		           .distinct()
+		           .take(2);
+	}
+}
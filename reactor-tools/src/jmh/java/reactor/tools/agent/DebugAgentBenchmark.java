@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.tools.agent;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Hooks;
+
+/**
+ * Compares the assembly cost of an operator chain without debugging, with
+ * {@link Hooks#onOperatorDebug()}, with {@link Hooks#onOperatorCallSiteDebug()} and
+ * when instrumented by the {@link ReactorDebugAgent}, as well as the cost of
+ * assembling and subscribing to it.
+ */
+@State(Scope.Benchmark)
+public class DebugAgentBenchmark {
+
+	@Param({"NONE", "OPERATOR_DEBUG", "CALL_SITE_DEBUG", "AGENT"})
+	public String mode;
+
+	Supplier<Flux<String>> fixture;
+
+	@Setup
+	@SuppressWarnings("unchecked")
+	public void setup() throws Exception {
+		switch (mode) {
+			case "OPERATOR_DEBUG":
+				Hooks.onOperatorDebug();
+				fixture = new AssemblyFixture();
+				break;
+			case "CALL_SITE_DEBUG":
+				Hooks.onOperatorCallSiteDebug();
+				fixture = new AssemblyFixture();
+				break;
+			case "AGENT":
+				fixture = (Supplier<Flux<String>>) instrumented(AssemblyFixture.class).newInstance();
+				break;
+			default:
+				fixture = new AssemblyFixture();
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		Hooks.resetOnOperatorDebug();
+	}
+
+	@Benchmark
+	@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+	public Flux<String> assembly() {
+		return fixture.get();
+	}
+
+	@Benchmark
+	@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+	public String assemblyAndSubscription() {
+		return fixture.get()
+		              .blockLast();
+	}
+
+	/**
+	 * Load a copy of the given class instrumented by the {@link ReactorDebugAgent}, as
+	 * it would be with {@code -javaagent}, in a dedicated {@link ClassLoader}.
+	 */
+	static Class<?> instrumented(Class<?> type) throws IOException, ClassNotFoundException {
+		String name = type.getName();
+		byte[] bytes;
+		try (InputStream in = type.getResourceAsStream("/" + name.replace('.', '/') + ".class")) {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			byte[] buffer = new byte[4096];
+			int n;
+			while ((n = in.read(buffer)) > 0) {
+				out.write(buffer, 0, n);
+			}
+			bytes = ReactorDebugAgent.CallSiteTransformer.instrument(out.toByteArray());
+		}
+		if (bytes == null) {
+			throw new IllegalStateException(name + " has no operator to instrument");
+		}
+		byte[] instrumented = bytes;
+		ClassLoader loader = new ClassLoader(type.getClassLoader()) {
+			@Override
+			protected Class<?> loadClass(String className, boolean resolve)
+					throws ClassNotFoundException {
+				if (className.equals(name)) {
+					synchronized (getClassLoadingLock(className)) {
+						Class<?> c = findLoadedClass(className);
+						if (c == null) {
+							c = defineClass(className, instrumented, 0, instrumented.length);
+						}
+						return c;
+					}
+				}
+				return super.loadClass(className, resolve);
+			}
+		};
+		return loader.loadClass(name);
+	}
+}
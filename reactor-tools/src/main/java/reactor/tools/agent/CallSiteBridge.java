@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.tools.agent;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Hooks;
+
+/**
+ * The target of the calls inserted by the {@link ReactorDebugAgent} in user code, which
+ * forwards to the package-private call site decoration of {@link Hooks}, so that it
+ * doesn't have to be part of the public API of reactor-core.
+ * <p>
+ * This is not meant to be called directly.
+ */
+public final class CallSiteBridge {
+
+	static final MethodHandle ADD_CALL_SITE_INFO;
+
+	static {
+		try {
+			Method m = Hooks.class.getDeclaredMethod("addCallSiteInfo",
+					Publisher.class,
+					String.class);
+			m.setAccessible(true);
+			ADD_CALL_SITE_INFO = MethodHandles.lookup()
+			                                  .unreflect(m);
+		}
+		catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("Incompatible reactor-core version, " +
+					"unable to find Hooks.addCallSiteInfo", e);
+		}
+	}
+
+	/**
+	 * Decorate the {@link Publisher} returned by an operator with the given traceback.
+	 *
+	 * @param publisher the {@link Publisher} returned by the operator
+	 * @param callSite the traceback of the operator invocation
+	 * @param <T> the type of data emitted by the publisher
+	 *
+	 * @return the decorated {@link Publisher}, of the same kind as the original
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> Publisher<T> addCallSiteInfo(Publisher<T> publisher, String callSite) {
+		try {
+			return (Publisher<T>) (Publisher<?>) ADD_CALL_SITE_INFO.invokeExact(publisher, callSite);
+		}
+		catch (RuntimeException | Error e) {
+			throw e;
+		}
+		catch (Throwable e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	CallSiteBridge() {
+	}
+}
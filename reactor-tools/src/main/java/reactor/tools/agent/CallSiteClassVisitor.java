@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.tools.agent;
+
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import reactor.util.annotation.Nullable;
+
+/**
+ * A {@link ClassVisitor} instrumenting each method with a {@link CallSiteMethodVisitor}
+ * and recording whether any operator call site was found.
+ */
+final class CallSiteClassVisitor extends ClassVisitor {
+
+	String className = "";
+	@Nullable
+	String sourceFile;
+	boolean changed;
+
+	CallSiteClassVisitor(ClassVisitor cv) {
+		super(Opcodes.ASM6, cv);
+	}
+
+	@Override
+	public void visit(int version,
+			int access,
+			String name,
+			@Nullable String signature,
+			@Nullable String superName,
+			@Nullable String[] interfaces) {
+		this.className = name.replace('/', '.');
+		super.visit(version, access, name, signature, superName, interfaces);
+	}
+
+	@Override
+	public void visitSource(@Nullable String source, @Nullable String debug) {
+		this.sourceFile = source;
+		super.visitSource(source, debug);
+	}
+
+	@Override
+	public MethodVisitor visitMethod(int access,
+			String name,
+			String desc,
+			@Nullable String signature,
+			@Nullable String[] exceptions) {
+		MethodVisitor mv = super.visitMethod(access, name, desc, signature, exceptions);
+		return new CallSiteMethodVisitor(mv, this, name);
+	}
+}
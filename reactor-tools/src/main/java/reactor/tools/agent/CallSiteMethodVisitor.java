@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.tools.agent;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.ParallelFlux;
+
+/**
+ * A {@link MethodVisitor} that follows each invocation of a {@code Flux}, {@code Mono}
+ * or {@code ParallelFlux} operator, including the operators invoked on their subtypes
+ * such as {@code GroupedFlux} or the processors, with a call to
+ * {@link CallSiteBridge#addCallSiteInfo(org.reactivestreams.Publisher, String)},
+ * passing the traceback of the invocation as a constant.
+ */
+final class CallSiteMethodVisitor extends MethodVisitor {
+
+	static final String PUBLISHER_PACKAGE = "reactor/core/publisher/";
+
+	/**
+	 * Whether each class of {@link #PUBLISHER_PACKAGE} met so far is a {@code Flux},
+	 * {@code Mono} or {@code ParallelFlux}, by internal name.
+	 */
+	static final Map<String, Boolean> PUBLISHER_SUBTYPES = new ConcurrentHashMap<>();
+
+	static final String BRIDGE = "reactor/tools/agent/CallSiteBridge";
+	static final String ADD_CALL_SITE_INFO = "addCallSiteInfo";
+	static final String ADD_CALL_SITE_INFO_DESC =
+			"(Lorg/reactivestreams/Publisher;Ljava/lang/String;)Lorg/reactivestreams/Publisher;";
+
+	final CallSiteClassVisitor parent;
+	final String               methodName;
+
+	int line = -1;
+
+	CallSiteMethodVisitor(MethodVisitor mv, CallSiteClassVisitor parent, String methodName) {
+		super(Opcodes.ASM6, mv);
+		this.parent = parent;
+		this.methodName = methodName;
+	}
+
+	@Override
+	public void visitLineNumber(int line, Label start) {
+		this.line = line;
+		super.visitLineNumber(line, start);
+	}
+
+	@Override
+	public void visitMethodInsn(int opcode,
+			String owner,
+			String name,
+			String desc,
+			boolean itf) {
+		super.visitMethodInsn(opcode, owner, name, desc, itf);
+
+		if (!isOperator(owner, name, desc)) {
+			return;
+		}
+		String returnType = Type.getReturnType(desc).getInternalName();
+
+		super.visitLdcInsn(callSite(owner, name));
+		super.visitMethodInsn(Opcodes.INVOKESTATIC,
+				BRIDGE,
+				ADD_CALL_SITE_INFO,
+				ADD_CALL_SITE_INFO_DESC,
+				false);
+		super.visitTypeInsn(Opcodes.CHECKCAST, returnType);
+		parent.changed = true;
+	}
+
+	/**
+	 * Build the traceback of the operator invocation, in the format of the tracebacks
+	 * captured by {@link reactor.core.publisher.Hooks#onOperatorDebug()}.
+	 */
+	String callSite(String owner, String name) {
+		String operatorClass = owner.replace('/', '.');
+		String simpleName = owner.substring(owner.lastIndexOf('/') + 1);
+		StringBuilder sb = new StringBuilder()
+				.append('\t')
+				.append(operatorClass)
+				.append('.')
+				.append(name)
+				.append('(')
+				.append(simpleName)
+				.append(".java)\n\t")
+				.append(parent.className)
+				.append('.')
+				.append(methodName)
+				.append('(');
+		if (parent.sourceFile == null) {
+			sb.append("Unknown Source");
+		}
+		else {
+			sb.append(parent.sourceFile);
+			if (line >= 0) {
+				sb.append(':')
+				  .append(line);
+			}
+		}
+		return sb.append(")\n")
+		         .toString();
+	}
+
+	/**
+	 * An operator is a method of a {@code Flux}, {@code Mono} or {@code ParallelFlux}
+	 * class of reactor-core, or of one of their subtypes, returning a {@code Flux},
+	 * {@code Mono}, {@code ParallelFlux} or {@code ConnectableFlux}, except for the
+	 * assembly hooks themselves and the explicit {@code checkpoint} operators. Methods
+	 * returning another subtype, like the processor factories, are left out as the
+	 * decorated publisher wouldn't be of that subtype.
+	 */
+	static boolean isOperator(String owner, String name, String desc) {
+		if (!owner.startsWith(PUBLISHER_PACKAGE) || !isPublisherSubtype(owner)) {
+			return false;
+		}
+		if (name.equals("checkpoint") ||
+				name.equals("onAssembly") ||
+				name.equals("onLastAssembly") ||
+				name.equals("<init>")) {
+			return false;
+		}
+		Type returnType = Type.getReturnType(desc);
+		return returnType.getSort() == Type.OBJECT &&
+				isPublisherType(returnType.getInternalName());
+	}
+
+	static boolean isPublisherSubtype(String internalName) {
+		if (isPublisherType(internalName)) {
+			return true;
+		}
+		Boolean subtype = PUBLISHER_SUBTYPES.get(internalName);
+		if (subtype == null) {
+			//not computeIfAbsent: loading the class may re-enter the transformer
+			subtype = resolvePublisherSubtype(internalName);
+			PUBLISHER_SUBTYPES.put(internalName, subtype);
+		}
+		return subtype;
+	}
+
+	/**
+	 * Load the given reactor-core class without initializing it, from the class loader
+	 * the {@link CallSiteBridge} resolves reactor-core with.
+	 */
+	static boolean resolvePublisherSubtype(String internalName) {
+		try {
+			Class<?> type = Class.forName(internalName.replace('/', '.'),
+					false,
+					CallSiteMethodVisitor.class.getClassLoader());
+			return Flux.class.isAssignableFrom(type) ||
+					Mono.class.isAssignableFrom(type) ||
+					ParallelFlux.class.isAssignableFrom(type);
+		}
+		catch (ClassNotFoundException | LinkageError e) {
+			return false;
+		}
+	}
+
+	static boolean isPublisherType(String internalName) {
+		switch (internalName) {
+			case "reactor/core/publisher/Flux":
+			case "reactor/core/publisher/Mono":
+			case "reactor/core/publisher/ParallelFlux":
+			case "reactor/core/publisher/ConnectableFlux":
+				return true;
+			default:
+				return false;
+		}
+	}
+}
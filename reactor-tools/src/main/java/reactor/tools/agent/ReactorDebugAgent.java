@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.tools.agent;
+
+import java.lang.instrument.ClassFileTransformer;
+import java.lang.instrument.Instrumentation;
+import java.security.ProtectionDomain;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
+import reactor.util.Logger;
+import reactor.util.Loggers;
+import reactor.util.annotation.Nullable;
+
+/**
+ * A Java agent that instruments user code at class-load time so that each invocation of
+ * a {@link reactor.core.publisher.Flux}, {@link reactor.core.publisher.Mono} or
+ * {@link reactor.core.publisher.ParallelFlux} operator gets decorated with its call
+ * site, as if {@link reactor.core.publisher.Hooks#onOperatorDebug()} had been enabled.
+ * <p>
+ * The call site (e.g. {@code Flux.map} invoked from {@code com.example.Service.find}
+ * at line 42) is known when the class is loaded and is embedded as a constant, so that
+ * no stack trace is captured when operators are assembled. Tracebacks are printed in
+ * the same format as with {@link reactor.core.publisher.Hooks#onOperatorDebug()}.
+ * <p>
+ * The agent is the reactor-tools jar published with the {@code agent} classifier, and is
+ * activated by adding {@code -javaagent:reactor-tools-<version>-agent.jar} to the JVM
+ * arguments. Classes from the JDK and from Reactor itself are not instrumented.
+ */
+public final class ReactorDebugAgent {
+
+	static final Logger log = Loggers.getLogger(ReactorDebugAgent.class);
+
+	/**
+	 * Entry point of the agent when the JVM is started with {@code -javaagent}.
+	 *
+	 * @param args the agent arguments, ignored
+	 * @param instrumentation the {@link Instrumentation} of the JVM
+	 */
+	public static void premain(@Nullable String args, Instrumentation instrumentation) {
+		instrument(instrumentation);
+	}
+
+	/**
+	 * Entry point of the agent when dynamically attached to a running JVM. Only the
+	 * classes loaded after the agent has been attached are instrumented.
+	 *
+	 * @param args the agent arguments, ignored
+	 * @param instrumentation the {@link Instrumentation} of the JVM
+	 */
+	public static void agentmain(@Nullable String args, Instrumentation instrumentation) {
+		instrument(instrumentation);
+	}
+
+	/**
+	 * Register the call site instrumentation with the given {@link Instrumentation}.
+	 *
+	 * @param instrumentation the {@link Instrumentation} of the JVM
+	 */
+	public static void instrument(Instrumentation instrumentation) {
+		log.debug("Enabling call site instrumentation of Reactor operators");
+		instrumentation.addTransformer(new CallSiteTransformer());
+	}
+
+	ReactorDebugAgent() {
+	}
+
+	/**
+	 * The {@link ClassFileTransformer} inserting the call sites, which leaves the classes
+	 * that don't invoke any operator untouched.
+	 */
+	static final class CallSiteTransformer implements ClassFileTransformer {
+
+		@Override
+		@Nullable
+		public byte[] transform(@Nullable ClassLoader loader,
+				@Nullable String className,
+				@Nullable Class<?> classBeingRedefined,
+				@Nullable ProtectionDomain protectionDomain,
+				byte[] bytes) {
+			if (className == null || loader == null || isExcluded(className)) {
+				return null;
+			}
+			try {
+				return instrument(bytes);
+			}
+			catch (Throwable e) {
+				log.warn("Unable to instrument " + className, e);
+				return null;
+			}
+		}
+
+		static boolean isExcluded(String className) {
+			return className.startsWith("java/") ||
+					className.startsWith("javax/") ||
+					className.startsWith("jdk/") ||
+					className.startsWith("sun/") ||
+					className.startsWith("com/sun/") ||
+					className.startsWith("reactor/core/") ||
+					className.startsWith("reactor/util/") ||
+					className.startsWith("reactor/tools/agent/") ||
+					className.startsWith("org/reactivestreams/") ||
+					className.startsWith("org/objectweb/asm/");
+		}
+
+		/**
+		 * @param bytes the original class file
+		 *
+		 * @return the instrumented class file, or null if the class doesn't invoke any
+		 * operator
+		 */
+		@Nullable
+		static byte[] instrument(byte[] bytes) {
+			ClassReader reader = new ClassReader(bytes);
+			ClassWriter writer = new ClassWriter(reader, ClassWriter.COMPUTE_MAXS);
+			CallSiteClassVisitor visitor = new CallSiteClassVisitor(writer);
+			reader.accept(visitor, 0);
+			return visitor.changed ? writer.toByteArray() : null;
+		}
+	}
+}
@@ -0,0 +1,24 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/**
+ * A Java agent instrumenting the call sites of Reactor operators at class-load time,
+ * for a debugging experience similar to {@link reactor.core.publisher.Hooks#onOperatorDebug()}
+ * without its runtime cost.
+ */
+@NonNullApi
+package reactor.tools.agent;
+
+import reactor.util.annotation.NonNullApi;
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.tools.agent;
+
+import java.util.function.Function;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Assembles sequences to be instrumented by the {@link ReactorDebugAgent}. The line
+ * numbers of the operators are asserted in {@link ReactorDebugAgentTest}.
+ */
+public class CallSiteFixture implements Function<Integer, Object> {
+
+	@Override
+	public Object apply(Integer divisor) {
+		return Flux.just(1, 2, 3)
+		           .map(i -> i / divisor)
+		           .filter(i -> true)
+		           .publish()
+		           .autoConnect()
+		           .collectList();
+	}
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.tools.agent;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Function;
+
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReactorDebugAgentTest {
+
+	static byte[] bytesOf(Class<?> type) throws IOException {
+		String resource = "/" + type.getName().replace('.', '/') + ".class";
+		try (InputStream in = type.getResourceAsStream(resource)) {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			byte[] buffer = new byte[4096];
+			int n;
+			while ((n = in.read(buffer)) > 0) {
+				out.write(buffer, 0, n);
+			}
+			return out.toByteArray();
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	static Function<Integer, Object> instrumentedFixture() throws Exception {
+		byte[] bytes = ReactorDebugAgent.CallSiteTransformer.instrument(bytesOf(CallSiteFixture.class));
+		assertThat(bytes).isNotNull();
+
+		ClassLoader loader = new ClassLoader(ReactorDebugAgentTest.class.getClassLoader()) {
+			@Override
+			protected Class<?> loadClass(String name, boolean resolve)
+					throws ClassNotFoundException {
+				if (name.equals(CallSiteFixture.class.getName())) {
+					synchronized (getClassLoadingLock(name)) {
+						Class<?> c = findLoadedClass(name);
+						if (c == null) {
+							c = defineClass(name, bytes, 0, bytes.length);
+						}
+						return c;
+					}
+				}
+				return super.loadClass(name, resolve);
+			}
+		};
+		return (Function<Integer, Object>) loader.loadClass(CallSiteFixture.class.getName())
+		                                         .newInstance();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void errorsAreEnrichedWithCallSites() throws Exception {
+		Mono<Object> mono = (Mono<Object>) instrumentedFixture().apply(0);
+
+		StepVerifier.create(mono)
+		            .expectErrorSatisfies(e -> {
+			            assertThat(e).isInstanceOf(ArithmeticException.class);
+			            String message = e.getSuppressed()[0].getMessage();
+			            assertThat(message)
+					            .contains("Assembly trace from producer [reactor.core.publisher.FluxMapFuseable] :\n" +
+							            "\treactor.core.publisher.Flux.map(Flux.java)\n" +
+							            "\treactor.tools.agent.CallSiteFixture.apply(CallSiteFixture.java:31)\n")
+					            .contains("|_\tFlux.map(CallSiteFixture.java:31)")
+					            .contains("|_\tFlux.filter(CallSiteFixture.java:32)")
+					            .contains("|_\tFlux.publish(CallSiteFixture.java:33)")
+					            .contains("|_\tConnectableFlux.autoConnect(CallSiteFixture.java:34)")
+					            .contains("|_\tFlux.collectList(CallSiteFixture.java:35)");
+		            })
+		            .verify();
+	}
+
+	@Test
+	public void operatorsAreDecorated() throws Exception {
+		Object result = instrumentedFixture().apply(1);
+
+		assertThat(result.getClass().getSimpleName()).isEqualTo("MonoOnAssembly");
+		assertThat(result.toString()).contains("Flux.collectList(CallSiteFixture.java:35)");
+	}
+
+	@Test
+	public void uninstrumentedFixtureIsNotDecorated() {
+		Object result = new CallSiteFixture().apply(1);
+
+		assertThat(result.getClass().getSimpleName()).isEqualTo("MonoCollectList");
+	}
+
+	@Test
+	public void classesWithoutOperatorsAreLeftUntouched() throws Exception {
+		assertThat(ReactorDebugAgent.CallSiteTransformer.instrument(bytesOf(ReactorDebugAgent.class)))
+				.isNull();
+	}
+
+	@Test
+	public void operatorsAreRecognizedByOwnerAndReturnType() {
+		assertThat(CallSiteMethodVisitor.isOperator("reactor/core/publisher/Flux",
+				"map", "(Ljava/util/function/Function;)Lreactor/core/publisher/Flux;")).isTrue();
+		assertThat(CallSiteMethodVisitor.isOperator("reactor/core/publisher/Mono",
+				"flux", "()Lreactor/core/publisher/Flux;")).isTrue();
+		assertThat(CallSiteMethodVisitor.isOperator("reactor/core/publisher/Flux",
+				"checkpoint", "()Lreactor/core/publisher/Flux;")).isFalse();
+		assertThat(CallSiteMethodVisitor.isOperator("reactor/core/publisher/Flux",
+				"blockLast", "()Ljava/lang/Object;")).isFalse();
+		assertThat(CallSiteMethodVisitor.isOperator("reactor/core/publisher/Flux",
+				"groupBy", "(Ljava/util/function/Function;)Lreactor/core/publisher/Flux;")).isTrue();
+		assertThat(CallSiteMethodVisitor.isOperator("com/example/Flux",
+				"map", "(Ljava/util/function/Function;)Lreactor/core/publisher/Flux;")).isFalse();
+	}
+
+	@Test
+	public void operatorsOfPublisherSubtypesAreRecognized() {
+		assertThat(CallSiteMethodVisitor.isOperator("reactor/core/publisher/GroupedFlux",
+				"map", "(Ljava/util/function/Function;)Lreactor/core/publisher/Flux;")).isTrue();
+		assertThat(CallSiteMethodVisitor.isOperator("reactor/core/publisher/UnicastProcessor",
+				"filter", "(Ljava/util/function/Predicate;)Lreactor/core/publisher/Flux;")).isTrue();
+		assertThat(CallSiteMethodVisitor.isOperator("reactor/core/publisher/MonoProcessor",
+				"map", "(Ljava/util/function/Function;)Lreactor/core/publisher/Mono;")).isTrue();
+		assertThat(CallSiteMethodVisitor.isOperator("reactor/core/publisher/UnicastProcessor",
+				"create", "()Lreactor/core/publisher/UnicastProcessor;")).isFalse();
+		assertThat(CallSiteMethodVisitor.isOperator("reactor/core/publisher/Operators",
+				"emptySubscriber", "()Lreactor/core/publisher/Flux;")).isFalse();
+		assertThat(CallSiteMethodVisitor.isOperator("reactor/core/publisher/NoSuchFlux",
+				"map", "(Ljava/util/function/Function;)Lreactor/core/publisher/Flux;")).isFalse();
+	}
+
+	@Test
+	public void excludesJdkAndReactorClasses() {
+		assertThat(ReactorDebugAgent.CallSiteTransformer.isExcluded("java/lang/String")).isTrue();
+		assertThat(ReactorDebugAgent.CallSiteTransformer.isExcluded("reactor/core/publisher/Flux")).isTrue();
+		assertThat(ReactorDebugAgent.CallSiteTransformer.isExcluded("com/example/Service")).isFalse();
+	}
+}